@@ -0,0 +1,98 @@
+package org.realresourcesafrica.rsa.tradeverification.benchmark;
+
+import org.realresourcesafrica.rsa.tradeverification.TradeVerificationApplication;
+import org.realresourcesafrica.rsa.tradeverification.dto.AnalyticsBucket;
+import org.realresourcesafrica.rsa.tradeverification.entity.TradeInquiry;
+import org.realresourcesafrica.rsa.tradeverification.service.TradeInquiryService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /api/inquiries/analytics at the service layer over a year of inquiries. Query time
+ * should stay flat as rows grows and scale with the number of days and buckets instead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AnalyticsQueryBenchmark {
+
+    private static final int DAYS = 365;
+    private static final int INSERT_CHUNK = 10_000;
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private TradeInquiryService service;
+    private String from;
+    private String to;
+    private String lastWeek;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(TradeVerificationApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:bench-analytics-" + rows + ";DB_CLOSE_DELAY=-1",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+        service = context.getBean(TradeInquiryService.class);
+
+        LocalDateTime now = LocalDateTime.now();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int start = 0; start < rows; start += INSERT_CHUNK) {
+            List<TradeInquiry> chunk = new ArrayList<>(INSERT_CHUNK);
+            for (int i = start; i < Math.min(rows, start + INSERT_CHUNK); i++) {
+                TradeInquiry inquiry = new TradeInquiry("Benchmark inquiry " + i, "Seeded description " + i,
+                        "Partner " + (i % 100), BigDecimal.valueOf(random.nextLong(100, 10_000_000), 2));
+                inquiry.setCreatedAt(now.minusMinutes(random.nextLong(DAYS * 24L * 60)));
+                chunk.add(inquiry);
+            }
+            service.createInquiries(chunk);
+        }
+        to = LocalDate.now().toString();
+        from = LocalDate.now().minusDays(DAYS - 1).toString();
+        lastWeek = LocalDate.now().minusDays(6).toString();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<AnalyticsBucket> yearByDay() {
+        return service.getAnalytics(from, to, "day", null);
+    }
+
+    @Benchmark
+    public List<AnalyticsBucket> yearByMonth() {
+        return service.getAnalytics(from, to, "month", null);
+    }
+
+    @Benchmark
+    public List<AnalyticsBucket> lastWeekVerified() {
+        return service.getAnalytics(lastWeek, to, "day", "VERIFIED");
+    }
+}
@@ -0,0 +1,78 @@
+package org.realresourcesafrica.rsa.tradeverification.benchmark;
+
+import org.realresourcesafrica.rsa.tradeverification.config.InquiryJsonWriter;
+import org.realresourcesafrica.rsa.tradeverification.dto.ApiResponse;
+import org.realresourcesafrica.rsa.tradeverification.entity.InquiryStatus;
+import org.realresourcesafrica.rsa.tradeverification.entity.TradeInquiry;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of a list response: reflective Jackson, configured the way Spring Boot
+ * configures the MVC ObjectMapper (ISO dates, JavaTimeModule), against the streaming
+ * {@link InquiryJsonWriter}. Run with {@code -prof gc} to compare allocation per op.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"50", "500", "5000"})
+    public int size;
+
+    private ObjectWriter writer;
+    private InquiryJsonWriter streamingWriter;
+    private ApiResponse<List<TradeInquiry>> response;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writer();
+        streamingWriter = new InquiryJsonWriter(objectMapper);
+
+        List<TradeInquiry> inquiries = new ArrayList<>(size);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < size; i++) {
+            TradeInquiry inquiry = new TradeInquiry(
+                    "Benchmark inquiry " + i,
+                    "Seeded description for benchmark inquiry " + i + ", long enough to resemble a real request.",
+                    "Partner " + (i % 100),
+                    BigDecimal.valueOf(i * 1_000L + 99, 2)
+            );
+            inquiry.setId((long) i + 1);
+            inquiry.setStatus(InquiryStatus.values()[i % InquiryStatus.values().length]);
+            inquiry.setUpdatedAt(now);
+            inquiries.add(inquiry);
+        }
+        response = ApiResponse.page("All inquiries retrieved successfully", inquiries, "MjAyNS0wNi0xNFQxMzozMzo1MnwxMjM");
+    }
+
+    @Benchmark
+    public byte[] serializeListResponse() throws Exception {
+        return writer.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serializeListResponseStreaming() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(size * 320);
+        streamingWriter.writeListResponse(response, out);
+        return out.toByteArray();
+    }
+}
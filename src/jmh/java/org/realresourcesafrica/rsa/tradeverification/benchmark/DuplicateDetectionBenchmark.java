@@ -0,0 +1,115 @@
+package org.realresourcesafrica.rsa.tradeverification.benchmark;
+
+import org.realresourcesafrica.rsa.tradeverification.config.InquiryProperties;
+import org.realresourcesafrica.rsa.tradeverification.entity.TradeInquiry;
+import org.realresourcesafrica.rsa.tradeverification.service.DuplicateDetector;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What duplicate detection adds to a create: signing the new inquiry and probing the partner's
+ * index, with {@code rows} inquiries already indexed. {@code partners=1} puts every stored
+ * inquiry under one partner, the worst case for the index; the detector is used directly, so
+ * database time is excluded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DuplicateDetectionBenchmark {
+
+    private static final int VOCABULARY = 5_000;
+    private static final int TITLE_WORDS = 6;
+    private static final int DESCRIPTION_WORDS = 40;
+    private static final int SAMPLES = 1024;
+    private static final int CHUNK = 10_000;
+
+    @Param({"1000000"})
+    public int rows;
+
+    @Param({"1", "1000"})
+    public int partners;
+
+    private DuplicateDetector detector;
+    private String[] words;
+    private final List<TradeInquiry> fresh = new ArrayList<>(SAMPLES);
+    private final List<TradeInquiry> resubmitted = new ArrayList<>(SAMPLES);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        words = new String[VOCABULARY];
+        for (int i = 0; i < VOCABULARY; i++) {
+            String word = Long.toString(random.nextLong() & Long.MAX_VALUE, 36);
+            words[i] = word.substring(0, Math.min(word.length(), 4 + i % 6));
+        }
+
+        detector = new DuplicateDetector(null, new InquiryProperties());
+        List<TradeInquiry> chunk = new ArrayList<>(CHUNK);
+        long[] signatures = new long[CHUNK];
+        for (int i = 0; i < rows; i++) {
+            TradeInquiry inquiry = inquiry(random, i);
+            inquiry.setId((long) i + 1);
+            signatures[chunk.size()] = detector.signature(inquiry);
+            chunk.add(inquiry);
+            if (chunk.size() == CHUNK || i == rows - 1) {
+                // Outside a transaction the index is updated immediately
+                detector.onCreated(chunk, signatures.clone());
+                chunk.clear();
+            }
+            if (i % (rows / SAMPLES) == 0 && resubmitted.size() < SAMPLES) {
+                TradeInquiry copy = new TradeInquiry(inquiry);
+                copy.setId(null);
+                // A resubmission with a short note appended
+                copy.setDescription(copy.getDescription() + " please confirm");
+                resubmitted.add(copy);
+            }
+        }
+        for (int i = 0; i < SAMPLES; i++) {
+            fresh.add(inquiry(random, i));
+        }
+    }
+
+    @Benchmark
+    public Long checkFreshInquiry() {
+        return check(fresh.get(ThreadLocalRandom.current().nextInt(SAMPLES)));
+    }
+
+    @Benchmark
+    public Long checkResubmittedInquiry() {
+        return check(resubmitted.get(ThreadLocalRandom.current().nextInt(resubmitted.size())));
+    }
+
+    private Long check(TradeInquiry inquiry) {
+        return detector.findDuplicate(inquiry.getPartnerKey(), detector.signature(inquiry));
+    }
+
+    private TradeInquiry inquiry(Random random, int i) {
+        return new TradeInquiry(sentence(random, TITLE_WORDS), sentence(random, DESCRIPTION_WORDS),
+                "Partner " + (i % partners), null);
+    }
+
+    private String sentence(Random random, int length) {
+        StringBuilder text = new StringBuilder();
+        for (int w = 0; w < length; w++) {
+            if (w > 0) {
+                text.append(' ');
+            }
+            text.append(words[random.nextInt(VOCABULARY)]);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,88 @@
+package org.realresourcesafrica.rsa.tradeverification.benchmark;
+
+import org.realresourcesafrica.rsa.tradeverification.TradeVerificationApplication;
+import org.realresourcesafrica.rsa.tradeverification.entity.TradeInquiry;
+import org.realresourcesafrica.rsa.tradeverification.service.TradeInquiryService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Concurrent throughput of GET /api/inquiries/{id} over HTTP, with request handling on
+ * the platform thread pool versus virtual threads. The inquiry cache is switched off
+ * so every request blocks on JDBC.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(512)
+public class InquiryLookupLoadBenchmark {
+
+    private static final int INQUIRIES = 1_000;
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private long firstId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(TradeVerificationApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=jdbc:h2:mem:load-" + virtualThreads + ";DB_CLOSE_DELAY=-1",
+                        "inquiries.cache.enabled=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+
+        List<TradeInquiry> inquiries = new ArrayList<>(INQUIRIES);
+        for (int i = 0; i < INQUIRIES; i++) {
+            inquiries.add(new TradeInquiry("Load inquiry " + i, "Load test inquiry " + i,
+                    "Partner " + (i % 10), BigDecimal.valueOf(i)));
+        }
+        firstId = context.getBean(TradeInquiryService.class).createInquiries(inquiries).get(0).getId();
+
+        int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port + "/api/inquiries/";
+        client = HttpClient.newHttpClient();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getInquiryById() throws Exception {
+        long id = firstId + ThreadLocalRandom.current().nextInt(INQUIRIES);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + id)).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
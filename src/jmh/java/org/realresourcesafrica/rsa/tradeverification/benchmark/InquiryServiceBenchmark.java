@@ -0,0 +1,129 @@
+package org.realresourcesafrica.rsa.tradeverification.benchmark;
+
+import org.realresourcesafrica.rsa.tradeverification.TradeVerificationApplication;
+import org.realresourcesafrica.rsa.tradeverification.dto.InquirySummary;
+import org.realresourcesafrica.rsa.tradeverification.dto.StatusUpdateRequest;
+import org.realresourcesafrica.rsa.tradeverification.entity.TradeInquiry;
+import org.realresourcesafrica.rsa.tradeverification.service.InquiryStatusCounter;
+import org.realresourcesafrica.rsa.tradeverification.service.TradeInquiryService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service and repository hot paths against an in-memory H2 database seeded with
+ * {@code rows} inquiries, split evenly between verified and rejected.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InquiryServiceBenchmark {
+
+    private static final int SEED_CHUNK = 10_000;
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private TradeInquiryService service;
+    private long maxId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(TradeVerificationApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:bench-" + rows + ";DB_CLOSE_DELAY=-1",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+        service = context.getBean(TradeInquiryService.class);
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TradeInquiry createInquiry() {
+        return service.createInquiry(newInquiry(ThreadLocalRandom.current().nextInt()));
+    }
+
+    @Benchmark
+    public TradeInquiryService.InquiryPage getInquiries() {
+        return service.getInquiries(null, null, null, null);
+    }
+
+    @Benchmark
+    public TradeInquiryService.InquiryPage getInquiriesWithDescription() {
+        return service.getInquiries(null, null, null, InquirySummary.DESCRIPTION);
+    }
+
+    @Benchmark
+    public TradeInquiryService.InquiryPage getInquiriesByStatus() {
+        return service.getInquiries("VERIFIED", null, null, null);
+    }
+
+    @Benchmark
+    public TradeInquiryService.InquiryStatistics getStatistics() {
+        return service.getStatistics();
+    }
+
+    @Benchmark
+    public TradeInquiry updateInquiryStatus() {
+        // Toggle between VERIFIED and REJECTED, which is always an allowed transition
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long id = 1 + random.nextLong(maxId);
+        String status = random.nextBoolean() ? "VERIFIED" : "REJECTED";
+        return service.updateInquiryStatus(id, new StatusUpdateRequest(status));
+    }
+
+    private void seed() {
+        List<TradeInquiry> chunk = new ArrayList<>(SEED_CHUNK);
+        for (int i = 0; i < rows; i++) {
+            chunk.add(newInquiry(i));
+            if (chunk.size() == SEED_CHUNK) {
+                service.createInquiries(chunk);
+                chunk = new ArrayList<>(SEED_CHUNK);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            service.createInquiries(chunk);
+        }
+
+        // Spread the seeded rows over the resolved statuses so every row can be toggled
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        jdbc.update("UPDATE trade_inquiries SET status = CASE WHEN MOD(id, 2) = 0 THEN 'V' ELSE 'R' END");
+        maxId = jdbc.queryForObject("SELECT MAX(id) FROM trade_inquiries", Long.class);
+        context.getBean(InquiryStatusCounter.class).reconcile();
+    }
+
+    private static TradeInquiry newInquiry(int seed) {
+        return new TradeInquiry(
+                "Benchmark inquiry " + seed,
+                "Seeded description for benchmark inquiry " + seed + ", long enough to resemble a real request.",
+                "Partner " + Math.floorMod(seed, 100),
+                BigDecimal.valueOf(Math.floorMod(seed, 1_000_000), 2)
+        );
+    }
+}
@@ -0,0 +1,89 @@
+package org.realresourcesafrica.rsa.tradeverification.benchmark;
+
+import org.realresourcesafrica.rsa.tradeverification.TradeVerificationApplication;
+import org.realresourcesafrica.rsa.tradeverification.entity.TradeInquiry;
+import org.realresourcesafrica.rsa.tradeverification.service.TradeInquiryService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the service instrumentation: the same calls with the {@code @Timed} aspect and
+ * inquiry meters enabled and disabled. The cheapest operations (cache hit, in-memory
+ * statistics) are included because that is where a fixed per-call overhead shows most.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MetricsOverheadBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    @Param({"true", "false"})
+    public boolean instrumented;
+
+    private ConfigurableApplicationContext context;
+    private TradeInquiryService service;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(TradeVerificationApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:bench-metrics-" + instrumented + ";DB_CLOSE_DELAY=-1",
+                        "management.observations.annotations.enabled=" + instrumented,
+                        "management.metrics.enable.inquiries=" + instrumented,
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+        service = context.getBean(TradeInquiryService.class);
+
+        List<TradeInquiry> inquiries = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            inquiries.add(new TradeInquiry("Benchmark inquiry " + i, "Seeded description " + i,
+                    "Partner " + (i % 100), BigDecimal.valueOf(i, 2)));
+        }
+        service.createInquiries(inquiries);
+        // Warm the cache so getInquiryById measures the instrumented path, not the database
+        for (long id = 1; id <= ROWS; id++) {
+            service.getInquiryById(id);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TradeInquiry getInquiryByIdCached() {
+        return service.getInquiryById(1 + ThreadLocalRandom.current().nextLong(ROWS));
+    }
+
+    @Benchmark
+    public TradeInquiryService.InquiryStatistics getStatistics() {
+        return service.getStatistics();
+    }
+
+    @Benchmark
+    public TradeInquiryService.InquiryPage getInquiries() {
+        return service.getInquiries(null, null, null, null);
+    }
+}
@@ -0,0 +1,85 @@
+package org.realresourcesafrica.rsa.tradeverification.benchmark;
+
+import org.realresourcesafrica.rsa.tradeverification.entity.TradeInquiry;
+import org.realresourcesafrica.rsa.tradeverification.service.InquirySearchIndex;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ranking a first page of 20 hits with {@code rows} inquiries indexed. Words are drawn with a
+ * skew, so {@code common} matches a large share of the index, {@code rare} a few hundred
+ * inquiries and {@code mixed} unions one of each with a mid-frequency word.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchIndexBenchmark {
+
+    private static final int VOCABULARY = 20_000;
+    private static final int TITLE_WORDS = 6;
+    private static final int DESCRIPTION_WORDS = 20;
+    private static final int PAGE = 20;
+
+    @Param({"1000000"})
+    public int rows;
+
+    @Param({"common", "rare", "mixed"})
+    public String query;
+
+    private InquirySearchIndex index;
+    private String text;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        String[] words = new String[VOCABULARY];
+        for (int i = 0; i < VOCABULARY; i++) {
+            words[i] = "w" + Integer.toString(i, 36);
+        }
+
+        index = new InquirySearchIndex();
+        for (int i = 0; i < rows; i++) {
+            TradeInquiry inquiry = new TradeInquiry(sentence(random, words, TITLE_WORDS),
+                    sentence(random, words, DESCRIPTION_WORDS), "Partner " + (i % 1000), null);
+            inquiry.setId((long) i + 1);
+            index.add(inquiry);
+        }
+
+        text = switch (query) {
+            case "common" -> words[0];
+            case "rare" -> words[VOCABULARY - 1];
+            default -> words[1] + " " + words[200] + " " + words[VOCABULARY - 2];
+        };
+    }
+
+    @Benchmark
+    public InquirySearchIndex.SearchHits search() {
+        return index.search(text, 0, PAGE);
+    }
+
+    /**
+     * Words with a cubic skew towards the start of the vocabulary
+     */
+    private static String sentence(Random random, String[] words, int length) {
+        StringBuilder text = new StringBuilder();
+        for (int w = 0; w < length; w++) {
+            if (w > 0) {
+                text.append(' ');
+            }
+            double r = random.nextDouble();
+            text.append(words[(int) (r * r * r * words.length)]);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,127 @@
+package org.realresourcesafrica.rsa.tradeverification.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time from launching a fresh JVM to the first 200 from {@code /api/inquiries/health},
+ * for the plain jar and for each layer of the fast-startup profile:
+ * lazy initialization, then AOT-processed bean definitions, then the AppCDS archive.
+ * Every invocation starts its own application process on a free port, so JVM startup,
+ * class loading and context refresh are all included.
+ * <p>
+ * Needs the output of {@code ./gradlew cdsArchive}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StartupBenchmark {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    @Param({"jar", "lazy", "aot", "aot-cds"})
+    public String launch;
+
+    private File appDir;
+    private HttpClient client;
+    private Process process;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        appDir = new File(System.getProperty("startup.app.dir", "build/fast-startup"));
+        if (!new File(appDir, "app.jar").isFile() || !new File(appDir, "app.jsa").isFile()) {
+            throw new IllegalStateException("No application archive in " + appDir + "; run ./gradlew cdsArchive first");
+        }
+        client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+    }
+
+    @TearDown(Level.Invocation)
+    public void stop() throws InterruptedException {
+        if (process != null) {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+            process = null;
+        }
+    }
+
+    @Benchmark
+    public int timeToFirstRequest() throws IOException, InterruptedException {
+        int port = freePort();
+        process = new ProcessBuilder(command(port))
+                .directory(appDir)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+
+        HttpRequest health = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/inquiries/health"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with status " + process.exitValue());
+            }
+            try {
+                HttpResponse<Void> response = client.send(health, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    return response.statusCode();
+                }
+            } catch (IOException notListeningYet) {
+                // Connection refused until Tomcat has bound the port
+            }
+            Thread.sleep(2);
+        }
+        throw new IllegalStateException("No successful health check within " + STARTUP_TIMEOUT);
+    }
+
+    private List<String> command(int port) {
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        switch (launch) {
+            case "jar" -> { }
+            case "lazy" -> command.add("-Dspring.profiles.active=fast-startup");
+            case "aot" -> {
+                command.add("-Dspring.profiles.active=fast-startup");
+                command.add("-Dspring.aot.enabled=true");
+            }
+            case "aot-cds" -> {
+                command.add("-Dspring.profiles.active=fast-startup");
+                command.add("-Dspring.aot.enabled=true");
+                command.add("-XX:SharedArchiveFile=app.jsa");
+            }
+            default -> throw new IllegalArgumentException("Unknown launch " + launch);
+        }
+        command.add("-jar");
+        command.add("app.jar");
+        command.add("--server.port=" + port);
+        return command;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package org.realresourcesafrica.rsa.tradeverification.benchmark;
+
+import org.realresourcesafrica.rsa.tradeverification.TradeVerificationApplication;
+import org.realresourcesafrica.rsa.tradeverification.entity.InquiryStatus;
+import org.realresourcesafrica.rsa.tradeverification.entity.TradeInquiry;
+import org.realresourcesafrica.rsa.tradeverification.repository.TradeInquiryRepository;
+import org.realresourcesafrica.rsa.tradeverification.service.TradeInquiryService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * In-memory H2 against the persistent profile's MVStore file, with {@code rows} inquiries.
+ * <p>
+ * Write and read throughput go through the service and repository as the API would; reads by
+ * id bypass the inquiry cache so they reach the store. {@code recover} measures how long a
+ * file database takes to open and answer its first query after an unclean shutdown that
+ * followed a burst of unflushed writes, which is the restart path after a crash; it only
+ * applies to {@code file} and returns at once for {@code mem}.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class StorageBenchmark {
+
+    private static final int SEED_CHUNK = 10_000;
+    // Written just before each simulated crash, so recovery has recent chunks to replay
+    private static final int CRASH_WRITES = 10_000;
+
+    @Param({"mem", "file"})
+    public String storage;
+
+    @Param({"1000000"})
+    public int rows;
+
+    private Path directory;
+    private ConfigurableApplicationContext context;
+    private TradeInquiryService service;
+    private TradeInquiryRepository repository;
+    private long maxId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("storage-bench");
+        start();
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (context != null) {
+            context.close();
+        }
+        deleteDirectory();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public TradeInquiry write() {
+        return service.createInquiry(newInquiry(ThreadLocalRandom.current().nextInt()));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public Object readById() {
+        return repository.findById(1 + ThreadLocalRandom.current().nextLong(maxId)).orElse(null);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public long countByStatus() {
+        return repository.countByStatus(InquiryStatus.VERIFIED);
+    }
+
+    /**
+     * Crash recovery of the file database, one unclean shutdown per invocation
+     */
+    @State(Scope.Thread)
+    public static class Crashed {
+
+        private String url;
+
+        @Setup(Level.Invocation)
+        public void crash(StorageBenchmark benchmark) {
+            url = benchmark.fileUrl();
+            if (!benchmark.storage.equals("file")) {
+                return;
+            }
+            // Write through the open application, then drop the database without flushing or compacting
+            List<TradeInquiry> inquiries = new ArrayList<>(CRASH_WRITES);
+            for (int i = 0; i < CRASH_WRITES; i++) {
+                inquiries.add(newInquiry(ThreadLocalRandom.current().nextInt()));
+            }
+            benchmark.service.createInquiries(inquiries);
+            JdbcTemplate jdbc = benchmark.context.getBean(JdbcTemplate.class);
+            jdbc.execute("SHUTDOWN IMMEDIATELY");
+            benchmark.context.close();
+            benchmark.context = null;
+        }
+
+        @TearDown(Level.Invocation)
+        public void reopen(StorageBenchmark benchmark) {
+            if (benchmark.storage.equals("file")) {
+                benchmark.start();
+            }
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long recover(Crashed crashed) throws SQLException {
+        if (!storage.equals("file")) {
+            return 0;
+        }
+        try (Connection connection = DriverManager.getConnection(crashed.url, "sa", "password");
+             Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT COUNT(*) FROM trade_inquiries")) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+
+    private void start() {
+        List<String> properties = new ArrayList<>(List.of(
+                "spring.main.banner-mode=off",
+                "logging.level.root=WARN",
+                "inquiries.backup.enabled=false"));
+        if (storage.equals("file")) {
+            properties.add("spring.profiles.active=persistent");
+            properties.add("spring.datasource.url=" + fileUrl());
+        } else {
+            properties.add("spring.datasource.url=jdbc:h2:mem:storage-" + rows + ";DB_CLOSE_DELAY=-1");
+        }
+        context = new SpringApplicationBuilder(TradeVerificationApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(properties.toArray(String[]::new))
+                .run();
+        service = context.getBean(TradeInquiryService.class);
+        repository = context.getBean(TradeInquiryRepository.class);
+    }
+
+    private String fileUrl() {
+        return "jdbc:h2:file:" + directory.resolve("tradedb") + ";CACHE_SIZE=65536;AUTO_COMPACT_FILL_RATE=90;" +
+                "MAX_COMPACT_TIME=2000;DB_CLOSE_ON_EXIT=FALSE";
+    }
+
+    private void seed() {
+        List<TradeInquiry> chunk = new ArrayList<>(SEED_CHUNK);
+        for (int i = 0; i < rows; i++) {
+            chunk.add(newInquiry(i));
+            if (chunk.size() == SEED_CHUNK) {
+                service.createInquiries(chunk);
+                chunk = new ArrayList<>(SEED_CHUNK);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            service.createInquiries(chunk);
+        }
+
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        jdbc.update("UPDATE trade_inquiries SET status = CASE WHEN MOD(id, 2) = 0 THEN 'V' ELSE 'R' END");
+        maxId = jdbc.queryForObject("SELECT MAX(id) FROM trade_inquiries", Long.class);
+    }
+
+    private void deleteDirectory() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private static TradeInquiry newInquiry(int seed) {
+        return new TradeInquiry(
+                "Storage inquiry " + seed,
+                "Seeded description for storage inquiry " + seed + ", long enough to resemble a real request.",
+                "Partner " + Math.floorMod(seed, 100),
+                BigDecimal.valueOf(Math.floorMod(seed, 1_000_000), 2)
+        );
+    }
+}
@@ -0,0 +1,88 @@
+package org.realresourcesafrica.rsa.tradeverification.benchmark;
+
+import org.realresourcesafrica.rsa.tradeverification.config.InquiryProperties;
+import org.realresourcesafrica.rsa.tradeverification.exception.RateLimitExceededException;
+import org.realresourcesafrica.rsa.tradeverification.service.InquiryMetrics;
+import org.realresourcesafrica.rsa.tradeverification.service.WriteRateLimiter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-request cost of the write rate limiter under contention: every thread charging the same
+ * partner (one hot bucket, CAS retries), and every thread charging its own partner (no sharing).
+ * Run with -t to vary the thread count; the shared case is where a global lock would collapse.
+ * <p>
+ * With admitting=true the rates are high enough that every call is admitted; with false the
+ * bucket is drained and every call takes the rejection path, including the exception.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(Threads.MAX)
+public class WriteRateLimiterBenchmark {
+
+    @Param({"true", "false"})
+    public boolean admitting;
+
+    private WriteRateLimiter limiter;
+
+    @State(Scope.Thread)
+    public static class ThreadKey {
+        private static final AtomicInteger NEXT = new AtomicInteger();
+
+        final String partner = "partner " + NEXT.getAndIncrement();
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InquiryProperties properties = new InquiryProperties();
+        InquiryProperties.RateLimit rateLimit = properties.getRateLimit();
+        rateLimit.setPartnerPerSecond(admitting ? 1e9 : 1e-3);
+        rateLimit.setPartnerBurst(admitting ? 1_000_000 : 1);
+        rateLimit.setClientPerSecond(admitting ? 1e9 : 1e-3);
+        rateLimit.setClientBurst(admitting ? 1_000_000 : 1);
+        limiter = new WriteRateLimiter(properties, new InquiryMetrics(new SimpleMeterRegistry()));
+    }
+
+    @Benchmark
+    public boolean sharedPartner() {
+        return acquire("shared partner");
+    }
+
+    @Benchmark
+    public boolean ownPartner(ThreadKey key) {
+        return acquire(key.partner);
+    }
+
+    @Benchmark
+    public boolean sharedClient() {
+        try {
+            limiter.acquireClient("10.0.0.1");
+            return true;
+        } catch (RateLimitExceededException ex) {
+            return false;
+        }
+    }
+
+    private boolean acquire(String partner) {
+        try {
+            limiter.acquirePartner(partner);
+            return true;
+        } catch (RateLimitExceededException ex) {
+            return false;
+        }
+    }
+}
@@ -2,10 +2,14 @@ package org.realresourcesafrica.rsa.tradeverification;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 @EnableTransactionManagement
+@EnableScheduling
 public class TradeVerificationApplication {
 
     public static void main(String[] args) {
@@ -14,12 +18,23 @@ public class TradeVerificationApplication {
         System.out.println("Trade Verification API Started!");
         System.out.println("API Documentation:");
         System.out.println("POST   /api/inquiries           - Create new inquiry");
-        System.out.println("GET    /api/inquiries           - Get all inquiries");
+        System.out.println("POST   /api/inquiries/batch     - Create inquiries in bulk");
+        System.out.println("GET    /api/inquiries           - Get inquiries (paginated)");
+        System.out.println("GET    /api/inquiries/stream    - Stream inquiries as NDJSON");
+        System.out.println("GET    /api/inquiries/export    - Download inquiries as CSV or NDJSON");
         System.out.println("GET    /api/inquiries?status=X  - Filter by status");
+        System.out.println("GET    /api/inquiries/search?q=X - Full-text search");
         System.out.println("GET    /api/inquiries/{id}      - Get specific inquiry");
         System.out.println("PUT    /api/inquiries/{id}/status - Update status");
+        System.out.println("PUT    /api/inquiries/status    - Update many statuses");
+        System.out.println("GET    /api/inquiries/{id}/history - Get status history");
         System.out.println("GET    /api/inquiries/statistics - Get statistics");
+        System.out.println("GET    /api/inquiries/analytics - Get analytics by creation date");
+        System.out.println("GET    /api/inquiries/events    - Subscribe to changes (SSE)");
+        System.out.println("GET    /api/inquiries/cache/statistics - Get cache statistics");
         System.out.println("GET    /api/inquiries/health    - Health check");
+        System.out.println("GET    /api/partners/{partner}/inquiries - Get a partner's inquiries");
+        System.out.println("GET    /api/partners/summary    - Get per-partner rollups");
         System.out.println("=================================");
     }
 }
@@ -1,29 +1,66 @@
 package org.realresourcesafrica.rsa.tradeverification.config;
 
+import org.realresourcesafrica.rsa.tradeverification.dto.BulkStatusUpdateRequest;
+import org.realresourcesafrica.rsa.tradeverification.entity.InquiryStatus;
 import org.realresourcesafrica.rsa.tradeverification.entity.TradeInquiry;
 import org.realresourcesafrica.rsa.tradeverification.repository.TradeInquiryRepository;
+import org.realresourcesafrica.rsa.tradeverification.service.TradeInquiryService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.util.List;
 
+/**
+ * Loads sample inquiries into an empty database.
+ * <p>
+ * Seeding runs on its own thread once the application accepts traffic, so it adds nothing to
+ * startup: the first requests may see an empty table for a moment. That point comes after the
+ * in-memory counters and indexes have loaded, and the rows go through the service in one
+ * transaction (one batched insert, then one set-based update per non-pending status), so the
+ * after-commit hooks keep all of them current.
+ */
 @Component
-public class DataInitializer implements CommandLineRunner {
+public class DataInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(DataInitializer.class);
 
     private final TradeInquiryRepository repository;
+    private final TradeInquiryService inquiryService;
+    private final TransactionTemplate transactions;
 
     @Autowired
-        public DataInitializer(TradeInquiryRepository repository) {
+    public DataInitializer(TradeInquiryRepository repository, TradeInquiryService inquiryService,
+                           PlatformTransactionManager transactionManager) {
         this.repository = repository;
+        this.inquiryService = inquiryService;
+        this.transactions = new TransactionTemplate(transactionManager);
     }
 
-    @Override
-    public void run(String... args) throws Exception {
-        // Only initialize data if database is empty
-        if (repository.count() == 0) {
-            initializeSampleData();
-            System.out.println("Sample data initialized successfully!");
+    @EventListener
+    public void onReadiness(AvailabilityChangeEvent<ReadinessState> event) {
+        if (event.getState() == ReadinessState.ACCEPTING_TRAFFIC) {
+            Thread.ofVirtual().name("sample-data").start(this::seedIfEmpty);
+        }
+    }
+
+    private void seedIfEmpty() {
+        try {
+            // Only initialize data if database is empty
+            if (repository.count() == 0) {
+                transactions.executeWithoutResult(status -> initializeSampleData());
+                log.info("Sample data initialized successfully");
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not initialize sample data", e);
         }
     }
 
@@ -42,7 +79,6 @@ public class DataInitializer implements CommandLineRunner {
                 "Ministry of Trade - Uganda",
                 new BigDecimal("180000.00")
         );
-        inquiry2.setStatus("VERIFIED");
 
         TradeInquiry inquiry3 = new TradeInquiry(
                 "South African Wine Export",
@@ -57,7 +93,6 @@ public class DataInitializer implements CommandLineRunner {
                 "Ethiopian Textile Council",
                 new BigDecimal("45000.00")
         );
-        inquiry4.setStatus("REJECTED");
 
         TradeInquiry inquiry5 = new TradeInquiry(
                 "Moroccan Argan Oil Bulk Order",
@@ -66,11 +101,16 @@ public class DataInitializer implements CommandLineRunner {
                 new BigDecimal("120000.00")
         );
 
-        // Save all sample data
-        repository.save(inquiry1);
-        repository.save(inquiry2);
-        repository.save(inquiry3);
-        repository.save(inquiry4);
-        repository.save(inquiry5);
+        // Save all sample data as pending, then move the reviewed ones on
+        inquiryService.createInquiries(List.of(inquiry1, inquiry2, inquiry3, inquiry4, inquiry5));
+        inquiryService.updateInquiryStatuses(statusUpdate(inquiry2, InquiryStatus.VERIFIED));
+        inquiryService.updateInquiryStatuses(statusUpdate(inquiry4, InquiryStatus.REJECTED));
+    }
+
+    private static BulkStatusUpdateRequest statusUpdate(TradeInquiry inquiry, InquiryStatus status) {
+        BulkStatusUpdateRequest request = new BulkStatusUpdateRequest();
+        request.setIds(List.of(inquiry.getId()));
+        request.setStatus(status.name());
+        return request;
     }
-}
\ No newline at end of file
+}
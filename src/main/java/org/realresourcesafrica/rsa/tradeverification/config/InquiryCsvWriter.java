@@ -0,0 +1,248 @@
+package org.realresourcesafrica.rsa.tradeverification.config;
+
+import org.realresourcesafrica.rsa.tradeverification.entity.TradeInquiry;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Streaming CSV (RFC 4180) encoding of {@link TradeInquiry} rows, for exports.
+ * <p>
+ * Rows are encoded straight into one byte buffer that is reused for the whole export. Each time
+ * it fills it is written to the underlying stream and flushed, so memory stays at one chunk
+ * however many rows are written and the client receives data in steady chunks; the first row is
+ * pushed out at once so the download starts as soon as the query returns. Text is encoded to
+ * UTF-8 in place and numbers and dates are formatted digit by digit. Fields are quoted only when
+ * they contain a comma, quote or line break.
+ */
+public class InquiryCsvWriter implements Closeable {
+
+    private static final byte[] HEADER = ("id,title,description,status,submittingPartner,estimatedValue," +
+            "createdAt,updatedAt,version,duplicateOf\r\n").getBytes(StandardCharsets.US_ASCII);
+
+    // Longest encoding of one char (three bytes, or six for a doubled quote in the worst case) with room to spare
+    private static final int MAX_CHAR_BYTES = 8;
+    // Longest number or "yyyy-MM-ddTHH:mm:ss.nnnnnnnnn"
+    private static final int MAX_VALUE_BYTES = 32;
+
+    private final OutputStream out;
+    private final byte[] chunk;
+    private int position;
+    private long rows;
+
+    /**
+     * @param out Destination; closed by {@link #close()}
+     * @param chunkSize Bytes to encode before each write to out
+     */
+    public InquiryCsvWriter(OutputStream out, int chunkSize) {
+        this.out = out;
+        this.chunk = new byte[Math.max(chunkSize, 1024)];
+    }
+
+    /**
+     * Write the column names
+     */
+    public void writeHeader() throws IOException {
+        ensure(HEADER.length);
+        System.arraycopy(HEADER, 0, chunk, position, HEADER.length);
+        position += HEADER.length;
+    }
+
+    /**
+     * Write one inquiry as a CSV record, in the column order of the header
+     * @param inquiry The inquiry
+     */
+    public void writeInquiry(TradeInquiry inquiry) throws IOException {
+        writeNumber(inquiry.getId());
+        separator();
+        writeText(inquiry.getTitle());
+        separator();
+        writeText(inquiry.getDescription());
+        separator();
+        writeText(inquiry.getStatus() != null ? inquiry.getStatus().name() : null);
+        separator();
+        writeText(inquiry.getSubmittingPartner());
+        separator();
+        writeDecimal(inquiry.getEstimatedValue());
+        separator();
+        writeDateTime(inquiry.getCreatedAt());
+        separator();
+        writeDateTime(inquiry.getUpdatedAt());
+        separator();
+        writeNumber(inquiry.getVersion());
+        separator();
+        writeNumber(inquiry.getDuplicateOf());
+        ensure(2);
+        chunk[position++] = '\r';
+        chunk[position++] = '\n';
+
+        if (++rows == 1) {
+            flush();
+        }
+    }
+
+    /**
+     * Write whatever is buffered and flush the underlying stream
+     */
+    public void flush() throws IOException {
+        if (position > 0) {
+            out.write(chunk, 0, position);
+            position = 0;
+        }
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (position + bytes > chunk.length) {
+            flush();
+        }
+    }
+
+    private void separator() throws IOException {
+        ensure(1);
+        chunk[position++] = ',';
+    }
+
+    private void writeText(String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        boolean quoted = needsQuotes(value);
+        if (quoted) {
+            ensure(1);
+            chunk[position++] = '"';
+        }
+        for (int i = 0; i < value.length(); i++) {
+            ensure(MAX_CHAR_BYTES);
+            char c = value.charAt(i);
+            if (c == '"') {
+                chunk[position++] = '"';
+                chunk[position++] = '"';
+            } else if (c < 0x80) {
+                chunk[position++] = (byte) c;
+            } else if (c < 0x800) {
+                chunk[position++] = (byte) (0xC0 | (c >> 6));
+                chunk[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                chunk[position++] = (byte) (0xF0 | (codePoint >> 18));
+                chunk[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                chunk[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                chunk[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogate: same replacement as String.getBytes
+                chunk[position++] = '?';
+            } else {
+                chunk[position++] = (byte) (0xE0 | (c >> 12));
+                chunk[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                chunk[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        if (quoted) {
+            ensure(1);
+            chunk[position++] = '"';
+        }
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\r' || c == '\n') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeNumber(Long value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        long number = value;
+        if (number < 0) {
+            writeAscii(Long.toString(number));
+            return;
+        }
+        ensure(MAX_VALUE_BYTES);
+        int length = 1;
+        for (long rest = number / 10; rest > 0; rest /= 10) {
+            length++;
+        }
+        for (int i = position + length - 1; i >= position; i--) {
+            chunk[i] = (byte) ('0' + number % 10);
+            number /= 10;
+        }
+        position += length;
+    }
+
+    private void writeDecimal(BigDecimal value) throws IOException {
+        if (value != null) {
+            writeAscii(value.toPlainString());
+        }
+    }
+
+    /**
+     * Same text as the JSON responses: ISO local date-time, fraction without trailing zeros
+     */
+    private void writeDateTime(LocalDateTime value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            writeAscii(value.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+            return;
+        }
+        ensure(MAX_VALUE_BYTES);
+        digits(year, 4);
+        chunk[position++] = '-';
+        digits(value.getMonthValue(), 2);
+        chunk[position++] = '-';
+        digits(value.getDayOfMonth(), 2);
+        chunk[position++] = 'T';
+        digits(value.getHour(), 2);
+        chunk[position++] = ':';
+        digits(value.getMinute(), 2);
+        chunk[position++] = ':';
+        digits(value.getSecond(), 2);
+
+        int nano = value.getNano();
+        if (nano > 0) {
+            chunk[position++] = '.';
+            digits(nano, 9);
+            while (chunk[position - 1] == '0') {
+                position--;
+            }
+        }
+    }
+
+    private void digits(int value, int width) {
+        for (int i = position + width - 1; i >= position; i--) {
+            chunk[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position += width;
+    }
+
+    private void writeAscii(String value) throws IOException {
+        ensure(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            chunk[position++] = (byte) value.charAt(i);
+        }
+    }
+}
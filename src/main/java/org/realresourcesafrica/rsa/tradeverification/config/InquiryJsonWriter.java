@@ -0,0 +1,252 @@
+package org.realresourcesafrica.rsa.tradeverification.config;
+
+import org.realresourcesafrica.rsa.tradeverification.dto.ApiResponse;
+import org.realresourcesafrica.rsa.tradeverification.dto.InquirySummary;
+import org.realresourcesafrica.rsa.tradeverification.entity.TradeInquiry;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Hand-written streaming serialization of {@link TradeInquiry}, {@link InquirySummary} and list responses.
+ * <p>
+ * Produces the same JSON as the reflective ObjectMapper path, but writes fields
+ * straight to a {@link JsonGenerator} (whose buffers Jackson recycles per thread),
+ * with pre-encoded field names and dates formatted into a reused char buffer, so a
+ * large list costs no per-row maps, boxed values or temporary strings.
+ */
+@Component
+public class InquiryJsonWriter {
+
+    private static final SerializedString SUCCESS = new SerializedString("success");
+    private static final SerializedString MESSAGE = new SerializedString("message");
+    private static final SerializedString DATA = new SerializedString("data");
+    private static final SerializedString ERROR = new SerializedString("error");
+    private static final SerializedString NEXT_CURSOR = new SerializedString("nextCursor");
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString TITLE = new SerializedString("title");
+    private static final SerializedString DESCRIPTION = new SerializedString("description");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString SUBMITTING_PARTNER = new SerializedString("submittingPartner");
+    private static final SerializedString ESTIMATED_VALUE = new SerializedString("estimatedValue");
+    private static final SerializedString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializedString UPDATED_AT = new SerializedString("updatedAt");
+    private static final SerializedString VERSION = new SerializedString("version");
+    private static final SerializedString DUPLICATE_OF = new SerializedString("duplicateOf");
+
+    private static final SerializedString NDJSON_SEPARATOR = new SerializedString("\n");
+
+    // "yyyy-MM-ddTHH:mm:ss.nnnnnnnnn"
+    private static final int DATE_TIME_LENGTH = 29;
+
+    private final JsonFactory factory;
+
+    @Autowired
+    public InquiryJsonWriter(ObjectMapper objectMapper) {
+        this.factory = objectMapper.getFactory();
+    }
+
+    /**
+     * Whether list elements of this type can be written
+     */
+    public static boolean supportsElementType(Class<?> type) {
+        return TradeInquiry.class.isAssignableFrom(type) || InquirySummary.class.isAssignableFrom(type);
+    }
+
+    /**
+     * Write an {@code ApiResponse} holding a list of {@link TradeInquiry} or {@link InquirySummary}
+     * to the stream, leaving the stream open
+     * @param response The response to write
+     * @param out Destination
+     */
+    public void writeListResponse(ApiResponse<? extends List<?>> response, OutputStream out)
+            throws IOException {
+        try (JsonGenerator generator = factory.createGenerator(StreamUtils.nonClosing(out), JsonEncoding.UTF8)) {
+            char[] scratch = newScratchBuffer();
+
+            generator.writeStartObject();
+            generator.writeFieldName(SUCCESS);
+            generator.writeBoolean(response.isSuccess());
+            writeStringIfPresent(generator, MESSAGE, response.getMessage());
+            if (response.getData() != null) {
+                generator.writeFieldName(DATA);
+                generator.writeStartArray();
+                for (Object item : response.getData()) {
+                    if (item instanceof InquirySummary summary) {
+                        writeSummary(generator, summary, scratch);
+                    } else {
+                        writeInquiry(generator, (TradeInquiry) item, scratch);
+                    }
+                }
+                generator.writeEndArray();
+            }
+            writeStringIfPresent(generator, ERROR, response.getError());
+            writeStringIfPresent(generator, NEXT_CURSOR, response.getNextCursor());
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * @return A buffer for {@link #writeInquiry}, reusable for every row written by one thread
+     */
+    public static char[] newScratchBuffer() {
+        return new char[DATE_TIME_LENGTH];
+    }
+
+    /**
+     * Open a generator for newline-delimited JSON; root values written to it are separated by '\n'.
+     * Closing the generator closes the stream.
+     * @param out Destination
+     * @return The generator
+     */
+    public JsonGenerator createNdjsonGenerator(OutputStream out) throws IOException {
+        JsonGenerator generator = factory.createGenerator(out, JsonEncoding.UTF8);
+        generator.setRootValueSeparator(NDJSON_SEPARATOR);
+        return generator;
+    }
+
+    /**
+     * Write one inquiry as a JSON object
+     * @param generator Destination
+     * @param inquiry The inquiry
+     * @param scratch Buffer from {@link #newScratchBuffer()}
+     */
+    public void writeInquiry(JsonGenerator generator, TradeInquiry inquiry, char[] scratch) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(ID);
+        if (inquiry.getId() != null) {
+            generator.writeNumber(inquiry.getId().longValue());
+        } else {
+            generator.writeNull();
+        }
+        generator.writeFieldName(TITLE);
+        generator.writeString(inquiry.getTitle());
+        generator.writeFieldName(DESCRIPTION);
+        generator.writeString(inquiry.getDescription());
+        generator.writeFieldName(STATUS);
+        generator.writeString(inquiry.getStatus() != null ? inquiry.getStatus().name() : null);
+        generator.writeFieldName(SUBMITTING_PARTNER);
+        generator.writeString(inquiry.getSubmittingPartner());
+        generator.writeFieldName(ESTIMATED_VALUE);
+        generator.writeNumber(inquiry.getEstimatedValue());
+        generator.writeFieldName(CREATED_AT);
+        writeDateTime(generator, inquiry.getCreatedAt(), scratch);
+        generator.writeFieldName(UPDATED_AT);
+        writeDateTime(generator, inquiry.getUpdatedAt(), scratch);
+        generator.writeFieldName(VERSION);
+        if (inquiry.getVersion() != null) {
+            generator.writeNumber(inquiry.getVersion().longValue());
+        } else {
+            generator.writeNull();
+        }
+        generator.writeFieldName(DUPLICATE_OF);
+        if (inquiry.getDuplicateOf() != null) {
+            generator.writeNumber(inquiry.getDuplicateOf().longValue());
+        } else {
+            generator.writeNull();
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Write one list row as a JSON object; the description is left out unless it was loaded,
+     * and duplicateOf unless the inquiry was flagged
+     * @param generator Destination
+     * @param summary The row
+     * @param scratch Buffer from {@link #newScratchBuffer()}
+     */
+    public void writeSummary(JsonGenerator generator, InquirySummary summary, char[] scratch) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(ID);
+        generator.writeNumber(summary.getId().longValue());
+        generator.writeFieldName(TITLE);
+        generator.writeString(summary.getTitle());
+        writeStringIfPresent(generator, DESCRIPTION, summary.getDescription());
+        generator.writeFieldName(STATUS);
+        generator.writeString(summary.getStatus().name());
+        generator.writeFieldName(SUBMITTING_PARTNER);
+        generator.writeString(summary.getSubmittingPartner());
+        generator.writeFieldName(ESTIMATED_VALUE);
+        generator.writeNumber(summary.getEstimatedValue());
+        generator.writeFieldName(CREATED_AT);
+        writeDateTime(generator, summary.getCreatedAt(), scratch);
+        generator.writeFieldName(UPDATED_AT);
+        writeDateTime(generator, summary.getUpdatedAt(), scratch);
+        generator.writeFieldName(VERSION);
+        generator.writeNumber(summary.getVersion().longValue());
+        if (summary.getDuplicateOf() != null) {
+            generator.writeFieldName(DUPLICATE_OF);
+            generator.writeNumber(summary.getDuplicateOf().longValue());
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeStringIfPresent(JsonGenerator generator, SerializedString name, String value)
+            throws IOException {
+        if (value != null) {
+            generator.writeFieldName(name);
+            generator.writeString(value);
+        }
+    }
+
+    /**
+     * Same text as DateTimeFormatter.ISO_LOCAL_DATE_TIME, which Jackson uses for LocalDateTime
+     */
+    private static void writeDateTime(JsonGenerator generator, LocalDateTime value, char[] buffer)
+            throws IOException {
+        if (value == null) {
+            generator.writeNull();
+            return;
+        }
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            generator.writeString(value.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+            return;
+        }
+
+        int pos = digits(buffer, 0, year, 4);
+        buffer[pos++] = '-';
+        pos = digits(buffer, pos, value.getMonthValue(), 2);
+        buffer[pos++] = '-';
+        pos = digits(buffer, pos, value.getDayOfMonth(), 2);
+        buffer[pos++] = 'T';
+        pos = digits(buffer, pos, value.getHour(), 2);
+        buffer[pos++] = ':';
+        pos = digits(buffer, pos, value.getMinute(), 2);
+        buffer[pos++] = ':';
+        pos = digits(buffer, pos, value.getSecond(), 2);
+
+        int nano = value.getNano();
+        if (nano > 0) {
+            buffer[pos++] = '.';
+            int end = digits(buffer, pos, nano, 9);
+            // Fraction is printed without trailing zeros
+            while (buffer[end - 1] == '0') {
+                end--;
+            }
+            pos = end;
+        }
+        generator.writeString(buffer, 0, pos);
+    }
+
+    private static int digits(char[] buffer, int pos, int value, int width) {
+        for (int i = pos + width - 1; i >= pos; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return pos + width;
+    }
+}
@@ -0,0 +1,104 @@
+package org.realresourcesafrica.rsa.tradeverification.config;
+
+import org.realresourcesafrica.rsa.tradeverification.dto.ApiResponse;
+import org.realresourcesafrica.rsa.tradeverification.service.InquiryMetrics;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Writes {@code ApiResponse<List<TradeInquiry>>} and {@code ApiResponse<List<InquirySummary>>}
+ * bodies through {@link InquiryJsonWriter} instead of reflective Jackson serialization.
+ * Registered ahead of the default JSON converter; every other body type falls through to it.
+ */
+public class InquiryListMessageConverter extends AbstractGenericHttpMessageConverter<ApiResponse<List<?>>> {
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final InquiryJsonWriter writer;
+    private final InquiryMetrics metrics;
+
+    public InquiryListMessageConverter(InquiryJsonWriter writer, InquiryMetrics metrics) {
+        super(MediaType.APPLICATION_JSON);
+        this.writer = writer;
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ApiResponse.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (type == null || !canWrite(mediaType)) {
+            return false;
+        }
+        ResolvableType resolved = ResolvableType.forType(type);
+        return ApiResponse.class.isAssignableFrom(resolved.toClass())
+                && List.class.isAssignableFrom(resolved.getGeneric(0).toClass())
+                && InquiryJsonWriter.supportsElementType(resolved.getGeneric(0, 0).toClass());
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        // Element type is unknown without the generic type
+        return false;
+    }
+
+    @Override
+    protected void writeInternal(ApiResponse<List<?>> response, Type type, HttpOutputMessage outputMessage)
+            throws IOException {
+        CountingOutputStream body = new CountingOutputStream(outputMessage.getBody());
+        writer.writeListResponse(response, body);
+        int rows = response.getData() != null ? response.getData().size() : 0;
+        metrics.recordResponse(requestUri(), rows, body.getCount());
+    }
+
+    /**
+     * The matched mapping pattern, the same low-cardinality value http.server.requests uses as its uri tag
+     */
+    private static String requestUri() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        Object pattern = attributes != null
+                ? attributes.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                : null;
+        return pattern != null ? pattern.toString() : UNKNOWN_URI;
+    }
+
+    /**
+     * Never chosen for reading since canRead is always false; if called anyway, the body is
+     * reported as unreadable (400) rather than failing the request with a 500
+     */
+    @Override
+    public ApiResponse<List<?>> read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Inquiry list responses cannot be read as request bodies", inputMessage);
+    }
+
+    @Override
+    protected ApiResponse<List<?>> readInternal(
+            Class<? extends ApiResponse<List<?>>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Inquiry list responses cannot be read as request bodies", inputMessage);
+    }
+}
@@ -0,0 +1,314 @@
+package org.realresourcesafrica.rsa.tradeverification.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Tunables for the inquiry API, bound from the {@code inquiries.*} properties.
+ */
+@ConfigurationProperties(prefix = "inquiries")
+public class InquiryProperties {
+
+    private final Pagination pagination = new Pagination();
+    private final Batch batch = new Batch();
+    private final Cache cache = new Cache();
+    private final Events events = new Events();
+    private final History history = new History();
+    private final Analytics analytics = new Analytics();
+    private final RateLimit rateLimit = new RateLimit();
+    private final Duplicates duplicates = new Duplicates();
+    private final Idempotency idempotency = new Idempotency();
+    private final Backup backup = new Backup();
+    private final Replica replica = new Replica();
+    private final Archive archive = new Archive();
+    private final Export export = new Export();
+
+    public Pagination getPagination() { return pagination; }
+    public Batch getBatch() { return batch; }
+    public Cache getCache() { return cache; }
+    public Events getEvents() { return events; }
+    public History getHistory() { return history; }
+    public Analytics getAnalytics() { return analytics; }
+    public RateLimit getRateLimit() { return rateLimit; }
+    public Duplicates getDuplicates() { return duplicates; }
+    public Idempotency getIdempotency() { return idempotency; }
+    public Backup getBackup() { return backup; }
+    public Replica getReplica() { return replica; }
+    public Archive getArchive() { return archive; }
+    public Export getExport() { return export; }
+
+    /**
+     * Page sizes for keyset-paginated list calls
+     */
+    public static class Pagination {
+        private int defaultSize = 50;
+        private int maxSize = 500;
+        // Search pages are ranked in memory, so page * limit is bounded instead of capped by a cursor
+        private int maxSearchDepth = 10_000;
+
+        public int getDefaultSize() { return defaultSize; }
+        public void setDefaultSize(int defaultSize) { this.defaultSize = defaultSize; }
+
+        public int getMaxSize() { return maxSize; }
+        public void setMaxSize(int maxSize) { this.maxSize = maxSize; }
+
+        public int getMaxSearchDepth() { return maxSearchDepth; }
+        public void setMaxSearchDepth(int maxSearchDepth) { this.maxSearchDepth = maxSearchDepth; }
+    }
+
+    /**
+     * Limits for bulk ingestion through POST /api/inquiries/batch
+     */
+    public static class Batch {
+        private int jdbcBatchSize = 50;
+        private int maxItems = 10_000;
+
+        public int getJdbcBatchSize() { return jdbcBatchSize; }
+        public void setJdbcBatchSize(int jdbcBatchSize) { this.jdbcBatchSize = jdbcBatchSize; }
+
+        public int getMaxItems() { return maxItems; }
+        public void setMaxItems(int maxItems) { this.maxItems = maxItems; }
+    }
+
+    /**
+     * Bounds for the in-process cache behind GET /api/inquiries/{id}
+     */
+    public static class Cache {
+        private boolean enabled = true;
+        private long maximumSize = 10_000;
+        private Duration ttl = Duration.ofMinutes(5);
+        private Duration negativeTtl = Duration.ofSeconds(10);
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+        public long getMaximumSize() { return maximumSize; }
+        public void setMaximumSize(long maximumSize) { this.maximumSize = maximumSize; }
+
+        public Duration getTtl() { return ttl; }
+        public void setTtl(Duration ttl) { this.ttl = ttl; }
+
+        public Duration getNegativeTtl() { return negativeTtl; }
+        public void setNegativeTtl(Duration negativeTtl) { this.negativeTtl = negativeTtl; }
+    }
+
+    /**
+     * Sizing of the GET /api/inquiries/events change feed
+     */
+    public static class Events {
+        private int bufferSize = 1024;
+        private int subscriberQueueSize = 256;
+        private Duration heartbeat = Duration.ofSeconds(15);
+        private Duration timeout = Duration.ofMinutes(30);
+
+        public int getBufferSize() { return bufferSize; }
+        public void setBufferSize(int bufferSize) { this.bufferSize = bufferSize; }
+
+        public int getSubscriberQueueSize() { return subscriberQueueSize; }
+        public void setSubscriberQueueSize(int subscriberQueueSize) { this.subscriberQueueSize = subscriberQueueSize; }
+
+        public Duration getHeartbeat() { return heartbeat; }
+        public void setHeartbeat(Duration heartbeat) { this.heartbeat = heartbeat; }
+
+        public Duration getTimeout() { return timeout; }
+        public void setTimeout(Duration timeout) { this.timeout = timeout; }
+    }
+
+    /**
+     * Write-behind of status changes from the outbox to inquiry_status_history
+     */
+    public static class History {
+        private int queueCapacity = 10_000;
+        private int batchSize = 500;
+        private Duration sweepInterval = Duration.ofSeconds(30);
+
+        public int getQueueCapacity() { return queueCapacity; }
+        public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+
+        public int getBatchSize() { return batchSize; }
+        public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+
+        public Duration getSweepInterval() { return sweepInterval; }
+        public void setSweepInterval(Duration sweepInterval) { this.sweepInterval = sweepInterval; }
+    }
+
+    /**
+     * Query limits for GET /api/inquiries/analytics
+     */
+    public static class Analytics {
+        private int defaultDays = 30;
+        private int maxBuckets = 1000;
+
+        public int getDefaultDays() { return defaultDays; }
+        public void setDefaultDays(int defaultDays) { this.defaultDays = defaultDays; }
+
+        public int getMaxBuckets() { return maxBuckets; }
+        public void setMaxBuckets(int maxBuckets) { this.maxBuckets = maxBuckets; }
+    }
+
+    /**
+     * Token buckets in front of the write endpoints. Clients are charged one permit per
+     * write request; partners one permit per inquiry submitted under their name.
+     * A rate of zero or less turns that limit off.
+     */
+    public static class RateLimit {
+        private boolean enabled = true;
+        // Only set when a trusted gateway fronts every request; unset, clients are their remote address
+        private String clientHeader;
+        private double clientPerSecond = 50;
+        private int clientBurst = 100;
+        private double partnerPerSecond = 100;
+        private int partnerBurst = 1000;
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+        public String getClientHeader() { return clientHeader; }
+        public void setClientHeader(String clientHeader) { this.clientHeader = clientHeader; }
+
+        public double getClientPerSecond() { return clientPerSecond; }
+        public void setClientPerSecond(double clientPerSecond) { this.clientPerSecond = clientPerSecond; }
+
+        public int getClientBurst() { return clientBurst; }
+        public void setClientBurst(int clientBurst) { this.clientBurst = clientBurst; }
+
+        public double getPartnerPerSecond() { return partnerPerSecond; }
+        public void setPartnerPerSecond(double partnerPerSecond) { this.partnerPerSecond = partnerPerSecond; }
+
+        public int getPartnerBurst() { return partnerBurst; }
+        public void setPartnerBurst(int partnerBurst) { this.partnerBurst = partnerBurst; }
+    }
+
+    /**
+     * Near-duplicate detection on POST /api/inquiries
+     */
+    public static class Duplicates {
+
+        public enum Mode { OFF, FLAG, REJECT }
+
+        private Mode mode = Mode.FLAG;
+        // Differing SimHash bits (of 64) still treated as the same inquiry; at most 7
+        private int maxDistance = 4;
+
+        public Mode getMode() { return mode; }
+        public void setMode(Mode mode) { this.mode = mode; }
+
+        public int getMaxDistance() { return maxDistance; }
+        public void setMaxDistance(int maxDistance) { this.maxDistance = maxDistance; }
+    }
+
+    /**
+     * Retention of Idempotency-Key headers on POST /api/inquiries
+     */
+    public static class Idempotency {
+        private Duration ttl = Duration.ofHours(24);
+        private long maximumKeys = 100_000;
+
+        public Duration getTtl() { return ttl; }
+        public void setTtl(Duration ttl) { this.ttl = ttl; }
+
+        public long getMaximumKeys() { return maximumKeys; }
+        public void setMaximumKeys(long maximumKeys) { this.maximumKeys = maximumKeys; }
+    }
+
+    /**
+     * Online backups of a file-backed H2 database; turned on by the persistent profile
+     */
+    public static class Backup {
+        private boolean enabled = false;
+        private String directory = "./data/backups";
+        // Newest backups kept; older ones are deleted after each successful backup
+        private int retained = 7;
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+        public String getDirectory() { return directory; }
+        public void setDirectory(String directory) { this.directory = directory; }
+
+        public int getRetained() { return retained; }
+        public void setRetained(int retained) { this.retained = retained; }
+    }
+
+    /**
+     * Read replica for read-only transactions; routing is off unless url is set
+     */
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+        // Reads fall back to the primary while the replica is further behind than this
+        private Duration maxStaleness = Duration.ofSeconds(5);
+        // How long a client's reads stay on the primary after its own write
+        private Duration stickiness = Duration.ofSeconds(5);
+        private Duration heartbeatInterval = Duration.ofSeconds(1);
+
+        public String getUrl() { return url; }
+        public void setUrl(String url) { this.url = url; }
+
+        public String getUsername() { return username; }
+        public void setUsername(String username) { this.username = username; }
+
+        public String getPassword() { return password; }
+        public void setPassword(String password) { this.password = password; }
+
+        public int getMaximumPoolSize() { return maximumPoolSize; }
+        public void setMaximumPoolSize(int maximumPoolSize) { this.maximumPoolSize = maximumPoolSize; }
+
+        public Duration getMaxStaleness() { return maxStaleness; }
+        public void setMaxStaleness(Duration maxStaleness) { this.maxStaleness = maxStaleness; }
+
+        public Duration getStickiness() { return stickiness; }
+        public void setStickiness(Duration stickiness) { this.stickiness = stickiness; }
+
+        public Duration getHeartbeatInterval() { return heartbeatInterval; }
+        public void setHeartbeatInterval(Duration heartbeatInterval) { this.heartbeatInterval = heartbeatInterval; }
+    }
+
+    /**
+     * Tiering of resolved inquiries into compressed archive segments; turned on by the persistent profile
+     */
+    public static class Archive {
+        private boolean enabled = false;
+        private String directory = "./data/archive";
+        // Verified and rejected inquiries untouched for this long leave the hot table
+        private Duration minAge = Duration.ofDays(90);
+        // Inquiries per segment, and per archiving transaction
+        private int batchSize = 10_000;
+        // Decoded segments kept in memory for reads
+        private int cachedSegments = 16;
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+        public String getDirectory() { return directory; }
+        public void setDirectory(String directory) { this.directory = directory; }
+
+        public Duration getMinAge() { return minAge; }
+        public void setMinAge(Duration minAge) { this.minAge = minAge; }
+
+        public int getBatchSize() { return batchSize; }
+        public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+
+        public int getCachedSegments() { return cachedSegments; }
+        public void setCachedSegments(int cachedSegments) { this.cachedSegments = cachedSegments; }
+    }
+
+    /**
+     * Full exports from GET /api/inquiries/export
+     */
+    public static class Export {
+        // Rows the driver fetches per round trip from the export cursor
+        private int fetchSize = 1000;
+        // Bytes encoded before each write to the response
+        private int chunkSize = 64 * 1024;
+
+        public int getFetchSize() { return fetchSize; }
+        public void setFetchSize(int fetchSize) { this.fetchSize = fetchSize; }
+
+        public int getChunkSize() { return chunkSize; }
+        public void setChunkSize(int chunkSize) { this.chunkSize = chunkSize; }
+    }
+}
@@ -0,0 +1,19 @@
+package org.realresourcesafrica.rsa.tradeverification.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a handler whose reads must come from the primary even when a fresh read replica is
+ * configured, because its response is validated against state only the primary reflects
+ * (such as the collection watermark behind an ETag). A body read from a lagging replica
+ * would otherwise be cached under a tag that already claims the newer state.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ReadFromPrimary {
+}
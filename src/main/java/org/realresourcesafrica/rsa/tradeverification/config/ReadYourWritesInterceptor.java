@@ -0,0 +1,83 @@
+package org.realresourcesafrica.rsa.tradeverification.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+
+/**
+ * Keeps a client's reads on the primary for a while after it writes, so it sees its own
+ * inquiries and status changes even if the replica has not caught up.
+ * Write requests themselves always use the primary. A write is recorded when it starts, not
+ * when it ends, so a client cannot read before the record exists; it is recorded again on
+ * completion so the window runs from the end of the write. Clients are identified as for
+ * rate limiting. Handlers marked {@link ReadFromPrimary} read from the primary for everyone.
+ * The pin belongs to the request thread; response bodies written on another thread take it
+ * along through {@link #onRequestRoute}.
+ */
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+
+    private static final long MAXIMUM_CLIENTS = 100_000;
+
+    private final Cache<String, Boolean> recentWriters;
+    private final String clientHeader;
+
+    public ReadYourWritesInterceptor(Duration stickiness, String clientHeader) {
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(MAXIMUM_CLIENTS)
+                .expireAfterWrite(stickiness)
+                .build();
+        this.clientHeader = clientHeader;
+    }
+
+    /**
+     * Run a streamed response body with the reads routed as they would be on the request thread
+     * @param body The body, written later on an async thread
+     * @return The body, pinned to the primary while it runs if the request was
+     */
+    public static StreamingResponseBody onRequestRoute(StreamingResponseBody body) {
+        if (!ReplicaRoutingDataSource.isPinned()) {
+            return body;
+        }
+        return out -> {
+            ReplicaRoutingDataSource.pinToPrimary();
+            try {
+                body.writeTo(out);
+            } finally {
+                ReplicaRoutingDataSource.unpin();
+            }
+        };
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String client = WriteRateLimitInterceptor.clientOf(request, clientHeader);
+        if (WriteRateLimitInterceptor.isWrite(request)) {
+            recentWriters.put(client, Boolean.TRUE);
+            ReplicaRoutingDataSource.pinToPrimary();
+        } else if (recentWriters.getIfPresent(client) != null
+                || handler instanceof HandlerMethod method && method.hasMethodAnnotation(ReadFromPrimary.class)) {
+            ReplicaRoutingDataSource.pinToPrimary();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (WriteRateLimitInterceptor.isWrite(request)) {
+            recentWriters.put(WriteRateLimitInterceptor.clientOf(request, clientHeader), Boolean.TRUE);
+        }
+        ReplicaRoutingDataSource.unpin();
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // The request continues on another thread; don't leave this one pinned
+        ReplicaRoutingDataSource.unpin();
+    }
+}
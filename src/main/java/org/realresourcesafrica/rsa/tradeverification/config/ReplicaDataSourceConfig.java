@@ -0,0 +1,69 @@
+package org.realresourcesafrica.rsa.tradeverification.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Active when {@code inquiries.replica.url} is set.
+ * Replaces the auto-configured datasource with a {@link LazyConnectionDataSourceProxy} over
+ * the primary pool. The proxy only fetches a physical connection when the first statement
+ * runs, by which time a {@code @Transactional(readOnly = true)} method has marked it
+ * read-only; such connections come from the {@link ReplicaRoutingDataSource}, everything
+ * else from the primary. Dashboard reads then draw on the replica's pool and stop competing
+ * with verifier writes for primary connections.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "inquiries.replica", name = "url")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    HikariDataSource replicaDataSource(InquiryProperties properties) {
+        InquiryProperties.Replica config = properties.getReplica();
+        HikariDataSource replica = new HikariDataSource();
+        replica.setPoolName("replica");
+        replica.setJdbcUrl(config.getUrl());
+        replica.setUsername(config.getUsername());
+        replica.setPassword(config.getPassword());
+        replica.setMaximumPoolSize(config.getMaximumPoolSize());
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    ReplicaHeartbeat replicaHeartbeat(@Qualifier("primaryDataSource") DataSource primary,
+                                      @Qualifier("replicaDataSource") DataSource replica,
+                                      InquiryProperties properties) {
+        return new ReplicaHeartbeat(primary, replica, properties.getReplica().getMaxStaleness());
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                          @Qualifier("replicaDataSource") DataSource replica,
+                          ReplicaHeartbeat heartbeat) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(primary, replica, heartbeat));
+        return dataSource;
+    }
+
+    @Bean
+    ReadYourWritesInterceptor readYourWritesInterceptor(InquiryProperties properties) {
+        return new ReadYourWritesInterceptor(properties.getReplica().getStickiness(),
+                properties.getRateLimit().getClientHeader());
+    }
+}
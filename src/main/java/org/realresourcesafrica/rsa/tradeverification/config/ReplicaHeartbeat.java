@@ -0,0 +1,86 @@
+package org.realresourcesafrica.rsa.tradeverification.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Measures how far the read replica is behind the primary.
+ * Every interval the current time is written to {@code replica_heartbeat} on the primary and
+ * the newest beat is read back from the replica; the replica is as stale as the age of that
+ * beat. A replica that cannot be read, or has not shown a beat yet, is treated as too stale,
+ * so reads stay on the primary until replication has caught up.
+ */
+public class ReplicaHeartbeat {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaHeartbeat.class);
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final long maxStalenessMillis;
+
+    // Epoch millis of the newest beat seen on the replica, 0 if none
+    private volatile long lastSeenBeat;
+    private volatile boolean tableReady;
+    private boolean wasFresh;
+
+    public ReplicaHeartbeat(DataSource primary, DataSource replica, Duration maxStaleness) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.maxStalenessMillis = maxStaleness.toMillis();
+    }
+
+    /**
+     * @return true if the replica is within the configured staleness
+     */
+    public boolean isFresh() {
+        return getLagMillis() <= maxStalenessMillis;
+    }
+
+    /**
+     * @return Age of the newest beat visible on the replica, in milliseconds
+     */
+    public long getLagMillis() {
+        return System.currentTimeMillis() - lastSeenBeat;
+    }
+
+    @Scheduled(fixedDelayString = "${inquiries.replica.heartbeat-interval:PT1S}")
+    public void beat() {
+        long now = System.currentTimeMillis();
+        try {
+            if (!tableReady) {
+                primary.execute("CREATE TABLE IF NOT EXISTS replica_heartbeat (id INT PRIMARY KEY, beat_at BIGINT NOT NULL)");
+                tableReady = true;
+            }
+            if (primary.update("UPDATE replica_heartbeat SET beat_at = ? WHERE id = 1", now) == 0) {
+                primary.update("INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, ?)", now);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not write replica heartbeat to the primary", e);
+        }
+
+        try {
+            Long seen = replica.queryForObject("SELECT beat_at FROM replica_heartbeat WHERE id = 1", Long.class);
+            lastSeenBeat = seen != null ? seen : 0;
+        } catch (DataAccessException e) {
+            // Table not replicated yet, or the replica is down
+            lastSeenBeat = 0;
+        }
+
+        boolean fresh = isFresh();
+        if (fresh != wasFresh) {
+            if (fresh) {
+                log.info("Read replica caught up; routing read-only transactions to it");
+            } else {
+                log.warn("Read replica is more than {} ms behind or unreachable; routing reads to the primary",
+                        maxStalenessMillis);
+            }
+            wasFresh = fresh;
+        }
+    }
+}
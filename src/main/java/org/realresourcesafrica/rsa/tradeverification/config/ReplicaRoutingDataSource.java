@@ -0,0 +1,48 @@
+package org.realresourcesafrica.rsa.tradeverification.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Source of read-only connections: the replica, unless the current request has to see its
+ * client's own recent writes or the replica is too far behind, in which case the primary.
+ * Only consulted for connections that are read-only when first used; see
+ * {@link ReplicaDataSourceConfig}.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private enum Target { PRIMARY, REPLICA }
+
+    private final ReplicaHeartbeat heartbeat;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaHeartbeat heartbeat) {
+        this.heartbeat = heartbeat;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Send this thread's reads to the primary until {@link #unpin()}
+     */
+    static void pinToPrimary() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    static void unpin() {
+        PINNED.remove();
+    }
+
+    static boolean isPinned() {
+        return PINNED.get() != null;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return PINNED.get() == null && heartbeat.isFresh() ? Target.REPLICA : Target.PRIMARY;
+    }
+}
@@ -0,0 +1,38 @@
+package org.realresourcesafrica.rsa.tradeverification.config;
+
+import org.realresourcesafrica.rsa.tradeverification.controller.PartnerController;
+import org.realresourcesafrica.rsa.tradeverification.controller.TradeInquiryController;
+import org.realresourcesafrica.rsa.tradeverification.service.DatabaseBackups;
+import org.realresourcesafrica.rsa.tradeverification.service.InquiryAnalytics;
+import org.realresourcesafrica.rsa.tradeverification.service.InquiryArchiver;
+import org.realresourcesafrica.rsa.tradeverification.service.InquiryStatusCounter;
+import org.realresourcesafrica.rsa.tradeverification.service.StatusHistoryWriter;
+import org.realresourcesafrica.rsa.tradeverification.service.WriteRateLimiter;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Matters when {@code spring.main.lazy-initialization=true}, as in the fast-startup profile.
+ * Everything else is then created on first use; the controllers (and through them the
+ * service and its in-memory indexes) stay eager so the first request does not pay for them,
+ * and so do the beans whose scheduled jobs must run whether or not a request arrives.
+ */
+@Configuration(proxyBeanMethods = false)
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerInquiryBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                TradeInquiryController.class,
+                PartnerController.class,
+                InquiryStatusCounter.class,
+                InquiryAnalytics.class,
+                StatusHistoryWriter.class,
+                WriteRateLimiter.class,
+                DatabaseBackups.class,
+                InquiryArchiver.class
+        );
+    }
+}
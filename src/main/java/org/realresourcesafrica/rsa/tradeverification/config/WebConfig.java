@@ -0,0 +1,49 @@
+package org.realresourcesafrica.rsa.tradeverification.config;
+
+import org.realresourcesafrica.rsa.tradeverification.service.InquiryMetrics;
+import org.realresourcesafrica.rsa.tradeverification.service.WriteRateLimiter;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final InquiryJsonWriter inquiryJsonWriter;
+    private final InquiryMetrics inquiryMetrics;
+    private final WriteRateLimiter rateLimiter;
+    private final InquiryProperties properties;
+    private final ObjectProvider<ReadYourWritesInterceptor> readYourWrites;
+
+    @Autowired
+    public WebConfig(InquiryJsonWriter inquiryJsonWriter, InquiryMetrics inquiryMetrics,
+                     WriteRateLimiter rateLimiter, InquiryProperties properties,
+                     ObjectProvider<ReadYourWritesInterceptor> readYourWrites) {
+        this.inquiryJsonWriter = inquiryJsonWriter;
+        this.inquiryMetrics = inquiryMetrics;
+        this.rateLimiter = rateLimiter;
+        this.properties = properties;
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new WriteRateLimitInterceptor(rateLimiter, properties.getRateLimit().getClientHeader()))
+                .addPathPatterns("/api/inquiries", "/api/inquiries/**");
+        // Only present when a read replica is configured
+        readYourWrites.ifAvailable(interceptor -> registry.addInterceptor(interceptor)
+                .addPathPatterns("/api/**"));
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Ahead of the Jackson converter so inquiry lists take the streaming path
+        converters.add(0, new InquiryListMessageConverter(inquiryJsonWriter, inquiryMetrics));
+    }
+}
@@ -0,0 +1,45 @@
+package org.realresourcesafrica.rsa.tradeverification.config;
+
+import org.realresourcesafrica.rsa.tradeverification.service.WriteRateLimiter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Charges every POST, PUT, PATCH and DELETE to the calling client before the controller runs.
+ * The client is the remote address. Only when a client header is configured, meaning a trusted
+ * gateway sets it on every request, is that header used instead; otherwise callers could pick a
+ * fresh id per request and escape the limit. Partner limits need the request body and are
+ * applied in the controller.
+ */
+public class WriteRateLimitInterceptor implements HandlerInterceptor {
+
+    private final WriteRateLimiter rateLimiter;
+    private final String clientHeader;
+
+    public WriteRateLimitInterceptor(WriteRateLimiter rateLimiter, String clientHeader) {
+        this.rateLimiter = rateLimiter;
+        this.clientHeader = clientHeader;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (isWrite(request)) {
+            rateLimiter.acquireClient(clientOf(request, clientHeader));
+        }
+        return true;
+    }
+
+    static boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !(HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method));
+    }
+
+    static String clientOf(HttpServletRequest request, String clientHeader) {
+        String client = StringUtils.hasText(clientHeader) ? request.getHeader(clientHeader) : null;
+        return StringUtils.hasText(client) ? client : request.getRemoteAddr();
+    }
+}
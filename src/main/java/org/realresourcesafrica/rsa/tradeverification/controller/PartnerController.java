@@ -0,0 +1,67 @@
+package org.realresourcesafrica.rsa.tradeverification.controller;
+
+import org.realresourcesafrica.rsa.tradeverification.config.ReadFromPrimary;
+import org.realresourcesafrica.rsa.tradeverification.dto.ApiResponse;
+import org.realresourcesafrica.rsa.tradeverification.dto.InquirySummary;
+import org.realresourcesafrica.rsa.tradeverification.entity.PartnerStatusRollup;
+import org.realresourcesafrica.rsa.tradeverification.service.InquiryVersion;
+import org.realresourcesafrica.rsa.tradeverification.service.TradeInquiryService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/partners")
+@Validated
+@CrossOrigin(origins = "*") // Configure this properly for production
+public class PartnerController {
+
+    private final TradeInquiryService inquiryService;
+
+    @Autowired
+    public PartnerController(TradeInquiryService inquiryService) {
+        this.inquiryService = inquiryService;
+    }
+
+    /**
+     * Get one page of a partner's inquiry summaries, newest first
+     * GET /api/partners/{partner}/inquiries?cursor={cursor}&limit={limit}&fields={fields}&includeArchived={true|false}
+     * Like GET /api/inquiries, the page is read from the primary and tagged with its collection watermark.
+     */
+    @GetMapping("/{partner}/inquiries")
+    @ReadFromPrimary
+    public ResponseEntity<ApiResponse<List<InquirySummary>>> getPartnerInquiries(
+            @PathVariable String partner,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "fields", required = false) String fields,
+            @RequestParam(value = "includeArchived", defaultValue = "false") boolean includeArchived,
+            WebRequest webRequest) {
+
+        // Unchanged since the client's copy: answer 304 without querying or serializing
+        InquiryVersion version = inquiryService.getCollectionVersion();
+        if (webRequest.checkNotModified(version.getEtag(), version.getLastModified())) {
+            return null;
+        }
+
+        TradeInquiryService.InquiryPage page =
+                inquiryService.getPartnerInquiries(partner, cursor, limit, fields, includeArchived);
+        return ResponseEntity.ok(ApiResponse.page(
+                "Inquiries retrieved successfully for partner: " + partner, page.getItems(), page.getNextCursor()));
+    }
+
+    /**
+     * Get inquiry count and total estimated value per partner and status
+     * GET /api/partners/summary
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<ApiResponse<List<PartnerStatusRollup>>> getPartnerSummary() {
+        List<PartnerStatusRollup> summary = inquiryService.getPartnerSummary();
+        return ResponseEntity.ok(ApiResponse.success("Partner summary retrieved successfully", summary));
+    }
+}
@@ -1,19 +1,65 @@
 package org.realresourcesafrica.rsa.tradeverification.controller;
 
+import org.realresourcesafrica.rsa.tradeverification.config.CountingOutputStream;
+import org.realresourcesafrica.rsa.tradeverification.config.InquiryCsvWriter;
+import org.realresourcesafrica.rsa.tradeverification.config.InquiryJsonWriter;
+import org.realresourcesafrica.rsa.tradeverification.config.InquiryProperties;
+import org.realresourcesafrica.rsa.tradeverification.config.ReadFromPrimary;
+import org.realresourcesafrica.rsa.tradeverification.config.ReadYourWritesInterceptor;
+import org.realresourcesafrica.rsa.tradeverification.dto.AnalyticsBucket;
 import org.realresourcesafrica.rsa.tradeverification.dto.ApiResponse;
+import org.realresourcesafrica.rsa.tradeverification.dto.BatchItemResult;
+import org.realresourcesafrica.rsa.tradeverification.dto.BulkStatusUpdateRequest;
 import org.realresourcesafrica.rsa.tradeverification.dto.CreateInquiryRequest;
+import org.realresourcesafrica.rsa.tradeverification.dto.InquirySummary;
 import org.realresourcesafrica.rsa.tradeverification.dto.StatusUpdateRequest;
+import org.realresourcesafrica.rsa.tradeverification.dto.StatusUpdateResult;
+import org.realresourcesafrica.rsa.tradeverification.entity.InquiryStatus;
+import org.realresourcesafrica.rsa.tradeverification.entity.StatusHistoryEntry;
 import org.realresourcesafrica.rsa.tradeverification.entity.TradeInquiry;
+import org.realresourcesafrica.rsa.tradeverification.exception.InvalidBatchException;
+import org.realresourcesafrica.rsa.tradeverification.exception.InvalidExportException;
+import org.realresourcesafrica.rsa.tradeverification.service.IdempotencyKeys;
+import org.realresourcesafrica.rsa.tradeverification.service.InquiryCache;
+import org.realresourcesafrica.rsa.tradeverification.service.InquiryExporter;
+import org.realresourcesafrica.rsa.tradeverification.service.InquiryMetrics;
+import org.realresourcesafrica.rsa.tradeverification.service.InquiryVersion;
 import org.realresourcesafrica.rsa.tradeverification.service.TradeInquiryService;
+import org.realresourcesafrica.rsa.tradeverification.service.WriteRateLimiter;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.HealthComponent;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/inquiries")
@@ -21,60 +67,343 @@ import java.util.List;
 @CrossOrigin(origins = "*") // Configure this properly for production
 public class TradeInquiryController {
 
+    private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType(APPLICATION_NDJSON_VALUE);
+
+    // Flush the NDJSON export every this many rows rather than buffering the whole response
+    private static final int STREAM_FLUSH_INTERVAL = 256;
+
+    private static final String DB_HEALTH = "db";
+
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
+    // Written on an async thread, where the matched mapping pattern is not available
+    private static final String STREAM_URI = "/api/inquiries/stream";
+    private static final String EXPORT_URI = "/api/inquiries/export";
+
+    private static final String EXPORT_CSV = "csv";
+    private static final String EXPORT_NDJSON = "ndjson";
+    private static final String EXPORT_GZIP = "gzip";
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+
     private final TradeInquiryService inquiryService;
+    private final InquiryProperties properties;
+    private final Validator validator;
+    private final ObjectReader batchReader;
+    private final InquiryJsonWriter inquiryJsonWriter;
+    private final InquiryMetrics inquiryMetrics;
+    private final HealthEndpoint healthEndpoint;
+    private final WriteRateLimiter rateLimiter;
+    private final IdempotencyKeys idempotencyKeys;
+    private final InquiryExporter inquiryExporter;
 
     @Autowired
-    public TradeInquiryController(TradeInquiryService inquiryService) {
+    public TradeInquiryController(TradeInquiryService inquiryService,
+                                  InquiryProperties properties,
+                                  Validator validator,
+                                  ObjectMapper objectMapper,
+                                  InquiryJsonWriter inquiryJsonWriter,
+                                  InquiryMetrics inquiryMetrics,
+                                  HealthEndpoint healthEndpoint,
+                                  WriteRateLimiter rateLimiter,
+                                  IdempotencyKeys idempotencyKeys,
+                                  InquiryExporter inquiryExporter) {
         this.inquiryService = inquiryService;
+        this.properties = properties;
+        this.validator = validator;
+        this.batchReader = objectMapper.readerFor(CreateInquiryRequest.class);
+        this.inquiryJsonWriter = inquiryJsonWriter;
+        this.inquiryMetrics = inquiryMetrics;
+        this.healthEndpoint = healthEndpoint;
+        this.rateLimiter = rateLimiter;
+        this.idempotencyKeys = idempotencyKeys;
+        this.inquiryExporter = inquiryExporter;
     }
 
     /**
-     * Submit a new trade inquiry
+     * Submit a new trade inquiry. With an Idempotency-Key header, a retry of the same
+     * request returns the inquiry created the first time instead of a new one.
      * POST /api/inquiries
      */
     @PostMapping
     public ResponseEntity<ApiResponse<TradeInquiry>> createInquiry(
-            @Valid @RequestBody CreateInquiryRequest request) {
+            @Valid @RequestBody CreateInquiryRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
 
-        // Create TradeInquiry entity from request
-        TradeInquiry inquiry = new TradeInquiry(
-                request.getTitle(),
-                request.getDescription(),
-                request.getSubmittingPartner(),
-                request.getEstimatedValue()
-        );
+        TradeInquiry inquiry = toInquiry(request);
+        if (!StringUtils.hasText(idempotencyKey)) {
+            rateLimiter.acquirePartner(inquiry.getPartnerKey());
+            return created(inquiryService.createInquiry(inquiry));
+        }
+
+        IdempotencyKeys.Reservation reservation = idempotencyKeys.reserve(idempotencyKey, inquiry);
+        if (reservation.isReplay()) {
+            TradeInquiry original = inquiryService.getInquiryById(reservation.getInquiryId());
+            return ResponseEntity.ok()
+                    .header(IDEMPOTENT_REPLAYED, "true")
+                    .body(ApiResponse.success("Inquiry already created with this Idempotency-Key", original));
+        }
+        try {
+            rateLimiter.acquirePartner(inquiry.getPartnerKey());
+            TradeInquiry createdInquiry = inquiryService.createInquiry(inquiry);
+            reservation.complete(createdInquiry.getId());
+            return created(createdInquiry);
+        } catch (RuntimeException ex) {
+            reservation.release();
+            throw ex;
+        }
+    }
+
+    /**
+     * Submit many trade inquiries at once, as a JSON array or an NDJSON stream.
+     * Every item is validated; valid items are inserted in JDBC batches and
+     * the response reports the outcome of each item in request order.
+     * POST /api/inquiries/batch
+     */
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ApiResponse<List<BatchItemResult>>> createInquiries(InputStream body) throws IOException {
+        int maxItems = properties.getBatch().getMaxItems();
+        List<BatchItemResult> results = new ArrayList<>();
+        List<BatchItemResult> accepted = new ArrayList<>();
+        List<TradeInquiry> inquiries = new ArrayList<>();
+
+        // readValues unwraps a top-level array and also reads whitespace-separated root values
+        try (MappingIterator<CreateInquiryRequest> items = batchReader.readValues(body)) {
+            while (items.hasNextValue()) {
+                int index = results.size();
+                if (index >= maxItems) {
+                    throw new InvalidBatchException("Batch exceeds the maximum of " + maxItems + " inquiries");
+                }
+
+                CreateInquiryRequest request = items.nextValue();
+                Map<String, String> errors = validate(request);
+                if (!errors.isEmpty()) {
+                    results.add(BatchItemResult.invalid(index, errors));
+                    continue;
+                }
+
+                BatchItemResult result = BatchItemResult.created(index);
+                results.add(result);
+                accepted.add(result);
+                inquiries.add(toInquiry(request));
+            }
+        } catch (JsonProcessingException ex) {
+            throw new InvalidBatchException("Malformed inquiry at position " + results.size() +
+                    ": " + ex.getOriginalMessage(), ex);
+        }
+
+        if (results.isEmpty()) {
+            throw new InvalidBatchException("Batch contains no inquiries");
+        }
+
+        if (!inquiries.isEmpty()) {
+            Map<String, Integer> perPartner = new HashMap<>();
+            for (TradeInquiry inquiry : inquiries) {
+                perPartner.merge(inquiry.getPartnerKey(), 1, Integer::sum);
+            }
+            rateLimiter.acquirePartners(perPartner);
 
-        TradeInquiry createdInquiry = inquiryService.createInquiry(inquiry);
+            List<TradeInquiry> created = inquiryService.createInquiries(inquiries);
+            for (int i = 0; i < created.size(); i++) {
+                accepted.get(i).setId(created.get(i).getId());
+            }
+        }
 
+        String message = accepted.size() + " of " + results.size() + " inquiries created";
+        HttpStatus status = accepted.size() == results.size() ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
         return ResponseEntity
-                .status(HttpStatus.CREATED)
-                .body(ApiResponse.success("Inquiry created successfully", createdInquiry));
+                .status(status)
+                .body(ApiResponse.success(message, results));
     }
 
     /**
-     * Get all inquiries, optionally filtered by status
-     * GET /api/inquiries?status={status}
+     * Get one page of inquiry summaries, newest first, optionally filtered by status
+     * GET /api/inquiries?status={status}&cursor={cursor}&limit={limit}&fields={fields}&includeArchived={true|false}
+     * The page is read from the primary: its ETag is the primary's collection watermark.
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<TradeInquiry>>> getInquiries(
-            @RequestParam(value = "status", required = false) String status) {
+    @ReadFromPrimary
+    public ResponseEntity<ApiResponse<List<InquirySummary>>> getInquiries(
+            @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "fields", required = false) String fields,
+            @RequestParam(value = "includeArchived", defaultValue = "false") boolean includeArchived,
+            WebRequest webRequest) {
+
+        // Unchanged since the client's copy: answer 304 without querying or serializing
+        InquiryVersion version = inquiryService.getCollectionVersion();
+        if (webRequest.checkNotModified(version.getEtag(), version.getLastModified())) {
+            return null;
+        }
 
-        List<TradeInquiry> inquiries = inquiryService.getInquiries(status);
+        TradeInquiryService.InquiryPage page = inquiryService.getInquiries(status, cursor, limit, fields, includeArchived);
 
         String message = status != null ?
                 "Inquiries retrieved successfully for status: " + status :
                 "All inquiries retrieved successfully";
 
-        return ResponseEntity.ok(ApiResponse.success(message, inquiries));
+        return ResponseEntity.ok(ApiResponse.page(message, page.getItems(), page.getNextCursor()));
+    }
+
+    /**
+     * Stream all inquiries as newline-delimited JSON, newest first
+     * GET /api/inquiries/stream?status={status}&includeArchived={true|false}
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamInquiries(
+            @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "includeArchived", defaultValue = "false") boolean includeArchived) {
+
+        // Reject a bad filter before the response is committed
+        if (StringUtils.hasText(status)) {
+            inquiryService.parseStatus(status);
+        }
+
+        StreamingResponseBody body = out -> {
+            CountingOutputStream counted = new CountingOutputStream(out);
+            long[] written = {0};
+            try (JsonGenerator generator = inquiryJsonWriter.createNdjsonGenerator(counted)) {
+                char[] scratch = InquiryJsonWriter.newScratchBuffer();
+                inquiryService.streamInquiries(status, includeArchived, inquiry -> {
+                    try {
+                        inquiryJsonWriter.writeInquiry(generator, inquiry, scratch);
+                        if (++written[0] % STREAM_FLUSH_INTERVAL == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+                if (written[0] > 0) {
+                    generator.writeRaw('\n');
+                }
+            }
+            inquiryMetrics.recordResponse(STREAM_URI, written[0], counted.getCount());
+        };
+
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON)
+                .body(ReadYourWritesInterceptor.onRequestRoute(body));
+    }
+
+    /**
+     * Download every inquiry as CSV or NDJSON, newest first, optionally gzip-compressed.
+     * Rows are read off a database cursor and encoded into one reused buffer that is written
+     * out chunk by chunk, so memory stays flat however large the export.
+     * GET /api/inquiries/export?format={csv|ndjson}&compress={gzip|none}&status={status}&includeArchived={true|false}
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportInquiries(
+            @RequestParam(value = "format", defaultValue = EXPORT_CSV) String format,
+            @RequestParam(value = "compress", required = false) String compress,
+            @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "includeArchived", defaultValue = "false") boolean includeArchived) {
+
+        // Reject bad parameters before the response is committed
+        boolean csv = EXPORT_CSV.equalsIgnoreCase(format);
+        if (!csv && !EXPORT_NDJSON.equalsIgnoreCase(format)) {
+            throw new InvalidExportException("Invalid format: " + format + ". Valid formats are: csv, ndjson");
+        }
+        boolean gzip = EXPORT_GZIP.equalsIgnoreCase(compress);
+        if (!gzip && StringUtils.hasText(compress) && !"none".equalsIgnoreCase(compress)) {
+            throw new InvalidExportException("Invalid compression: " + compress + ". Valid values are: gzip, none");
+        }
+        InquiryStatus filter = StringUtils.hasText(status) ? inquiryService.parseStatus(status) : null;
+        int chunkSize = properties.getExport().getChunkSize();
+
+        StreamingResponseBody body = out -> {
+            CountingOutputStream counted = new CountingOutputStream(out);
+            // Sync flush so each chunk reaches the client instead of waiting in the deflater
+            OutputStream target = gzip ? new GZIPOutputStream(counted, chunkSize, true) : counted;
+            long written;
+            if (csv) {
+                try (InquiryCsvWriter writer = new InquiryCsvWriter(target, chunkSize)) {
+                    writer.writeHeader();
+                    written = inquiryExporter.export(filter, includeArchived, inquiry -> {
+                        try {
+                            writer.writeInquiry(inquiry);
+                        } catch (IOException ex) {
+                            throw new UncheckedIOException(ex);
+                        }
+                    });
+                }
+            } else {
+                long[] rows = {0};
+                try (JsonGenerator generator = inquiryJsonWriter.createNdjsonGenerator(target)) {
+                    char[] scratch = InquiryJsonWriter.newScratchBuffer();
+                    inquiryExporter.export(filter, includeArchived, inquiry -> {
+                        try {
+                            inquiryJsonWriter.writeInquiry(generator, inquiry, scratch);
+                            if (++rows[0] == 1 || rows[0] % STREAM_FLUSH_INTERVAL == 0) {
+                                generator.flush();
+                            }
+                        } catch (IOException ex) {
+                            throw new UncheckedIOException(ex);
+                        }
+                    });
+                    if (rows[0] > 0) {
+                        generator.writeRaw('\n');
+                    }
+                }
+                written = rows[0];
+            }
+            inquiryMetrics.recordResponse(EXPORT_URI, written, counted.getCount());
+        };
+
+        String filename = "inquiries." + (csv ? EXPORT_CSV : EXPORT_NDJSON) + (gzip ? ".gz" : "");
+        MediaType contentType = gzip ? MediaType.parseMediaType("application/gzip")
+                : csv ? TEXT_CSV : APPLICATION_NDJSON;
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(filename).build().toString())
+                .body(ReadYourWritesInterceptor.onRequestRoute(body));
+    }
+
+    /**
+     * Full-text search over title, description and submitting partner, best match first
+     * GET /api/inquiries/search?q={query}&page={page}&limit={limit}
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<List<TradeInquiry>>> searchInquiries(
+            @RequestParam("q") String query,
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+
+        TradeInquiryService.SearchResults results = inquiryService.searchInquiries(query, page, limit);
+        String message = "Found " + results.getTotal() + " inquiries matching: " + query;
+        return ResponseEntity.ok(ApiResponse.success(message, results.getItems()));
+    }
+
+    /**
+     * Subscribe to created, status-changed and deleted events (and their batch forms) as Server-Sent Events.
+     * Reconnecting clients send Last-Event-ID to replay what they missed.
+     * GET /api/inquiries/events
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return inquiryService.subscribeToEvents(lastEventId);
     }
 
     /**
      * Get a specific inquiry by ID
-     * GET /api/inquiries/{id}
+     * GET /api/inquiries/{id}?includeArchived={true|false}
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<TradeInquiry>> getInquiryById(@PathVariable Long id) {
-        TradeInquiry inquiry = inquiryService.getInquiryById(id);
+    public ResponseEntity<ApiResponse<TradeInquiry>> getInquiryById(
+            @PathVariable Long id,
+            @RequestParam(value = "includeArchived", defaultValue = "false") boolean includeArchived,
+            WebRequest webRequest) {
+        // Probe the version first so a matching If-None-Match skips the entity load
+        InquiryVersion version = inquiryService.getInquiryVersion(id, includeArchived);
+        if (webRequest.checkNotModified(version.getEtag(), version.getLastModified())) {
+            return null;
+        }
+
+        TradeInquiry inquiry = inquiryService.getInquiryById(id, includeArchived);
         return ResponseEntity.ok(ApiResponse.success("Inquiry retrieved successfully", inquiry));
     }
 
@@ -94,16 +423,76 @@ public class TradeInquiryController {
         );
     }
 
+    /**
+     * Move many inquiries, given by id or by filter, to one status.
+     * Answers 200 when every inquiry ended up in the target status and 207 otherwise.
+     * PUT /api/inquiries/status
+     */
+    @PutMapping("/status")
+    public ResponseEntity<ApiResponse<List<StatusUpdateResult>>> updateInquiryStatuses(
+            @Valid @RequestBody BulkStatusUpdateRequest request) {
+
+        List<StatusUpdateResult> results = inquiryService.updateInquiryStatuses(request);
+
+        long updated = results.stream().filter(result -> StatusUpdateResult.UPDATED.equals(result.getOutcome())).count();
+        boolean allApplied = results.stream().allMatch(StatusUpdateResult::isApplied);
+        String message = updated + " of " + results.size() + " inquiries updated";
+        return ResponseEntity
+                .status(allApplied ? HttpStatus.OK : HttpStatus.MULTI_STATUS)
+                .body(ApiResponse.success(message, results));
+    }
+
+    /**
+     * Get the status change history of an inquiry, oldest first
+     * GET /api/inquiries/{id}/history
+     */
+    @GetMapping("/{id}/history")
+    public ResponseEntity<ApiResponse<List<StatusHistoryEntry>>> getStatusHistory(@PathVariable Long id) {
+        List<StatusHistoryEntry> history = inquiryService.getStatusHistory(id);
+        return ResponseEntity.ok(ApiResponse.success("Status history retrieved successfully", history));
+    }
+
     /**
      * Get inquiry statistics
-     * GET /api/inquiries/statistics
+     * GET /api/inquiries/statistics?includeArchived={true|false}
      */
     @GetMapping("/statistics")
-    public ResponseEntity<ApiResponse<TradeInquiryService.InquiryStatistics>> getStatistics() {
-        TradeInquiryService.InquiryStatistics stats = inquiryService.getStatistics();
+    public ResponseEntity<ApiResponse<TradeInquiryService.InquiryStatistics>> getStatistics(
+            @RequestParam(value = "includeArchived", defaultValue = "false") boolean includeArchived,
+            WebRequest webRequest) {
+        InquiryVersion version = inquiryService.getCollectionVersion();
+        if (webRequest.checkNotModified(version.getEtag(), version.getLastModified())) {
+            return null;
+        }
+
+        TradeInquiryService.InquiryStatistics stats = inquiryService.getStatistics(includeArchived);
         return ResponseEntity.ok(ApiResponse.success("Statistics retrieved successfully", stats));
     }
 
+    /**
+     * Get inquiry counts, total value and value percentiles by creation date
+     * GET /api/inquiries/analytics?from=2024-01-01&to=2024-03-31&bucket=week&status=VERIFIED
+     */
+    @GetMapping("/analytics")
+    public ResponseEntity<ApiResponse<List<AnalyticsBucket>>> getAnalytics(
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String bucket,
+            @RequestParam(required = false) String status) {
+        List<AnalyticsBucket> buckets = inquiryService.getAnalytics(from, to, bucket, status);
+        return ResponseEntity.ok(ApiResponse.success("Analytics retrieved successfully", buckets));
+    }
+
+    /**
+     * Get inquiry cache statistics
+     * GET /api/inquiries/cache/statistics
+     */
+    @GetMapping("/cache/statistics")
+    public ResponseEntity<ApiResponse<InquiryCache.CacheStatistics>> getCacheStatistics() {
+        InquiryCache.CacheStatistics stats = inquiryService.getCacheStatistics();
+        return ResponseEntity.ok(ApiResponse.success("Cache statistics retrieved successfully", stats));
+    }
+
     /**
      * Delete an inquiry (admin function)
      * DELETE /api/inquiries/{id}
@@ -115,13 +504,47 @@ public class TradeInquiryController {
     }
 
     /**
-     * Health check endpoint
+     * Health check endpoint, backed by the Actuator database health indicator
      * GET /api/inquiries/health
      */
     @GetMapping("/health")
     public ResponseEntity<ApiResponse<String>> healthCheck() {
+        HealthComponent database = healthEndpoint.healthForPath(DB_HEALTH);
+        Status status = database != null ? database.getStatus() : Status.UNKNOWN;
+        if (!Status.UP.equals(status)) {
+            return ResponseEntity
+                    .status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(ApiResponse.error("Database health is " + status.getCode()));
+        }
         return ResponseEntity.ok(
                 ApiResponse.success("Trade Inquiry Verification API is running", "OK")
         );
     }
+
+    private static ResponseEntity<ApiResponse<TradeInquiry>> created(TradeInquiry inquiry) {
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Inquiry created successfully", inquiry));
+    }
+
+    private TradeInquiry toInquiry(CreateInquiryRequest request) {
+        return new TradeInquiry(
+                request.getTitle(),
+                request.getDescription(),
+                request.getSubmittingPartner(),
+                request.getEstimatedValue()
+        );
+    }
+
+    private Map<String, String> validate(CreateInquiryRequest request) {
+        Map<String, String> errors = new HashMap<>();
+        if (request == null) {
+            errors.put("inquiry", "Inquiry is required");
+            return errors;
+        }
+        for (ConstraintViolation<CreateInquiryRequest> violation : validator.validate(request)) {
+            errors.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        return errors;
+    }
 }
@@ -0,0 +1,55 @@
+package org.realresourcesafrica.rsa.tradeverification.dto;
+
+import org.realresourcesafrica.rsa.tradeverification.entity.InquiryStatus;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Inquiries created in one time bucket of GET /api/inquiries/analytics.
+ * Covers [start, end); percentiles are estimates within about 1% of the true value.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AnalyticsBucket {
+
+    private LocalDate start;
+    private LocalDate end;
+    private long count;
+    private Map<InquiryStatus, Long> countsByStatus;
+    private BigDecimal totalValue;
+    private Map<String, BigDecimal> valuePercentiles;
+
+    public AnalyticsBucket() {}
+
+    public AnalyticsBucket(LocalDate start, LocalDate end, long count, Map<InquiryStatus, Long> countsByStatus,
+                           BigDecimal totalValue, Map<String, BigDecimal> valuePercentiles) {
+        this.start = start;
+        this.end = end;
+        this.count = count;
+        this.countsByStatus = countsByStatus;
+        this.totalValue = totalValue;
+        this.valuePercentiles = valuePercentiles;
+    }
+
+    // Getters and Setters
+    public LocalDate getStart() { return start; }
+    public void setStart(LocalDate start) { this.start = start; }
+
+    public LocalDate getEnd() { return end; }
+    public void setEnd(LocalDate end) { this.end = end; }
+
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+
+    public Map<InquiryStatus, Long> getCountsByStatus() { return countsByStatus; }
+    public void setCountsByStatus(Map<InquiryStatus, Long> countsByStatus) { this.countsByStatus = countsByStatus; }
+
+    public BigDecimal getTotalValue() { return totalValue; }
+    public void setTotalValue(BigDecimal totalValue) { this.totalValue = totalValue; }
+
+    public Map<String, BigDecimal> getValuePercentiles() { return valuePercentiles; }
+    public void setValuePercentiles(Map<String, BigDecimal> valuePercentiles) { this.valuePercentiles = valuePercentiles; }
+}
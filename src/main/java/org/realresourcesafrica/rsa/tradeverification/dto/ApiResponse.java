@@ -9,6 +9,7 @@ public class ApiResponse<T> {
     private String message;
     private T data;
     private String error;
+    private String nextCursor;
 
     public ApiResponse() {}
 
@@ -26,6 +27,12 @@ public class ApiResponse<T> {
         return new ApiResponse<>(true, message, data);
     }
 
+    public static <T> ApiResponse<T> page(String message, T data, String nextCursor) {
+        ApiResponse<T> response = new ApiResponse<>(true, message, data);
+        response.nextCursor = nextCursor;
+        return response;
+    }
+
     public static <T> ApiResponse<T> error(String error) {
         ApiResponse<T> response = new ApiResponse<>();
         response.success = false;
@@ -45,4 +52,7 @@ public class ApiResponse<T> {
 
     public String getError() { return error; }
     public void setError(String error) { this.error = error; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
 }
\ No newline at end of file
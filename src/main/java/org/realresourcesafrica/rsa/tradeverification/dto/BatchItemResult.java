@@ -0,0 +1,50 @@
+package org.realresourcesafrica.rsa.tradeverification.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+/**
+ * Outcome of one item in a batch submission, reported in request order
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult {
+
+    public static final String CREATED = "CREATED";
+    public static final String INVALID = "INVALID";
+
+    private int index;
+    private String outcome;
+    private Long id;
+    private Map<String, String> errors;
+
+    public BatchItemResult() {}
+
+    public BatchItemResult(int index, String outcome, Long id, Map<String, String> errors) {
+        this.index = index;
+        this.outcome = outcome;
+        this.id = id;
+        this.errors = errors;
+    }
+
+    public static BatchItemResult created(int index) {
+        return new BatchItemResult(index, CREATED, null, null);
+    }
+
+    public static BatchItemResult invalid(int index, Map<String, String> errors) {
+        return new BatchItemResult(index, INVALID, null, errors);
+    }
+
+    // Getters and Setters
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+
+    public String getOutcome() { return outcome; }
+    public void setOutcome(String outcome) { this.outcome = outcome; }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Map<String, String> getErrors() { return errors; }
+    public void setErrors(Map<String, String> errors) { this.errors = errors; }
+}
@@ -0,0 +1,56 @@
+package org.realresourcesafrica.rsa.tradeverification.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Target status for many inquiries at once, selected either by id or by a filter
+ */
+public class BulkStatusUpdateRequest {
+
+    private List<Long> ids;
+
+    @Valid
+    private Filter filter;
+
+    @NotBlank(message = "Status is required")
+    private String status;
+
+    // Optional name of the analyst making the change, recorded in the status history
+    @Size(max = 255, message = "changedBy must be at most 255 characters")
+    private String changedBy;
+
+    public BulkStatusUpdateRequest() {}
+
+    // Getters and Setters
+    public List<Long> getIds() { return ids; }
+    public void setIds(List<Long> ids) { this.ids = ids; }
+
+    public Filter getFilter() { return filter; }
+    public void setFilter(Filter filter) { this.filter = filter; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getChangedBy() { return changedBy; }
+    public void setChangedBy(String changedBy) { this.changedBy = changedBy; }
+
+    /**
+     * Selects inquiries by current status and/or submitting partner
+     */
+    public static class Filter {
+        private String status;
+        private String partner;
+
+        public Filter() {}
+
+        public String getStatus() { return status; }
+        public void setStatus(String status) { this.status = status; }
+
+        public String getPartner() { return partner; }
+        public void setPartner(String partner) { this.partner = partner; }
+    }
+}
@@ -0,0 +1,87 @@
+package org.realresourcesafrica.rsa.tradeverification.dto;
+
+import org.realresourcesafrica.rsa.tradeverification.entity.InquiryStatus;
+import org.realresourcesafrica.rsa.tradeverification.entity.TradeInquiry;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One committed change to the inquiry table, as published on GET /api/inquiries/events.
+ * {@code statisticsDelta} holds the change to each field of the statistics response
+ * (total, pending, verified, rejected) so dashboards can keep their counters current
+ * without polling. A batch or bulk write is published as a single {@code created-batch} or
+ * {@code status-changed-batch} event listing the affected ids, so one large write does not
+ * fill every subscriber's queue.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class InquiryEvent {
+
+    public static final String CREATED = "created";
+    public static final String STATUS_CHANGED = "status-changed";
+    public static final String DELETED = "deleted";
+    public static final String CREATED_BATCH = "created-batch";
+    public static final String STATUS_CHANGED_BATCH = "status-changed-batch";
+
+    private long sequence;
+    private String type;
+    private Long inquiryId;
+    private List<Long> inquiryIds;
+    private InquiryStatus status;
+    private InquiryStatus previousStatus;
+    private TradeInquiry inquiry;
+    private Map<String, Long> statisticsDelta;
+    private LocalDateTime occurredAt;
+
+    public InquiryEvent() {}
+
+    public InquiryEvent(String type, Long inquiryId, InquiryStatus status, InquiryStatus previousStatus,
+                        TradeInquiry inquiry, Map<String, Long> statisticsDelta) {
+        this.type = type;
+        this.inquiryId = inquiryId;
+        this.status = status;
+        this.previousStatus = previousStatus;
+        this.inquiry = inquiry;
+        this.statisticsDelta = statisticsDelta;
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    public InquiryEvent(String type, List<Long> inquiryIds, InquiryStatus status, Map<String, Long> statisticsDelta) {
+        this.type = type;
+        this.inquiryIds = inquiryIds;
+        this.status = status;
+        this.statisticsDelta = statisticsDelta;
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public long getSequence() { return sequence; }
+    public void setSequence(long sequence) { this.sequence = sequence; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public Long getInquiryId() { return inquiryId; }
+    public void setInquiryId(Long inquiryId) { this.inquiryId = inquiryId; }
+
+    public List<Long> getInquiryIds() { return inquiryIds; }
+    public void setInquiryIds(List<Long> inquiryIds) { this.inquiryIds = inquiryIds; }
+
+    public InquiryStatus getStatus() { return status; }
+    public void setStatus(InquiryStatus status) { this.status = status; }
+
+    public InquiryStatus getPreviousStatus() { return previousStatus; }
+    public void setPreviousStatus(InquiryStatus previousStatus) { this.previousStatus = previousStatus; }
+
+    public TradeInquiry getInquiry() { return inquiry; }
+    public void setInquiry(TradeInquiry inquiry) { this.inquiry = inquiry; }
+
+    public Map<String, Long> getStatisticsDelta() { return statisticsDelta; }
+    public void setStatisticsDelta(Map<String, Long> statisticsDelta) { this.statisticsDelta = statisticsDelta; }
+
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+    public void setOccurredAt(LocalDateTime occurredAt) { this.occurredAt = occurredAt; }
+}
@@ -0,0 +1,85 @@
+package org.realresourcesafrica.rsa.tradeverification.dto;
+
+import org.realresourcesafrica.rsa.tradeverification.entity.InquiryStatus;
+import org.realresourcesafrica.rsa.tradeverification.entity.TradeInquiry;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Row of an inquiry list: every column the dashboard table shows, selected by a JPQL
+ * constructor expression so the TEXT description is never read. The description is only
+ * present when the caller asked for it with {@code fields=description}; {@code duplicateOf}
+ * only when the inquiry was flagged as a near-duplicate of an earlier one.
+ */
+public class InquirySummary {
+
+    public static final String DESCRIPTION = "description";
+
+    private final Long id;
+    private final String title;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final String description;
+    private final InquiryStatus status;
+    private final String submittingPartner;
+    private final BigDecimal estimatedValue;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final Long version;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final Long duplicateOf;
+
+    // Used by the repository's constructor expressions
+    public InquirySummary(Long id, String title, InquiryStatus status, String submittingPartner,
+                          BigDecimal estimatedValue, LocalDateTime createdAt, LocalDateTime updatedAt,
+                          Long version, Long duplicateOf) {
+        this(id, title, null, status, submittingPartner, estimatedValue, createdAt, updatedAt, version, duplicateOf);
+    }
+
+    private InquirySummary(Long id, String title, String description, InquiryStatus status,
+                           String submittingPartner, BigDecimal estimatedValue, LocalDateTime createdAt,
+                           LocalDateTime updatedAt, Long version, Long duplicateOf) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.status = status;
+        this.submittingPartner = submittingPartner;
+        this.estimatedValue = estimatedValue;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.version = version;
+        this.duplicateOf = duplicateOf;
+    }
+
+    /**
+     * Full view of a loaded inquiry, description included
+     */
+    public static InquirySummary withDescription(TradeInquiry inquiry) {
+        return new InquirySummary(inquiry.getId(), inquiry.getTitle(), inquiry.getDescription(),
+                inquiry.getStatus(), inquiry.getSubmittingPartner(), inquiry.getEstimatedValue(),
+                inquiry.getCreatedAt(), inquiry.getUpdatedAt(), inquiry.getVersion(), inquiry.getDuplicateOf());
+    }
+
+    // Getters
+    public Long getId() { return id; }
+
+    public String getTitle() { return title; }
+
+    public String getDescription() { return description; }
+
+    public InquiryStatus getStatus() { return status; }
+
+    public String getSubmittingPartner() { return submittingPartner; }
+
+    public BigDecimal getEstimatedValue() { return estimatedValue; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+
+    public Long getVersion() { return version; }
+
+    public Long getDuplicateOf() { return duplicateOf; }
+}
@@ -1,12 +1,20 @@
 package org.realresourcesafrica.rsa.tradeverification.dto;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 
 public class StatusUpdateRequest {
 
     @NotBlank(message = "Status is required")
     private String status;
 
+    // Optional version the client last saw; the update is rejected with 409 if it is stale
+    private Long version;
+
+    // Optional name of the analyst making the change, recorded in the status history
+    @Size(max = 255, message = "changedBy must be at most 255 characters")
+    private String changedBy;
+
     public StatusUpdateRequest() {}
 
     public StatusUpdateRequest(String status) {
@@ -21,8 +29,25 @@ public class StatusUpdateRequest {
         this.status = status;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public String getChangedBy() {
+        return changedBy;
+    }
+
+    public void setChangedBy(String changedBy) {
+        this.changedBy = changedBy;
+    }
+
     @Override
     public String toString() {
-        return "StatusUpdateRequest{status='" + status + "'}";
+        return "StatusUpdateRequest{status='" + status + "', version=" + version +
+                ", changedBy='" + changedBy + "'}";
     }
 }
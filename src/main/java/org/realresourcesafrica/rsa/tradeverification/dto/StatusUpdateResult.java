@@ -0,0 +1,57 @@
+package org.realresourcesafrica.rsa.tradeverification.dto;
+
+import org.realresourcesafrica.rsa.tradeverification.entity.InquiryStatus;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one inquiry in a bulk status update, reported in request order
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StatusUpdateResult {
+
+    public static final String UPDATED = "UPDATED";
+    public static final String UNCHANGED = "UNCHANGED";
+    public static final String NOT_FOUND = "NOT_FOUND";
+    public static final String INVALID_TRANSITION = "INVALID_TRANSITION";
+
+    private Long id;
+    private String outcome;
+    private InquiryStatus status;
+    private Long version;
+
+    public StatusUpdateResult() {}
+
+    public StatusUpdateResult(Long id, String outcome, InquiryStatus status, Long version) {
+        this.id = id;
+        this.outcome = outcome;
+        this.status = status;
+        this.version = version;
+    }
+
+    public static StatusUpdateResult notFound(Long id) {
+        return new StatusUpdateResult(id, NOT_FOUND, null, null);
+    }
+
+    /**
+     * @return true if the inquiry ended up in the requested status
+     */
+    @JsonIgnore
+    public boolean isApplied() {
+        return UPDATED.equals(outcome) || UNCHANGED.equals(outcome);
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getOutcome() { return outcome; }
+    public void setOutcome(String outcome) { this.outcome = outcome; }
+
+    public InquiryStatus getStatus() { return status; }
+    public void setStatus(InquiryStatus status) { this.status = status; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+}
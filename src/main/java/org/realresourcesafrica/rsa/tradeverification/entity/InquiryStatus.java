@@ -0,0 +1,105 @@
+package org.realresourcesafrica.rsa.tradeverification.entity;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Verification status of a trade inquiry.
+ * Persisted as a one-character code (see {@link InquiryStatusConverter}) and
+ * exposed over the API by name.
+ */
+public enum InquiryStatus {
+    PENDING_VERIFICATION("P"),
+    VERIFIED("V"),
+    REJECTED("R");
+
+    private static final InquiryStatus[] VALUES = values();
+
+    // Allowed transitions, keyed by current status. Staying in the same status is always allowed.
+    private static final Map<InquiryStatus, Set<InquiryStatus>> TRANSITIONS = new EnumMap<>(InquiryStatus.class);
+
+    // Inverse of TRANSITIONS, keyed by target status, for set-based updates
+    private static final Map<InquiryStatus, Set<InquiryStatus>> SOURCES = new EnumMap<>(InquiryStatus.class);
+
+    static {
+        TRANSITIONS.put(PENDING_VERIFICATION, EnumSet.of(PENDING_VERIFICATION, VERIFIED, REJECTED));
+        TRANSITIONS.put(VERIFIED, EnumSet.of(VERIFIED, REJECTED));
+        TRANSITIONS.put(REJECTED, EnumSet.of(REJECTED, PENDING_VERIFICATION, VERIFIED));
+
+        for (InquiryStatus status : VALUES) {
+            SOURCES.put(status, EnumSet.noneOf(InquiryStatus.class));
+        }
+        TRANSITIONS.forEach((from, targets) -> targets.forEach(to -> SOURCES.get(to).add(from)));
+    }
+
+    private final String code;
+
+    InquiryStatus(String code) {
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * Check the transition table
+     * @param target The status to move to
+     * @return true if an inquiry in this status may move to the target status
+     */
+    public boolean canTransitionTo(InquiryStatus target) {
+        return TRANSITIONS.get(this).contains(target);
+    }
+
+    /**
+     * Statuses an inquiry may move to the target from, other than the target itself
+     * @param target The status to move to
+     * @return The source statuses, as a new set the caller may modify
+     */
+    public static Set<InquiryStatus> sourcesOf(InquiryStatus target) {
+        Set<InquiryStatus> sources = EnumSet.copyOf(SOURCES.get(target));
+        sources.remove(target);
+        return sources;
+    }
+
+    /**
+     * Resolve a status from its name, ignoring case
+     * @param name The status name, e.g. "verified"
+     * @return The matching status
+     * @throws IllegalArgumentException if no status has that name
+     */
+    public static InquiryStatus fromName(String name) {
+        for (InquiryStatus status : VALUES) {
+            if (status.name().equalsIgnoreCase(name)) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown inquiry status: " + name);
+    }
+
+    /**
+     * Resolve a status from its persisted code
+     * @param code The one-character code
+     * @return The matching status
+     * @throws IllegalArgumentException if no status has that code
+     */
+    public static InquiryStatus fromCode(String code) {
+        for (InquiryStatus status : VALUES) {
+            if (status.code.equals(code)) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown inquiry status code: " + code);
+    }
+
+    /**
+     * @return Comma-separated list of all status names, for error messages
+     */
+    public static String names() {
+        return Arrays.stream(VALUES).map(Enum::name).collect(Collectors.joining(", "));
+    }
+}
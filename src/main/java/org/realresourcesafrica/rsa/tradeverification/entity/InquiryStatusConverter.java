@@ -0,0 +1,22 @@
+package org.realresourcesafrica.rsa.tradeverification.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores {@link InquiryStatus} as its one-character code so the status column
+ * stays narrow and status lookups are plain equality matches on an index.
+ */
+@Converter(autoApply = true)
+public class InquiryStatusConverter implements AttributeConverter<InquiryStatus, String> {
+
+    @Override
+    public String convertToDatabaseColumn(InquiryStatus status) {
+        return status != null ? status.getCode() : null;
+    }
+
+    @Override
+    public InquiryStatus convertToEntityAttribute(String code) {
+        return code != null ? InquiryStatus.fromCode(code) : null;
+    }
+}
@@ -0,0 +1,74 @@
+package org.realresourcesafrica.rsa.tradeverification.entity;
+
+import jakarta.persistence.*;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Running count and total estimated value of inquiries per partner and status.
+ * Maintained incrementally in the same transaction as every inquiry write, so the
+ * partner summary never has to scan trade_inquiries.
+ */
+@Entity
+@Table(name = "partner_status_rollups")
+@IdClass(PartnerStatusRollup.Key.class)
+public class PartnerStatusRollup {
+
+    @Id
+    @Column(name = "partner_key", length = 255)
+    private String partnerKey;
+
+    // Status code as stored in trade_inquiries; converters do not apply to id attributes
+    @Id
+    @JsonIgnore
+    @Column(name = "status", length = 1)
+    private String statusCode;
+
+    @Column(name = "partner_name", nullable = false, length = 255)
+    private String partner;
+
+    @Column(name = "inquiry_count", nullable = false)
+    private long inquiryCount;
+
+    @Column(name = "total_value", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalValue;
+
+    public PartnerStatusRollup() {}
+
+    // Getters
+    public String getPartnerKey() { return partnerKey; }
+    public String getPartner() { return partner; }
+    public InquiryStatus getStatus() { return InquiryStatus.fromCode(statusCode); }
+    public long getInquiryCount() { return inquiryCount; }
+    public BigDecimal getTotalValue() { return totalValue; }
+
+    /**
+     * Composite id of a rollup row
+     */
+    public static class Key implements Serializable {
+        private String partnerKey;
+        private String statusCode;
+
+        public Key() {}
+
+        public Key(String partnerKey, String statusCode) {
+            this.partnerKey = partnerKey;
+            this.statusCode = statusCode;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(partnerKey, key.partnerKey) && Objects.equals(statusCode, key.statusCode);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(partnerKey, statusCode);
+        }
+    }
+}
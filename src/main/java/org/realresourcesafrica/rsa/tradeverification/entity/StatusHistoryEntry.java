@@ -0,0 +1,55 @@
+package org.realresourcesafrica.rsa.tradeverification.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One committed status change of an inquiry. Append-only: rows are inserted by the
+ * history writer and never updated, and they outlive the inquiry they describe.
+ */
+@Entity
+@Table(name = "inquiry_status_history", indexes = {
+        @Index(name = "idx_inquiry_status_history_inquiry_id", columnList = "inquiry_id, id")
+})
+public class StatusHistoryEntry {
+
+    // Assigned from the outbox row, whose sequence preserves commit order per inquiry
+    @Id
+    private Long id;
+
+    @Column(name = "inquiry_id", nullable = false)
+    private Long inquiryId;
+
+    @Column(name = "previous_status", nullable = false, length = 1)
+    private InquiryStatus previousStatus;
+
+    @Column(nullable = false, length = 1)
+    private InquiryStatus status;
+
+    @Column(name = "changed_by", length = 255)
+    private String changedBy;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    public StatusHistoryEntry() {}
+
+    public StatusHistoryEntry(Long id, Long inquiryId, InquiryStatus previousStatus, InquiryStatus status,
+                              String changedBy, LocalDateTime changedAt) {
+        this.id = id;
+        this.inquiryId = inquiryId;
+        this.previousStatus = previousStatus;
+        this.status = status;
+        this.changedBy = changedBy;
+        this.changedAt = changedAt;
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public Long getInquiryId() { return inquiryId; }
+    public InquiryStatus getPreviousStatus() { return previousStatus; }
+    public InquiryStatus getStatus() { return status; }
+    public String getChangedBy() { return changedBy; }
+    public LocalDateTime getChangedAt() { return changedAt; }
+}
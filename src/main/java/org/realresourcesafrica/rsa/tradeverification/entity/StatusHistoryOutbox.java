@@ -0,0 +1,62 @@
+package org.realresourcesafrica.rsa.tradeverification.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Status change written in the same transaction as the change itself and later moved
+ * to inquiry_status_history by the background writer. A row here means "committed but
+ * not yet in the history table", so nothing is lost if the process dies before the move.
+ */
+@Entity
+@Table(name = "inquiry_status_history_outbox")
+public class StatusHistoryOutbox {
+
+    // Also the id of the history row it becomes, so moving it twice is harmless
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inquiry_status_history_seq")
+    @SequenceGenerator(name = "inquiry_status_history_seq", sequenceName = "inquiry_status_history_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "inquiry_id", nullable = false)
+    private Long inquiryId;
+
+    @Column(name = "previous_status", nullable = false, length = 1)
+    private InquiryStatus previousStatus;
+
+    @Column(nullable = false, length = 1)
+    private InquiryStatus status;
+
+    @Column(name = "changed_by", length = 255)
+    private String changedBy;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    public StatusHistoryOutbox() {}
+
+    public StatusHistoryOutbox(Long inquiryId, InquiryStatus previousStatus, InquiryStatus status,
+                               String changedBy, LocalDateTime changedAt) {
+        this.inquiryId = inquiryId;
+        this.previousStatus = previousStatus;
+        this.status = status;
+        this.changedBy = changedBy;
+        this.changedAt = changedAt;
+    }
+
+    /**
+     * The history entry this row will become
+     */
+    public StatusHistoryEntry toEntry() {
+        return new StatusHistoryEntry(id, inquiryId, previousStatus, status, changedBy, changedAt);
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public Long getInquiryId() { return inquiryId; }
+    public InquiryStatus getPreviousStatus() { return previousStatus; }
+    public InquiryStatus getStatus() { return status; }
+    public String getChangedBy() { return changedBy; }
+    public LocalDateTime getChangedAt() { return changedAt; }
+}
@@ -4,17 +4,25 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Locale;
 
 @Entity
-@Table(name = "trade_inquiries")
+@Table(name = "trade_inquiries", indexes = {
+        @Index(name = "idx_trade_inquiries_created_at_id", columnList = "created_at DESC, id DESC"),
+        @Index(name = "idx_trade_inquiries_status_created_at", columnList = "status, created_at DESC, id DESC"),
+        @Index(name = "idx_trade_inquiries_partner_key_created_at", columnList = "partner_key, created_at DESC, id DESC")
+})
 public class TradeInquiry {
 
+    // Pooled sequence so Hibernate can assign ids up front and batch the INSERTs
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "trade_inquiries_seq")
+    @SequenceGenerator(name = "trade_inquiries_seq", sequenceName = "trade_inquiries_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Title is required")
@@ -24,15 +32,20 @@ public class TradeInquiry {
     @Column(columnDefinition = "TEXT")
     private String description;
 
-    @NotBlank(message = "Status is required")
-    @Column(nullable = false, length = 50)
-    private String status;
+    @NotNull(message = "Status is required")
+    @Column(nullable = false, length = 1)
+    private InquiryStatus status;
 
     @NotBlank(message = "Submitting partner is required")
     @Column(name = "submitting_partner", nullable = false, length = 255)
     @JsonProperty("submittingPartner")
     private String submittingPartner;
 
+    // Case- and whitespace-insensitive form of submittingPartner, so partner lookups are plain index matches
+    @JsonIgnore
+    @Column(name = "partner_key", nullable = false, length = 255)
+    private String partnerKey;
+
     @PositiveOrZero(message = "Estimated value must be positive or zero")
     @Column(name = "estimated_value", precision = 15, scale = 2)
     @JsonProperty("estimatedValue")
@@ -44,20 +57,46 @@ public class TradeInquiry {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    // Earlier inquiry from the same partner that this one closely matches, if any
+    @Column(name = "duplicate_of")
+    @JsonProperty("duplicateOf")
+    private Long duplicateOf;
+
     // Constructors
     public TradeInquiry() {
         this.createdAt = LocalDateTime.now();
-        this.status = InquiryStatus.PENDING_VERIFICATION.name();
+        this.status = InquiryStatus.PENDING_VERIFICATION;
     }
 
     public TradeInquiry(String title, String description, String submittingPartner, BigDecimal estimatedValue) {
         this();
         this.title = title;
         this.description = description;
-        this.submittingPartner = submittingPartner;
+        setSubmittingPartner(submittingPartner);
         this.estimatedValue = estimatedValue;
     }
 
+    /**
+     * Detached field-by-field copy, used for cached snapshots
+     */
+    public TradeInquiry(TradeInquiry source) {
+        this.id = source.id;
+        this.title = source.title;
+        this.description = source.description;
+        this.status = source.status;
+        this.submittingPartner = source.submittingPartner;
+        this.partnerKey = source.partnerKey;
+        this.estimatedValue = source.estimatedValue;
+        this.createdAt = source.createdAt;
+        this.updatedAt = source.updatedAt;
+        this.version = source.version;
+        this.duplicateOf = source.duplicateOf;
+    }
+
     // Lifecycle callbacks
     @PreUpdate
     public void preUpdate() {
@@ -89,11 +128,11 @@ public class TradeInquiry {
         this.description = description;
     }
 
-    public String getStatus() {
+    public InquiryStatus getStatus() {
         return status;
     }
 
-    public void setStatus(String status) {
+    public void setStatus(InquiryStatus status) {
         this.status = status;
     }
 
@@ -103,6 +142,23 @@ public class TradeInquiry {
 
     public void setSubmittingPartner(String submittingPartner) {
         this.submittingPartner = submittingPartner;
+        this.partnerKey = partnerKey(submittingPartner);
+    }
+
+    public String getPartnerKey() {
+        return partnerKey;
+    }
+
+    /**
+     * Normalize a partner name for lookups: trimmed, inner whitespace collapsed, lower case
+     * @param partner The partner name as submitted
+     * @return The normalized key, or null if partner is null
+     */
+    public static String partnerKey(String partner) {
+        if (partner == null) {
+            return null;
+        }
+        return partner.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
     }
 
     public BigDecimal getEstimatedValue() {
@@ -129,22 +185,32 @@ public class TradeInquiry {
         this.updatedAt = updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Long getDuplicateOf() {
+        return duplicateOf;
+    }
+
+    public void setDuplicateOf(Long duplicateOf) {
+        this.duplicateOf = duplicateOf;
+    }
+
     @Override
     public String toString() {
         return "TradeInquiry{" +
                 "id=" + id +
                 ", title='" + title + '\'' +
-                ", status='" + status + '\'' +
+                ", status=" + status +
                 ", submittingPartner='" + submittingPartner + '\'' +
                 ", estimatedValue=" + estimatedValue +
                 ", createdAt=" + createdAt +
+                ", version=" + version +
                 '}';
     }
 }
-
-// Enum for inquiry status
-enum InquiryStatus {
-    PENDING_VERIFICATION,
-    VERIFIED,
-    REJECTED
-}
\ No newline at end of file
@@ -0,0 +1,12 @@
+package org.realresourcesafrica.rsa.tradeverification.exception;
+
+public class DuplicateInquiryException extends RuntimeException {
+
+    public DuplicateInquiryException(String message) {
+        super(message);
+    }
+
+    public DuplicateInquiryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
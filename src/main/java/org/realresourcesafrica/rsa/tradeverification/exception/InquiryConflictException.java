@@ -0,0 +1,12 @@
+package org.realresourcesafrica.rsa.tradeverification.exception;
+
+public class InquiryConflictException extends RuntimeException {
+
+    public InquiryConflictException(String message) {
+        super(message);
+    }
+
+    public InquiryConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
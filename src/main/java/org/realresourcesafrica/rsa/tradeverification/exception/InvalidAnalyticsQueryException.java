@@ -0,0 +1,12 @@
+package org.realresourcesafrica.rsa.tradeverification.exception;
+
+public class InvalidAnalyticsQueryException extends RuntimeException {
+
+    public InvalidAnalyticsQueryException(String message) {
+        super(message);
+    }
+
+    public InvalidAnalyticsQueryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,58 @@
+package org.realresourcesafrica.rsa.tradeverification.repository;
+
+import org.realresourcesafrica.rsa.tradeverification.entity.PartnerStatusRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface PartnerStatusRollupRepository extends JpaRepository<PartnerStatusRollup, PartnerStatusRollup.Key> {
+
+    /**
+     * All rollups, ordered for display
+     * @return One row per partner and status that has inquiries
+     */
+    @Query("SELECT r FROM PartnerStatusRollup r WHERE r.inquiryCount > 0 ORDER BY r.partner, r.statusCode")
+    List<PartnerStatusRollup> findAllForSummary();
+
+    /**
+     * Add to (or create) the rollup row of a partner and status
+     * @param partnerKey Normalized partner key
+     * @param statusCode Persisted status code
+     * @param partner Display name of the partner
+     * @param count Change in number of inquiries
+     * @param value Change in total estimated value
+     * @return Number of rows touched
+     */
+    @Modifying
+    @Query(value = "MERGE INTO partner_status_rollups r " +
+            "USING (VALUES (:partnerKey, :statusCode, :partner, :count, :value)) " +
+            "AS d(partner_key, status, partner_name, delta_count, delta_value) " +
+            "ON r.partner_key = d.partner_key AND r.status = d.status " +
+            "WHEN MATCHED THEN UPDATE SET inquiry_count = r.inquiry_count + d.delta_count, " +
+            "total_value = r.total_value + d.delta_value " +
+            "WHEN NOT MATCHED THEN INSERT (partner_key, status, partner_name, inquiry_count, total_value) " +
+            "VALUES (d.partner_key, d.status, d.partner_name, d.delta_count, d.delta_value)",
+            nativeQuery = true)
+    int applyDelta(@Param("partnerKey") String partnerKey,
+                   @Param("statusCode") String statusCode,
+                   @Param("partner") String partner,
+                   @Param("count") long count,
+                   @Param("value") BigDecimal value);
+
+    /**
+     * Recompute every rollup from trade_inquiries; only used to seed an empty rollup table
+     * @return Number of rollup rows written
+     */
+    @Modifying
+    @Query(value = "INSERT INTO partner_status_rollups (partner_key, status, partner_name, inquiry_count, total_value) " +
+            "SELECT partner_key, status, MIN(submitting_partner), COUNT(*), COALESCE(SUM(estimated_value), 0) " +
+            "FROM trade_inquiries GROUP BY partner_key, status",
+            nativeQuery = true)
+    int rebuildFromInquiries();
+}
@@ -0,0 +1,40 @@
+package org.realresourcesafrica.rsa.tradeverification.repository;
+
+import org.realresourcesafrica.rsa.tradeverification.entity.StatusHistoryOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StatusHistoryOutboxRepository extends JpaRepository<StatusHistoryOutbox, Long> {
+
+    /**
+     * Changes of one inquiry not yet moved to the history table, oldest first
+     * @param inquiryId The inquiry ID
+     * @return Pending status changes
+     */
+    List<StatusHistoryOutbox> findByInquiryIdOrderByIdAsc(Long inquiryId);
+
+    /**
+     * Oldest pending rows, for recovery sweeps
+     * @param pageable Maximum number of IDs
+     * @return Outbox row IDs in ascending order
+     */
+    @Query("SELECT o.id FROM StatusHistoryOutbox o ORDER BY o.id")
+    List<Long> findOldestIds(Pageable pageable);
+
+    /**
+     * Remove rows that have been copied to the history table
+     * @param ids Outbox row IDs
+     * @return Number of rows deleted
+     */
+    @Modifying
+    @Query("DELETE FROM StatusHistoryOutbox o WHERE o.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
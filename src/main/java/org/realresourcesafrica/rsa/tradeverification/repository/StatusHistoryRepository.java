@@ -0,0 +1,36 @@
+package org.realresourcesafrica.rsa.tradeverification.repository;
+
+import org.realresourcesafrica.rsa.tradeverification.entity.StatusHistoryEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StatusHistoryRepository extends JpaRepository<StatusHistoryEntry, Long> {
+
+    /**
+     * History of one inquiry, oldest first
+     * @param inquiryId The inquiry ID
+     * @return Recorded status changes
+     */
+    List<StatusHistoryEntry> findByInquiryIdOrderByIdAsc(Long inquiryId);
+
+    /**
+     * Copy outbox rows into the history table with one set-based INSERT. Ids that are no
+     * longer in the outbox (already moved) are skipped.
+     * @param ids Outbox row IDs
+     * @return Number of history rows inserted
+     */
+    @Modifying
+    @Query(value = "INSERT INTO inquiry_status_history " +
+            "(id, inquiry_id, previous_status, status, changed_by, changed_at) " +
+            "SELECT id, inquiry_id, previous_status, status, changed_by, changed_at " +
+            "FROM inquiry_status_history_outbox WHERE id IN (:ids)",
+            nativeQuery = true)
+    int copyFromOutbox(@Param("ids") Collection<Long> ids);
+}
@@ -1,42 +1,378 @@
 package org.realresourcesafrica.rsa.tradeverification.repository;
 
+import org.realresourcesafrica.rsa.tradeverification.dto.InquirySummary;
+import org.realresourcesafrica.rsa.tradeverification.entity.InquiryStatus;
 import org.realresourcesafrica.rsa.tradeverification.entity.TradeInquiry;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TradeInquiryRepository extends JpaRepository<TradeInquiry, Long> {
 
+    // Summary projection: every list column except the TEXT description
+    String SUMMARY_SELECT = "SELECT new org.realresourcesafrica.rsa.tradeverification.dto.InquirySummary(" +
+            "t.id, t.title, t.status, t.submittingPartner, t.estimatedValue, t.createdAt, t.updatedAt, t.version, " +
+            "t.duplicateOf) " +
+            "FROM TradeInquiry t ";
+
+    /**
+     * Count inquiries by status
+     * @param status The status to count
+     * @return Number of inquiries with the specified status
+     */
+    long countByStatus(InquiryStatus status);
+
+    /**
+     * First keyset page, newest first
+     * @param pageable Page size (the page number is ignored by callers, always 0)
+     * @return Up to pageable.getPageSize() inquiries ordered by (createdAt, id) descending
+     */
+    @Query("SELECT t FROM TradeInquiry t ORDER BY t.createdAt DESC, t.id DESC")
+    List<TradeInquiry> findFirstPage(Pageable pageable);
+
     /**
-     * Find all inquiries by status
+     * Keyset page strictly after the given (createdAt, id) position
+     * @param createdAt Creation time of the last row of the previous page
+     * @param id ID of the last row of the previous page
+     * @param pageable Page size
+     * @return Up to pageable.getPageSize() inquiries ordered by (createdAt, id) descending
+     */
+    @Query("SELECT t FROM TradeInquiry t " +
+            "WHERE t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TradeInquiry> findPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                                     @Param("id") Long id,
+                                     Pageable pageable);
+
+    /**
+     * First keyset page for a status, newest first
      * @param status The status to filter by
-     * @return List of trade inquiries with the specified status
+     * @param pageable Page size
+     * @return Up to pageable.getPageSize() inquiries ordered by (createdAt, id) descending
      */
-    List<TradeInquiry> findByStatusIgnoreCase(String status);
+    @Query("SELECT t FROM TradeInquiry t WHERE t.status = :status " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TradeInquiry> findFirstPageByStatus(@Param("status") InquiryStatus status, Pageable pageable);
 
     /**
-     * Find all inquiries by submitting partner
-     * @param submittingPartner The partner name
-     * @return List of trade inquiries from the specified partner
+     * Keyset page for a status strictly after the given (createdAt, id) position
+     * @param status The status to filter by
+     * @param createdAt Creation time of the last row of the previous page
+     * @param id ID of the last row of the previous page
+     * @param pageable Page size
+     * @return Up to pageable.getPageSize() inquiries ordered by (createdAt, id) descending
      */
-    List<TradeInquiry> findBySubmittingPartnerIgnoreCase(String submittingPartner);
+    @Query("SELECT t FROM TradeInquiry t WHERE t.status = :status " +
+            "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TradeInquiry> findPageByStatusAfter(@Param("status") InquiryStatus status,
+                                             @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") Long id,
+                                             Pageable pageable);
 
     /**
-     * Find inquiries by status ordered by creation date (newest first)
+     * First keyset page for a partner, newest first
+     * @param partnerKey Normalized partner key (see {@link TradeInquiry#partnerKey(String)})
+     * @param pageable Page size
+     * @return Up to pageable.getPageSize() inquiries ordered by (createdAt, id) descending
+     */
+    @Query("SELECT t FROM TradeInquiry t WHERE t.partnerKey = :partnerKey " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TradeInquiry> findFirstPageByPartner(@Param("partnerKey") String partnerKey, Pageable pageable);
+
+    /**
+     * Keyset page for a partner strictly after the given (createdAt, id) position
+     * @param partnerKey Normalized partner key
+     * @param createdAt Creation time of the last row of the previous page
+     * @param id ID of the last row of the previous page
+     * @param pageable Page size
+     * @return Up to pageable.getPageSize() inquiries ordered by (createdAt, id) descending
+     */
+    @Query("SELECT t FROM TradeInquiry t WHERE t.partnerKey = :partnerKey " +
+            "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TradeInquiry> findPageByPartnerAfter(@Param("partnerKey") String partnerKey,
+                                              @Param("createdAt") LocalDateTime createdAt,
+                                              @Param("id") Long id,
+                                              Pageable pageable);
+
+    /**
+     * First keyset page of summaries, newest first
+     * @param pageable Page size
+     * @return Up to pageable.getPageSize() summaries ordered by (createdAt, id) descending
+     */
+    @Query(SUMMARY_SELECT + "ORDER BY t.createdAt DESC, t.id DESC")
+    List<InquirySummary> findFirstSummaryPage(Pageable pageable);
+
+    /**
+     * Keyset page of summaries strictly after the given (createdAt, id) position
+     * @param createdAt Creation time of the last row of the previous page
+     * @param id ID of the last row of the previous page
+     * @param pageable Page size
+     * @return Up to pageable.getPageSize() summaries ordered by (createdAt, id) descending
+     */
+    @Query(SUMMARY_SELECT +
+            "WHERE t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<InquirySummary> findSummaryPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                                              @Param("id") Long id,
+                                              Pageable pageable);
+
+    /**
+     * First keyset page of summaries for a status, newest first
      * @param status The status to filter by
-     * @return List of trade inquiries ordered by creation date descending
+     * @param pageable Page size
+     * @return Up to pageable.getPageSize() summaries ordered by (createdAt, id) descending
      */
-    @Query("SELECT t FROM TradeInquiry t WHERE UPPER(t.status) = UPPER(:status) ORDER BY t.createdAt DESC")
-    List<TradeInquiry> findByStatusOrderByCreatedAtDesc(@Param("status") String status);
+    @Query(SUMMARY_SELECT + "WHERE t.status = :status " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<InquirySummary> findFirstSummaryPageByStatus(@Param("status") InquiryStatus status, Pageable pageable);
 
     /**
-     * Count inquiries by status
-     * @param status The status to count
-     * @return Number of inquiries with the specified status
+     * Keyset page of summaries for a status strictly after the given (createdAt, id) position
+     * @param status The status to filter by
+     * @param createdAt Creation time of the last row of the previous page
+     * @param id ID of the last row of the previous page
+     * @param pageable Page size
+     * @return Up to pageable.getPageSize() summaries ordered by (createdAt, id) descending
+     */
+    @Query(SUMMARY_SELECT + "WHERE t.status = :status " +
+            "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<InquirySummary> findSummaryPageByStatusAfter(@Param("status") InquiryStatus status,
+                                                      @Param("createdAt") LocalDateTime createdAt,
+                                                      @Param("id") Long id,
+                                                      Pageable pageable);
+
+    /**
+     * First keyset page of summaries for a partner, newest first
+     * @param partnerKey Normalized partner key
+     * @param pageable Page size
+     * @return Up to pageable.getPageSize() summaries ordered by (createdAt, id) descending
+     */
+    @Query(SUMMARY_SELECT + "WHERE t.partnerKey = :partnerKey " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<InquirySummary> findFirstSummaryPageByPartner(@Param("partnerKey") String partnerKey, Pageable pageable);
+
+    /**
+     * Keyset page of summaries for a partner strictly after the given (createdAt, id) position
+     * @param partnerKey Normalized partner key
+     * @param createdAt Creation time of the last row of the previous page
+     * @param id ID of the last row of the previous page
+     * @param pageable Page size
+     * @return Up to pageable.getPageSize() summaries ordered by (createdAt, id) descending
+     */
+    @Query(SUMMARY_SELECT + "WHERE t.partnerKey = :partnerKey " +
+            "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<InquirySummary> findSummaryPageByPartnerAfter(@Param("partnerKey") String partnerKey,
+                                                       @Param("createdAt") LocalDateTime createdAt,
+                                                       @Param("id") Long id,
+                                                       Pageable pageable);
+
+    /**
+     * Stream every inquiry off a forward-only JDBC cursor, newest first.
+     * Must be consumed inside a transaction and closed by the caller.
+     * @return Stream of all inquiries
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM TradeInquiry t ORDER BY t.createdAt DESC, t.id DESC")
+    Stream<TradeInquiry> streamAll();
+
+    /**
+     * Stream the columns the analytics buckets are built from, without loading entities.
+     * Must be consumed inside a transaction and closed by the caller.
+     * @return Stream of one row per inquiry
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t.createdAt AS createdAt, t.status AS status, t.estimatedValue AS estimatedValue " +
+            "FROM TradeInquiry t")
+    Stream<AnalyticsRow> streamAnalyticsRows();
+
+    /**
+     * Stream the columns duplicate detection indexes, without loading entities.
+     * Must be consumed inside a transaction and closed by the caller.
+     * @return Stream of one row per inquiry
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t.id AS id, t.partnerKey AS partnerKey, t.title AS title, t.description AS description " +
+            "FROM TradeInquiry t")
+    Stream<SignatureRow> streamSignatureRows();
+
+    /**
+     * Stream inquiries with the given status off a forward-only JDBC cursor, newest first.
+     * Must be consumed inside a transaction and closed by the caller.
+     * @param status The status to filter by
+     * @return Stream of matching inquiries
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM TradeInquiry t WHERE t.status = :status " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    Stream<TradeInquiry> streamByStatus(@Param("status") InquiryStatus status);
+
+    /**
+     * Change the status of an inquiry only if it still has the expected status and version.
+     * Bumps the version and stamps updatedAt in the same statement.
+     * @param id The inquiry ID
+     * @param from Status the inquiry is expected to have
+     * @param to New status
+     * @param version Version the inquiry is expected to have
+     * @param updatedAt Modification time to record
+     * @return 1 if the inquiry was updated, 0 if it is missing or was changed concurrently
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE TradeInquiry t SET t.status = :to, t.version = t.version + 1, t.updatedAt = :updatedAt " +
+            "WHERE t.id = :id AND t.status = :from AND t.version = :version")
+    int updateStatusIfUnchanged(@Param("id") Long id,
+                                @Param("from") InquiryStatus from,
+                                @Param("to") InquiryStatus to,
+                                @Param("version") Long version,
+                                @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Load and row-lock inquiries for a bulk status update, so the transition check made on
+     * them still holds when the set-based UPDATE runs
+     * @param ids Inquiry IDs
+     * @return The inquiries that exist, in no particular order
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM TradeInquiry t WHERE t.id IN :ids")
+    List<TradeInquiry> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Move every listed inquiry whose status is one of the given sources to the target status
+     * @param ids Inquiry IDs
+     * @param from Statuses the inquiries may currently have
+     * @param to New status
+     * @param updatedAt Modification time to record
+     * @return Number of inquiries updated
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE TradeInquiry t SET t.status = :to, t.version = t.version + 1, t.updatedAt = :updatedAt " +
+            "WHERE t.id IN :ids AND t.status IN :from")
+    int updateStatusWhereIn(@Param("ids") Collection<Long> ids,
+                            @Param("from") Collection<InquiryStatus> from,
+                            @Param("to") InquiryStatus to,
+                            @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * IDs of inquiries matching a bulk update filter, lowest first
+     * @param status Current status, or null for any
+     * @param partnerKey Normalized partner key, or null for any
+     * @param pageable Maximum number of IDs
+     * @return Matching inquiry IDs
+     */
+    @Query("SELECT t.id FROM TradeInquiry t " +
+            "WHERE (:status IS NULL OR t.status = :status) AND (:partnerKey IS NULL OR t.partnerKey = :partnerKey) " +
+            "ORDER BY t.id")
+    List<Long> findIdsMatching(@Param("status") InquiryStatus status,
+                               @Param("partnerKey") String partnerKey,
+                               Pageable pageable);
+
+    /**
+     * Load and row-lock the oldest inquiries that may be archived: in one of the given statuses,
+     * and neither created nor changed since the cutoff
+     * @param statuses Statuses that may be archived
+     * @param cutoff Inquiries created or updated at or after this time stay in the table
+     * @param pageable Maximum number of inquiries
+     * @return Matching inquiries ordered by (createdAt, id) ascending
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM TradeInquiry t WHERE t.status IN :statuses AND t.createdAt < :cutoff " +
+            "AND (t.updatedAt IS NULL OR t.updatedAt < :cutoff) ORDER BY t.createdAt, t.id")
+    List<TradeInquiry> findArchivableForUpdate(@Param("statuses") Collection<InquiryStatus> statuses,
+                                               @Param("cutoff") LocalDateTime cutoff,
+                                               Pageable pageable);
+
+    /**
+     * Count how many of the given inquiries are still in the table
+     * @param ids Inquiry IDs
+     * @return Number of them that exist
+     */
+    long countByIdIn(Collection<Long> ids);
+
+    /**
+     * Read only the fields needed to build cache validators for an inquiry.
+     * Read-only on its own, like {@code findById}, so callers outside a transaction still
+     * read from the replica when one is configured.
+     * @param id The inquiry ID
+     * @return Version and timestamps, if the inquiry exists
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT t.version AS version, t.createdAt AS createdAt, t.updatedAt AS updatedAt " +
+            "FROM TradeInquiry t WHERE t.id = :id")
+    Optional<VersionProbe> findVersionById(@Param("id") Long id);
+
+    /**
+     * Count inquiries per status in a single pass
+     * @return One row per status present in the table
+     */
+    @Query("SELECT t.status AS status, COUNT(t) AS count FROM TradeInquiry t GROUP BY t.status")
+    List<StatusCount> countGroupedByStatus();
+
+    /**
+     * Projection for {@link #streamAnalyticsRows()}
+     */
+    interface AnalyticsRow {
+        LocalDateTime getCreatedAt();
+        InquiryStatus getStatus();
+        BigDecimal getEstimatedValue();
+    }
+
+    /**
+     * Projection for {@link #streamSignatureRows()}
+     */
+    interface SignatureRow {
+        Long getId();
+        String getPartnerKey();
+        String getTitle();
+        String getDescription();
+    }
+
+    /**
+     * Projection for {@link #countGroupedByStatus()}
+     */
+    interface StatusCount {
+        InquiryStatus getStatus();
+        Long getCount();
+    }
+
+    /**
+     * Projection for {@link #findVersionById(Long)}
      */
-    long countByStatusIgnoreCase(String status);
+    interface VersionProbe {
+        Long getVersion();
+        LocalDateTime getCreatedAt();
+        LocalDateTime getUpdatedAt();
+    }
 }
@@ -0,0 +1,557 @@
+package org.realresourcesafrica.rsa.tradeverification.service;
+
+import org.realresourcesafrica.rsa.tradeverification.dto.InquirySummary;
+import org.realresourcesafrica.rsa.tradeverification.entity.InquiryStatus;
+import org.realresourcesafrica.rsa.tradeverification.entity.TradeInquiry;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * One immutable file of archived inquiries, stored column by column.
+ * <p>
+ * A fixed header is followed by one Deflate-compressed block per column, rows in (createdAt, id)
+ * order. Each column has its own encoding: ids and creation times as zigzag varint deltas from
+ * the previous row, updatedAt as an offset from the row's own createdAt, status as its one-byte
+ * code, estimated values as unscaled cents, partners as indexes into a per-segment dictionary,
+ * and titles and descriptions as length-prefixed UTF-8. Nullable columns reserve 0 for null.
+ * <p>
+ * The header holds the zone maps (min/max id, createdAt and estimatedValue) and the row count
+ * per status, so a segment can be skipped or counted without reading any column.
+ */
+final class ArchiveSegment {
+
+    private static final int MAGIC = 0x494E5141; // "INQA"
+    private static final byte FORMAT = 1;
+
+    // Column blocks, in file order
+    private static final int ID = 0;
+    private static final int CREATED_AT = 1;
+    private static final int UPDATED_AT = 2;
+    private static final int STATUS = 3;
+    private static final int VERSION = 4;
+    private static final int VALUE = 5;
+    private static final int DUPLICATE_OF = 6;
+    private static final int PARTNER = 7;
+    private static final int TITLE = 8;
+    private static final int DESCRIPTION = 9;
+    private static final int COLUMNS = 10;
+
+    private static final InquiryStatus[] STATUSES = InquiryStatus.values();
+
+    // Rows are written, and read back, in this order
+    static final Comparator<TradeInquiry> ORDER =
+            Comparator.comparing(TradeInquiry::getCreatedAt).thenComparing(TradeInquiry::getId);
+
+    private final Path file;
+    private final int rows;
+    private final long minId;
+    private final long maxId;
+    // Epoch microseconds of the LocalDateTime read as UTC; only compared, never shown
+    private final long minCreatedAt;
+    private final long maxCreatedAt;
+    // Unscaled cents; minValue > maxValue when no row has a value
+    private final long minValue;
+    private final long maxValue;
+    private final int[] statusCounts;
+    private final int[] compressedLengths;
+    private final int[] rawLengths;
+    private final long dataOffset;
+
+    private ArchiveSegment(Path file, int rows, long minId, long maxId, long minCreatedAt, long maxCreatedAt,
+                           long minValue, long maxValue, int[] statusCounts, int[] compressedLengths,
+                           int[] rawLengths, long dataOffset) {
+        this.file = file;
+        this.rows = rows;
+        this.minId = minId;
+        this.maxId = maxId;
+        this.minCreatedAt = minCreatedAt;
+        this.maxCreatedAt = maxCreatedAt;
+        this.minValue = minValue;
+        this.maxValue = maxValue;
+        this.statusCounts = statusCounts;
+        this.compressedLengths = compressedLengths;
+        this.rawLengths = rawLengths;
+        this.dataOffset = dataOffset;
+    }
+
+    /**
+     * Encode inquiries into a new segment file and force it to disk
+     * @param file Path to create; must not exist
+     * @param inquiries The inquiries, in any order
+     * @return The header of the written segment
+     */
+    static ArchiveSegment write(Path file, List<TradeInquiry> inquiries) throws IOException {
+        List<TradeInquiry> sorted = new ArrayList<>(inquiries);
+        sorted.sort(ORDER);
+
+        ColumnWriter[] columns = new ColumnWriter[COLUMNS];
+        for (int i = 0; i < COLUMNS; i++) {
+            columns[i] = new ColumnWriter();
+        }
+        Map<String, Integer> partners = new HashMap<>();
+        List<String> dictionary = new ArrayList<>();
+        int[] partnerIndexes = new int[sorted.size()];
+
+        long minId = Long.MAX_VALUE;
+        long maxId = Long.MIN_VALUE;
+        long minValue = Long.MAX_VALUE;
+        long maxValue = Long.MIN_VALUE;
+        int[] statusCounts = new int[STATUSES.length];
+        long previousId = 0;
+        long previousCreatedAt = 0;
+        for (int row = 0; row < sorted.size(); row++) {
+            TradeInquiry inquiry = sorted.get(row);
+            long id = inquiry.getId();
+            long createdAt = micros(inquiry.getCreatedAt());
+            minId = Math.min(minId, id);
+            maxId = Math.max(maxId, id);
+
+            columns[ID].varint(zigzag(id - previousId));
+            columns[CREATED_AT].varint(zigzag(createdAt - previousCreatedAt));
+            columns[UPDATED_AT].varint(inquiry.getUpdatedAt() == null
+                    ? 0 : zigzag(micros(inquiry.getUpdatedAt()) - createdAt) + 1);
+            columns[STATUS].write(inquiry.getStatus().getCode().charAt(0));
+            columns[VERSION].varint(inquiry.getVersion());
+            if (inquiry.getEstimatedValue() == null) {
+                columns[VALUE].varint(0);
+            } else {
+                long cents = cents(inquiry.getEstimatedValue());
+                minValue = Math.min(minValue, cents);
+                maxValue = Math.max(maxValue, cents);
+                columns[VALUE].varint(zigzag(cents) + 1);
+            }
+            columns[DUPLICATE_OF].varint(inquiry.getDuplicateOf() != null ? inquiry.getDuplicateOf() : 0);
+            partnerIndexes[row] = partners.computeIfAbsent(inquiry.getSubmittingPartner(), partner -> {
+                dictionary.add(partner);
+                return dictionary.size() - 1;
+            });
+            columns[TITLE].string(inquiry.getTitle());
+            columns[DESCRIPTION].string(inquiry.getDescription());
+            statusCounts[inquiry.getStatus().ordinal()]++;
+
+            previousId = id;
+            previousCreatedAt = createdAt;
+        }
+        // Dictionary first, so the reader can resolve indexes as it goes
+        columns[PARTNER].varint(dictionary.size());
+        for (String partner : dictionary) {
+            columns[PARTNER].string(partner);
+        }
+        for (int index : partnerIndexes) {
+            columns[PARTNER].varint(index);
+        }
+
+        byte[][] compressed = new byte[COLUMNS][];
+        int[] compressedLengths = new int[COLUMNS];
+        int[] rawLengths = new int[COLUMNS];
+        for (int i = 0; i < COLUMNS; i++) {
+            compressed[i] = columns[i].compress();
+            compressedLengths[i] = compressed[i].length;
+            rawLengths[i] = columns[i].size();
+        }
+
+        ArchiveSegment segment = new ArchiveSegment(file, sorted.size(), minId, maxId,
+                micros(sorted.get(0).getCreatedAt()), micros(sorted.get(sorted.size() - 1).getCreatedAt()),
+                minValue, maxValue, statusCounts, compressedLengths, rawLengths, headerLength());
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            segment.writeHeader(out);
+            for (byte[] block : compressed) {
+                out.write(block);
+            }
+            out.flush();
+            channel.force(true);
+        }
+        return segment;
+    }
+
+    /**
+     * Read only the header of a segment file
+     * @param file The segment file
+     * @return The header; columns are read by {@link #load()}
+     * @throws IOException if the file cannot be read or is not a segment
+     */
+    static ArchiveSegment open(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readByte() != FORMAT) {
+                throw new IOException("Not an inquiry archive segment: " + file);
+            }
+            int rows = in.readInt();
+            long minId = in.readLong();
+            long maxId = in.readLong();
+            long minCreatedAt = in.readLong();
+            long maxCreatedAt = in.readLong();
+            long minValue = in.readLong();
+            long maxValue = in.readLong();
+            int[] statusCounts = new int[STATUSES.length];
+            for (int i = 0; i < STATUSES.length; i++) {
+                statusCounts[i] = in.readInt();
+            }
+            int[] compressedLengths = new int[COLUMNS];
+            int[] rawLengths = new int[COLUMNS];
+            for (int i = 0; i < COLUMNS; i++) {
+                compressedLengths[i] = in.readInt();
+                rawLengths[i] = in.readInt();
+            }
+            return new ArchiveSegment(file, rows, minId, maxId, minCreatedAt, maxCreatedAt, minValue, maxValue,
+                    statusCounts, compressedLengths, rawLengths, headerLength());
+        }
+    }
+
+    /**
+     * Decompress and decode every column except the description, which is decoded on first use
+     * @return The segment's rows
+     * @throws IOException if the file cannot be read or is corrupt
+     */
+    Rows load() throws IOException {
+        byte[][] blocks = new byte[COLUMNS][];
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            in.skipNBytes(dataOffset);
+            for (int i = 0; i < COLUMNS; i++) {
+                blocks[i] = in.readNBytes(compressedLengths[i]);
+                if (blocks[i].length != compressedLengths[i]) {
+                    throw new IOException("Truncated archive segment: " + file);
+                }
+            }
+        }
+        return new Rows(this, blocks);
+    }
+
+    private void writeHeader(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(FORMAT);
+        out.writeInt(rows);
+        out.writeLong(minId);
+        out.writeLong(maxId);
+        out.writeLong(minCreatedAt);
+        out.writeLong(maxCreatedAt);
+        out.writeLong(minValue);
+        out.writeLong(maxValue);
+        for (int count : statusCounts) {
+            out.writeInt(count);
+        }
+        for (int i = 0; i < COLUMNS; i++) {
+            out.writeInt(compressedLengths[i]);
+            out.writeInt(rawLengths[i]);
+        }
+    }
+
+    private static long headerLength() {
+        return 4 + 1 + 4 + 6 * 8 + STATUSES.length * 4L + COLUMNS * 8L;
+    }
+
+    Path getFile() { return file; }
+    int getRows() { return rows; }
+    long getMinId() { return minId; }
+    long getMaxId() { return maxId; }
+    long getMinCreatedAt() { return minCreatedAt; }
+    long getMaxCreatedAt() { return maxCreatedAt; }
+    long getMinValue() { return minValue; }
+    long getMaxValue() { return maxValue; }
+
+    int count(InquiryStatus status) {
+        return statusCounts[status.ordinal()];
+    }
+
+    boolean mayContainId(long id) {
+        return id >= minId && id <= maxId;
+    }
+
+    static long micros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000;
+    }
+
+    static LocalDateTime dateTime(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+                (int) Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+    }
+
+    private static long cents(BigDecimal value) {
+        return value.setScale(2, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static byte[] inflate(byte[] block, int rawLength) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(block);
+            byte[] raw = new byte[rawLength];
+            int read = 0;
+            while (read < rawLength && !inflater.finished()) {
+                int n = inflater.inflate(raw, read, rawLength - read);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != rawLength) {
+                throw new IOException("Corrupt archive column: expected " + rawLength + " bytes, got " + read);
+            }
+            return raw;
+        } catch (DataFormatException ex) {
+            throw new IOException("Corrupt archive column", ex);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Decoded columns of one segment, row i of every array belonging to the same inquiry
+     */
+    static final class Rows {
+        private final long[] ids;
+        private final long[] createdAt;
+        private final long[] updatedAt;
+        private final InquiryStatus[] statuses;
+        private final long[] versions;
+        private final long[] values;
+        private final long[] duplicateOf;
+        private final String[] partners;
+        private final String[] partnerKeys;
+        private final String[] titles;
+        private final byte[] descriptionBlock;
+        private final int descriptionLength;
+        private volatile String[] descriptions;
+        // Guards the one-time description decode; a lock so waiting virtual threads do not pin
+        private final ReentrantLock descriptionLock = new ReentrantLock();
+
+        private Rows(ArchiveSegment segment, byte[][] blocks) throws IOException {
+            int rows = segment.rows;
+            ids = new long[rows];
+            createdAt = new long[rows];
+            updatedAt = new long[rows];
+            statuses = new InquiryStatus[rows];
+            versions = new long[rows];
+            values = new long[rows];
+            duplicateOf = new long[rows];
+            partners = new String[rows];
+            partnerKeys = new String[rows];
+            titles = new String[rows];
+
+            ColumnReader id = column(segment, blocks, ID);
+            ColumnReader created = column(segment, blocks, CREATED_AT);
+            ColumnReader updated = column(segment, blocks, UPDATED_AT);
+            ColumnReader status = column(segment, blocks, STATUS);
+            ColumnReader version = column(segment, blocks, VERSION);
+            ColumnReader value = column(segment, blocks, VALUE);
+            ColumnReader duplicate = column(segment, blocks, DUPLICATE_OF);
+            ColumnReader partner = column(segment, blocks, PARTNER);
+            ColumnReader title = column(segment, blocks, TITLE);
+
+            String[] dictionary = new String[(int) partner.varint()];
+            String[] dictionaryKeys = new String[dictionary.length];
+            for (int i = 0; i < dictionary.length; i++) {
+                dictionary[i] = partner.string();
+                dictionaryKeys[i] = TradeInquiry.partnerKey(dictionary[i]);
+            }
+
+            long previousId = 0;
+            long previousCreatedAt = 0;
+            for (int row = 0; row < rows; row++) {
+                previousId += unzigzag(id.varint());
+                previousCreatedAt += unzigzag(created.varint());
+                ids[row] = previousId;
+                createdAt[row] = previousCreatedAt;
+                long updatedOffset = updated.varint();
+                updatedAt[row] = updatedOffset == 0 ? Long.MIN_VALUE : previousCreatedAt + unzigzag(updatedOffset - 1);
+                statuses[row] = InquiryStatus.fromCode(String.valueOf((char) status.read()));
+                versions[row] = version.varint();
+                long cents = value.varint();
+                values[row] = cents == 0 ? Long.MIN_VALUE : unzigzag(cents - 1);
+                duplicateOf[row] = duplicate.varint();
+                int index = (int) partner.varint();
+                partners[row] = dictionary[index];
+                partnerKeys[row] = dictionaryKeys[index];
+                titles[row] = title.string();
+            }
+
+            descriptionBlock = blocks[DESCRIPTION];
+            descriptionLength = segment.rawLengths[DESCRIPTION];
+        }
+
+        private static ColumnReader column(ArchiveSegment segment, byte[][] blocks, int column) throws IOException {
+            return new ColumnReader(inflate(blocks[column], segment.rawLengths[column]));
+        }
+
+        int size() { return ids.length; }
+        long id(int row) { return ids[row]; }
+        long createdAt(int row) { return createdAt[row]; }
+        InquiryStatus status(int row) { return statuses[row]; }
+        String partnerKey(int row) { return partnerKeys[row]; }
+
+        /**
+         * @return Row index of the inquiry, or -1 if it is not in this segment
+         */
+        int indexOf(long id) {
+            for (int row = 0; row < ids.length; row++) {
+                if (ids[row] == id) {
+                    return row;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * A detached inquiry rebuilt from one row
+         */
+        TradeInquiry inquiry(int row) {
+            TradeInquiry inquiry = new TradeInquiry(titles[row], description(row), partners[row], value(row));
+            inquiry.setId(ids[row]);
+            inquiry.setStatus(statuses[row]);
+            inquiry.setCreatedAt(dateTime(createdAt[row]));
+            inquiry.setUpdatedAt(updatedAt(row));
+            inquiry.setVersion(versions[row]);
+            inquiry.setDuplicateOf(duplicateOf[row] != 0 ? duplicateOf[row] : null);
+            return inquiry;
+        }
+
+        /**
+         * A list row, reading the description column only when asked for
+         */
+        InquirySummary summary(int row, boolean withDescription) {
+            if (withDescription) {
+                return InquirySummary.withDescription(inquiry(row));
+            }
+            return new InquirySummary(ids[row], titles[row], statuses[row], partners[row], value(row),
+                    dateTime(createdAt[row]), updatedAt(row), versions[row], duplicateOf[row] != 0 ? duplicateOf[row] : null);
+        }
+
+        private BigDecimal value(int row) {
+            return values[row] == Long.MIN_VALUE ? null : BigDecimal.valueOf(values[row], 2);
+        }
+
+        private LocalDateTime updatedAt(int row) {
+            return updatedAt[row] == Long.MIN_VALUE ? null : dateTime(updatedAt[row]);
+        }
+
+        private String description(int row) {
+            String[] decoded = descriptions;
+            if (decoded == null) {
+                descriptionLock.lock();
+                try {
+                    decoded = descriptions;
+                    if (decoded == null) {
+                        decoded = new String[ids.length];
+                        try {
+                            ColumnReader reader = new ColumnReader(inflate(descriptionBlock, descriptionLength));
+                            for (int i = 0; i < decoded.length; i++) {
+                                decoded[i] = reader.string();
+                            }
+                        } catch (IOException ex) {
+                            throw new IllegalStateException("Corrupt description column", ex);
+                        }
+                        descriptions = decoded;
+                    }
+                } finally {
+                    descriptionLock.unlock();
+                }
+            }
+            return decoded[row];
+        }
+    }
+
+    private static final class ColumnWriter extends ByteArrayOutputStream {
+
+        void varint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void string(String value) {
+            if (value == null) {
+                varint(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            varint(bytes.length + 1L);
+            write(bytes, 0, bytes.length);
+        }
+
+        byte[] compress() {
+            Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+            try {
+                deflater.setInput(buf, 0, count);
+                deflater.finish();
+                ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, count / 4));
+                byte[] chunk = new byte[8192];
+                while (!deflater.finished()) {
+                    int n = deflater.deflate(chunk);
+                    out.write(chunk, 0, n);
+                }
+                return out.toByteArray();
+            } finally {
+                deflater.end();
+            }
+        }
+    }
+
+    private static final class ColumnReader {
+        private final byte[] bytes;
+        private int position;
+
+        ColumnReader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        int read() {
+            return bytes[position++] & 0xFF;
+        }
+
+        long varint() {
+            long value = 0;
+            int shift = 0;
+            int b;
+            do {
+                b = read();
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        String string() {
+            int length = (int) varint();
+            if (length == 0) {
+                return null;
+            }
+            String value = new String(bytes, position, length - 1, StandardCharsets.UTF_8);
+            position += length - 1;
+            return value;
+        }
+    }
+}
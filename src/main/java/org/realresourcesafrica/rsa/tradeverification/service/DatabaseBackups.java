@@ -0,0 +1,96 @@
+package org.realresourcesafrica.rsa.tradeverification.service;
+
+import org.realresourcesafrica.rsa.tradeverification.config.InquiryProperties;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Scheduled online backups of the file-backed H2 database used by the persistent profile.
+ * <p>
+ * {@code BACKUP TO} copies the MVStore file into a zip while the database stays open. It reads a
+ * consistent snapshot through MVCC and takes no table locks, so writers carry on while it runs;
+ * the job only holds one pooled connection. Each backup is written under a temporary name and
+ * moved into place, so a crash never leaves a truncated zip among the finished ones, and only
+ * the newest configured number are kept.
+ * <p>
+ * Compaction is left to the store: its background writer rewrites chunks whose fill rate drops
+ * below {@code AUTO_COMPACT_FILL_RATE} while the database is open, and a clean shutdown moves
+ * chunks together for up to {@code MAX_COMPACT_TIME}. Both are set on the datasource URL.
+ */
+@Component
+public class DatabaseBackups {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseBackups.class);
+
+    private static final String PREFIX = "tradedb-";
+    private static final String SUFFIX = ".zip";
+    // Sorts by name in creation order
+    private static final DateTimeFormatter TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+
+    private final JdbcTemplate jdbc;
+    private final InquiryProperties.Backup config;
+
+    @Autowired
+    public DatabaseBackups(JdbcTemplate jdbc, InquiryProperties properties) {
+        this.jdbc = jdbc;
+        this.config = properties.getBackup();
+    }
+
+    /**
+     * Write one backup and prune old ones. Failures are logged and retried on the next run.
+     */
+    @Scheduled(fixedDelayString = "${inquiries.backup.interval:PT6H}",
+            initialDelayString = "${inquiries.backup.interval:PT6H}")
+    public void backup() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        try {
+            Path directory = Path.of(config.getDirectory()).toAbsolutePath();
+            Files.createDirectories(directory);
+            String name = PREFIX + TIMESTAMP.format(Instant.now()) + SUFFIX;
+            Path partial = directory.resolve(name + ".part");
+            Path target = directory.resolve(name);
+
+            long started = System.nanoTime();
+            jdbc.execute("BACKUP TO '" + partial.toString().replace("'", "''") + "'");
+            Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Backed up database to {} ({} bytes) in {} ms", target, Files.size(target),
+                    (System.nanoTime() - started) / 1_000_000);
+
+            prune(directory);
+        } catch (IOException | DataAccessException e) {
+            log.warn("Database backup failed", e);
+        }
+    }
+
+    private void prune(Path directory) throws IOException {
+        List<Path> backups;
+        try (Stream<Path> files = Files.list(directory)) {
+            backups = files.filter(file -> {
+                String name = file.getFileName().toString();
+                return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+            }).sorted().toList();
+        }
+        for (int i = 0; i < backups.size() - Math.max(1, config.getRetained()); i++) {
+            Files.deleteIfExists(backups.get(i));
+        }
+    }
+}
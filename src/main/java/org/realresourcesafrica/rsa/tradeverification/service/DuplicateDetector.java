@@ -0,0 +1,491 @@
+package org.realresourcesafrica.rsa.tradeverification.service;
+
+import org.realresourcesafrica.rsa.tradeverification.config.InquiryProperties;
+import org.realresourcesafrica.rsa.tradeverification.entity.TradeInquiry;
+import org.realresourcesafrica.rsa.tradeverification.repository.TradeInquiryRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Near-duplicate lookup for new inquiries, scoped to the submitting partner.
+ * <p>
+ * Every stored inquiry is indexed by the {@link SimHash} of its title and description.
+ * For a maximum distance of k bits the 64-bit signature is cut into k + 1 bands and each band
+ * value keys a hash chain; two signatures at most k bits apart agree exactly on at least one
+ * band, so walking the k + 1 chains of a new signature finds every stored inquiry within the
+ * distance without comparing against the rest. Each partner has its own index and lock, so
+ * a lookup only scans that partner's chains, however many inquiries the table holds.
+ * <p>
+ * The index is loaded once the application is ready and kept current by the service after
+ * each committing create and delete.
+ */
+@Component
+public class DuplicateDetector {
+
+    private static final Logger log = LoggerFactory.getLogger(DuplicateDetector.class);
+
+    // Beyond this, bands get so narrow that chains approach a full scan of the partner
+    static final int MAX_SUPPORTED_DISTANCE = 7;
+
+    private final TradeInquiryRepository repository;
+    private final InquiryProperties.Duplicates config;
+    private final int maxDistance;
+    private final int[] bandShifts;
+    private final int[] bandBits;
+    private final Map<String, PartnerIndex> partners = new ConcurrentHashMap<>();
+
+    @Autowired
+    public DuplicateDetector(TradeInquiryRepository repository, InquiryProperties properties) {
+        this.repository = repository;
+        this.config = properties.getDuplicates();
+        this.maxDistance = Math.max(0, Math.min(config.getMaxDistance(), MAX_SUPPORTED_DISTANCE));
+        int bands = maxDistance + 1;
+        this.bandShifts = new int[bands];
+        this.bandBits = new int[bands];
+        for (int b = 0, shift = 0; b < bands; b++) {
+            // Spread the 64 bits as evenly as possible, wider bands first
+            bandBits[b] = 64 / bands + (b < 64 % bands ? 1 : 0);
+            bandShifts[b] = shift;
+            shift += bandBits[b];
+        }
+    }
+
+    /**
+     * @return true unless detection is turned off
+     */
+    public boolean isEnabled() {
+        return config.getMode() != InquiryProperties.Duplicates.Mode.OFF;
+    }
+
+    /**
+     * @return true if likely duplicates are refused rather than flagged
+     */
+    public boolean isRejecting() {
+        return config.getMode() == InquiryProperties.Duplicates.Mode.REJECT;
+    }
+
+    /**
+     * Signature to pass to {@link #findDuplicate} and {@link #onCreated}
+     * @param inquiry The inquiry
+     * @return SimHash of its title and description
+     */
+    public long signature(TradeInquiry inquiry) {
+        return SimHash.of(inquiry.getTitle(), inquiry.getDescription());
+    }
+
+    /**
+     * Find the closest stored inquiry of the same partner, preferring the newest on ties
+     * @param partnerKey Normalized partner name
+     * @param signature Signature of the new inquiry
+     * @return ID of the likely duplicate, or null if there is none
+     */
+    public Long findDuplicate(String partnerKey, long signature) {
+        PartnerIndex index = partners.get(partnerKey);
+        if (index == null) {
+            return null;
+        }
+        long id = index.nearest(signature, maxDistance);
+        return id != 0 ? id : null;
+    }
+
+    /**
+     * Index new inquiries once the surrounding transaction commits
+     * @param inquiries The created inquiries
+     * @param signatures Their signatures, in the same order
+     */
+    public void onCreated(Collection<TradeInquiry> inquiries, long[] signatures) {
+        if (!isEnabled()) {
+            return;
+        }
+        String[] partnerKeys = new String[inquiries.size()];
+        long[] ids = new long[inquiries.size()];
+        int i = 0;
+        for (TradeInquiry inquiry : inquiries) {
+            partnerKeys[i] = inquiry.getPartnerKey();
+            ids[i++] = inquiry.getId();
+        }
+        AfterCommit.run(() -> {
+            for (int j = 0; j < ids.length; j++) {
+                add(partnerKeys[j], ids[j], signatures[j]);
+            }
+        });
+    }
+
+    /**
+     * Remove a deleted inquiry from the index once the surrounding transaction commits
+     * @param inquiry The deleted inquiry
+     */
+    public void onDeleted(TradeInquiry inquiry) {
+        if (!isEnabled()) {
+            return;
+        }
+        String partnerKey = inquiry.getPartnerKey();
+        long id = inquiry.getId();
+        AfterCommit.run(() -> {
+            PartnerIndex index = partners.get(partnerKey);
+            if (index != null) {
+                index.remove(id);
+            }
+        });
+    }
+
+    /**
+     * Remove many inquiries from the index once the surrounding transaction commits
+     * @param inquiries The deleted inquiries
+     */
+    public void onDeleted(Collection<TradeInquiry> inquiries) {
+        if (!isEnabled()) {
+            return;
+        }
+        String[] partnerKeys = new String[inquiries.size()];
+        long[] ids = new long[inquiries.size()];
+        int i = 0;
+        for (TradeInquiry inquiry : inquiries) {
+            partnerKeys[i] = inquiry.getPartnerKey();
+            ids[i++] = inquiry.getId();
+        }
+        AfterCommit.run(() -> {
+            for (int j = 0; j < ids.length; j++) {
+                PartnerIndex index = partners.get(partnerKeys[j]);
+                if (index != null) {
+                    index.remove(ids[j]);
+                }
+            }
+        });
+    }
+
+    /**
+     * Index every stored inquiry from one streaming pass. Inquiries created while the pass
+     * runs are added by the service as well; indexing an id twice keeps the latest signature.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void build() {
+        if (!isEnabled()) {
+            return;
+        }
+        long rows = 0;
+        try (Stream<TradeInquiryRepository.SignatureRow> stream = repository.streamSignatureRows()) {
+            Iterator<TradeInquiryRepository.SignatureRow> it = stream.iterator();
+            while (it.hasNext()) {
+                TradeInquiryRepository.SignatureRow row = it.next();
+                add(row.getPartnerKey(), row.getId(), SimHash.of(row.getTitle(), row.getDescription()));
+                rows++;
+            }
+        }
+        log.info("Indexed {} inquiries across {} partners for duplicate detection", rows, partners.size());
+    }
+
+    /**
+     * @param partnerKey Normalized partner name
+     * @return Entries held for the partner, including tombstones not yet compacted away
+     */
+    int indexedEntries(String partnerKey) {
+        PartnerIndex index = partners.get(partnerKey);
+        return index != null ? index.entries() : 0;
+    }
+
+    private void add(String partnerKey, long id, long signature) {
+        partners.computeIfAbsent(partnerKey, key -> new PartnerIndex(bandShifts, bandBits)).add(id, signature);
+    }
+
+    /**
+     * Signatures of one partner's inquiries with one hash table per band. Each table slot
+     * keeps the signatures that fall into it in a contiguous array, so a lookup scans a few
+     * short runs of longs instead of chasing pointers. Deleted entries are tombstoned with id 0,
+     * found through an id to entry map, and dropped by compacting once they make up a quarter
+     * of the entries, so bulk deletes like archiving cost one probe per id.
+     */
+    private static final class PartnerIndex {
+
+        // Compacting a handful of tombstones would cost more than scanning past them
+        private static final int MIN_TOMBSTONES_TO_COMPACT = 64;
+
+        private final int[] shifts;
+        private final long[] masks;
+        // A band has 2^bits values, so a larger table would not spread its slots any further
+        private final int[] maxTableSizes;
+        // A lock rather than synchronized, so virtual threads do not pin their carrier while waiting
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private long[] ids = new long[16];
+        private long[] signatures = new long[16];
+        private int size;
+        private int tombstones;
+        private final LongIntMap entriesById = new LongIntMap();
+        private final Slot[][] tables;
+
+        PartnerIndex(int[] shifts, int[] bits) {
+            this.shifts = shifts;
+            this.masks = new long[bits.length];
+            this.maxTableSizes = new int[bits.length];
+            this.tables = new Slot[bits.length][];
+            for (int b = 0; b < bits.length; b++) {
+                masks[b] = (1L << bits[b]) - 1;
+                maxTableSizes[b] = 1 << bits[b];
+                tables[b] = new Slot[Math.min(ids.length, maxTableSizes[b])];
+            }
+        }
+
+        long nearest(long signature, int maxDistance) {
+            lock.lock();
+            try {
+                long best = 0;
+                int bestDistance = maxDistance;
+                for (int b = 0; b < tables.length; b++) {
+                    Slot slot = tables[b][slot(signature, b)];
+                    if (slot == null) {
+                        continue;
+                    }
+                    long[] candidates = slot.signatures;
+                    for (int k = 0; k < slot.size; k++) {
+                        int distance = SimHash.distance(signature, candidates[k]);
+                        if (distance > bestDistance) {
+                            continue;
+                        }
+                        long id = ids[slot.entries[k]];
+                        // Ties, including the first match at maxDistance, go to the newest inquiry
+                        if (id != 0 && (distance < bestDistance || id > best)) {
+                            best = id;
+                            bestDistance = distance;
+                        }
+                    }
+                }
+                return best;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void add(long id, long signature) {
+            lock.lock();
+            try {
+                // Indexed twice, e.g. by the startup pass and the service: the latest signature wins
+                int previous = entriesById.get(id);
+                if (previous >= 0) {
+                    ids[previous] = 0;
+                    tombstones++;
+                }
+                if (size == ids.length) {
+                    grow();
+                }
+                int entry = size++;
+                ids[entry] = id;
+                signatures[entry] = signature;
+                entriesById.put(id, entry);
+                for (int b = 0; b < tables.length; b++) {
+                    insert(b, entry);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void remove(long id) {
+            lock.lock();
+            try {
+                int entry = entriesById.remove(id);
+                if (entry < 0) {
+                    return;
+                }
+                ids[entry] = 0;
+                tombstones++;
+                if (tombstones >= MIN_TOMBSTONES_TO_COMPACT && tombstones * 4 >= size) {
+                    compact();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int entries() {
+            lock.lock();
+            try {
+                return size;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Double the entry arrays and re-spread the tables at about one entry per slot
+         */
+        private void grow() {
+            if (tombstones * 4 >= size) {
+                // Dropping the tombstones frees at least a quarter of the arrays
+                compact();
+                return;
+            }
+            resize(ids.length * 2);
+        }
+
+        /**
+         * Move the live entries to the front, shrinking the arrays when they are mostly empty,
+         * and rebuild the tables and the id map around the new positions
+         */
+        private void compact() {
+            int live = 0;
+            for (int i = 0; i < size; i++) {
+                if (ids[i] != 0) {
+                    ids[live] = ids[i];
+                    signatures[live++] = signatures[i];
+                }
+            }
+            Arrays.fill(ids, live, size, 0);
+            size = live;
+            tombstones = 0;
+            entriesById.clear();
+            for (int i = 0; i < size; i++) {
+                entriesById.put(ids[i], i);
+            }
+            int capacity = ids.length;
+            while (capacity > 16 && size <= capacity / 4) {
+                capacity /= 2;
+            }
+            resize(capacity);
+        }
+
+        private void resize(int capacity) {
+            ids = Arrays.copyOf(ids, capacity);
+            signatures = Arrays.copyOf(signatures, capacity);
+            for (int b = 0; b < tables.length; b++) {
+                tables[b] = new Slot[Math.min(capacity, maxTableSizes[b])];
+                for (int i = 0; i < size; i++) {
+                    insert(b, i);
+                }
+            }
+        }
+
+        private void insert(int b, int entry) {
+            Slot[] table = tables[b];
+            int index = slot(signatures[entry], b);
+            Slot slot = table[index];
+            if (slot == null) {
+                slot = table[index] = new Slot();
+            }
+            slot.add(signatures[entry], entry);
+        }
+
+        private int slot(long signature, int b) {
+            return (int) ((signature >>> shifts[b]) & masks[b]) & (tables[b].length - 1);
+        }
+    }
+
+    /**
+     * Open-addressing map from inquiry id to entry position. Ids are never 0, so 0 marks a free
+     * key; removal shifts the following run back instead of leaving markers behind.
+     */
+    private static final class LongIntMap {
+
+        private long[] keys = new long[32];
+        private int[] values = new int[32];
+        private int size;
+
+        int get(long key) {
+            int mask = keys.length - 1;
+            for (int i = index(key, mask); keys[i] != 0; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+            }
+            return -1;
+        }
+
+        void put(long key, int value) {
+            if ((size + 1) * 2 > keys.length) {
+                rehash(keys.length * 2);
+            }
+            int mask = keys.length - 1;
+            int i = index(key, mask);
+            while (keys[i] != 0 && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            if (keys[i] == 0) {
+                keys[i] = key;
+                size++;
+            }
+            values[i] = value;
+        }
+
+        int remove(long key) {
+            int mask = keys.length - 1;
+            int i = index(key, mask);
+            while (keys[i] != key) {
+                if (keys[i] == 0) {
+                    return -1;
+                }
+                i = (i + 1) & mask;
+            }
+            int value = values[i];
+            // Pull back every later key of the run whose home slot does not lie past the gap
+            int gap = i;
+            for (int j = (i + 1) & mask; keys[j] != 0; j = (j + 1) & mask) {
+                int home = index(keys[j], mask);
+                if (((j - home) & mask) >= ((j - gap) & mask)) {
+                    keys[gap] = keys[j];
+                    values[gap] = values[j];
+                    gap = j;
+                }
+            }
+            keys[gap] = 0;
+            size--;
+            return value;
+        }
+
+        void clear() {
+            Arrays.fill(keys, 0);
+            size = 0;
+        }
+
+        private void rehash(int capacity) {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new long[capacity];
+            values = new int[capacity];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static int index(long key, int mask) {
+            // Ids are sequential, so mix the bits before masking
+            long h = key * 0x9e3779b97f4a7c15L;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+    }
+
+    /**
+     * Signatures sharing one band value (or table slot), with their positions in the entry arrays
+     */
+    private static final class Slot {
+        long[] signatures = new long[2];
+        int[] entries = new int[2];
+        int size;
+
+        void add(long signature, int entry) {
+            if (size == signatures.length) {
+                signatures = Arrays.copyOf(signatures, size * 2);
+                entries = Arrays.copyOf(entries, size * 2);
+            }
+            signatures[size] = signature;
+            entries[size++] = entry;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package org.realresourcesafrica.rsa.tradeverification.service;
+
+import org.realresourcesafrica.rsa.tradeverification.config.InquiryProperties;
+import org.realresourcesafrica.rsa.tradeverification.entity.TradeInquiry;
+import org.realresourcesafrica.rsa.tradeverification.exception.InquiryConflictException;
+import org.realresourcesafrica.rsa.tradeverification.exception.InvalidIdempotencyKeyException;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+
+/**
+ * Idempotency-Key handling for POST /api/inquiries, so a client can retry a create after a
+ * timeout without creating the inquiry twice.
+ * <p>
+ * The first request with a key reserves it together with a fingerprint of the body; once the
+ * inquiry is committed the reservation records its id. A retry with the same key and body
+ * replays that inquiry, a retry while the first is still running is refused, and reusing the
+ * key for a different body is an error. Keys are scoped to the partner and held in memory for
+ * the configured time, so they do not survive a restart.
+ */
+@Component
+public class IdempotencyKeys {
+
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final Cache<String, Reservation> reservations;
+
+    @Autowired
+    public IdempotencyKeys(InquiryProperties properties) {
+        InquiryProperties.Idempotency config = properties.getIdempotency();
+        this.reservations = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumKeys())
+                .expireAfterWrite(config.getTtl())
+                .build();
+    }
+
+    /**
+     * Reserve a key for a create, or find the earlier create that used it
+     * @param key The Idempotency-Key header
+     * @param inquiry The inquiry about to be created
+     * @return A new reservation to complete or release, or a completed one to replay
+     * @throws InquiryConflictException if a request with the same key is still in progress
+     * @throws InvalidIdempotencyKeyException if the key is too long or was used for a different inquiry
+     */
+    public Reservation reserve(String key, TradeInquiry inquiry) {
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException("Idempotency-Key must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+        String scopedKey = inquiry.getPartnerKey() + '\n' + key;
+        Reservation reservation = new Reservation(reservations.asMap(), scopedKey, fingerprint(inquiry));
+        Reservation existing = reservations.asMap().putIfAbsent(scopedKey, reservation);
+        if (existing == null) {
+            return reservation;
+        }
+        if (!MessageDigest.isEqual(existing.fingerprint, reservation.fingerprint)) {
+            throw new InvalidIdempotencyKeyException("Idempotency-Key " + key + " was already used for a different inquiry");
+        }
+        if (existing.inquiryId == null) {
+            throw new InquiryConflictException("A request with Idempotency-Key " + key + " is still in progress");
+        }
+        return existing;
+    }
+
+    /**
+     * SHA-256 over the fields a retry must repeat. Each field is length-prefixed, so moving text
+     * from one field to the next changes the digest, and the value is compared numerically.
+     */
+    static byte[] fingerprint(TradeInquiry inquiry) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+        BigDecimal value = inquiry.getEstimatedValue();
+        update(digest, inquiry.getTitle());
+        update(digest, inquiry.getDescription());
+        update(digest, inquiry.getPartnerKey());
+        update(digest, value != null ? value.stripTrailingZeros().toPlainString() : null);
+        return digest.digest();
+    }
+
+    private static void update(MessageDigest digest, String field) {
+        if (field == null) {
+            digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(-1).array());
+            return;
+        }
+        byte[] bytes = field.getBytes(StandardCharsets.UTF_8);
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+        digest.update(bytes);
+    }
+
+    /**
+     * A reserved key; pending until {@link #complete} records the created inquiry
+     */
+    public static class Reservation {
+        private final Map<String, Reservation> owner;
+        private final String scopedKey;
+        private final byte[] fingerprint;
+        private volatile Long inquiryId;
+
+        private Reservation(Map<String, Reservation> owner, String scopedKey, byte[] fingerprint) {
+            this.owner = owner;
+            this.scopedKey = scopedKey;
+            this.fingerprint = fingerprint;
+        }
+
+        /**
+         * @return true if the key was used before and the earlier inquiry should be returned
+         */
+        public boolean isReplay() {
+            return inquiryId != null;
+        }
+
+        public Long getInquiryId() {
+            return inquiryId;
+        }
+
+        /**
+         * Record the committed inquiry so retries replay it
+         */
+        public void complete(Long id) {
+            this.inquiryId = id;
+        }
+
+        /**
+         * Forget a reservation whose create failed, so the client can retry with the same key
+         */
+        public void release() {
+            owner.remove(scopedKey, this);
+        }
+    }
+}
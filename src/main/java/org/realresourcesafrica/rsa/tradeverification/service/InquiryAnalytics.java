@@ -0,0 +1,340 @@
+package org.realresourcesafrica.rsa.tradeverification.service;
+
+import org.realresourcesafrica.rsa.tradeverification.dto.AnalyticsBucket;
+import org.realresourcesafrica.rsa.tradeverification.entity.InquiryStatus;
+import org.realresourcesafrica.rsa.tradeverification.entity.TradeInquiry;
+import org.realresourcesafrica.rsa.tradeverification.repository.TradeInquiryRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Pre-aggregated inquiry analytics by creation day.
+ * <p>
+ * Each day holds, per status, a count, the summed estimated value and a {@link ValueSketch}
+ * of the values. The service adjusts the day an inquiry was created in after each committing
+ * write, so a query merges one small record per day in range and never reads inquiry rows:
+ * its cost depends on the number of days and buckets asked for, not on table size.
+ * Archived inquiries still count: archiving leaves their days alone, and the days are built
+ * from one streaming pass over the table and the archive segments once the application is
+ * ready and rebuilt periodically to repair drift from writes that bypass the service.
+ */
+@Component
+public class InquiryAnalytics {
+
+    private static final Logger log = LoggerFactory.getLogger(InquiryAnalytics.class);
+
+    private static final InquiryStatus[] STATUSES = InquiryStatus.values();
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.95, 0.99};
+    private static final String[] QUANTILE_NAMES = {"p50", "p90", "p95", "p99"};
+
+    /**
+     * Width of the buckets a query is grouped into; weeks start on Monday
+     */
+    public enum Granularity {
+        DAY, WEEK, MONTH;
+
+        LocalDate start(LocalDate day) {
+            return switch (this) {
+                case DAY -> day;
+                case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTH -> day.withDayOfMonth(1);
+            };
+        }
+
+        LocalDate next(LocalDate start) {
+            return switch (this) {
+                case DAY -> start.plusDays(1);
+                case WEEK -> start.plusWeeks(1);
+                case MONTH -> start.plusMonths(1);
+            };
+        }
+
+        /**
+         * Number of buckets touching the inclusive range [from, to]
+         */
+        public long buckets(LocalDate from, LocalDate to) {
+            ChronoUnit unit = switch (this) {
+                case DAY -> ChronoUnit.DAYS;
+                case WEEK -> ChronoUnit.WEEKS;
+                case MONTH -> ChronoUnit.MONTHS;
+            };
+            return unit.between(start(from), start(to)) + 1;
+        }
+    }
+
+    private final TradeInquiryRepository repository;
+    private final InquiryArchive archive;
+    private volatile ConcurrentSkipListMap<LocalDate, DayBucket> days = new ConcurrentSkipListMap<>();
+    private volatile boolean loaded;
+
+    @Autowired
+    public InquiryAnalytics(TradeInquiryRepository repository, InquiryArchive archive) {
+        this.repository = repository;
+        this.archive = archive;
+    }
+
+    /**
+     * Add new inquiries to their days once the surrounding transaction commits
+     * @param inquiries The created inquiries
+     */
+    public void onCreated(Collection<TradeInquiry> inquiries) {
+        List<Delta> deltas = new ArrayList<>(inquiries.size());
+        for (TradeInquiry inquiry : inquiries) {
+            deltas.add(Delta.of(inquiry, null));
+        }
+        AfterCommit.run(() -> {
+            for (Delta delta : deltas) {
+                bucketFor(delta.day()).add(delta.to(), delta.value(), 1);
+            }
+        });
+    }
+
+    /**
+     * Move an inquiry between statuses within its day once the surrounding transaction commits
+     * @param inquiry The updated inquiry
+     * @param previousStatus Status before the change
+     */
+    public void onStatusChanged(TradeInquiry inquiry, InquiryStatus previousStatus) {
+        if (previousStatus == inquiry.getStatus()) {
+            return;
+        }
+        Delta delta = Delta.of(inquiry, previousStatus);
+        AfterCommit.run(() -> bucketFor(delta.day()).move(delta.from(), delta.to(), delta.value()));
+    }
+
+    /**
+     * Move many inquiries between statuses once the surrounding transaction commits
+     * @param inquiries The updated inquiries
+     * @param previousStatuses Status before the change, by inquiry ID
+     */
+    public void onStatusChanged(Collection<TradeInquiry> inquiries, Map<Long, InquiryStatus> previousStatuses) {
+        List<Delta> deltas = new ArrayList<>(inquiries.size());
+        for (TradeInquiry inquiry : inquiries) {
+            InquiryStatus previous = previousStatuses.get(inquiry.getId());
+            if (previous != inquiry.getStatus()) {
+                deltas.add(Delta.of(inquiry, previous));
+            }
+        }
+        AfterCommit.run(() -> {
+            for (Delta delta : deltas) {
+                bucketFor(delta.day()).move(delta.from(), delta.to(), delta.value());
+            }
+        });
+    }
+
+    /**
+     * Remove an inquiry from its day once the surrounding transaction commits
+     * @param inquiry The deleted inquiry
+     */
+    public void onDeleted(TradeInquiry inquiry) {
+        Delta delta = Delta.of(inquiry, null);
+        AfterCommit.run(() -> bucketFor(delta.day()).add(delta.to(), delta.value(), -1));
+    }
+
+    /**
+     * Remove many inquiries from their days once the surrounding transaction commits
+     * @param inquiries The deleted inquiries
+     */
+    public void onDeleted(Collection<TradeInquiry> inquiries) {
+        List<Delta> deltas = new ArrayList<>(inquiries.size());
+        for (TradeInquiry inquiry : inquiries) {
+            deltas.add(Delta.of(inquiry, null));
+        }
+        AfterCommit.run(() -> {
+            for (Delta delta : deltas) {
+                bucketFor(delta.day()).add(delta.to(), delta.value(), -1);
+            }
+        });
+    }
+
+    /**
+     * Group the days in [from, to] into buckets. The first and last bucket are clipped to
+     * the range; buckets without inquiries are included with a zero count.
+     * @param from First day, inclusive
+     * @param to Last day, inclusive
+     * @param granularity Bucket width
+     * @param status Optional status; when set, counts and values cover only that status
+     * @return One bucket per period, oldest first
+     */
+    public List<AnalyticsBucket> query(LocalDate from, LocalDate to, Granularity granularity, InquiryStatus status) {
+        NavigableMap<LocalDate, DayBucket> snapshot = days;
+        LocalDate end = to.plusDays(1);
+        List<AnalyticsBucket> buckets = new ArrayList<>();
+        for (LocalDate period = granularity.start(from); period.isBefore(end); period = granularity.next(period)) {
+            LocalDate start = period.isBefore(from) ? from : period;
+            LocalDate next = granularity.next(period);
+            LocalDate stop = next.isAfter(end) ? end : next;
+
+            DayBucket merged = new DayBucket();
+            for (DayBucket day : snapshot.subMap(start, true, stop, false).values()) {
+                day.mergeInto(merged);
+            }
+            buckets.add(merged.toAnalyticsBucket(start, stop, status));
+        }
+        return buckets;
+    }
+
+    /**
+     * Rebuild every day from one streaming pass over the table and the archive and swap it in.
+     * Runs once at startup, after the archive has loaded, and then on a fixed delay; writes
+     * and archive batches that commit while the pass is in flight may be off until the next pass.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${inquiries.analytics.rebuild-interval:PT1H}",
+            initialDelayString = "${inquiries.analytics.rebuild-interval:PT1H}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        ConcurrentSkipListMap<LocalDate, DayBucket> rebuilt = new ConcurrentSkipListMap<>();
+        long rows = 0;
+        try (Stream<TradeInquiryRepository.AnalyticsRow> stream = repository.streamAnalyticsRows()) {
+            Iterator<TradeInquiryRepository.AnalyticsRow> it = stream.iterator();
+            while (it.hasNext()) {
+                TradeInquiryRepository.AnalyticsRow row = it.next();
+                rebuilt.computeIfAbsent(row.getCreatedAt().toLocalDate(), day -> new DayBucket())
+                        .add(row.getStatus(), row.getEstimatedValue(), 1);
+                rows++;
+            }
+        }
+        rows += archive.forEach(null, inquiry -> rebuilt
+                .computeIfAbsent(inquiry.getCreatedAt().toLocalDate(), day -> new DayBucket())
+                .add(inquiry.getStatus(), inquiry.getEstimatedValue(), 1));
+        days = rebuilt;
+        if (!loaded) {
+            log.info("Built inquiry analytics for {} inquiries over {} days", rows, rebuilt.size());
+        }
+        loaded = true;
+    }
+
+    private DayBucket bucketFor(LocalDate day) {
+        return days.computeIfAbsent(day, key -> new DayBucket());
+    }
+
+    /**
+     * One inquiry's contribution, captured before commit so later changes to the entity don't leak in
+     */
+    private record Delta(LocalDate day, InquiryStatus from, InquiryStatus to, BigDecimal value) {
+
+        static Delta of(TradeInquiry inquiry, InquiryStatus from) {
+            LocalDateTime createdAt = inquiry.getCreatedAt() != null ? inquiry.getCreatedAt() : LocalDateTime.now();
+            return new Delta(createdAt.toLocalDate(), from, inquiry.getStatus(), inquiry.getEstimatedValue());
+        }
+    }
+
+    /**
+     * Per-status aggregates for one day, or for a merged range while a query runs
+     */
+    private static final class DayBucket {
+
+        private final long[] counts = new long[STATUSES.length];
+        private final BigDecimal[] totals = new BigDecimal[STATUSES.length];
+        private final ValueSketch[] sketches = new ValueSketch[STATUSES.length];
+        // Not synchronized, so virtual threads adjusting a day after commit do not pin their carrier
+        private final ReentrantLock lock = new ReentrantLock();
+
+        DayBucket() {
+            for (int i = 0; i < STATUSES.length; i++) {
+                totals[i] = BigDecimal.ZERO;
+                sketches[i] = new ValueSketch();
+            }
+        }
+
+        void add(InquiryStatus status, BigDecimal value, long n) {
+            lock.lock();
+            try {
+                addUnlocked(status.ordinal(), value, n);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void move(InquiryStatus from, InquiryStatus to, BigDecimal value) {
+            lock.lock();
+            try {
+                addUnlocked(from.ordinal(), value, -1);
+                addUnlocked(to.ordinal(), value, 1);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void addUnlocked(int status, BigDecimal value, long n) {
+            counts[status] += n;
+            if (value != null) {
+                totals[status] = totals[status].add(value.multiply(BigDecimal.valueOf(n)));
+                sketches[status].add(value.doubleValue(), n);
+            }
+        }
+
+        /**
+         * @param target A bucket private to the caller, so only this one is locked
+         */
+        void mergeInto(DayBucket target) {
+            lock.lock();
+            try {
+                for (int i = 0; i < STATUSES.length; i++) {
+                    if (counts[i] != 0) {
+                        target.counts[i] += counts[i];
+                        target.totals[i] = target.totals[i].add(totals[i]);
+                        target.sketches[i].merge(sketches[i]);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        AnalyticsBucket toAnalyticsBucket(LocalDate start, LocalDate end, InquiryStatus status) {
+            Map<InquiryStatus, Long> countsByStatus = new EnumMap<>(InquiryStatus.class);
+            long count = 0;
+            BigDecimal total = BigDecimal.ZERO;
+            ValueSketch values = new ValueSketch();
+            for (InquiryStatus candidate : STATUSES) {
+                if (status != null && candidate != status) {
+                    continue;
+                }
+                int i = candidate.ordinal();
+                countsByStatus.put(candidate, counts[i]);
+                count += counts[i];
+                total = total.add(totals[i]);
+                values.merge(sketches[i]);
+            }
+
+            Map<String, BigDecimal> percentiles = null;
+            if (values.count() > 0) {
+                percentiles = new LinkedHashMap<>();
+                for (int q = 0; q < QUANTILES.length; q++) {
+                    percentiles.put(QUANTILE_NAMES[q],
+                            BigDecimal.valueOf(values.quantile(QUANTILES[q])).setScale(2, RoundingMode.HALF_UP));
+                }
+            }
+            return new AnalyticsBucket(start, end, count, countsByStatus, total, percentiles);
+        }
+    }
+}
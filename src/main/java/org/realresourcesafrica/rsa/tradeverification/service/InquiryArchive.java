@@ -0,0 +1,379 @@
+package org.realresourcesafrica.rsa.tradeverification.service;
+
+import org.realresourcesafrica.rsa.tradeverification.config.InquiryProperties;
+import org.realresourcesafrica.rsa.tradeverification.dto.InquirySummary;
+import org.realresourcesafrica.rsa.tradeverification.entity.InquiryStatus;
+import org.realresourcesafrica.rsa.tradeverification.entity.TradeInquiry;
+import org.realresourcesafrica.rsa.tradeverification.repository.TradeInquiryRepository;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Append-only store of archived inquiries: a directory of {@link ArchiveSegment} files.
+ * <p>
+ * Segment headers stay in memory, so lookups skip every segment whose zone maps rule it out
+ * and archived counts never touch the disk. Decoded segments are kept in a small LRU cache.
+ * <p>
+ * A segment is written under a {@code .pending} name inside the archiving transaction and
+ * renamed into place only after that transaction commits; on rollback it is deleted. A
+ * pending file found at startup is finished if its inquiries are gone from the table (the
+ * commit happened, the rename did not) and deleted otherwise.
+ * <p>
+ * A file database may write a commit to disk some time after it returns (H2's
+ * {@code WRITE_DELAY}), so a crash can also undo the delete of a segment that was already
+ * published. Commits reach the disk in order, so at startup the newest segments are checked
+ * until one whose inquiries are gone from the table; those still in the table are deleted.
+ */
+@Component
+public class InquiryArchive {
+
+    private static final Logger log = LoggerFactory.getLogger(InquiryArchive.class);
+
+    private static final String PREFIX = "inquiries-";
+    private static final String SUFFIX = ".seg";
+    private static final String PENDING = ".pending";
+
+    // Ids per existence check when recovering a pending segment
+    private static final int RECOVERY_CHUNK_SIZE = 1000;
+
+    private final TradeInquiryRepository repository;
+    private final InquiryProperties.Archive config;
+    private final LoadingCache<Path, ArchiveSegment.Rows> decoded;
+    private final AtomicLong sequence = new AtomicLong();
+    // Newest first by maxCreatedAt; replaced as a whole when a segment is published
+    private volatile List<ArchiveSegment> segments = List.of();
+    // Serializes publishing, which reads and replaces the segment list
+    private final ReentrantLock publishLock = new ReentrantLock();
+
+    @Autowired
+    public InquiryArchive(TradeInquiryRepository repository, InquiryProperties properties) {
+        this.repository = repository;
+        this.config = properties.getArchive();
+        this.decoded = Caffeine.newBuilder()
+                .maximumSize(Math.max(1, config.getCachedSegments()))
+                .build(this::decode);
+    }
+
+    /**
+     * Read segment headers, and settle any pending segment left by a crash, before the
+     * archiver, a request or the analytics rebuild can use the archive
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void load() {
+        Path directory = directory();
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        // In sequence order, as the file names sort
+        List<ArchiveSegment> loaded = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.sorted().toList()) {
+                String name = file.getFileName().toString();
+                if (!name.startsWith(PREFIX)) {
+                    continue;
+                }
+                sequence.accumulateAndGet(sequenceOf(name), Math::max);
+                if (name.endsWith(SUFFIX + PENDING)) {
+                    file = recover(file);
+                    if (file == null) {
+                        continue;
+                    }
+                } else if (!name.endsWith(SUFFIX)) {
+                    continue;
+                }
+                loaded.add(ArchiveSegment.open(file));
+            }
+            loaded = withoutLostCommits(loaded);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot read inquiry archive in " + directory, ex);
+        }
+        segments = sortedNewestFirst(loaded);
+        log.info("Loaded {} archive segments holding {} inquiries", loaded.size(), total());
+    }
+
+    /**
+     * Write inquiries to a new segment that becomes visible once the surrounding transaction
+     * commits and is discarded if it rolls back
+     * @param inquiries The inquiries being archived; the caller deletes them from the table
+     * @throws UncheckedIOException if the segment cannot be written, so the transaction rolls back
+     */
+    public void append(List<TradeInquiry> inquiries) {
+        Path directory = directory();
+        Path target = directory.resolve(String.format("%s%010d%s", PREFIX, sequence.incrementAndGet(), SUFFIX));
+        Path pending = target.resolveSibling(target.getFileName() + PENDING);
+        ArchiveSegment written;
+        try {
+            Files.createDirectories(directory);
+            written = ArchiveSegment.write(pending, inquiries);
+        } catch (IOException ex) {
+            deleteQuietly(pending);
+            throw new UncheckedIOException("Cannot write archive segment " + pending, ex);
+        }
+        AfterCommit.run(() -> {
+            try {
+                publish(pending, target);
+            } catch (IOException ex) {
+                // The rows are already deleted; the pending file is finished on the next startup
+                log.error("Archived {} inquiries to {} but could not publish it", written.getRows(), pending, ex);
+            }
+        }, () -> deleteQuietly(pending));
+    }
+
+    /**
+     * Find an archived inquiry, reading only segments whose id range covers it
+     * @param id The inquiry ID
+     * @return A detached copy of the inquiry, if archived
+     */
+    public Optional<TradeInquiry> find(long id) {
+        for (ArchiveSegment segment : segments) {
+            if (segment.mayContainId(id)) {
+                ArchiveSegment.Rows rows = rows(segment);
+                int row = rows.indexOf(id);
+                if (row >= 0) {
+                    return Optional.of(rows.inquiry(row));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Newest archived inquiries strictly after a keyset position, in (createdAt, id) descending
+     * order. Segments are visited newest first and the scan stops as soon as no remaining
+     * segment can hold a row newer than the oldest one already collected.
+     * @param status Optional status filter
+     * @param partnerKey Optional normalized partner key
+     * @param after Optional keyset position of the last row of the previous page
+     * @param limit Maximum number of rows
+     * @param withDescription Whether to decode descriptions
+     * @return Up to limit summaries, newest first
+     */
+    List<InquirySummary> newest(InquiryStatus status, String partnerKey, InquiryCursor after, int limit,
+                                boolean withDescription) {
+        long afterCreatedAt = after != null ? ArchiveSegment.micros(after.getCreatedAt()) : Long.MAX_VALUE;
+        long afterId = after != null ? after.getId() : Long.MAX_VALUE;
+
+        List<Candidate> found = new ArrayList<>();
+        for (ArchiveSegment segment : segments) {
+            if (found.size() >= limit && segment.getMaxCreatedAt() < found.get(limit - 1).createdAt) {
+                break;
+            }
+            if (segment.getMinCreatedAt() > afterCreatedAt || (status != null && segment.count(status) == 0)) {
+                continue;
+            }
+            ArchiveSegment.Rows rows = rows(segment);
+            int taken = 0;
+            for (int row = rows.size() - 1; row >= 0 && taken < limit; row--) {
+                long createdAt = rows.createdAt(row);
+                if (createdAt > afterCreatedAt || (createdAt == afterCreatedAt && rows.id(row) >= afterId)) {
+                    continue;
+                }
+                if ((status == null || rows.status(row) == status)
+                        && (partnerKey == null || partnerKey.equals(rows.partnerKey(row)))) {
+                    found.add(new Candidate(createdAt, rows.id(row), rows, row));
+                    taken++;
+                }
+            }
+            found.sort(Candidate.NEWEST_FIRST);
+            if (found.size() > limit) {
+                found.subList(limit, found.size()).clear();
+            }
+        }
+
+        List<InquirySummary> summaries = new ArrayList<>(found.size());
+        for (Candidate candidate : found) {
+            summaries.add(candidate.rows.summary(candidate.row, withDescription));
+        }
+        return summaries;
+    }
+
+    /**
+     * Visit every archived inquiry, segment by segment from the newest, each newest first
+     * @param status Optional status filter
+     * @param consumer Receives each inquiry
+     * @return Number of inquiries visited
+     */
+    long forEach(InquiryStatus status, Consumer<TradeInquiry> consumer) {
+        long count = 0;
+        for (ArchiveSegment segment : segments) {
+            if (status != null && segment.count(status) == 0) {
+                continue;
+            }
+            // Read directly so a full export does not flush the cache of hot segments
+            ArchiveSegment.Rows rows = decode(segment.getFile());
+            for (int row = rows.size() - 1; row >= 0; row--) {
+                if (status == null || rows.status(row) == status) {
+                    consumer.accept(rows.inquiry(row));
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Archived inquiries with a status, from segment headers only
+     * @param status The status
+     * @return Number of archived inquiries with that status
+     */
+    public long count(InquiryStatus status) {
+        long count = 0;
+        for (ArchiveSegment segment : segments) {
+            count += segment.count(status);
+        }
+        return count;
+    }
+
+    /**
+     * @return Number of archived inquiries
+     */
+    public long total() {
+        long total = 0;
+        for (ArchiveSegment segment : segments) {
+            total += segment.getRows();
+        }
+        return total;
+    }
+
+    private void publish(Path pending, Path target) throws IOException {
+        publishLock.lock();
+        try {
+            Files.move(pending, target, StandardCopyOption.ATOMIC_MOVE);
+            List<ArchiveSegment> updated = new ArrayList<>(segments);
+            updated.add(ArchiveSegment.open(target));
+            segments = sortedNewestFirst(updated);
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    /**
+     * Finish or discard a pending segment depending on whether its archiving transaction committed
+     * @return The published segment, or null if it was discarded
+     */
+    private Path recover(Path pending) throws IOException {
+        if (remainingInTable(ArchiveSegment.open(pending)) > 0) {
+            log.warn("Discarding archive segment {}: its transaction did not commit", pending);
+            Files.delete(pending);
+            return null;
+        }
+        String name = pending.getFileName().toString();
+        Path target = pending.resolveSibling(name.substring(0, name.length() - PENDING.length()));
+        Files.move(pending, target, StandardCopyOption.ATOMIC_MOVE);
+        log.warn("Published archive segment {} left pending by an earlier run", target);
+        return target;
+    }
+
+    /**
+     * Delete the newest segments whose archiving commit was lost, stopping at the first that held
+     * @param bySequence Published segments, oldest first
+     * @return The segments kept, oldest first
+     */
+    private List<ArchiveSegment> withoutLostCommits(List<ArchiveSegment> bySequence) throws IOException {
+        int kept = bySequence.size();
+        while (kept > 0 && remainingInTable(bySequence.get(kept - 1)) > 0) {
+            Path file = bySequence.get(--kept).getFile();
+            log.warn("Discarding archive segment {}: its inquiries are still in the table", file);
+            Files.delete(file);
+        }
+        return bySequence.subList(0, kept);
+    }
+
+    /**
+     * @return Number of the segment's inquiries that are still in the table
+     */
+    private long remainingInTable(ArchiveSegment segment) throws IOException {
+        ArchiveSegment.Rows rows = segment.load();
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (int row = 0; row < rows.size(); row++) {
+            ids.add(rows.id(row));
+        }
+        long remaining = 0;
+        for (int from = 0; from < ids.size(); from += RECOVERY_CHUNK_SIZE) {
+            remaining += repository.countByIdIn(ids.subList(from, Math.min(from + RECOVERY_CHUNK_SIZE, ids.size())));
+        }
+        return remaining;
+    }
+
+    private ArchiveSegment.Rows rows(ArchiveSegment segment) {
+        return decoded.get(segment.getFile());
+    }
+
+    private ArchiveSegment.Rows decode(Path file) {
+        try {
+            return ArchiveSegment.open(file).load();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot read archive segment " + file, ex);
+        }
+    }
+
+    private Path directory() {
+        return Path.of(config.getDirectory()).toAbsolutePath();
+    }
+
+    private static long sequenceOf(String name) {
+        int end = name.indexOf('.');
+        try {
+            return Long.parseLong(name.substring(PREFIX.length(), end < 0 ? name.length() : end));
+        } catch (NumberFormatException ex) {
+            return 0;
+        }
+    }
+
+    private static List<ArchiveSegment> sortedNewestFirst(List<ArchiveSegment> segments) {
+        List<ArchiveSegment> sorted = new ArrayList<>(segments);
+        sorted.sort(Comparator.comparingLong(ArchiveSegment::getMaxCreatedAt).reversed());
+        return List.copyOf(sorted);
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("Could not delete {}", file, ex);
+        }
+    }
+
+    private static final class Candidate {
+        static final Comparator<Candidate> NEWEST_FIRST = Comparator
+                .comparingLong((Candidate candidate) -> candidate.createdAt)
+                .thenComparingLong(candidate -> candidate.id)
+                .reversed();
+
+        private final long createdAt;
+        private final long id;
+        private final ArchiveSegment.Rows rows;
+        private final int row;
+
+        Candidate(long createdAt, long id, ArchiveSegment.Rows rows, int row) {
+            this.createdAt = createdAt;
+            this.id = id;
+            this.rows = rows;
+            this.row = row;
+        }
+    }
+}
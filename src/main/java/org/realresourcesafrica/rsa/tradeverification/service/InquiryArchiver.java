@@ -0,0 +1,62 @@
+package org.realresourcesafrica.rsa.tradeverification.service;
+
+import org.realresourcesafrica.rsa.tradeverification.config.InquiryProperties;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Scheduled job that keeps trade_inquiries small by moving verified and rejected inquiries,
+ * once nothing has touched them for the configured age, into the {@link InquiryArchive}.
+ * <p>
+ * Each batch is its own transaction of at most the configured size, so row locks are short
+ * and a failure loses nothing; the job keeps going until a batch comes back short, and any
+ * failure is logged and retried on the next run.
+ */
+@Component
+public class InquiryArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(InquiryArchiver.class);
+
+    private final TradeInquiryService inquiryService;
+    private final InquiryProperties.Archive config;
+
+    @Autowired
+    public InquiryArchiver(TradeInquiryService inquiryService, InquiryProperties properties) {
+        this.inquiryService = inquiryService;
+        this.config = properties.getArchive();
+    }
+
+    /**
+     * Archive every eligible inquiry in batches
+     */
+    @Scheduled(fixedDelayString = "${inquiries.archive.interval:PT1H}",
+            initialDelayString = "${inquiries.archive.interval:PT1H}")
+    public void archive() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minus(config.getMinAge());
+        int batchSize = Math.max(1, config.getBatchSize());
+        long started = System.nanoTime();
+        long archived = 0;
+        try {
+            int moved;
+            do {
+                moved = inquiryService.archiveResolved(cutoff, batchSize);
+                archived += moved;
+            } while (moved == batchSize);
+        } catch (RuntimeException ex) {
+            log.warn("Archiving stopped after {} inquiries", archived, ex);
+        }
+        if (archived > 0) {
+            log.info("Archived {} inquiries untouched since {} in {} ms", archived, cutoff,
+                    (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+}
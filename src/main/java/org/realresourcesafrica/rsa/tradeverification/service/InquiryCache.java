@@ -0,0 +1,212 @@
+package org.realresourcesafrica.rsa.tradeverification.service;
+
+import org.realresourcesafrica.rsa.tradeverification.config.InquiryProperties;
+import org.realresourcesafrica.rsa.tradeverification.entity.TradeInquiry;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Size- and TTL-bounded read-through cache of inquiry snapshots keyed by id.
+ * Callers always receive a private copy, so mutating a returned inquiry never
+ * changes what is cached. Ids that were not found are remembered for a short
+ * time so probes for unknown ids do not reach the database.
+ * <p>
+ * Loads run outside the cache's locks, so a write can commit while one is in flight. Every
+ * write first bumps the generation of the id's stripe; a load only stores its result if the
+ * generation it started with is unchanged, so an invalidation is never undone by a stale load.
+ */
+@Component
+public class InquiryCache {
+
+    // Writes to ids sharing a stripe only cost each other a cache fill, never correctness
+    private static final int GENERATION_STRIPES = 256;
+
+    private final boolean enabled;
+    private final Cache<Long, TradeInquiry> entries;
+    private final Cache<Long, Boolean> missing;
+    private final LongAdder negativeHits = new LongAdder();
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    @Autowired
+    public InquiryCache(InquiryProperties properties) {
+        InquiryProperties.Cache config = properties.getCache();
+        this.enabled = config.isEnabled();
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfterWrite(config.getTtl())
+                .recordStats()
+                .build();
+        this.missing = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfterWrite(config.getNegativeTtl())
+                .build();
+    }
+
+    /**
+     * Look up an inquiry, loading and caching it on a miss
+     * @param id The inquiry ID
+     * @param loader Loads the inquiry from the database
+     * @return A copy of the inquiry, or empty if it does not exist
+     */
+    public Optional<TradeInquiry> get(Long id, Function<Long, Optional<TradeInquiry>> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+
+        TradeInquiry cached = entries.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(new TradeInquiry(cached));
+        }
+        if (missing.getIfPresent(id) != null) {
+            negativeHits.increment();
+            return Optional.empty();
+        }
+
+        int stripe = stripe(id);
+        long generation = generations.get(stripe);
+        Optional<TradeInquiry> loaded = loader.apply(id);
+        if (loaded.isPresent()) {
+            TradeInquiry snapshot = new TradeInquiry(loaded.get());
+            // A snapshot stored by a write that committed meanwhile is newer than ours, and an
+            // invalidation since the load started means ours may predate it
+            entries.asMap().compute(id, (key, current) ->
+                    current != null || generations.get(stripe) != generation ? current : snapshot);
+        } else {
+            missing.asMap().compute(id, (key, current) ->
+                    current != null || generations.get(stripe) != generation ? current : Boolean.TRUE);
+        }
+        return loaded;
+    }
+
+    /**
+     * Look up a cached snapshot without loading on a miss
+     * @param id The inquiry ID
+     * @return The cached snapshot (not a copy; do not modify), or empty
+     */
+    public Optional<TradeInquiry> peek(Long id) {
+        return enabled ? Optional.ofNullable(entries.asMap().get(id)) : Optional.empty();
+    }
+
+    /**
+     * Forget negative entries for newly created ids once the surrounding transaction commits
+     * @param inquiries Inquiries that were created
+     */
+    public void onCreated(Collection<TradeInquiry> inquiries) {
+        if (!enabled) {
+            return;
+        }
+        List<Long> ids = inquiries.stream().map(TradeInquiry::getId).toList();
+        AfterCommit.run(() -> {
+            ids.forEach(this::bump);
+            missing.invalidateAll(ids);
+        });
+    }
+
+    /**
+     * Replace the cached snapshot once the surrounding transaction commits
+     * @param inquiry Inquiry that was updated
+     */
+    public void onUpdated(TradeInquiry inquiry) {
+        if (!enabled) {
+            return;
+        }
+        TradeInquiry snapshot = new TradeInquiry(inquiry);
+        AfterCommit.run(() -> {
+            bump(snapshot.getId());
+            entries.put(snapshot.getId(), snapshot);
+        });
+    }
+
+    /**
+     * Drop an inquiry once the surrounding transaction commits
+     * @param id ID of the deleted inquiry
+     */
+    public void onDeleted(Long id) {
+        if (!enabled) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            bump(id);
+            entries.invalidate(id);
+        });
+    }
+
+    /**
+     * Drop many inquiries once the surrounding transaction commits
+     * @param ids IDs of the deleted inquiries
+     */
+    public void onDeleted(Collection<Long> ids) {
+        if (!enabled) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            ids.forEach(this::bump);
+            entries.invalidateAll(ids);
+        });
+    }
+
+    /**
+     * Called before every change a load may have missed, so the load's result is dropped
+     */
+    private void bump(Long id) {
+        generations.incrementAndGet(stripe(id));
+    }
+
+    private static int stripe(Long id) {
+        return Long.hashCode(id) & (GENERATION_STRIPES - 1);
+    }
+
+    /**
+     * @return Hit, miss and eviction counters since startup
+     */
+    public CacheStatistics getStatistics() {
+        CacheStats stats = entries.stats();
+        return new CacheStatistics(
+                enabled,
+                entries.estimatedSize(),
+                stats.hitCount(),
+                negativeHits.sum(),
+                stats.missCount() - negativeHits.sum(),
+                stats.evictionCount()
+        );
+    }
+
+    /**
+     * Inner class for cache statistics
+     */
+    public static class CacheStatistics {
+        private final boolean enabled;
+        private final long size;
+        private final long hits;
+        private final long negativeHits;
+        private final long misses;
+        private final long evictions;
+
+        public CacheStatistics(boolean enabled, long size, long hits, long negativeHits, long misses, long evictions) {
+            this.enabled = enabled;
+            this.size = size;
+            this.hits = hits;
+            this.negativeHits = negativeHits;
+            this.misses = misses;
+            this.evictions = evictions;
+        }
+
+        public boolean isEnabled() { return enabled; }
+        public long getSize() { return size; }
+        public long getHits() { return hits; }
+        public long getNegativeHits() { return negativeHits; }
+        public long getMisses() { return misses; }
+        public long getEvictions() { return evictions; }
+    }
+}
@@ -0,0 +1,270 @@
+package org.realresourcesafrica.rsa.tradeverification.service;
+
+import org.realresourcesafrica.rsa.tradeverification.config.InquiryProperties;
+import org.realresourcesafrica.rsa.tradeverification.dto.InquiryEvent;
+import org.realresourcesafrica.rsa.tradeverification.entity.InquiryStatus;
+import org.realresourcesafrica.rsa.tradeverification.entity.TradeInquiry;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fan-out of committed inquiry changes to Server-Sent Events subscribers.
+ * <p>
+ * Publishing appends to a fixed-size ring buffer and offers the event to each
+ * subscriber's bounded queue without blocking; a subscriber whose queue is full is
+ * disconnected rather than allowed to stall writers, and can resume by reconnecting
+ * with the Last-Event-ID it last saw. Each subscriber is drained by its own virtual
+ * thread, so one slow connection never delays the others. Batch and bulk writes are
+ * coalesced into one event per write, so their size is bounded by the batch limits rather
+ * than by the subscriber queues.
+ */
+@Component
+public class InquiryEventHub {
+
+    private static final String RESYNC = "resync";
+
+    private final InquiryProperties.Events config;
+    private final InquiryEvent[] ring;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    // A lock rather than synchronized, so virtual threads publishing after commit do not pin their carrier
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Guarded by lock: sequence of the last published event
+    private long lastSequence;
+
+    @Autowired
+    public InquiryEventHub(InquiryProperties properties) {
+        this.config = properties.getEvents();
+        this.ring = new InquiryEvent[config.getBufferSize()];
+    }
+
+    /**
+     * Publish a creation once the surrounding transaction commits
+     * @param inquiries Inquiries that were created
+     */
+    public void onCreated(Collection<TradeInquiry> inquiries) {
+        if (inquiries.isEmpty()) {
+            return;
+        }
+        if (inquiries.size() == 1) {
+            TradeInquiry inquiry = inquiries.iterator().next();
+            InquiryEvent event = new InquiryEvent(InquiryEvent.CREATED, inquiry.getId(), inquiry.getStatus(), null,
+                    new TradeInquiry(inquiry), delta(null, inquiry.getStatus()));
+            AfterCommit.run(() -> publish(event));
+            return;
+        }
+        List<Long> ids = new ArrayList<>(inquiries.size());
+        Map<String, Long> delta = new LinkedHashMap<>();
+        for (TradeInquiry inquiry : inquiries) {
+            ids.add(inquiry.getId());
+            addDelta(delta, null, inquiry.getStatus());
+        }
+        InquiryEvent event = new InquiryEvent(InquiryEvent.CREATED_BATCH, ids, InquiryStatus.PENDING_VERIFICATION, delta);
+        AfterCommit.run(() -> publish(event));
+    }
+
+    /**
+     * Publish a status change once the surrounding transaction commits
+     * @param inquiry The updated inquiry
+     * @param previousStatus Status before the change
+     */
+    public void onStatusChanged(TradeInquiry inquiry, InquiryStatus previousStatus) {
+        InquiryEvent event = new InquiryEvent(InquiryEvent.STATUS_CHANGED, inquiry.getId(), inquiry.getStatus(),
+                previousStatus, new TradeInquiry(inquiry), delta(previousStatus, inquiry.getStatus()));
+        AfterCommit.run(() -> publish(event));
+    }
+
+    /**
+     * Publish the status changes of one bulk update once the surrounding transaction commits
+     * @param inquiries The updated inquiries, all moved to the same status
+     * @param previousStatuses Status before the change, by inquiry id
+     */
+    public void onStatusChanged(Collection<TradeInquiry> inquiries, Map<Long, InquiryStatus> previousStatuses) {
+        if (inquiries.isEmpty()) {
+            return;
+        }
+        if (inquiries.size() == 1) {
+            TradeInquiry inquiry = inquiries.iterator().next();
+            onStatusChanged(inquiry, previousStatuses.get(inquiry.getId()));
+            return;
+        }
+        List<Long> ids = new ArrayList<>(inquiries.size());
+        Map<String, Long> delta = new LinkedHashMap<>();
+        for (TradeInquiry inquiry : inquiries) {
+            ids.add(inquiry.getId());
+            addDelta(delta, previousStatuses.get(inquiry.getId()), inquiry.getStatus());
+        }
+        InquiryStatus status = inquiries.iterator().next().getStatus();
+        InquiryEvent event = new InquiryEvent(InquiryEvent.STATUS_CHANGED_BATCH, ids, status, delta);
+        AfterCommit.run(() -> publish(event));
+    }
+
+    /**
+     * Publish a deletion once the surrounding transaction commits
+     * @param id ID of the deleted inquiry
+     * @param status Status the deleted inquiry had
+     */
+    public void onDeleted(Long id, InquiryStatus status) {
+        InquiryEvent event = new InquiryEvent(InquiryEvent.DELETED, id, null, status, null, delta(status, null));
+        AfterCommit.run(() -> publish(event));
+    }
+
+    /**
+     * Open a new event stream
+     * @param lastEventId Sequence of the last event the client saw, or null for live events only
+     * @return The emitter to return from the controller
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(config.getTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter, config.getSubscriberQueueSize());
+
+        lock.lock();
+        try {
+            if (lastEventId != null) {
+                replay(subscriber, lastEventId);
+            }
+            subscribers.add(subscriber);
+        } finally {
+            lock.unlock();
+        }
+
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        senders.execute(subscriber::drain);
+        return emitter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(Subscriber::close);
+        senders.shutdownNow();
+    }
+
+    private void publish(InquiryEvent event) {
+        lock.lock();
+        try {
+            event.setSequence(++lastSequence);
+            ring[(int) (lastSequence % ring.length)] = event;
+            for (Subscriber subscriber : subscribers) {
+                if (!subscriber.queue.offer(event)) {
+                    // Too slow to keep up; it can reconnect with Last-Event-ID and replay from the ring
+                    subscriber.close();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Queue every buffered event after lastEventId, or a resync marker telling the client to
+     * reload if some of those events were already overwritten or would not fit its queue
+     */
+    private void replay(Subscriber subscriber, long lastEventId) {
+        long oldest = Math.max(1, lastSequence - ring.length + 1);
+        long missed = lastSequence - lastEventId;
+        if (lastEventId + 1 < oldest || missed < 0 || missed > subscriber.queue.remainingCapacity()) {
+            InquiryEvent resync = new InquiryEvent();
+            resync.setType(RESYNC);
+            resync.setSequence(lastSequence);
+            subscriber.queue.offer(resync);
+            return;
+        }
+        for (long sequence = lastEventId + 1; sequence <= lastSequence; sequence++) {
+            subscriber.queue.offer(ring[(int) (sequence % ring.length)]);
+        }
+    }
+
+    private static Map<String, Long> delta(InquiryStatus from, InquiryStatus to) {
+        Map<String, Long> delta = new LinkedHashMap<>();
+        addDelta(delta, from, to);
+        return delta;
+    }
+
+    private static void addDelta(Map<String, Long> delta, InquiryStatus from, InquiryStatus to) {
+        if (from == null) {
+            delta.merge("total", 1L, Long::sum);
+        }
+        if (to == null) {
+            delta.merge("total", -1L, Long::sum);
+        }
+        if (from != null) {
+            delta.merge(statisticsField(from), -1L, Long::sum);
+        }
+        if (to != null) {
+            delta.merge(statisticsField(to), 1L, Long::sum);
+        }
+    }
+
+    private static String statisticsField(InquiryStatus status) {
+        return switch (status) {
+            case PENDING_VERIFICATION -> "pending";
+            case VERIFIED -> "verified";
+            case REJECTED -> "rejected";
+        };
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<InquiryEvent> queue;
+        private volatile boolean closed;
+
+        Subscriber(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        /**
+         * Send queued events until the client disconnects or falls behind, then end the stream.
+         * Only this thread writes to or completes the emitter, so publishers never wait on a slow socket.
+         */
+        void drain() {
+            long heartbeatMillis = config.getHeartbeat().toMillis();
+            try {
+                while (!closed) {
+                    InquiryEvent event = queue.poll(heartbeatMillis, TimeUnit.MILLISECONDS);
+                    if (event == null) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                        continue;
+                    }
+                    emitter.send(SseEmitter.event()
+                            .id(String.valueOf(event.getSequence()))
+                            .name(event.getType())
+                            .data(event, MediaType.APPLICATION_JSON));
+                }
+                emitter.complete();
+            } catch (IOException | IllegalStateException ex) {
+                // Client went away; the emitter callbacks finish the cleanup
+                close();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                close();
+            }
+        }
+
+        void close() {
+            closed = true;
+            subscribers.remove(this);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package org.realresourcesafrica.rsa.tradeverification.service;
+
+import org.realresourcesafrica.rsa.tradeverification.config.InquiryProperties;
+import org.realresourcesafrica.rsa.tradeverification.entity.InquiryStatus;
+import org.realresourcesafrica.rsa.tradeverification.entity.TradeInquiry;
+
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * Reads every inquiry for a full export straight off a JDBC cursor.
+ * <p>
+ * The query runs as a forward-only, read-only statement with a fetch-size hint, inside a
+ * read-only transaction (which drivers such as PostgreSQL need before they honour the fetch
+ * size, and which sends the export to a read replica when one is configured). Rows are decoded
+ * into a single reused {@link TradeInquiry} rather than managed entities, so neither the
+ * persistence context nor the heap grows with the size of the table.
+ */
+@Component
+public class InquiryExporter {
+
+    // Same timer as the service operations
+    private static final String TIMER = "inquiries.service";
+
+    private static final String SELECT = "SELECT id, title, description, status, submitting_partner, " +
+            "estimated_value, created_at, updated_at, version, duplicate_of FROM trade_inquiries ";
+    private static final String BY_STATUS = "WHERE status = ? ";
+    private static final String NEWEST_FIRST = "ORDER BY created_at DESC, id DESC";
+
+    private final JdbcTemplate jdbc;
+    private final InquiryArchive archive;
+    private final InquiryProperties.Export config;
+
+    @Autowired
+    public InquiryExporter(JdbcTemplate jdbc, InquiryArchive archive, InquiryProperties properties) {
+        this.jdbc = jdbc;
+        this.archive = archive;
+        this.config = properties.getExport();
+    }
+
+    /**
+     * Feed every inquiry to the consumer: the table newest first, then, if asked for, the archive.
+     * Table rows arrive in one instance that is refilled for each row, so the consumer must
+     * not keep a reference to it.
+     * @param status Optional status filter
+     * @param includeArchived Whether to export archived inquiries after the table
+     * @param consumer Receives each inquiry in order
+     * @return Number of inquiries exported
+     */
+    @Transactional(readOnly = true)
+    @Timed(value = TIMER, extraTags = {"operation", "export"}, histogram = true)
+    public long export(InquiryStatus status, boolean includeArchived, Consumer<TradeInquiry> consumer) {
+        String sql = SELECT + (status != null ? BY_STATUS : "") + NEWEST_FIRST;
+        TradeInquiry row = new TradeInquiry();
+        long[] count = {0};
+        jdbc.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(config.getFetchSize());
+            if (status != null) {
+                statement.setString(1, status.getCode());
+            }
+            return statement;
+        }, (RowCallbackHandler) result -> {
+            fill(row, result);
+            consumer.accept(row);
+            count[0]++;
+        });
+        if (includeArchived) {
+            count[0] += archive.forEach(status, consumer);
+        }
+        return count[0];
+    }
+
+    private static void fill(TradeInquiry row, ResultSet result) throws SQLException {
+        row.setId(result.getLong(1));
+        row.setTitle(result.getString(2));
+        row.setDescription(result.getString(3));
+        row.setStatus(InquiryStatus.fromCode(result.getString(4)));
+        row.setSubmittingPartner(result.getString(5));
+        row.setEstimatedValue(result.getBigDecimal(6));
+        row.setCreatedAt(result.getObject(7, LocalDateTime.class));
+        row.setUpdatedAt(result.getObject(8, LocalDateTime.class));
+        row.setVersion(result.getLong(9));
+        long duplicateOf = result.getLong(10);
+        row.setDuplicateOf(result.wasNull() ? null : duplicateOf);
+    }
+}
@@ -0,0 +1,97 @@
+package org.realresourcesafrica.rsa.tradeverification.service;
+
+import org.realresourcesafrica.rsa.tradeverification.entity.InquiryStatus;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counters and size distributions for inquiry operations; latency timers are declared with
+ * {@code @Timed} on {@link TradeInquiryService} and come from Spring MVC for the controllers.
+ * <p>
+ * Meters are created once (transition counters up front, per-URI summaries on first use)
+ * and cached here, so recording is an array or map lookup plus a lock-free update, with no
+ * registry lookup or tag allocation on the request path.
+ */
+@Component
+public class InquiryMetrics {
+
+    private static final InquiryStatus[] STATUSES = InquiryStatus.values();
+
+    private final MeterRegistry registry;
+    private final Counter[][] transitions = new Counter[STATUSES.length][STATUSES.length];
+    private final Map<String, DistributionSummary> rowsByUri = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> payloadByUri = new ConcurrentHashMap<>();
+    private final Counter clientRejections;
+    private final Counter partnerRejections;
+
+    @Autowired
+    public InquiryMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (InquiryStatus from : STATUSES) {
+            for (InquiryStatus to : STATUSES) {
+                transitions[from.ordinal()][to.ordinal()] = Counter.builder("inquiries.status.transitions")
+                        .description("Committed status changes")
+                        .tag("from", from.name())
+                        .tag("to", to.name())
+                        .register(registry);
+            }
+        }
+        this.clientRejections = rateLimitCounter(registry, "client");
+        this.partnerRejections = rateLimitCounter(registry, "partner");
+    }
+
+    /**
+     * Count status changes once the surrounding transaction commits
+     * @param from Previous status
+     * @param to New status
+     * @param count Number of inquiries changed
+     */
+    public void onStatusChanged(InquiryStatus from, InquiryStatus to, long count) {
+        Counter counter = transitions[from.ordinal()][to.ordinal()];
+        AfterCommit.run(() -> counter.increment(count));
+    }
+
+    /**
+     * Count a write rejected by the rate limiter
+     * @param partner true if a partner limit rejected it, false for a client limit
+     */
+    public void onRateLimited(boolean partner) {
+        (partner ? partnerRejections : clientRejections).increment();
+    }
+
+    /**
+     * Record the size of a list or stream response
+     * @param uri Request mapping pattern, e.g. /api/partners/{partner}/inquiries
+     * @param rows Number of inquiries in the body
+     * @param bytes Bytes written to the body
+     */
+    public void recordResponse(String uri, long rows, long bytes) {
+        rowsByUri.computeIfAbsent(uri, key -> DistributionSummary.builder("inquiries.response.rows")
+                        .description("Inquiries returned per list or stream call")
+                        .tag("uri", key)
+                        .publishPercentileHistogram()
+                        .register(registry))
+                .record(rows);
+        payloadByUri.computeIfAbsent(uri, key -> DistributionSummary.builder("inquiries.response.payload")
+                        .description("Serialized size of list and stream responses")
+                        .baseUnit("bytes")
+                        .tag("uri", key)
+                        .publishPercentileHistogram()
+                        .register(registry))
+                .record(bytes);
+    }
+
+    private static Counter rateLimitCounter(MeterRegistry registry, String scope) {
+        return Counter.builder("inquiries.rate.limited")
+                .description("Write requests rejected with 429")
+                .tag("scope", scope)
+                .register(registry);
+    }
+}
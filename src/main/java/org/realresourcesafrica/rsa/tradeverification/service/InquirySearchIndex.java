@@ -0,0 +1,442 @@
+package org.realresourcesafrica.rsa.tradeverification.service;
+
+import org.realresourcesafrica.rsa.tradeverification.entity.TradeInquiry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over inquiry title, description and submitting partner,
+ * ranked with BM25. Title matches weigh more than partner matches, which weigh more
+ * than description matches.
+ * <p>
+ * Each inquiry gets a dense document number in the order it was indexed, so postings are
+ * ascending primitive arrays and document lengths a plain array. A query walks the postings
+ * of its terms together, one document at a time, and keeps only the best hits of the
+ * requested page in a bounded heap; nothing is boxed or allocated per matching document.
+ * Deletions zero the document's length, which hides its postings from queries; the stale
+ * postings are compacted away, and the documents renumbered, once they pile up.
+ */
+@Component
+public class InquirySearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(InquirySearchIndex.class);
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 3;
+    private static final int PARTNER_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int MIN_TOKEN_LENGTH = 2;
+    private static final int MIN_COMPACTION_DELETES = 10_000;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // All guarded by lock
+    private final Map<String, Postings> postings = new HashMap<>();
+    // Inquiry id to document number; only adds and deletes look here
+    private final Map<Long, Integer> documents = new HashMap<>();
+    // By document number; a length of 0 marks a deleted document
+    private long[] inquiryIds = new long[1024];
+    private int[] lengths = new int[1024];
+    private int documentCount;
+    private int liveDocuments;
+    private long totalLength;
+    private long deletesSinceCompaction;
+
+    /**
+     * Index new inquiries once the surrounding transaction commits
+     * @param inquiries Inquiries that were created
+     */
+    public void onCreated(Collection<TradeInquiry> inquiries) {
+        List<IndexedDocument> documents = inquiries.stream().map(IndexedDocument::of).toList();
+        AfterCommit.run(() -> addAll(documents));
+    }
+
+    /**
+     * Drop an inquiry from the index once the surrounding transaction commits
+     * @param id ID of the deleted inquiry
+     */
+    public void onDeleted(Long id) {
+        AfterCommit.run(() -> remove(id));
+    }
+
+    /**
+     * Drop many inquiries from the index once the surrounding transaction commits
+     * @param ids IDs of the deleted inquiries
+     */
+    public void onDeleted(Collection<Long> ids) {
+        AfterCommit.run(() -> ids.forEach(this::remove));
+    }
+
+    /**
+     * Index an inquiry immediately; inquiries already in the index are skipped
+     * @param inquiry The inquiry to index
+     */
+    public void add(TradeInquiry inquiry) {
+        addAll(List.of(IndexedDocument.of(inquiry)));
+    }
+
+    /**
+     * Rank indexed inquiries against a free-text query
+     * @param query Free text; every word is matched independently
+     * @param offset Number of top hits to skip
+     * @param limit Maximum number of hits to return
+     * @return IDs of the matching inquiries, best match first, and the total number of matches
+     */
+    public SearchHits search(String query, int offset, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty()) {
+            return new SearchHits(Collections.emptyList(), 0);
+        }
+
+        TopHits top;
+        long matches = 0;
+        lock.readLock().lock();
+        try {
+            if (liveDocuments == 0) {
+                return new SearchHits(Collections.emptyList(), 0);
+            }
+            // Never keep more hits than could match; the heap itself grows as hits arrive
+            top = new TopHits(limit > 0 ? (int) Math.min((long) offset + limit, liveDocuments) : 0);
+            double averageLength = (double) totalLength / liveDocuments;
+
+            Postings[] walked = new Postings[terms.size()];
+            double[] idf = new double[terms.size()];
+            int matched = 0;
+            for (String term : terms) {
+                Postings list = postings.get(term);
+                if (list != null) {
+                    // Postings of deleted documents linger until compaction; without the cap the
+                    // document frequency could exceed the live count and turn the idf negative
+                    int frequency = Math.min(list.size, liveDocuments);
+                    walked[matched] = list;
+                    idf[matched] = Math.log(1 + (liveDocuments - frequency + 0.5) / (frequency + 0.5));
+                    matched++;
+                }
+            }
+            int[] cursors = new int[matched];
+
+            while (true) {
+                int document = Integer.MAX_VALUE;
+                for (int t = 0; t < matched; t++) {
+                    if (cursors[t] < walked[t].size) {
+                        document = Math.min(document, walked[t].documents[cursors[t]]);
+                    }
+                }
+                if (document == Integer.MAX_VALUE) {
+                    break;
+                }
+                int length = lengths[document];
+                double score = 0;
+                for (int t = 0; t < matched; t++) {
+                    Postings list = walked[t];
+                    if (cursors[t] < list.size && list.documents[cursors[t]] == document) {
+                        int tf = list.frequencies[cursors[t]++];
+                        score += idf[t] * tf * (K1 + 1) / (tf + K1 * (1 - B + B * length / averageLength));
+                    }
+                }
+                if (length == 0) {
+                    continue; // deleted, not yet compacted
+                }
+                matches++;
+                top.offer(inquiryIds[document], score);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return new SearchHits(top.ranked(offset), matches);
+    }
+
+    /**
+     * @return Number of inquiries currently indexed
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocuments;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addAll(List<IndexedDocument> indexed) {
+        lock.writeLock().lock();
+        try {
+            for (IndexedDocument document : indexed) {
+                int number = documentCount;
+                if (documents.putIfAbsent(document.id, number) != null) {
+                    continue;
+                }
+                if (number == lengths.length) {
+                    inquiryIds = Arrays.copyOf(inquiryIds, number * 2);
+                    lengths = Arrays.copyOf(lengths, number * 2);
+                }
+                inquiryIds[number] = document.id;
+                lengths[number] = document.length;
+                documentCount++;
+                liveDocuments++;
+                totalLength += document.length;
+                document.frequencies.forEach((term, tf) ->
+                        postings.computeIfAbsent(term, key -> new Postings()).add(number, tf));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            Integer number = documents.remove(id);
+            if (number == null) {
+                return;
+            }
+            totalLength -= lengths[number];
+            lengths[number] = 0;
+            liveDocuments--;
+            deletesSinceCompaction++;
+            if (deletesSinceCompaction >= Math.max(MIN_COMPACTION_DELETES, liveDocuments / 4)) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop postings of deleted inquiries and renumber the rest densely, keeping their order.
+     * Caller holds the write lock.
+     */
+    private void compact() {
+        long started = System.nanoTime();
+        int[] renumbered = new int[documentCount];
+        int next = 0;
+        for (int number = 0; number < documentCount; number++) {
+            if (lengths[number] == 0) {
+                renumbered[number] = -1;
+                continue;
+            }
+            renumbered[number] = next;
+            inquiryIds[next] = inquiryIds[number];
+            lengths[next] = lengths[number];
+            next++;
+        }
+        Arrays.fill(lengths, next, documentCount, 0);
+        documentCount = next;
+        postings.values().removeIf(list -> list.renumber(renumbered) == 0);
+        documents.replaceAll((id, number) -> renumbered[number]);
+        deletesSinceCompaction = 0;
+        log.info("Compacted search index in {} ms", (System.nanoTime() - started) / 1_000_000);
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                current.append(Character.toLowerCase(c));
+            } else if (current.length() > 0) {
+                if (current.length() >= MIN_TOKEN_LENGTH) {
+                    tokens.add(current.toString());
+                }
+                current.setLength(0);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Ranked page of matching inquiry IDs
+     */
+    public static class SearchHits {
+        private final List<Long> ids;
+        private final long total;
+
+        public SearchHits(List<Long> ids, long total) {
+            this.ids = ids;
+            this.total = total;
+        }
+
+        public List<Long> getIds() { return ids; }
+        public long getTotal() { return total; }
+    }
+
+    /**
+     * Weighted term frequencies of one inquiry, computed outside the lock
+     */
+    private static final class IndexedDocument {
+        private final long id;
+        private final int length;
+        private final Map<String, Integer> frequencies;
+
+        private IndexedDocument(long id, int length, Map<String, Integer> frequencies) {
+            this.id = id;
+            this.length = length;
+            this.frequencies = frequencies;
+        }
+
+        static IndexedDocument of(TradeInquiry inquiry) {
+            Map<String, Integer> frequencies = new HashMap<>();
+            int length = count(frequencies, inquiry.getTitle(), TITLE_WEIGHT)
+                    + count(frequencies, inquiry.getSubmittingPartner(), PARTNER_WEIGHT)
+                    + count(frequencies, inquiry.getDescription(), DESCRIPTION_WEIGHT);
+            return new IndexedDocument(inquiry.getId(), Math.max(length, 1), frequencies);
+        }
+
+        private static int count(Map<String, Integer> frequencies, String text, int weight) {
+            List<String> tokens = tokenize(text);
+            for (String token : tokens) {
+                frequencies.merge(token, weight, Integer::sum);
+            }
+            return tokens.size() * weight;
+        }
+    }
+
+    /**
+     * Best hits seen so far: a min-heap of at most {@code capacity} entries on (score, inquiry id),
+     * so the weakest kept hit is replaced first. Ties are broken by newer (larger) id. The arrays
+     * start small and double up to the capacity, so a deep page with few matches stays cheap.
+     */
+    private static final class TopHits {
+        private static final int INITIAL_SIZE = 64;
+
+        private final int capacity;
+        private long[] ids;
+        private double[] scores;
+        private int size;
+
+        TopHits(int capacity) {
+            this.capacity = capacity;
+            this.ids = new long[Math.min(capacity, INITIAL_SIZE)];
+            this.scores = new double[ids.length];
+        }
+
+        void offer(long id, double score) {
+            if (size < capacity) {
+                if (size == ids.length) {
+                    int grown = (int) Math.min(capacity, 2L * size);
+                    ids = Arrays.copyOf(ids, grown);
+                    scores = Arrays.copyOf(scores, grown);
+                }
+                ids[size] = id;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (capacity > 0 && weaker(0, id, score)) {
+                ids[0] = id;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        /**
+         * Empty the heap into a list, best first, skipping the first offset hits
+         */
+        List<Long> ranked(int offset) {
+            Long[] ranked = new Long[size];
+            for (int i = ranked.length - 1; i >= 0; i--) {
+                ranked[i] = ids[0];
+                size--;
+                ids[0] = ids[size];
+                scores[0] = scores[size];
+                siftDown(0);
+            }
+            return new ArrayList<>(Arrays.asList(ranked).subList(Math.min(offset, ranked.length), ranked.length));
+        }
+
+        private boolean weaker(int slot, long id, double score) {
+            int byScore = Double.compare(scores[slot], score);
+            return byScore != 0 ? byScore < 0 : ids[slot] < id;
+        }
+
+        private void siftUp(int slot) {
+            while (slot > 0) {
+                int parent = (slot - 1) / 2;
+                if (!weaker(slot, ids[parent], scores[parent])) {
+                    return;
+                }
+                swap(slot, parent);
+                slot = parent;
+            }
+        }
+
+        private void siftDown(int slot) {
+            while (true) {
+                int weakest = slot;
+                for (int child = 2 * slot + 1; child <= 2 * slot + 2 && child < size; child++) {
+                    if (weaker(child, ids[weakest], scores[weakest])) {
+                        weakest = child;
+                    }
+                }
+                if (weakest == slot) {
+                    return;
+                }
+                swap(slot, weakest);
+                slot = weakest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            long id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+            double score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+
+    /**
+     * Growable parallel arrays of ascending document numbers and weighted term frequencies
+     */
+    private static final class Postings {
+        private int[] documents = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+
+        void add(int document, int frequency) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            documents[size] = document;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        /**
+         * Map document numbers through renumbered, dropping those mapped to -1
+         * @return Number of postings kept
+         */
+        int renumber(int[] renumbered) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int document = renumbered[documents[i]];
+                if (document >= 0) {
+                    documents[kept] = document;
+                    frequencies[kept] = frequencies[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            return kept;
+        }
+    }
+}
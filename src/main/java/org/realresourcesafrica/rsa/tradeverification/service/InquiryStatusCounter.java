@@ -0,0 +1,140 @@
+package org.realresourcesafrica.rsa.tradeverification.service;
+
+import org.realresourcesafrica.rsa.tradeverification.entity.InquiryStatus;
+import org.realresourcesafrica.rsa.tradeverification.repository.TradeInquiryRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory inquiry counts keyed by status.
+ * Loaded from one GROUP BY query once the application is ready, adjusted by the
+ * service after each committing write, and periodically reconciled against the
+ * table to repair drift from writes that bypass the service.
+ */
+@Component
+public class InquiryStatusCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(InquiryStatusCounter.class);
+
+    private static final InquiryStatus[] STATUSES = InquiryStatus.values();
+
+    private final TradeInquiryRepository repository;
+    private final AtomicLongArray counts = new AtomicLongArray(STATUSES.length);
+    private volatile boolean loaded;
+
+    @Autowired
+    public InquiryStatusCounter(TradeInquiryRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Record a new inquiry once the surrounding transaction commits
+     * @param status Status of the created inquiry
+     */
+    public void onCreated(InquiryStatus status) {
+        onCreated(status, 1);
+    }
+
+    /**
+     * Record several new inquiries once the surrounding transaction commits
+     * @param status Status of the created inquiries
+     * @param count Number of inquiries created
+     */
+    public void onCreated(InquiryStatus status, long count) {
+        AfterCommit.run(() -> counts.addAndGet(status.ordinal(), count));
+    }
+
+    /**
+     * Record a status change once the surrounding transaction commits
+     * @param from Previous status
+     * @param to New status
+     */
+    public void onStatusChanged(InquiryStatus from, InquiryStatus to) {
+        onStatusChanged(from, to, 1);
+    }
+
+    /**
+     * Record several changes between the same two statuses once the surrounding transaction commits
+     * @param from Previous status
+     * @param to New status
+     * @param count Number of inquiries changed
+     */
+    public void onStatusChanged(InquiryStatus from, InquiryStatus to, long count) {
+        if (from == to || count == 0) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            counts.addAndGet(from.ordinal(), -count);
+            counts.addAndGet(to.ordinal(), count);
+        });
+    }
+
+    /**
+     * Record a deletion once the surrounding transaction commits
+     * @param status Status the deleted inquiry had
+     */
+    public void onDeleted(InquiryStatus status) {
+        AfterCommit.run(() -> counts.decrementAndGet(status.ordinal()));
+    }
+
+    /**
+     * Record several deletions once the surrounding transaction commits
+     * @param status Status the deleted inquiries had
+     * @param count Number of inquiries deleted
+     */
+    public void onDeleted(InquiryStatus status, long count) {
+        AfterCommit.run(() -> counts.addAndGet(status.ordinal(), -count));
+    }
+
+    /**
+     * Current count for a status, without touching the database
+     * @param status The status
+     * @return Number of inquiries with that status
+     */
+    public long get(InquiryStatus status) {
+        return counts.get(status.ordinal());
+    }
+
+    /**
+     * Current total across all statuses, without touching the database
+     * @return Number of inquiries
+     */
+    public long total() {
+        long total = 0;
+        for (int i = 0; i < STATUSES.length; i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Reload all counts from a single GROUP BY query.
+     * Runs once at startup and then on a fixed delay; writes that commit while the
+     * query is in flight may be off by one until the next pass.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${inquiries.statistics.reconcile-interval:PT5M}",
+            initialDelayString = "${inquiries.statistics.reconcile-interval:PT5M}")
+    public void reconcile() {
+        long[] actual = new long[STATUSES.length];
+        for (TradeInquiryRepository.StatusCount row : repository.countGroupedByStatus()) {
+            actual[row.getStatus().ordinal()] = row.getCount();
+        }
+
+        for (InquiryStatus status : STATUSES) {
+            long previous = counts.getAndSet(status.ordinal(), actual[status.ordinal()]);
+            if (loaded && previous != actual[status.ordinal()]) {
+                log.warn("Reconciled {} inquiry count from {} to {}", status, previous, actual[status.ordinal()]);
+            }
+        }
+        loaded = true;
+    }
+}
@@ -0,0 +1,18 @@
+package org.realresourcesafrica.rsa.tradeverification.service;
+
+/**
+ * HTTP cache validators for an inquiry resource: a strong ETag and a Last-Modified time
+ */
+public class InquiryVersion {
+
+    private final String etag;
+    private final long lastModified;
+
+    public InquiryVersion(String etag, long lastModified) {
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+
+    public String getEtag() { return etag; }
+    public long getLastModified() { return lastModified; }
+}
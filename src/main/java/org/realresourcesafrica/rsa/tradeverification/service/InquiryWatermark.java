@@ -0,0 +1,34 @@
+package org.realresourcesafrica.rsa.tradeverification.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Collection-level change marker for inquiry lists and statistics.
+ * Advanced after every committed write made through the service; the process start
+ * time is part of the ETag so a restart never reuses a tag for different data.
+ */
+@Component
+public class InquiryWatermark {
+
+    private final String epoch = Long.toHexString(System.currentTimeMillis());
+    private final AtomicReference<Mark> current = new AtomicReference<>(new Mark(0, System.currentTimeMillis()));
+
+    /**
+     * Advance the watermark once the surrounding transaction commits
+     */
+    public void onChange() {
+        AfterCommit.run(() -> current.updateAndGet(mark -> new Mark(mark.sequence + 1, System.currentTimeMillis())));
+    }
+
+    /**
+     * @return Strong ETag identifying the current state of the inquiry collection
+     */
+    public InquiryVersion version() {
+        Mark mark = current.get();
+        return new InquiryVersion("\"inquiries-" + epoch + "-" + mark.sequence + "\"", mark.lastModified);
+    }
+
+    private record Mark(long sequence, long lastModified) {}
+}
@@ -0,0 +1,142 @@
+package org.realresourcesafrica.rsa.tradeverification.service;
+
+import org.realresourcesafrica.rsa.tradeverification.entity.InquiryStatus;
+import org.realresourcesafrica.rsa.tradeverification.entity.TradeInquiry;
+import org.realresourcesafrica.rsa.tradeverification.repository.PartnerStatusRollupRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps partner_status_rollups in step with trade_inquiries.
+ * Every method runs inside the caller's write transaction, so the rollups commit
+ * or roll back together with the inquiry change that caused them.
+ */
+@Component
+public class PartnerRollups {
+
+    private static final Logger log = LoggerFactory.getLogger(PartnerRollups.class);
+
+    private final PartnerStatusRollupRepository repository;
+
+    @Autowired
+    public PartnerRollups(PartnerStatusRollupRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Add created inquiries, with one upsert per partner and status
+     * @param inquiries Inquiries that were created
+     */
+    public void onCreated(Collection<TradeInquiry> inquiries) {
+        Map<List<String>, Delta> deltas = new LinkedHashMap<>();
+        for (TradeInquiry inquiry : inquiries) {
+            deltas.computeIfAbsent(List.of(inquiry.getPartnerKey(), inquiry.getStatus().getCode()),
+                            key -> new Delta(inquiry.getSubmittingPartner()))
+                    .add(1, value(inquiry));
+        }
+        deltas.forEach((key, delta) ->
+                repository.applyDelta(key.get(0), key.get(1), delta.partner, delta.count, delta.value));
+    }
+
+    /**
+     * Move an inquiry from its previous status row to its new one
+     * @param inquiry The updated inquiry
+     * @param previousStatus Status before the change
+     */
+    public void onStatusChanged(TradeInquiry inquiry, InquiryStatus previousStatus) {
+        BigDecimal value = value(inquiry);
+        repository.applyDelta(inquiry.getPartnerKey(), previousStatus.getCode(),
+                inquiry.getSubmittingPartner(), -1, value.negate());
+        repository.applyDelta(inquiry.getPartnerKey(), inquiry.getStatus().getCode(),
+                inquiry.getSubmittingPartner(), 1, value);
+    }
+
+    /**
+     * Move many inquiries between status rows, with one upsert per partner and status
+     * @param inquiries The updated inquiries
+     * @param previousStatuses Status before the change, by inquiry ID
+     */
+    public void onStatusChanged(Collection<TradeInquiry> inquiries, Map<Long, InquiryStatus> previousStatuses) {
+        Map<List<String>, Delta> deltas = new LinkedHashMap<>();
+        for (TradeInquiry inquiry : inquiries) {
+            BigDecimal value = value(inquiry);
+            String previousCode = previousStatuses.get(inquiry.getId()).getCode();
+            deltas.computeIfAbsent(List.of(inquiry.getPartnerKey(), previousCode),
+                            key -> new Delta(inquiry.getSubmittingPartner()))
+                    .add(-1, value.negate());
+            deltas.computeIfAbsent(List.of(inquiry.getPartnerKey(), inquiry.getStatus().getCode()),
+                            key -> new Delta(inquiry.getSubmittingPartner()))
+                    .add(1, value);
+        }
+        deltas.forEach((key, delta) ->
+                repository.applyDelta(key.get(0), key.get(1), delta.partner, delta.count, delta.value));
+    }
+
+    /**
+     * Remove a deleted inquiry
+     * @param inquiry The deleted inquiry
+     */
+    public void onDeleted(TradeInquiry inquiry) {
+        repository.applyDelta(inquiry.getPartnerKey(), inquiry.getStatus().getCode(),
+                inquiry.getSubmittingPartner(), -1, value(inquiry).negate());
+    }
+
+    /**
+     * Remove many inquiries, with one upsert per partner and status
+     * @param inquiries Inquiries that were deleted or archived
+     */
+    public void onDeleted(Collection<TradeInquiry> inquiries) {
+        Map<List<String>, Delta> deltas = new LinkedHashMap<>();
+        for (TradeInquiry inquiry : inquiries) {
+            deltas.computeIfAbsent(List.of(inquiry.getPartnerKey(), inquiry.getStatus().getCode()),
+                            key -> new Delta(inquiry.getSubmittingPartner()))
+                    .add(-1, value(inquiry).negate());
+        }
+        deltas.forEach((key, delta) ->
+                repository.applyDelta(key.get(0), key.get(1), delta.partner, delta.count, delta.value));
+    }
+
+    /**
+     * Seed the rollups with one GROUP BY pass if the table is empty, e.g. on a fresh
+     * database or after rows were loaded without going through the service
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void seedIfEmpty() {
+        if (repository.count() == 0) {
+            int rows = repository.rebuildFromInquiries();
+            log.info("Seeded {} partner rollups", rows);
+        }
+    }
+
+    private static BigDecimal value(TradeInquiry inquiry) {
+        return inquiry.getEstimatedValue() != null ? inquiry.getEstimatedValue() : BigDecimal.ZERO;
+    }
+
+    private static final class Delta {
+        private final String partner;
+        private long count;
+        private BigDecimal value = BigDecimal.ZERO;
+
+        Delta(String partner) {
+            this.partner = partner;
+        }
+
+        void add(long count, BigDecimal value) {
+            this.count += count;
+            this.value = this.value.add(value);
+        }
+    }
+}
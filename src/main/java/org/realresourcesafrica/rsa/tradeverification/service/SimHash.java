@@ -0,0 +1,109 @@
+package org.realresourcesafrica.rsa.tradeverification.service;
+
+/**
+ * 64-bit SimHash of an inquiry's title and description.
+ * <p>
+ * Text is split into lower-cased runs of letters and digits; every word is hashed and votes
+ * on each of the 64 bits. Texts that share most of their words end up a few bits apart, so
+ * near-duplicates can be found by Hamming distance. Word pairs are deliberately not used: on
+ * texts as short as an inquiry they make one edited word move the signature twice as far.
+ * Words are hashed as they are scanned, without building strings, and the votes are kept in
+ * bit-sliced counters so a feature costs a couple of word operations, not 64 adds.
+ */
+final class SimHash {
+
+    // Enough to characterize an inquiry; bounds the cost for very long descriptions
+    private static final int MAX_FEATURES = 4096;
+    // Bits needed to count up to MAX_FEATURES votes per position
+    private static final int COUNTER_BITS = 13;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private SimHash() {}
+
+    static long of(String title, String description) {
+        Accumulator accumulator = new Accumulator();
+        accumulator.scan(title);
+        accumulator.scan(description);
+        return accumulator.signature();
+    }
+
+    /**
+     * Number of bits in which two signatures differ
+     */
+    static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    private static final class Accumulator {
+
+        // planes[j] holds bit j of the 64 per-position counts of 1-bits
+        private final long[] planes = new long[COUNTER_BITS];
+        private int features;
+
+        void scan(String text) {
+            if (text == null) {
+                return;
+            }
+            long word = FNV_OFFSET;
+            boolean inWord = false;
+            for (int i = 0, n = text.length(); i < n && features < MAX_FEATURES; i++) {
+                char c = text.charAt(i);
+                if (Character.isLetterOrDigit(c)) {
+                    word = (word ^ Character.toLowerCase(c)) * FNV_PRIME;
+                    inWord = true;
+                } else if (inWord) {
+                    vote(mix(word));
+                    word = FNV_OFFSET;
+                    inWord = false;
+                }
+            }
+            if (inWord && features < MAX_FEATURES) {
+                vote(mix(word));
+            }
+        }
+
+        /**
+         * Add the hash's bits to the 64 counters at once, ripple-carrying through the planes
+         */
+        private void vote(long hash) {
+            long carry = hash;
+            for (int j = 0; carry != 0; j++) {
+                long sum = planes[j] ^ carry;
+                carry &= planes[j];
+                planes[j] = sum;
+            }
+            features++;
+        }
+
+        /**
+         * Set each bit that more than half of the features had set
+         */
+        long signature() {
+            long signature = 0;
+            for (int bit = 0; bit < 64; bit++) {
+                int ones = 0;
+                for (int j = 0; j < COUNTER_BITS; j++) {
+                    ones |= (int) ((planes[j] >>> bit) & 1L) << j;
+                }
+                if (2 * ones > features) {
+                    signature |= 1L << bit;
+                }
+            }
+            return signature;
+        }
+
+        /**
+         * Finalizer from MurmurHash3, so every input bit affects every output bit
+         */
+        private static long mix(long h) {
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
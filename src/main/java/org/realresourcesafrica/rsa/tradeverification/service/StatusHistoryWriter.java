@@ -0,0 +1,209 @@
+package org.realresourcesafrica.rsa.tradeverification.service;
+
+import org.realresourcesafrica.rsa.tradeverification.config.InquiryProperties;
+import org.realresourcesafrica.rsa.tradeverification.entity.InquiryStatus;
+import org.realresourcesafrica.rsa.tradeverification.entity.StatusHistoryOutbox;
+import org.realresourcesafrica.rsa.tradeverification.entity.TradeInquiry;
+import org.realresourcesafrica.rsa.tradeverification.repository.StatusHistoryOutboxRepository;
+import org.realresourcesafrica.rsa.tradeverification.repository.StatusHistoryRepository;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind of inquiry_status_history through a transactional outbox.
+ * <p>
+ * A status change adds one narrow outbox row inside its own transaction, so the record
+ * commits or rolls back with the change. After commit the row id is offered to a bounded
+ * queue, and a single writer thread moves queued rows into the history table in batches
+ * (one INSERT ... SELECT and one DELETE per batch). The queue is only a hint: if it is full,
+ * a batch fails or the process stops before draining, the rows stay in the outbox and a
+ * sweep picks them up when the writer is idle, after a failure and at startup.
+ */
+@Component
+public class StatusHistoryWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(StatusHistoryWriter.class);
+
+    private final StatusHistoryOutboxRepository outboxRepository;
+    private final StatusHistoryRepository historyRepository;
+    private final TransactionTemplate transactions;
+    private final InquiryProperties.History config;
+    private final BlockingQueue<Long> queue;
+    private final AtomicBoolean sweepNeeded = new AtomicBoolean(true);
+
+    private volatile boolean running;
+    // Guarded by lifecycle
+    private Thread writer;
+    private final ReentrantLock lifecycle = new ReentrantLock();
+
+    @Autowired
+    public StatusHistoryWriter(StatusHistoryOutboxRepository outboxRepository,
+                               StatusHistoryRepository historyRepository,
+                               PlatformTransactionManager transactionManager,
+                               InquiryProperties properties) {
+        this.outboxRepository = outboxRepository;
+        this.historyRepository = historyRepository;
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.config = properties.getHistory();
+        this.queue = new ArrayBlockingQueue<>(config.getQueueCapacity());
+    }
+
+    /**
+     * Record a status change in the caller's transaction and queue it for the writer after commit
+     * @param inquiry The updated inquiry
+     * @param previousStatus Status before the change
+     * @param changedBy Who made the change, if known
+     */
+    public void onStatusChanged(TradeInquiry inquiry, InquiryStatus previousStatus, String changedBy) {
+        LocalDateTime changedAt = inquiry.getUpdatedAt() != null ? inquiry.getUpdatedAt() : LocalDateTime.now();
+        StatusHistoryOutbox row = outboxRepository.save(new StatusHistoryOutbox(
+                inquiry.getId(), previousStatus, inquiry.getStatus(), changedBy, changedAt));
+        Long id = row.getId();
+        AfterCommit.run(() -> {
+            if (!queue.offer(id)) {
+                // Left in the outbox; the next sweep moves it
+                sweepNeeded.set(true);
+            }
+        });
+    }
+
+    /**
+     * Record many status changes in the caller's transaction and queue them after commit
+     * @param inquiries The updated inquiries
+     * @param previousStatuses Status before the change, by inquiry ID
+     * @param changedBy Who made the change, if known
+     */
+    public void onStatusChanged(Collection<TradeInquiry> inquiries, Map<Long, InquiryStatus> previousStatuses,
+                                String changedBy) {
+        List<StatusHistoryOutbox> rows = new ArrayList<>(inquiries.size());
+        for (TradeInquiry inquiry : inquiries) {
+            LocalDateTime changedAt = inquiry.getUpdatedAt() != null ? inquiry.getUpdatedAt() : LocalDateTime.now();
+            rows.add(new StatusHistoryOutbox(inquiry.getId(), previousStatuses.get(inquiry.getId()),
+                    inquiry.getStatus(), changedBy, changedAt));
+        }
+        List<Long> ids = outboxRepository.saveAll(rows).stream().map(StatusHistoryOutbox::getId).toList();
+        AfterCommit.run(() -> {
+            for (Long id : ids) {
+                if (!queue.offer(id)) {
+                    sweepNeeded.set(true);
+                    return;
+                }
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        lifecycle.lock();
+        try {
+            if (running) {
+                return;
+            }
+            running = true;
+            writer = Thread.ofPlatform().name("status-history-writer").daemon().start(this::run);
+        } finally {
+            lifecycle.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        Thread thread;
+        lifecycle.lock();
+        try {
+            running = false;
+            thread = writer;
+        } finally {
+            lifecycle.unlock();
+        }
+        if (thread != null) {
+            thread.interrupt();
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    private void run() {
+        List<Long> batch = new ArrayList<>(config.getBatchSize());
+        long idleMillis = config.getSweepInterval().toMillis();
+        while (running) {
+            try {
+                if (sweepNeeded.get()) {
+                    sweep();
+                }
+                Long first = queue.poll(idleMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    sweepNeeded.set(true);
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, config.getBatchSize() - 1);
+                move(batch);
+            } catch (InterruptedException ex) {
+                break;
+            } catch (RuntimeException ex) {
+                sweepNeeded.set(true);
+                log.warn("Status history write failed; {} changes stay in the outbox", batch.size(), ex);
+            } finally {
+                batch.clear();
+            }
+        }
+
+        // Best effort on shutdown; anything left over is recovered from the outbox at the next start
+        try {
+            while (queue.drainTo(batch, config.getBatchSize()) > 0) {
+                move(batch);
+                batch.clear();
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Status history not drained on shutdown; {} changes stay in the outbox", batch.size(), ex);
+        }
+    }
+
+    /**
+     * Move everything currently in the outbox, oldest first
+     */
+    private void sweep() {
+        sweepNeeded.set(false);
+        int moved;
+        do {
+            moved = transactions.execute(status -> {
+                List<Long> ids = outboxRepository.findOldestIds(PageRequest.of(0, config.getBatchSize()));
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                moveInTransaction(ids);
+                return ids.size();
+            });
+        } while (moved == config.getBatchSize() && running);
+    }
+
+    private void move(List<Long> ids) {
+        transactions.executeWithoutResult(status -> moveInTransaction(ids));
+    }
+
+    private void moveInTransaction(List<Long> ids) {
+        // Ids a sweep already moved are no longer in the outbox and copy nothing
+        historyRepository.copyFromOutbox(ids);
+        outboxRepository.deleteByIds(ids);
+    }
+}
@@ -0,0 +1,66 @@
+package org.realresourcesafrica.rsa.tradeverification.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket in its GCRA form: the whole state is one "theoretical arrival time",
+ * the instant at which the bucket would be full again. Taking permits is a compare-and-set
+ * that pushes that instant forward by the permits' cost, so a check is a read, a few
+ * arithmetic operations and usually a single CAS, with no lock and no refill timer.
+ * <p>
+ * A request costing more than the whole burst is admitted only when the bucket is full and
+ * then leaves it in debt, so large batches are slowed down rather than rejected forever.
+ */
+final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong fullAt;
+
+    /**
+     * @param intervalNanos Time to earn one permit
+     * @param burst Permits that can be taken at once from a full bucket
+     * @param now Current {@link System#nanoTime()}
+     */
+    TokenBucket(long intervalNanos, int burst, long now) {
+        this.intervalNanos = intervalNanos;
+        this.toleranceNanos = intervalNanos * Math.max(1, burst);
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * Take permits if the bucket holds enough
+     * @param permits Permits to take
+     * @param now Current {@link System#nanoTime()}
+     * @return 0 if taken, otherwise nanoseconds until enough permits will be available
+     */
+    long tryAcquire(int permits, long now) {
+        long cost = permits * intervalNanos;
+        long charge = Math.min(cost, toleranceNanos);
+        while (true) {
+            long current = fullAt.get();
+            long base = Math.max(current, now);
+            long wait = base + charge - toleranceNanos - now;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, base + cost)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Give back permits taken by a request that was rejected later on
+     */
+    void release(int permits) {
+        fullAt.addAndGet(-permits * intervalNanos);
+    }
+
+    /**
+     * @return true if the bucket is full, i.e. indistinguishable from a new one
+     */
+    boolean isFull(long now) {
+        return fullAt.get() - now <= 0;
+    }
+}
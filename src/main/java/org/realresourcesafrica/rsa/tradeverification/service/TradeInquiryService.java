@@ -1,134 +1,1028 @@
 package org.realresourcesafrica.rsa.tradeverification.service;
 
+import org.realresourcesafrica.rsa.tradeverification.config.InquiryProperties;
+import org.realresourcesafrica.rsa.tradeverification.entity.InquiryStatus;
+import org.realresourcesafrica.rsa.tradeverification.entity.PartnerStatusRollup;
+import org.realresourcesafrica.rsa.tradeverification.entity.StatusHistoryEntry;
+import org.realresourcesafrica.rsa.tradeverification.entity.StatusHistoryOutbox;
 import org.realresourcesafrica.rsa.tradeverification.entity.TradeInquiry;
+import org.realresourcesafrica.rsa.tradeverification.repository.PartnerStatusRollupRepository;
+import org.realresourcesafrica.rsa.tradeverification.repository.StatusHistoryOutboxRepository;
+import org.realresourcesafrica.rsa.tradeverification.repository.StatusHistoryRepository;
 import org.realresourcesafrica.rsa.tradeverification.repository.TradeInquiryRepository;
+import org.realresourcesafrica.rsa.tradeverification.dto.AnalyticsBucket;
+import org.realresourcesafrica.rsa.tradeverification.dto.BulkStatusUpdateRequest;
+import org.realresourcesafrica.rsa.tradeverification.dto.InquirySummary;
 import org.realresourcesafrica.rsa.tradeverification.dto.StatusUpdateRequest;
+import org.realresourcesafrica.rsa.tradeverification.dto.StatusUpdateResult;
+import org.realresourcesafrica.rsa.tradeverification.exception.DuplicateInquiryException;
+import org.realresourcesafrica.rsa.tradeverification.exception.InquiryConflictException;
 import org.realresourcesafrica.rsa.tradeverification.exception.InquiryNotFoundException;
+import org.realresourcesafrica.rsa.tradeverification.exception.InvalidAnalyticsQueryException;
+import org.realresourcesafrica.rsa.tradeverification.exception.InvalidBatchException;
+import org.realresourcesafrica.rsa.tradeverification.exception.InvalidFieldsException;
+import org.realresourcesafrica.rsa.tradeverification.exception.InvalidSearchException;
 import org.realresourcesafrica.rsa.tradeverification.exception.InvalidStatusException;
 
+import io.micrometer.core.annotation.Timed;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import jakarta.persistence.EntityManager;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class TradeInquiryService {
 
-    private final TradeInquiryRepository repository;
+    private static final Logger log = LoggerFactory.getLogger(TradeInquiryService.class);
+
+    // Latency of every operation, tagged by operation, exported as a histogram
+    private static final String TIMER = "inquiries.service";
+
+    // Ids per SELECT ... FOR UPDATE / UPDATE pair, to keep IN lists a sensible size
+    private static final int BULK_CHUNK_SIZE = 1000;
+
+    // Field names accepted by fields= on list endpoints, in response order
+    private static final Set<String> LIST_FIELDS = new LinkedHashSet<>(List.of(
+            "id", "title", InquirySummary.DESCRIPTION, "status", "submittingPartner", "estimatedValue",
+            "createdAt", "updatedAt", "version", "duplicateOf"));
 
-    // Valid status values
-    private static final Set<String> VALID_STATUSES = Set.of(
-            "PENDING_VERIFICATION",
-            "VERIFIED",
-            "REJECTED"
-    );
+    // Resolved statuses; inquiries in them move to the archive once they have been left alone long enough
+    private static final Set<InquiryStatus> ARCHIVABLE = EnumSet.of(InquiryStatus.VERIFIED, InquiryStatus.REJECTED);
+
+    // Newest first, the order of every list endpoint
+    private static final Comparator<InquirySummary> NEWEST_FIRST = Comparator
+            .comparing(InquirySummary::getCreatedAt)
+            .thenComparing(InquirySummary::getId)
+            .reversed();
+
+    private final TradeInquiryRepository repository;
+    private final EntityManager entityManager;
+    private final InquiryProperties properties;
+    private final InquiryStatusCounter statusCounter;
+    private final InquiryCache inquiryCache;
+    private final InquiryEventHub eventHub;
+    private final InquirySearchIndex searchIndex;
+    private final PartnerRollups partnerRollups;
+    private final PartnerStatusRollupRepository rollupRepository;
+    private final InquiryWatermark watermark;
+    private final StatusHistoryWriter statusHistory;
+    private final StatusHistoryRepository historyRepository;
+    private final StatusHistoryOutboxRepository outboxRepository;
+    private final InquiryMetrics metrics;
+    private final InquiryAnalytics analytics;
+    private final DuplicateDetector duplicates;
+    private final InquiryArchive archive;
 
     @Autowired
-    public TradeInquiryService(TradeInquiryRepository repository) {
+    public TradeInquiryService(TradeInquiryRepository repository,
+                               EntityManager entityManager,
+                               InquiryProperties properties,
+                               InquiryStatusCounter statusCounter,
+                               InquiryCache inquiryCache,
+                               InquiryEventHub eventHub,
+                               InquirySearchIndex searchIndex,
+                               PartnerRollups partnerRollups,
+                               PartnerStatusRollupRepository rollupRepository,
+                               InquiryWatermark watermark,
+                               StatusHistoryWriter statusHistory,
+                               StatusHistoryRepository historyRepository,
+                               StatusHistoryOutboxRepository outboxRepository,
+                               InquiryMetrics metrics,
+                               InquiryAnalytics analytics,
+                               DuplicateDetector duplicates,
+                               InquiryArchive archive) {
         this.repository = repository;
+        this.entityManager = entityManager;
+        this.properties = properties;
+        this.statusCounter = statusCounter;
+        this.inquiryCache = inquiryCache;
+        this.eventHub = eventHub;
+        this.searchIndex = searchIndex;
+        this.partnerRollups = partnerRollups;
+        this.rollupRepository = rollupRepository;
+        this.watermark = watermark;
+        this.statusHistory = statusHistory;
+        this.historyRepository = historyRepository;
+        this.outboxRepository = outboxRepository;
+        this.metrics = metrics;
+        this.analytics = analytics;
+        this.duplicates = duplicates;
+        this.archive = archive;
     }
 
     /**
-     * Create a new trade inquiry
+     * Create a new trade inquiry. A close match among the partner's earlier inquiries is
+     * recorded in duplicateOf, or refused if duplicate detection is set to reject.
      * @param inquiry The inquiry to create
      * @return The created inquiry with generated ID
+     * @throws DuplicateInquiryException if the inquiry is a likely duplicate and duplicates are rejected
      */
+    @Timed(value = TIMER, extraTags = {"operation", "create"}, histogram = true)
     public TradeInquiry createInquiry(TradeInquiry inquiry) {
         // Ensure status is set to PENDING_VERIFICATION for new inquiries
-        inquiry.setStatus("PENDING_VERIFICATION");
-        return repository.save(inquiry);
+        inquiry.setStatus(InquiryStatus.PENDING_VERIFICATION);
+        long signature = 0;
+        if (duplicates.isEnabled()) {
+            signature = duplicates.signature(inquiry);
+            Long duplicateOf = duplicates.findDuplicate(inquiry.getPartnerKey(), signature);
+            if (duplicateOf != null && duplicates.isRejecting()) {
+                throw new DuplicateInquiryException("Inquiry looks like a duplicate of inquiry " + duplicateOf +
+                        " from the same partner");
+            }
+            inquiry.setDuplicateOf(duplicateOf);
+        }
+        TradeInquiry saved = repository.save(inquiry);
+        partnerRollups.onCreated(List.of(saved));
+        statusCounter.onCreated(saved.getStatus());
+        analytics.onCreated(List.of(saved));
+        inquiryCache.onCreated(List.of(saved));
+        eventHub.onCreated(List.of(saved));
+        searchIndex.onCreated(List.of(saved));
+        duplicates.onCreated(List.of(saved), new long[] {signature});
+        watermark.onChange();
+        return saved;
+    }
+
+    /**
+     * Create many trade inquiries in one transaction.
+     * Inserts are sent in JDBC batches of the configured size and the persistence
+     * context is cleared after each batch so memory stays flat for large submissions.
+     * Likely duplicates of earlier inquiries are flagged in duplicateOf but never refused.
+     * @param inquiries The inquiries to create
+     * @return The same inquiries with generated IDs, now detached
+     */
+    @Timed(value = TIMER, extraTags = {"operation", "create-batch"}, histogram = true)
+    public List<TradeInquiry> createInquiries(List<TradeInquiry> inquiries) {
+        int batchSize = properties.getBatch().getJdbcBatchSize();
+        entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+
+        long[] signatures = new long[inquiries.size()];
+        for (int i = 0; i < inquiries.size(); i++) {
+            TradeInquiry inquiry = inquiries.get(i);
+            inquiry.setStatus(InquiryStatus.PENDING_VERIFICATION);
+            if (duplicates.isEnabled()) {
+                signatures[i] = duplicates.signature(inquiry);
+                inquiry.setDuplicateOf(duplicates.findDuplicate(inquiry.getPartnerKey(), signatures[i]));
+            }
+            entityManager.persist(inquiry);
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        partnerRollups.onCreated(inquiries);
+        statusCounter.onCreated(InquiryStatus.PENDING_VERIFICATION, inquiries.size());
+        analytics.onCreated(inquiries);
+        inquiryCache.onCreated(inquiries);
+        eventHub.onCreated(inquiries);
+        searchIndex.onCreated(inquiries);
+        duplicates.onCreated(inquiries, signatures);
+        watermark.onChange();
+        return inquiries;
+    }
+
+    /**
+     * Get one keyset page of inquiries, newest first, optionally filtered by status.
+     * Rows are summaries without the description unless fields asks for it.
+     * @param status Optional status filter
+     * @param cursor Optional opaque cursor returned with the previous page
+     * @param limit Optional page size, capped at the configured maximum
+     * @param fields Optional comma-separated field names; "description" loads the full rows
+     * @return The page and the cursor for the next one, if any
+     * @throws InvalidStatusException if status is invalid
+     * @throws InvalidFieldsException if fields names an unknown field
+     */
+    @Transactional(readOnly = true)
+    @Timed(value = TIMER, extraTags = {"operation", "list"}, histogram = true)
+    public InquiryPage getInquiries(String status, String cursor, Integer limit, String fields) {
+        return getInquiries(status, cursor, limit, fields, false);
+    }
+
+    /**
+     * Get one keyset page of inquiries, newest first, optionally filtered by status and
+     * optionally including archived inquiries
+     * @param status Optional status filter
+     * @param cursor Optional opaque cursor returned with the previous page
+     * @param limit Optional page size, capped at the configured maximum
+     * @param fields Optional comma-separated field names; "description" loads the full rows
+     * @param includeArchived Whether to merge in archived inquiries
+     * @return The page and the cursor for the next one, if any
+     * @throws InvalidStatusException if status is invalid
+     * @throws InvalidFieldsException if fields names an unknown field
+     */
+    @Transactional(readOnly = true)
+    @Timed(value = TIMER, extraTags = {"operation", "list"}, histogram = true)
+    public InquiryPage getInquiries(String status, String cursor, Integer limit, String fields,
+                                    boolean includeArchived) {
+        boolean withDescription = includesDescription(fields);
+        int pageSize = resolvePageSize(limit);
+        // Fetch one extra row to find out whether another page follows without a count query
+        Pageable window = PageRequest.of(0, pageSize + 1);
+        InquiryCursor after = StringUtils.hasText(cursor) ? InquiryCursor.decode(cursor) : null;
+
+        InquiryStatus filter = StringUtils.hasText(status) ? parseStatus(status) : null;
+        List<InquirySummary> rows;
+        if (filter != null) {
+            if (withDescription) {
+                rows = toSummaries(after == null
+                        ? repository.findFirstPageByStatus(filter, window)
+                        : repository.findPageByStatusAfter(filter, after.getCreatedAt(), after.getId(), window));
+            } else {
+                rows = after == null
+                        ? repository.findFirstSummaryPageByStatus(filter, window)
+                        : repository.findSummaryPageByStatusAfter(filter, after.getCreatedAt(), after.getId(), window);
+            }
+        } else if (withDescription) {
+            rows = toSummaries(after == null
+                    ? repository.findFirstPage(window)
+                    : repository.findPageAfter(after.getCreatedAt(), after.getId(), window));
+        } else {
+            rows = after == null
+                    ? repository.findFirstSummaryPage(window)
+                    : repository.findSummaryPageAfter(after.getCreatedAt(), after.getId(), window);
+        }
+        if (includeArchived) {
+            rows = merge(rows, archive.newest(filter, null, after, pageSize + 1, withDescription), pageSize + 1);
+        }
+
+        return toPage(rows, pageSize);
+    }
+
+    /**
+     * Get one keyset page of a partner's inquiries, newest first
+     * @param partner Partner name, matched ignoring case and surrounding whitespace
+     * @param cursor Optional opaque cursor returned with the previous page
+     * @param limit Optional page size, capped at the configured maximum
+     * @param fields Optional comma-separated field names; "description" loads the full rows
+     * @return The page and the cursor for the next one, if any
+     * @throws InvalidFieldsException if fields names an unknown field
+     */
+    @Transactional(readOnly = true)
+    @Timed(value = TIMER, extraTags = {"operation", "partner-list"}, histogram = true)
+    public InquiryPage getPartnerInquiries(String partner, String cursor, Integer limit, String fields) {
+        return getPartnerInquiries(partner, cursor, limit, fields, false);
+    }
+
+    /**
+     * Get one keyset page of a partner's inquiries, newest first, optionally including archived inquiries
+     * @param partner Partner name, matched ignoring case and surrounding whitespace
+     * @param cursor Optional opaque cursor returned with the previous page
+     * @param limit Optional page size, capped at the configured maximum
+     * @param fields Optional comma-separated field names; "description" loads the full rows
+     * @param includeArchived Whether to merge in archived inquiries
+     * @return The page and the cursor for the next one, if any
+     * @throws InvalidFieldsException if fields names an unknown field
+     */
+    @Transactional(readOnly = true)
+    @Timed(value = TIMER, extraTags = {"operation", "partner-list"}, histogram = true)
+    public InquiryPage getPartnerInquiries(String partner, String cursor, Integer limit, String fields,
+                                           boolean includeArchived) {
+        boolean withDescription = includesDescription(fields);
+        int pageSize = resolvePageSize(limit);
+        Pageable window = PageRequest.of(0, pageSize + 1);
+        String partnerKey = TradeInquiry.partnerKey(partner);
+
+        InquiryCursor after = StringUtils.hasText(cursor) ? InquiryCursor.decode(cursor) : null;
+
+        List<InquirySummary> rows;
+        if (withDescription) {
+            rows = toSummaries(after == null
+                    ? repository.findFirstPageByPartner(partnerKey, window)
+                    : repository.findPageByPartnerAfter(partnerKey, after.getCreatedAt(), after.getId(), window));
+        } else {
+            rows = after == null
+                    ? repository.findFirstSummaryPageByPartner(partnerKey, window)
+                    : repository.findSummaryPageByPartnerAfter(partnerKey, after.getCreatedAt(), after.getId(), window);
+        }
+        if (includeArchived) {
+            rows = merge(rows, archive.newest(null, partnerKey, after, pageSize + 1, withDescription), pageSize + 1);
+        }
+        return toPage(rows, pageSize);
+    }
+
+    /**
+     * Get inquiry count and total estimated value per partner and status,
+     * read from the incrementally maintained rollup table
+     * @return One row per partner and status that has inquiries
+     */
+    @Transactional(readOnly = true)
+    @Timed(value = TIMER, extraTags = {"operation", "partner-summary"}, histogram = true)
+    public List<PartnerStatusRollup> getPartnerSummary() {
+        return rollupRepository.findAllForSummary();
     }
 
     /**
-     * Get all inquiries, optionally filtered by status
+     * Stream all inquiries, newest first, optionally filtered by status.
+     * Rows are read off a forward-only cursor and detached once consumed so the
+     * persistence context stays empty however many rows are exported.
      * @param status Optional status filter
-     * @return List of inquiries
+     * @param consumer Receives each inquiry in order
+     * @return Number of inquiries streamed
+     * @throws InvalidStatusException if status is invalid
+     */
+    @Transactional(readOnly = true)
+    @Timed(value = TIMER, extraTags = {"operation", "stream"}, histogram = true)
+    public long streamInquiries(String status, Consumer<TradeInquiry> consumer) {
+        return streamInquiries(status, false, consumer);
+    }
+
+    /**
+     * Stream all inquiries, optionally filtered by status: the table newest first, then,
+     * if asked for, the archive segment by segment from the newest
+     * @param status Optional status filter
+     * @param includeArchived Whether to stream archived inquiries after the table
+     * @param consumer Receives each inquiry in order
+     * @return Number of inquiries streamed
+     * @throws InvalidStatusException if status is invalid
      */
     @Transactional(readOnly = true)
-    public List<TradeInquiry> getInquiries(String status) {
-        if (StringUtils.hasText(status)) {
-            validateStatus(status);
-            return repository.findByStatusOrderByCreatedAtDesc(status.toUpperCase());
+    @Timed(value = TIMER, extraTags = {"operation", "stream"}, histogram = true)
+    public long streamInquiries(String status, boolean includeArchived, Consumer<TradeInquiry> consumer) {
+        InquiryStatus filter = StringUtils.hasText(status) ? parseStatus(status) : null;
+        long count = 0;
+        try (Stream<TradeInquiry> rows = filter != null
+                ? repository.streamByStatus(filter)
+                : repository.streamAll()) {
+            for (TradeInquiry inquiry : (Iterable<TradeInquiry>) rows::iterator) {
+                consumer.accept(inquiry);
+                entityManager.detach(inquiry);
+                count++;
+            }
         }
-        return repository.findAll();
+        if (includeArchived) {
+            count += archive.forEach(filter, consumer);
+        }
+        return count;
+    }
+
+    /**
+     * Full-text search over title, description and submitting partner
+     * @param query Free-text query
+     * @param page Optional zero-based page number
+     * @param limit Optional page size, capped at the configured maximum
+     * @return Matching inquiries, best match first, and the total number of matches
+     * @throws InvalidSearchException if the page ends beyond the configured search depth
+     */
+    @Transactional(readOnly = true)
+    @Timed(value = TIMER, extraTags = {"operation", "search"}, histogram = true)
+    public SearchResults searchInquiries(String query, Integer page, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        long offset = (long) Math.max(page != null ? page : 0, 0) * pageSize;
+        int maxDepth = properties.getPagination().getMaxSearchDepth();
+        if (offset + pageSize > maxDepth) {
+            throw new InvalidSearchException("Search results can be paged through the first " + maxDepth
+                    + " matches only; narrow the query instead");
+        }
+        InquirySearchIndex.SearchHits hits = searchIndex.search(query, (int) offset, pageSize);
+        if (hits.getIds().isEmpty()) {
+            return new SearchResults(List.of(), hits.getTotal());
+        }
+
+        // Load the page in one query, then restore the ranking order
+        Map<Long, TradeInquiry> byId = new HashMap<>();
+        for (TradeInquiry inquiry : repository.findAllById(hits.getIds())) {
+            byId.put(inquiry.getId(), inquiry);
+        }
+        List<TradeInquiry> ranked = new ArrayList<>(hits.getIds().size());
+        for (Long id : hits.getIds()) {
+            TradeInquiry inquiry = byId.get(id);
+            if (inquiry != null) {
+                ranked.add(inquiry);
+            }
+        }
+        return new SearchResults(ranked, hits.getTotal());
+    }
+
+    /**
+     * Build the search index from the table once the application is ready.
+     * Writes committed meanwhile are indexed by their own after-commit hooks.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void buildSearchIndex() {
+        long started = System.nanoTime();
+        long indexed = streamInquiries(null, searchIndex::add);
+        log.info("Indexed {} inquiries for search in {} ms", indexed, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Subscribe to committed inquiry changes
+     * @param lastEventId Sequence of the last event the client saw, or null for live events only
+     * @return An SSE emitter fed with created, status-changed and deleted events
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public SseEmitter subscribeToEvents(Long lastEventId) {
+        return eventHub.subscribe(lastEventId);
     }
 
     /**
-     * Get inquiry by ID
+     * Get inquiry by ID, served from the inquiry cache when possible.
+     * No transaction is opened up front, so a cache hit never touches the database; a miss
+     * reads in the repository's own read-only transaction, which the replica can serve.
      * @param id The inquiry ID
      * @return The inquiry if found
      * @throws InquiryNotFoundException if inquiry not found
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    @Timed(value = TIMER, extraTags = {"operation", "get"}, histogram = true)
     public TradeInquiry getInquiryById(Long id) {
-        return repository.findById(id)
+        return getInquiryById(id, false);
+    }
+
+    /**
+     * Get inquiry by ID from the cache or table, falling back to the archive if asked to
+     * @param id The inquiry ID
+     * @param includeArchived Whether to look in the archive when the table has no such inquiry
+     * @return The inquiry if found
+     * @throws InquiryNotFoundException if inquiry not found
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    @Timed(value = TIMER, extraTags = {"operation", "get"}, histogram = true)
+    public TradeInquiry getInquiryById(Long id, boolean includeArchived) {
+        return inquiryCache.get(id, repository::findById)
+                .or(() -> includeArchived ? archive.find(id) : Optional.empty())
+                .orElseThrow(() -> new InquiryNotFoundException("Inquiry not found with id: " + id));
+    }
+
+    /**
+     * Cache validators for one inquiry, read from the inquiry cache or a version-only
+     * query so a conditional GET can be answered without loading the entity
+     * @param id The inquiry ID
+     * @return ETag from id and version, and Last-Modified from updatedAt (or createdAt)
+     * @throws InquiryNotFoundException if inquiry not found
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    @Timed(value = TIMER, extraTags = {"operation", "version"}, histogram = true)
+    public InquiryVersion getInquiryVersion(Long id) {
+        return getInquiryVersion(id, false);
+    }
+
+    /**
+     * Cache validators for one inquiry, falling back to the archive if asked to
+     * @param id The inquiry ID
+     * @param includeArchived Whether to look in the archive when the table has no such inquiry
+     * @return ETag from id and version, and Last-Modified from updatedAt (or createdAt)
+     * @throws InquiryNotFoundException if inquiry not found
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    @Timed(value = TIMER, extraTags = {"operation", "version"}, histogram = true)
+    public InquiryVersion getInquiryVersion(Long id, boolean includeArchived) {
+        Optional<TradeInquiry> cached = inquiryCache.peek(id);
+        if (cached.isPresent()) {
+            TradeInquiry inquiry = cached.get();
+            return inquiryVersion(id, inquiry.getVersion(), inquiry.getCreatedAt(), inquiry.getUpdatedAt());
+        }
+        Optional<TradeInquiryRepository.VersionProbe> probe = repository.findVersionById(id);
+        if (probe.isPresent()) {
+            return inquiryVersion(id, probe.get().getVersion(), probe.get().getCreatedAt(), probe.get().getUpdatedAt());
+        }
+        TradeInquiry archived = (includeArchived ? archive.find(id) : Optional.<TradeInquiry>empty())
                 .orElseThrow(() -> new InquiryNotFoundException("Inquiry not found with id: " + id));
+        return inquiryVersion(id, archived.getVersion(), archived.getCreatedAt(), archived.getUpdatedAt());
+    }
+
+    /**
+     * Cache validators for inquiry lists and statistics; changes with every committed write
+     * @return The current collection watermark
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public InquiryVersion getCollectionVersion() {
+        return watermark.version();
+    }
+
+    /**
+     * Cache hit, miss and eviction counters for {@link #getInquiryById(Long)}
+     * @return Current cache statistics
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public InquiryCache.CacheStatistics getCacheStatistics() {
+        return inquiryCache.getStatistics();
     }
 
     /**
-     * Update the status of an inquiry
+     * Update the status of an inquiry.
+     * The transition is checked against the current snapshot (usually served from the
+     * inquiry cache) and applied with a single conditional UPDATE on (id, status, version),
+     * so concurrent verifiers cannot silently overwrite each other.
      * @param id The inquiry ID
-     * @param statusRequest The new status
+     * @param statusRequest The new status and, optionally, the version the client last saw and who made the change
      * @return The updated inquiry
      * @throws InquiryNotFoundException if inquiry not found
-     * @throws InvalidStatusException if status is invalid
+     * @throws InvalidStatusException if status is invalid or the transition is not allowed
+     * @throws InquiryConflictException if the inquiry was changed concurrently
      */
+    @Timed(value = TIMER, extraTags = {"operation", "update-status"}, histogram = true)
     public TradeInquiry updateInquiryStatus(Long id, StatusUpdateRequest statusRequest) {
-        TradeInquiry inquiry = getInquiryById(id);
+        InquiryStatus newStatus = parseStatus(statusRequest.getStatus());
+        Long expectedVersion = statusRequest.getVersion();
+        String changedBy = statusRequest.getChangedBy();
 
-        String newStatus = statusRequest.getStatus().toUpperCase();
-        validateStatus(newStatus);
+        TradeInquiry current = getInquiryById(id);
+        if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+            // The cached snapshot may simply be behind the client
+            current = findInquiry(id);
+        }
 
-        // Business logic: prevent certain status transitions if needed
-        if ("VERIFIED".equals(inquiry.getStatus()) && "PENDING_VERIFICATION".equals(newStatus)) {
-            throw new InvalidStatusException("Cannot change status from VERIFIED back to PENDING_VERIFICATION");
+        TradeInquiry updated = applyTransition(current, newStatus, expectedVersion, changedBy);
+        if (updated == null && expectedVersion == null) {
+            // Our snapshot was stale; retry once against the row as it is now
+            updated = applyTransition(findInquiry(id), newStatus, null, changedBy);
+        }
+        if (updated == null) {
+            TradeInquiry latest = findInquiry(id);
+            throw new InquiryConflictException("Inquiry " + id + " was modified concurrently (now " +
+                    latest.getStatus() + " at version " + latest.getVersion() + ")");
         }
+        return updated;
+    }
 
-        inquiry.setStatus(newStatus);
-        return repository.save(inquiry);
+    /**
+     * Move many inquiries to one status with a few set-based statements per chunk of ids:
+     * one SELECT ... FOR UPDATE to check the transition table against the locked rows, and
+     * one conditional UPDATE for every inquiry that may move. Side effects (rollups, counters,
+     * history) are applied in aggregate rather than per row.
+     * @param request Target status and either explicit ids or a filter
+     * @return One result per distinct id, in request order
+     * @throws InvalidStatusException if a status is invalid
+     * @throws InvalidBatchException if neither or both of ids and filter are given, or too many inquiries match
+     */
+    @Timed(value = TIMER, extraTags = {"operation", "update-statuses"}, histogram = true)
+    public List<StatusUpdateResult> updateInquiryStatuses(BulkStatusUpdateRequest request) {
+        InquiryStatus target = parseStatus(request.getStatus());
+        List<Long> ids = resolveBulkIds(request);
+        Set<InquiryStatus> sources = InquiryStatus.sourcesOf(target);
+        entityManager.unwrap(Session.class).setJdbcBatchSize(properties.getBatch().getJdbcBatchSize());
+
+        Map<Long, StatusUpdateResult> results = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size()));
+            applyBulkTransition(chunk, target, sources, request.getChangedBy(), results);
+        }
+
+        List<StatusUpdateResult> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            StatusUpdateResult result = results.get(id);
+            ordered.add(result != null ? result : StatusUpdateResult.notFound(id));
+        }
+        return ordered;
     }
 
     /**
-     * Get inquiry statistics
-     * @return Statistics about inquiries by status
+     * Status changes of an inquiry, oldest first. Includes changes still waiting in the
+     * outbox, so a change is visible here as soon as its update has committed.
+     * @param id The inquiry ID
+     * @return Recorded status changes; kept after the inquiry is deleted
+     * @throws InquiryNotFoundException if the inquiry does not exist and has no history
      */
     @Transactional(readOnly = true)
+    @Timed(value = TIMER, extraTags = {"operation", "history"}, histogram = true)
+    public List<StatusHistoryEntry> getStatusHistory(Long id) {
+        // Outbox first: a row the writer moves in between is then found in the history table
+        List<StatusHistoryOutbox> pending = outboxRepository.findByInquiryIdOrderByIdAsc(id);
+        List<StatusHistoryEntry> history = new ArrayList<>(historyRepository.findByInquiryIdOrderByIdAsc(id));
+        if (!pending.isEmpty()) {
+            // ... and the ones it moved after the first read are in both
+            Set<Long> seen = new HashSet<>();
+            history.forEach(entry -> seen.add(entry.getId()));
+            for (StatusHistoryOutbox row : pending) {
+                if (seen.add(row.getId())) {
+                    history.add(row.toEntry());
+                }
+            }
+            history.sort(Comparator.comparing(StatusHistoryEntry::getId));
+        }
+        if (history.isEmpty() && !repository.existsById(id)) {
+            throw new InquiryNotFoundException("Inquiry not found with id: " + id);
+        }
+        return history;
+    }
+
+    /**
+     * Get inquiry statistics from the in-memory status counter (no database access)
+     * @return Statistics about inquiries by status
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Timed(value = TIMER, extraTags = {"operation", "statistics"}, histogram = true)
     public InquiryStatistics getStatistics() {
-        long pending = repository.countByStatusIgnoreCase("PENDING_VERIFICATION");
-        long verified = repository.countByStatusIgnoreCase("VERIFIED");
-        long rejected = repository.countByStatusIgnoreCase("REJECTED");
-        long total = repository.count();
+        return getStatistics(false);
+    }
+
+    /**
+     * Get inquiry statistics from the in-memory status counter and, if asked for, the
+     * archive's segment headers (no database access)
+     * @param includeArchived Whether to count archived inquiries too
+     * @return Statistics about inquiries by status
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Timed(value = TIMER, extraTags = {"operation", "statistics"}, histogram = true)
+    public InquiryStatistics getStatistics(boolean includeArchived) {
+        long pending = statusCounter.get(InquiryStatus.PENDING_VERIFICATION);
+        long verified = statusCounter.get(InquiryStatus.VERIFIED);
+        long rejected = statusCounter.get(InquiryStatus.REJECTED);
+        long total = statusCounter.total();
+        if (includeArchived) {
+            pending += archive.count(InquiryStatus.PENDING_VERIFICATION);
+            verified += archive.count(InquiryStatus.VERIFIED);
+            rejected += archive.count(InquiryStatus.REJECTED);
+            total += archive.total();
+        }
 
         return new InquiryStatistics(total, pending, verified, rejected);
     }
 
+    /**
+     * Get inquiry counts and value distribution by creation date from the pre-aggregated
+     * analytics buckets (no database access)
+     * @param from Optional first day (ISO date), inclusive; defaults to the configured number of days before to
+     * @param to Optional last day (ISO date), inclusive; defaults to today
+     * @param bucket Optional bucket width: day (default), week or month
+     * @param status Optional status filter
+     * @return One bucket per period, oldest first
+     * @throws InvalidAnalyticsQueryException if the range or bucket width is invalid
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Timed(value = TIMER, extraTags = {"operation", "analytics"}, histogram = true)
+    public List<AnalyticsBucket> getAnalytics(String from, String to, String bucket, String status) {
+        InquiryProperties.Analytics limits = properties.getAnalytics();
+        LocalDate end = StringUtils.hasText(to) ? parseDate("to", to) : LocalDate.now();
+        LocalDate start = StringUtils.hasText(from) ? parseDate("from", from) : end.minusDays(limits.getDefaultDays() - 1L);
+        if (start.isAfter(end)) {
+            throw new InvalidAnalyticsQueryException("from (" + start + ") must not be after to (" + end + ")");
+        }
+
+        InquiryAnalytics.Granularity granularity;
+        try {
+            granularity = StringUtils.hasText(bucket)
+                    ? InquiryAnalytics.Granularity.valueOf(bucket.trim().toUpperCase(Locale.ROOT))
+                    : InquiryAnalytics.Granularity.DAY;
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidAnalyticsQueryException("Invalid bucket: " + bucket + ". Valid buckets are: day, week, month");
+        }
+        long buckets = granularity.buckets(start, end);
+        if (buckets > limits.getMaxBuckets()) {
+            throw new InvalidAnalyticsQueryException("Range needs " + buckets + " " +
+                    granularity.name().toLowerCase(Locale.ROOT) + " buckets; at most " +
+                    limits.getMaxBuckets() + " are allowed");
+        }
+
+        InquiryStatus statusFilter = StringUtils.hasText(status) ? parseStatus(status) : null;
+        return analytics.query(start, end, granularity, statusFilter);
+    }
+
     /**
      * Delete an inquiry (admin function)
      * @param id The inquiry ID
      * @throws InquiryNotFoundException if inquiry not found
      */
+    @Timed(value = TIMER, extraTags = {"operation", "delete"}, histogram = true)
     public void deleteInquiry(Long id) {
-        if (!repository.existsById(id)) {
-            throw new InquiryNotFoundException("Inquiry not found with id: " + id);
+        TradeInquiry inquiry = findInquiry(id);
+        repository.delete(inquiry);
+        partnerRollups.onDeleted(inquiry);
+        statusCounter.onDeleted(inquiry.getStatus());
+        analytics.onDeleted(inquiry);
+        inquiryCache.onDeleted(id);
+        eventHub.onDeleted(id, inquiry.getStatus());
+        searchIndex.onDeleted(id);
+        duplicates.onDeleted(inquiry);
+        watermark.onChange();
+    }
+
+    /**
+     * Move one batch of resolved inquiries from the table to the archive.
+     * The rows are locked, written to a segment that is published when this transaction
+     * commits, and deleted from the table; rollups, counters and indexes are adjusted in
+     * aggregate. No change events are published and analytics are left alone: the inquiries
+     * still exist, only elsewhere.
+     * @param cutoff Inquiries created or updated at or after this time are left alone
+     * @param limit Maximum number of inquiries to move
+     * @return Number of inquiries archived
+     */
+    @Timed(value = TIMER, extraTags = {"operation", "archive"}, histogram = true)
+    public int archiveResolved(LocalDateTime cutoff, int limit) {
+        List<TradeInquiry> inquiries = repository.findArchivableForUpdate(ARCHIVABLE, cutoff, PageRequest.of(0, limit));
+        if (inquiries.isEmpty()) {
+            return 0;
+        }
+        archive.append(inquiries);
+
+        List<Long> ids = inquiries.stream().map(TradeInquiry::getId).toList();
+        for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+            repository.deleteAllByIdInBatch(ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size())));
+        }
+        entityManager.clear();
+
+        Map<InquiryStatus, Long> perStatus = new EnumMap<>(InquiryStatus.class);
+        for (TradeInquiry inquiry : inquiries) {
+            perStatus.merge(inquiry.getStatus(), 1L, Long::sum);
+        }
+        partnerRollups.onDeleted(inquiries);
+        perStatus.forEach(statusCounter::onDeleted);
+        inquiryCache.onDeleted(ids);
+        searchIndex.onDeleted(ids);
+        duplicates.onDeleted(inquiries);
+        watermark.onChange();
+        return inquiries.size();
+    }
+
+    /**
+     * Check the transition table and apply it with a conditional UPDATE
+     * @return The updated snapshot, or null if the row no longer matches current
+     */
+    private TradeInquiry applyTransition(TradeInquiry current, InquiryStatus newStatus, Long expectedVersion,
+                                         String changedBy) {
+        if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+            throw new InquiryConflictException("Inquiry " + current.getId() + " is at version " +
+                    current.getVersion() + ", not " + expectedVersion);
+        }
+
+        InquiryStatus previousStatus = current.getStatus();
+        if (!previousStatus.canTransitionTo(newStatus)) {
+            throw new InvalidStatusException("Cannot change status from " + previousStatus + " to " + newStatus);
+        }
+        if (previousStatus == newStatus) {
+            return current;
         }
-        repository.deleteById(id);
+
+        LocalDateTime now = LocalDateTime.now();
+        int rows = repository.updateStatusIfUnchanged(
+                current.getId(), previousStatus, newStatus, current.getVersion(), now);
+        if (rows == 0) {
+            return null;
+        }
+
+        TradeInquiry updated = new TradeInquiry(current);
+        updated.setStatus(newStatus);
+        updated.setVersion(current.getVersion() + 1);
+        updated.setUpdatedAt(now);
+
+        partnerRollups.onStatusChanged(updated, previousStatus);
+        statusCounter.onStatusChanged(previousStatus, newStatus);
+        metrics.onStatusChanged(previousStatus, newStatus, 1);
+        analytics.onStatusChanged(updated, previousStatus);
+        inquiryCache.onUpdated(updated);
+        eventHub.onStatusChanged(updated, previousStatus);
+        statusHistory.onStatusChanged(updated, previousStatus, changedBy);
+        watermark.onChange();
+        return updated;
+    }
+
+    private void applyBulkTransition(List<Long> ids, InquiryStatus target, Set<InquiryStatus> sources,
+                                     String changedBy, Map<Long, StatusUpdateResult> results) {
+        List<TradeInquiry> movable = new ArrayList<>();
+        for (TradeInquiry row : repository.findAllByIdForUpdate(ids)) {
+            if (row.getStatus() == target) {
+                results.put(row.getId(), new StatusUpdateResult(
+                        row.getId(), StatusUpdateResult.UNCHANGED, target, row.getVersion()));
+            } else if (!sources.contains(row.getStatus())) {
+                results.put(row.getId(), new StatusUpdateResult(
+                        row.getId(), StatusUpdateResult.INVALID_TRANSITION, row.getStatus(), row.getVersion()));
+            } else {
+                movable.add(row);
+            }
+        }
+        if (movable.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> movableIds = movable.stream().map(TradeInquiry::getId).toList();
+        int rows = repository.updateStatusWhereIn(movableIds, sources, target, now);
+        if (rows != movable.size()) {
+            // The rows are locked, so this only happens if something bypassed the lock
+            throw new InquiryConflictException("Expected to update " + movable.size() +
+                    " inquiries but updated " + rows);
+        }
+
+        List<TradeInquiry> updated = new ArrayList<>(movable.size());
+        Map<Long, InquiryStatus> previousStatuses = new HashMap<>();
+        Map<InquiryStatus, Long> movedFrom = new EnumMap<>(InquiryStatus.class);
+        for (TradeInquiry row : movable) {
+            TradeInquiry copy = new TradeInquiry(row);
+            copy.setStatus(target);
+            copy.setVersion(row.getVersion() + 1);
+            copy.setUpdatedAt(now);
+            updated.add(copy);
+            previousStatuses.put(row.getId(), row.getStatus());
+            movedFrom.merge(row.getStatus(), 1L, Long::sum);
+            results.put(row.getId(), new StatusUpdateResult(
+                    row.getId(), StatusUpdateResult.UPDATED, target, copy.getVersion()));
+        }
+
+        partnerRollups.onStatusChanged(updated, previousStatuses);
+        movedFrom.forEach((previous, count) -> {
+            statusCounter.onStatusChanged(previous, target, count);
+            metrics.onStatusChanged(previous, target, count);
+        });
+        analytics.onStatusChanged(updated, previousStatuses);
+        for (TradeInquiry inquiry : updated) {
+            inquiryCache.onUpdated(inquiry);
+        }
+        eventHub.onStatusChanged(updated, previousStatuses);
+        statusHistory.onStatusChanged(updated, previousStatuses, changedBy);
+        watermark.onChange();
     }
 
     /**
-     * Validate status value
-     * @param status The status to validate
+     * Distinct ids in request order, or the ids matching the filter
+     */
+    private List<Long> resolveBulkIds(BulkStatusUpdateRequest request) {
+        boolean hasIds = request.getIds() != null && !request.getIds().isEmpty();
+        boolean hasFilter = request.getFilter() != null;
+        if (hasIds == hasFilter) {
+            throw new InvalidBatchException("Provide either ids or a filter");
+        }
+        int maxItems = properties.getBatch().getMaxItems();
+
+        if (hasIds) {
+            Set<Long> ids = new LinkedHashSet<>(request.getIds());
+            if (ids.contains(null)) {
+                throw new InvalidBatchException("ids must not contain null");
+            }
+            if (ids.size() > maxItems) {
+                throw new InvalidBatchException("At most " + maxItems + " inquiries can be updated at once");
+            }
+            return new ArrayList<>(ids);
+        }
+
+        BulkStatusUpdateRequest.Filter filter = request.getFilter();
+        InquiryStatus status = StringUtils.hasText(filter.getStatus()) ? parseStatus(filter.getStatus()) : null;
+        String partnerKey = StringUtils.hasText(filter.getPartner()) ? TradeInquiry.partnerKey(filter.getPartner()) : null;
+        if (status == null && partnerKey == null) {
+            throw new InvalidBatchException("Filter needs a status or a partner");
+        }
+        List<Long> ids = repository.findIdsMatching(status, partnerKey, PageRequest.of(0, maxItems + 1));
+        if (ids.size() > maxItems) {
+            throw new InvalidBatchException("Filter matches more than " + maxItems + " inquiries");
+        }
+        return ids;
+    }
+
+    /**
+     * Load the managed entity for a write, bypassing the cache
+     */
+    private TradeInquiry findInquiry(Long id) {
+        return repository.findById(id)
+                .orElseThrow(() -> new InquiryNotFoundException("Inquiry not found with id: " + id));
+    }
+
+    /**
+     * Validate and parse a status value
+     * @param status The status to validate, case-insensitive
+     * @return The matching status
      * @throws InvalidStatusException if status is invalid
      */
-    private void validateStatus(String status) {
-        if (!VALID_STATUSES.contains(status.toUpperCase())) {
+    public InquiryStatus parseStatus(String status) {
+        try {
+            return InquiryStatus.fromName(status);
+        } catch (IllegalArgumentException ex) {
             throw new InvalidStatusException("Invalid status: " + status +
-                    ". Valid statuses are: " + String.join(", ", VALID_STATUSES));
+                    ". Valid statuses are: " + InquiryStatus.names());
+        }
+    }
+
+    private static LocalDate parseDate(String name, String value) {
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException ex) {
+            throw new InvalidAnalyticsQueryException("Invalid " + name + " date: " + value + ". Expected yyyy-MM-dd");
+        }
+    }
+
+    private static InquiryVersion inquiryVersion(Long id, Long version, LocalDateTime createdAt,
+                                                 LocalDateTime updatedAt) {
+        LocalDateTime modified = updatedAt != null ? updatedAt : createdAt;
+        long lastModified = modified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return new InquiryVersion("\"inquiry-" + id + "-" + version + "\"", lastModified);
+    }
+
+    /**
+     * Trim a window of pageSize + 1 rows to a page, with a cursor if the extra row exists
+     */
+    private static InquiryPage toPage(List<InquirySummary> rows, int pageSize) {
+        if (rows.size() <= pageSize) {
+            return new InquiryPage(rows, null);
+        }
+        List<InquirySummary> page = rows.subList(0, pageSize);
+        return new InquiryPage(page, InquiryCursor.after(page.get(pageSize - 1)).encode());
+    }
+
+    /**
+     * Merge two newest-first windows into one of at most limit rows
+     */
+    private static List<InquirySummary> merge(List<InquirySummary> hot, List<InquirySummary> archived, int limit) {
+        if (archived.isEmpty()) {
+            return hot;
         }
+        List<InquirySummary> merged = new ArrayList<>(hot.size() + archived.size());
+        merged.addAll(hot);
+        merged.addAll(archived);
+        merged.sort(NEWEST_FIRST);
+        return merged.size() > limit ? merged.subList(0, limit) : merged;
+    }
+
+    private static List<InquirySummary> toSummaries(List<TradeInquiry> rows) {
+        List<InquirySummary> summaries = new ArrayList<>(rows.size());
+        for (TradeInquiry row : rows) {
+            summaries.add(InquirySummary.withDescription(row));
+        }
+        return summaries;
+    }
+
+    /**
+     * Validate a fields= list; only the description changes what is loaded
+     */
+    private static boolean includesDescription(String fields) {
+        if (!StringUtils.hasText(fields)) {
+            return false;
+        }
+        boolean description = false;
+        for (String field : StringUtils.commaDelimitedListToStringArray(fields)) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!LIST_FIELDS.contains(name)) {
+                throw new InvalidFieldsException("Unknown field: " + name + ". Valid fields are: " +
+                        String.join(", ", LIST_FIELDS));
+            }
+            description |= InquirySummary.DESCRIPTION.equals(name);
+        }
+        return description;
+    }
+
+    private int resolvePageSize(Integer limit) {
+        InquiryProperties.Pagination pagination = properties.getPagination();
+        if (limit == null || limit < 1) {
+            return pagination.getDefaultSize();
+        }
+        return Math.min(limit, pagination.getMaxSize());
+    }
+
+    /**
+     * Inner class for one keyset page of inquiries
+     */
+    public static class InquiryPage {
+        private final List<InquirySummary> items;
+        private final String nextCursor;
+
+        public InquiryPage(List<InquirySummary> items, String nextCursor) {
+            this.items = items;
+            this.nextCursor = nextCursor;
+        }
+
+        public List<InquirySummary> getItems() { return items; }
+        public String getNextCursor() { return nextCursor; }
+        public boolean hasMore() { return nextCursor != null; }
+    }
+
+    /**
+     * Inner class for one page of search results
+     */
+    public static class SearchResults {
+        private final List<TradeInquiry> items;
+        private final long total;
+
+        public SearchResults(List<TradeInquiry> items, long total) {
+            this.items = items;
+            this.total = total;
+        }
+
+        public List<TradeInquiry> getItems() { return items; }
+        public long getTotal() { return total; }
     }
 
     /**
@@ -0,0 +1,139 @@
+package org.realresourcesafrica.rsa.tradeverification.service;
+
+/**
+ * Mergeable quantile sketch over positive values with a relative-error guarantee.
+ * <p>
+ * Values are counted in logarithmic buckets, bucket i covering (gamma^(i-1), gamma^i], so any
+ * quantile is returned within {@link #RELATIVE_ACCURACY} of a value actually added. Counts are
+ * plain integers, which makes two sketches mergeable by adding buckets and lets a value be
+ * removed again exactly (status changes and deletes). Values that round to zero are counted
+ * separately. Not thread-safe; callers synchronize.
+ */
+final class ValueSketch {
+
+    static final double RELATIVE_ACCURACY = 0.01;
+
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+
+    // Estimated values carry two decimals, so anything smaller is zero
+    private static final double MIN_VALUE = 0.005;
+
+    private static final int INITIAL_BUCKETS = 64;
+
+    private long[] counts = new long[0];
+    private int offset;
+    private long zeroCount;
+    private long count;
+
+    /**
+     * Add or remove occurrences of a value
+     * @param value A non-negative value
+     * @param n Occurrences to add, negative to remove
+     */
+    void add(double value, long n) {
+        count += n;
+        if (value < MIN_VALUE) {
+            zeroCount += n;
+            return;
+        }
+        int index = index(value);
+        ensureCapacity(index, index);
+        counts[index - offset] += n;
+    }
+
+    /**
+     * Add every bucket of another sketch to this one
+     */
+    void merge(ValueSketch other) {
+        count += other.count;
+        zeroCount += other.zeroCount;
+        int first = -1;
+        int last = -1;
+        for (int i = 0; i < other.counts.length; i++) {
+            if (other.counts[i] != 0) {
+                if (first < 0) {
+                    first = i;
+                }
+                last = i;
+            }
+        }
+        if (first < 0) {
+            return;
+        }
+        ensureCapacity(other.offset + first, other.offset + last);
+        for (int i = first; i <= last; i++) {
+            counts[other.offset + i - offset] += other.counts[i];
+        }
+    }
+
+    long count() {
+        return count;
+    }
+
+    /**
+     * Estimate a quantile
+     * @param q Quantile in [0, 1]
+     * @return The estimate, or NaN if the sketch is empty
+     */
+    double quantile(double q) {
+        if (count <= 0) {
+            return Double.NaN;
+        }
+        long rank = (long) Math.floor(q * (count - 1));
+        long seen = zeroCount;
+        if (rank < seen) {
+            return 0;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (rank < seen) {
+                return valueAt(offset + i);
+            }
+        }
+        // Only reachable if removals outran additions; report the largest bucket
+        for (int i = counts.length - 1; i >= 0; i--) {
+            if (counts[i] > 0) {
+                return valueAt(offset + i);
+            }
+        }
+        return 0;
+    }
+
+    private static int index(double value) {
+        return (int) Math.ceil(Math.log(value) / LOG_GAMMA);
+    }
+
+    /**
+     * Value in bucket i with the smallest worst-case relative error
+     */
+    private static double valueAt(int index) {
+        return 2 * Math.pow(GAMMA, index) / (1 + GAMMA);
+    }
+
+    private void ensureCapacity(int low, int high) {
+        if (counts.length == 0) {
+            int size = Math.max(INITIAL_BUCKETS, high - low + 1);
+            counts = new long[size];
+            offset = low - (size - (high - low + 1)) / 2;
+            return;
+        }
+        if (low >= offset && high < offset + counts.length) {
+            return;
+        }
+        int newLow = Math.min(low, offset);
+        int newHigh = Math.max(high, offset + counts.length - 1);
+        // Grow by at least half again so a drifting range does not copy on every add
+        int slack = counts.length / 2;
+        if (newLow < offset) {
+            newLow -= slack;
+        }
+        if (newHigh >= offset + counts.length) {
+            newHigh += slack;
+        }
+        long[] grown = new long[newHigh - newLow + 1];
+        System.arraycopy(counts, 0, grown, offset - newLow, counts.length);
+        counts = grown;
+        offset = newLow;
+    }
+}
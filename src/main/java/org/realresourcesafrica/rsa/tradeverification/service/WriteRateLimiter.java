@@ -0,0 +1,130 @@
+package org.realresourcesafrica.rsa.tradeverification.service;
+
+import org.realresourcesafrica.rsa.tradeverification.config.InquiryProperties;
+import org.realresourcesafrica.rsa.tradeverification.exception.RateLimitExceededException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control for the write endpoints: one {@link TokenBucket} per client and one per
+ * partner, so a runaway integration exhausts its own allowance without slowing anyone else.
+ * <p>
+ * Buckets live in concurrent maps keyed by client id and normalized partner name; after the
+ * first request from a key, a check is a lock-free map read plus a CAS on that key's bucket.
+ * Full buckets carry no state worth keeping and are dropped periodically, so the maps only
+ * hold keys that wrote recently.
+ */
+@Component
+public class WriteRateLimiter {
+
+    private final InquiryProperties.RateLimit config;
+    private final InquiryMetrics metrics;
+    private final Map<String, TokenBucket> clients = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> partners = new ConcurrentHashMap<>();
+    private final long clientInterval;
+    private final long partnerInterval;
+
+    @Autowired
+    public WriteRateLimiter(InquiryProperties properties, InquiryMetrics metrics) {
+        this.config = properties.getRateLimit();
+        this.metrics = metrics;
+        this.clientInterval = intervalNanos(config.getClientPerSecond());
+        this.partnerInterval = intervalNanos(config.getPartnerPerSecond());
+    }
+
+    /**
+     * Charge one write request to a client
+     * @param client Client id or address
+     * @throws RateLimitExceededException if the client is over its limit
+     */
+    public void acquireClient(String client) {
+        if (!config.isEnabled() || clientInterval == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        long wait = bucket(clients, client, clientInterval, config.getClientBurst(), now).tryAcquire(1, now);
+        if (wait > 0) {
+            metrics.onRateLimited(false);
+            throw new RateLimitExceededException("Too many write requests from this client", retryAfterSeconds(wait));
+        }
+    }
+
+    /**
+     * Charge inquiries to their partners; all or nothing
+     * @param permitsByPartner Number of inquiries by partner key
+     * @throws RateLimitExceededException if any partner is over its limit
+     */
+    public void acquirePartners(Map<String, Integer> permitsByPartner) {
+        if (!config.isEnabled() || partnerInterval == 0 || permitsByPartner.isEmpty()) {
+            return;
+        }
+        long now = System.nanoTime();
+        List<Map.Entry<TokenBucket, Integer>> taken = new ArrayList<>(permitsByPartner.size());
+        for (Map.Entry<String, Integer> entry : permitsByPartner.entrySet()) {
+            TokenBucket bucket = bucket(partners, entry.getKey(), partnerInterval, config.getPartnerBurst(), now);
+            long wait = bucket.tryAcquire(entry.getValue(), now);
+            if (wait > 0) {
+                for (Map.Entry<TokenBucket, Integer> previous : taken) {
+                    previous.getKey().release(previous.getValue());
+                }
+                metrics.onRateLimited(true);
+                throw new RateLimitExceededException("Too many inquiries submitted for partner " + entry.getKey(),
+                        retryAfterSeconds(wait));
+            }
+            taken.add(Map.entry(bucket, entry.getValue()));
+        }
+    }
+
+    /**
+     * Charge one inquiry to its partner
+     * @param partnerKey Normalized partner name
+     * @throws RateLimitExceededException if the partner is over its limit
+     */
+    public void acquirePartner(String partnerKey) {
+        if (!config.isEnabled() || partnerInterval == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        long wait = bucket(partners, partnerKey, partnerInterval, config.getPartnerBurst(), now).tryAcquire(1, now);
+        if (wait > 0) {
+            metrics.onRateLimited(true);
+            throw new RateLimitExceededException("Too many inquiries submitted for partner " + partnerKey,
+                    retryAfterSeconds(wait));
+        }
+    }
+
+    /**
+     * Drop buckets that have refilled completely. A request racing with the removal may
+     * charge the dropped bucket instead of its replacement; both were full, so at most one
+     * extra burst is admitted.
+     */
+    @Scheduled(fixedDelayString = "${inquiries.rate-limit.cleanup-interval:PT1M}")
+    public void evictFullBuckets() {
+        long now = System.nanoTime();
+        clients.values().removeIf(bucket -> bucket.isFull(now));
+        partners.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    private static TokenBucket bucket(Map<String, TokenBucket> buckets, String key, long interval, int burst,
+                                      long now) {
+        // Plain get first: computeIfAbsent may lock the bin even when the key is present
+        TokenBucket bucket = buckets.get(key);
+        return bucket != null ? bucket : buckets.computeIfAbsent(key, k -> new TokenBucket(interval, burst, now));
+    }
+
+    private static long intervalNanos(double perSecond) {
+        return perSecond > 0 ? Math.max(1, Math.round(TimeUnit.SECONDS.toNanos(1) / perSecond)) : 0;
+    }
+
+    private static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+}
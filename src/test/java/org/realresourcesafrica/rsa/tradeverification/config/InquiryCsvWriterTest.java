@@ -0,0 +1,94 @@
+package org.realresourcesafrica.rsa.tradeverification.config;
+
+import org.realresourcesafrica.rsa.tradeverification.entity.InquiryStatus;
+import org.realresourcesafrica.rsa.tradeverification.entity.TradeInquiry;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * RFC 4180 quoting, UTF-8 encoding and value formatting of {@link InquiryCsvWriter}
+ */
+class InquiryCsvWriterTest {
+
+    private static final String HEADER = "id,title,description,status,submittingPartner,estimatedValue,"
+            + "createdAt,updatedAt,version,duplicateOf\r\n";
+
+    @Test
+    void plainFieldsAreWrittenUnquoted() throws IOException {
+        TradeInquiry inquiry = inquiry(7L, "Copper cathodes", "Grade A", new BigDecimal("1250.50"));
+        inquiry.setDuplicateOf(3L);
+
+        assertThat(csv(inquiry)).isEqualTo(HEADER
+                + "7,Copper cathodes,Grade A,VERIFIED,Lubumbashi Metals,1250.50,"
+                + "2024-03-01T09:30:00.12,2024-03-01T10:30:00.12,2,3\r\n");
+    }
+
+    @Test
+    void commasQuotesAndLineBreaksAreQuotedAndQuotesDoubled() throws IOException {
+        TradeInquiry inquiry = inquiry(1L, "Coffee, \"AA\" grade", "Line one\nline two\r\nline three", null);
+        inquiry.setSubmittingPartner("Kivu \"Highlands\"");
+
+        assertThat(csv(inquiry)).isEqualTo(HEADER
+                + "1,\"Coffee, \"\"AA\"\" grade\",\"Line one\nline two\r\nline three\",VERIFIED,"
+                + "\"Kivu \"\"Highlands\"\"\",,2024-03-01T09:30:00.12,2024-03-01T10:30:00.12,2,\r\n");
+    }
+
+    @Test
+    void textIsEncodedAsUtf8() throws IOException {
+        String title = "Café – 咖啡 🌍";
+        TradeInquiry inquiry = inquiry(1L, title, "bad \uD800 surrogate", null);
+
+        assertThat(csv(inquiry)).startsWith(HEADER + "1," + title + ",bad ? surrogate,");
+    }
+
+    @Test
+    void missingAndEmptyValuesAreEmptyFields() throws IOException {
+        TradeInquiry inquiry = inquiry(1L, "Title", "", null);
+        inquiry.setUpdatedAt(null);
+        inquiry.setCreatedAt(LocalDateTime.of(2024, 1, 2, 3, 4, 5));
+
+        assertThat(csv(inquiry)).isEqualTo(HEADER + "1,Title,,VERIFIED,Lubumbashi Metals,,2024-01-02T03:04:05,,2,\r\n");
+    }
+
+    @Test
+    void recordsSpanningChunksAreWrittenWhole() throws IOException {
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            description.append("\"é\",");
+        }
+        TradeInquiry inquiry = inquiry(1L, "Long", description.toString(), null);
+
+        String expected = "1,Long,\"" + description.toString().replace("\"", "\"\"") + "\",VERIFIED,"
+                + "Lubumbashi Metals,,2024-03-01T09:30:00.12,2024-03-01T10:30:00.12,2,\r\n";
+        assertThat(csv(inquiry, inquiry)).isEqualTo(HEADER + expected + expected);
+    }
+
+    private static String csv(TradeInquiry... inquiries) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InquiryCsvWriter writer = new InquiryCsvWriter(out, 1024)) {
+            writer.writeHeader();
+            for (TradeInquiry inquiry : inquiries) {
+                writer.writeInquiry(inquiry);
+            }
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static TradeInquiry inquiry(Long id, String title, String description, BigDecimal value) {
+        TradeInquiry inquiry = new TradeInquiry(title, description, "Lubumbashi Metals", value);
+        inquiry.setId(id);
+        inquiry.setVersion(2L);
+        inquiry.setStatus(InquiryStatus.VERIFIED);
+        inquiry.setCreatedAt(LocalDateTime.of(2024, 3, 1, 9, 30, 0, 120_000_000));
+        inquiry.setUpdatedAt(inquiry.getCreatedAt().plusHours(1));
+        return inquiry;
+    }
+}
@@ -0,0 +1,104 @@
+package org.realresourcesafrica.rsa.tradeverification.config;
+
+import org.realresourcesafrica.rsa.tradeverification.dto.ApiResponse;
+import org.realresourcesafrica.rsa.tradeverification.dto.InquirySummary;
+import org.realresourcesafrica.rsa.tradeverification.entity.InquiryStatus;
+import org.realresourcesafrica.rsa.tradeverification.entity.TradeInquiry;
+import org.realresourcesafrica.rsa.tradeverification.service.InquiryMetrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The streaming list converter writes the same JSON as Jackson and never reads request bodies
+ */
+class InquiryListMessageConverterTest {
+
+    private static final Type INQUIRY_LIST = new ParameterizedTypeReference<ApiResponse<List<TradeInquiry>>>() {}.getType();
+    private static final Type SUMMARY_LIST = new ParameterizedTypeReference<ApiResponse<List<InquirySummary>>>() {}.getType();
+    private static final Type STRING_LIST = new ParameterizedTypeReference<ApiResponse<List<String>>>() {}.getType();
+
+    // Configured like Spring Boot's mapper: ISO-8601 text for dates
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final InquiryListMessageConverter converter = new InquiryListMessageConverter(
+            new InquiryJsonWriter(objectMapper), new InquiryMetrics(new SimpleMeterRegistry()));
+
+    @Test
+    void inquiryListsMatchJackson() throws Exception {
+        TradeInquiry plain = inquiry(1L, "Coffee \"AA\" grade", "Line one\nline two, ü", new BigDecimal("1250.50"),
+                LocalDateTime.of(2024, 3, 1, 9, 30, 0, 120_000_000));
+        TradeInquiry sparse = inquiry(2L, "No value", "", null, LocalDateTime.of(2024, 3, 2, 0, 0));
+        sparse.setDuplicateOf(1L);
+        ApiResponse<List<TradeInquiry>> response = ApiResponse.page("Two inquiries", List.of(plain, sparse), "next");
+
+        assertSameJson(response, INQUIRY_LIST);
+    }
+
+    @Test
+    void summaryListsMatchJackson() throws Exception {
+        InquirySummary row = new InquirySummary(3L, "Cocoa", InquiryStatus.VERIFIED, "Partner",
+                new BigDecimal("10"), LocalDateTime.of(2024, 1, 1, 12, 0, 0, 1), LocalDateTime.of(2024, 1, 2, 12, 0), 4L, null);
+        TradeInquiry flagged = inquiry(4L, "Tea", "With a description",
+                new BigDecimal("99.99"), LocalDateTime.of(2023, 12, 31, 23, 59, 59));
+        flagged.setDuplicateOf(3L);
+        InquirySummary described = InquirySummary.withDescription(flagged);
+
+        assertSameJson(ApiResponse.success("Rows", List.of(row, described)), SUMMARY_LIST);
+    }
+
+    @Test
+    void onlyInquiryListsAreWritten() {
+        assertThat(converter.canWrite(INQUIRY_LIST, ApiResponse.class, MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(converter.canWrite(SUMMARY_LIST, ApiResponse.class, MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(converter.canWrite(STRING_LIST, ApiResponse.class, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canWrite(INQUIRY_LIST, ApiResponse.class, MediaType.APPLICATION_XML)).isFalse();
+    }
+
+    @Test
+    void requestBodiesAreNeverRead() {
+        MockHttpInputMessage body = new MockHttpInputMessage("{}".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(converter.canRead(INQUIRY_LIST, null, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canRead(ApiResponse.class, MediaType.APPLICATION_JSON)).isFalse();
+        assertThatThrownBy(() -> converter.read(INQUIRY_LIST, null, body))
+                .isInstanceOf(HttpMessageNotReadableException.class);
+    }
+
+    private void assertSameJson(ApiResponse<?> response, Type type) throws Exception {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        @SuppressWarnings("unchecked")
+        ApiResponse<List<?>> body = (ApiResponse<List<?>>) response;
+        converter.write(body, type, MediaType.APPLICATION_JSON, output);
+
+        assertThat(objectMapper.readTree(output.getBodyAsString(StandardCharsets.UTF_8)))
+                .isEqualTo(objectMapper.readTree(objectMapper.writeValueAsString(response)));
+    }
+
+    private static TradeInquiry inquiry(Long id, String title, String description, BigDecimal value, LocalDateTime createdAt) {
+        TradeInquiry inquiry = new TradeInquiry(title, description, "Converter Partner", value);
+        inquiry.setId(id);
+        inquiry.setVersion(2L);
+        inquiry.setCreatedAt(createdAt);
+        inquiry.setUpdatedAt(createdAt.plusHours(1));
+        return inquiry;
+    }
+}
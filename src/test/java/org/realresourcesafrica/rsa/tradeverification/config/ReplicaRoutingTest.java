@@ -0,0 +1,175 @@
+package org.realresourcesafrica.rsa.tradeverification.config;
+
+import org.realresourcesafrica.rsa.tradeverification.controller.PartnerController;
+import org.realresourcesafrica.rsa.tradeverification.controller.TradeInquiryController;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Which pool read-only connections come from while the replica is fresh
+ */
+class ReplicaRoutingTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+    private final ReplicaHeartbeat heartbeat = mock(ReplicaHeartbeat.class);
+    private final ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replica, heartbeat);
+    private final ReadYourWritesInterceptor interceptor = new ReadYourWritesInterceptor(Duration.ofMinutes(1), null);
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @BeforeEach
+    void connections() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+    }
+
+    @AfterEach
+    void unpin() {
+        ReplicaRoutingDataSource.unpin();
+    }
+
+    @Test
+    void freshReplicaServesReads() throws Exception {
+        when(heartbeat.isFresh()).thenReturn(true);
+
+        interceptor.preHandle(request("GET", "/api/inquiries/7/history", "10.0.0.1"), response, historyHandler());
+
+        assertThat(connection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void staleReplicaIsBypassed() throws Exception {
+        when(heartbeat.isFresh()).thenReturn(false);
+
+        assertThat(connection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void listingReadsFromThePrimaryBecauseItsEtagDoes() throws Exception {
+        when(heartbeat.isFresh()).thenReturn(true);
+        MockHttpServletRequest request = request("GET", "/api/inquiries", "10.0.0.1");
+
+        interceptor.preHandle(request, response, listHandler());
+        assertThat(connection()).isSameAs(primaryConnection);
+
+        interceptor.afterCompletion(request, response, listHandler(), null);
+        assertThat(connection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void partnerListingReadsFromThePrimaryToo() throws Exception {
+        when(heartbeat.isFresh()).thenReturn(true);
+
+        interceptor.preHandle(request("GET", "/api/partners/KEPROBA/inquiries", "10.0.0.1"), response, partnerListHandler());
+
+        assertThat(connection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void writerReadsItsOwnWritesFromThePrimary() throws Exception {
+        when(heartbeat.isFresh()).thenReturn(true);
+        MockHttpServletRequest write = request("POST", "/api/inquiries", "10.0.0.1");
+        interceptor.preHandle(write, response, historyHandler());
+        interceptor.afterCompletion(write, response, historyHandler(), null);
+
+        interceptor.preHandle(request("GET", "/api/inquiries/7/history", "10.0.0.1"), response, historyHandler());
+        assertThat(connection()).isSameAs(primaryConnection);
+        ReplicaRoutingDataSource.unpin();
+
+        interceptor.preHandle(request("GET", "/api/inquiries/7/history", "10.0.0.2"), response, historyHandler());
+        assertThat(connection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void streamedBodiesKeepThePinOnTheirOwnThread() throws Exception {
+        when(heartbeat.isFresh()).thenReturn(true);
+        AtomicReference<Connection> used = new AtomicReference<>();
+        StreamingResponseBody body = out -> {
+            try {
+                used.set(connection());
+            } catch (SQLException ex) {
+                throw new IllegalStateException(ex);
+            }
+        };
+
+        MockHttpServletRequest pinned = request("GET", "/api/inquiries/stream", "10.0.0.1");
+        interceptor.preHandle(pinned, response, listHandler());
+        StreamingResponseBody routed = ReadYourWritesInterceptor.onRequestRoute(body);
+        interceptor.afterConcurrentHandlingStarted(pinned, response, listHandler());
+        writeOnAnotherThread(routed);
+        assertThat(used.get()).isSameAs(primaryConnection);
+
+        interceptor.preHandle(request("GET", "/api/inquiries/stream", "10.0.0.2"), response, historyHandler());
+        writeOnAnotherThread(ReadYourWritesInterceptor.onRequestRoute(body));
+        assertThat(used.get()).isSameAs(replicaConnection);
+    }
+
+    private static void writeOnAnotherThread(StreamingResponseBody body) throws Exception {
+        CompletableFuture.runAsync(() -> {
+            try {
+                body.writeTo(new ByteArrayOutputStream());
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        }, runnable -> new Thread(runnable).start()).get();
+    }
+
+    private Connection connection() throws SQLException {
+        return routing.getConnection();
+    }
+
+    static MockHttpServletRequest request(String method, String uri, String remoteAddress) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(remoteAddress);
+        return request;
+    }
+
+    private static HandlerMethod listHandler() {
+        try {
+            return new HandlerMethod(mock(TradeInquiryController.class), TradeInquiryController.class.getMethod(
+                    "getInquiries", String.class, String.class, Integer.class, String.class, boolean.class, WebRequest.class));
+        } catch (NoSuchMethodException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static HandlerMethod partnerListHandler() {
+        try {
+            return new HandlerMethod(mock(PartnerController.class), PartnerController.class.getMethod(
+                    "getPartnerInquiries", String.class, String.class, Integer.class, String.class, boolean.class,
+                    WebRequest.class));
+        } catch (NoSuchMethodException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static HandlerMethod historyHandler() {
+        try {
+            return new HandlerMethod(mock(TradeInquiryController.class),
+                    TradeInquiryController.class.getMethod("getStatusHistory", Long.class));
+        } catch (NoSuchMethodException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
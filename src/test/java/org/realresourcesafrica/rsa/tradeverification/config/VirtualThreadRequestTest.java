@@ -0,0 +1,72 @@
+package org.realresourcesafrica.rsa.tradeverification.config;
+
+import org.realresourcesafrica.rsa.tradeverification.entity.TradeInquiry;
+import org.realresourcesafrica.rsa.tradeverification.service.TradeInquiryService;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * With virtual threads on, many more concurrent requests than pooled connections are served
+ * by Hikari's own queueing rather than failing or needing a wrapper around the pool
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.threads.virtual.enabled=true",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=30000",
+        "inquiries.cache.enabled=false"
+})
+@ActiveProfiles("test")
+class VirtualThreadRequestTest {
+
+    @MockitoBean
+    DataInitializer dataInitializer;
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    TradeInquiryService inquiryService;
+
+    @Test
+    void concurrentLookupsBeyondThePoolSizeAllSucceed() throws Exception {
+        assertThat(dataSource).isInstanceOf(HikariDataSource.class);
+        long id = inquiryService.createInquiry(
+                new TradeInquiry("Virtual lookup", "Virtual thread test", "Virtual Partner", null)).getId();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/inquiries/" + id)).build();
+
+        int clients = 200;
+        try (HttpClient http = HttpClient.newHttpClient();
+             ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Integer>> statuses = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                statuses.add(callers.submit(() -> http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode()));
+            }
+            for (Future<Integer> status : statuses) {
+                assertThat(status.get()).isEqualTo(200);
+            }
+        }
+        assertThat(((HikariDataSource) dataSource).getHikariPoolMXBean().getTotalConnections()).isLessThanOrEqualTo(2);
+    }
+}
@@ -0,0 +1,83 @@
+package org.realresourcesafrica.rsa.tradeverification.config;
+
+import org.realresourcesafrica.rsa.tradeverification.exception.RateLimitExceededException;
+import org.realresourcesafrica.rsa.tradeverification.service.InquiryMetrics;
+import org.realresourcesafrica.rsa.tradeverification.service.WriteRateLimiter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Who a write is charged to
+ */
+class WriteRateLimitInterceptorTest {
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    void clientSuppliedIdIsIgnoredByDefault() {
+        InquiryProperties properties = properties();
+        WriteRateLimitInterceptor interceptor = interceptor(properties);
+
+        interceptor.preHandle(write("10.0.0.1", "first-id"), response, null);
+
+        // A fresh id per request does not buy a fresh bucket
+        assertThatThrownBy(() -> interceptor.preHandle(write("10.0.0.1", "second-id"), response, null))
+                .isInstanceOf(RateLimitExceededException.class);
+        assertThat(WriteRateLimitInterceptor.clientOf(write("10.0.0.1", "first-id"),
+                properties.getRateLimit().getClientHeader())).isEqualTo("10.0.0.1");
+    }
+
+    @Test
+    void configuredGatewayHeaderIdentifiesClientsBehindOneAddress() {
+        InquiryProperties properties = properties();
+        properties.getRateLimit().setClientHeader("X-Client-Id");
+        WriteRateLimitInterceptor interceptor = interceptor(properties);
+
+        interceptor.preHandle(write("10.0.0.254", "team-a"), response, null);
+        interceptor.preHandle(write("10.0.0.254", "team-b"), response, null);
+
+        assertThatThrownBy(() -> interceptor.preHandle(write("10.0.0.254", "team-a"), response, null))
+                .isInstanceOf(RateLimitExceededException.class);
+        // Without the header the address is still a fallback
+        assertThat(WriteRateLimitInterceptor.clientOf(write("10.0.0.254", null), "X-Client-Id")).isEqualTo("10.0.0.254");
+    }
+
+    @Test
+    void readsAreNotCharged() {
+        WriteRateLimitInterceptor interceptor = interceptor(properties());
+
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletRequest read = new MockHttpServletRequest("GET", "/api/inquiries");
+            read.setRemoteAddr("10.0.0.1");
+            assertThat(interceptor.preHandle(read, response, null)).isTrue();
+        }
+        interceptor.preHandle(write("10.0.0.1", null), response, null);
+    }
+
+    private static WriteRateLimitInterceptor interceptor(InquiryProperties properties) {
+        WriteRateLimiter limiter = new WriteRateLimiter(properties, new InquiryMetrics(new SimpleMeterRegistry()));
+        return new WriteRateLimitInterceptor(limiter, properties.getRateLimit().getClientHeader());
+    }
+
+    private static InquiryProperties properties() {
+        InquiryProperties properties = new InquiryProperties();
+        properties.getRateLimit().setClientPerSecond(0.001);
+        properties.getRateLimit().setClientBurst(1);
+        return properties;
+    }
+
+    private static MockHttpServletRequest write(String remoteAddress, String clientId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/inquiries");
+        request.setRemoteAddr(remoteAddress);
+        if (clientId != null) {
+            request.addHeader("X-Client-Id", clientId);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,112 @@
+package org.realresourcesafrica.rsa.tradeverification.controller;
+
+import org.realresourcesafrica.rsa.tradeverification.config.DataInitializer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * POST /api/inquiries/batch: per-item outcomes in request order and batched inserts
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BatchCreateTest {
+
+    @MockitoBean
+    DataInitializer dataInitializer;
+
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void jsonArrayIsInsertedInJdbcBatches() throws Exception {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < 120; i++) {
+            body.append(i == 0 ? "" : ",").append(item("Batch Array Partner", "Batch array " + i));
+        }
+        body.append(']');
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        JsonNode response = objectMapper.readTree(mvc.perform(post("/api/inquiries/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body.toString()))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString());
+
+        JsonNode results = response.get("data");
+        assertThat(results).hasSize(120);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < results.size(); i++) {
+            assertThat(results.get(i).get("index").asInt()).isEqualTo(i);
+            assertThat(results.get(i).get("outcome").asText()).isEqualTo("CREATED");
+            ids.add(results.get(i).get("id").asLong());
+        }
+        assertThat(ids).doesNotHaveDuplicates();
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM trade_inquiries WHERE submitting_partner = 'Batch Array Partner'",
+                Long.class)).isEqualTo(120);
+        // 120 rows at a JDBC batch size of 50: three insert batches and a few sequence calls, not 120 statements
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(20);
+    }
+
+    @Test
+    void ndjsonWithInvalidItemsIsAMultiStatus() throws Exception {
+        String body = item("Batch Ndjson Partner", "Valid first") + "\n" +
+                "{\"title\":\"\",\"submittingPartner\":\"Batch Ndjson Partner\"}\n" +
+                item("Batch Ndjson Partner", "Valid third") + "\n";
+
+        mvc.perform(post("/api/inquiries/batch")
+                        .contentType("application/x-ndjson")
+                        .content(body))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.data[0].outcome").value("CREATED"))
+                .andExpect(jsonPath("$.data[1].outcome").value("INVALID"))
+                .andExpect(jsonPath("$.data[1].errors.title").exists())
+                .andExpect(jsonPath("$.data[2].outcome").value("CREATED"))
+                .andExpect(jsonPath("$.data[2].id").isNumber());
+
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM trade_inquiries WHERE submitting_partner = 'Batch Ndjson Partner'",
+                Long.class)).isEqualTo(2);
+    }
+
+    @Test
+    void emptyBatchIsABadRequest() throws Exception {
+        mvc.perform(post("/api/inquiries/batch").contentType(MediaType.APPLICATION_JSON).content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static String item(String partner, String title) {
+        return "{\"title\":\"" + title + "\",\"description\":\"Batch test\",\"submittingPartner\":\"" + partner +
+                "\",\"estimatedValue\":100}";
+    }
+}
@@ -0,0 +1,110 @@
+package org.realresourcesafrica.rsa.tradeverification.controller;
+
+import org.realresourcesafrica.rsa.tradeverification.config.DataInitializer;
+import org.realresourcesafrica.rsa.tradeverification.dto.StatusUpdateRequest;
+import org.realresourcesafrica.rsa.tradeverification.entity.InquiryStatus;
+import org.realresourcesafrica.rsa.tradeverification.entity.TradeInquiry;
+import org.realresourcesafrica.rsa.tradeverification.service.TradeInquiryService;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * PUT /api/inquiries/status moves many inquiries at once and reports an outcome per id
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BulkStatusUpdateTest {
+
+    @MockitoBean
+    DataInitializer dataInitializer;
+
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    TradeInquiryService inquiryService;
+
+    @Test
+    void eachIdGetsItsOutcomeInRequestOrder() throws Exception {
+        TradeInquiry pending = create("Bulk Outcome Partner", "Bulk pending");
+        TradeInquiry verified = create("Bulk Outcome Partner", "Bulk verified");
+        inquiryService.updateInquiryStatus(verified.getId(), new StatusUpdateRequest("VERIFIED"));
+        TradeInquiry rejected = create("Bulk Outcome Partner", "Bulk rejected");
+        inquiryService.updateInquiryStatus(rejected.getId(), new StatusUpdateRequest("REJECTED"));
+        long missing = Long.MAX_VALUE - 1;
+
+        String body = "{\"ids\":[" + rejected.getId() + "," + pending.getId() + "," + verified.getId() + ","
+                + missing + "," + rejected.getId() + "],\"status\":\"PENDING_VERIFICATION\"}";
+
+        mvc.perform(put("/api/inquiries/status").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.message").value("1 of 4 inquiries updated"))
+                .andExpect(jsonPath("$.data[*].id").value(contains(
+                        rejected.getId().intValue(), pending.getId().intValue(), verified.getId().intValue(), missing)))
+                .andExpect(jsonPath("$.data[*].outcome").value(contains(
+                        "UPDATED", "UNCHANGED", "INVALID_TRANSITION", "NOT_FOUND")));
+
+        assertThat(inquiryService.getInquiryById(rejected.getId()).getStatus()).isEqualTo(InquiryStatus.PENDING_VERIFICATION);
+        assertThat(inquiryService.getInquiryById(rejected.getId()).getVersion()).isGreaterThan(rejected.getVersion() + 1);
+        assertThat(inquiryService.getInquiryById(verified.getId()).getStatus()).isEqualTo(InquiryStatus.VERIFIED);
+    }
+
+    @Test
+    void filterSelectsThePartnersInquiriesInAStatus() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(create("Bulk Filter Partner", "Bulk filtered " + i).getId());
+        }
+        TradeInquiry other = create("Bulk Other Partner", "Bulk not filtered");
+
+        mvc.perform(put("/api/inquiries/status").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"filter\":{\"partner\":\"bulk filter partner\",\"status\":\"PENDING_VERIFICATION\"},"
+                                + "\"status\":\"REJECTED\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(3)))
+                .andExpect(jsonPath("$.data[*].outcome", everyItem(is("UPDATED"))))
+                .andExpect(jsonPath("$.data[*].status", everyItem(is("REJECTED"))));
+
+        for (Long id : ids) {
+            assertThat(inquiryService.getInquiryById(id).getStatus()).isEqualTo(InquiryStatus.REJECTED);
+        }
+        assertThat(inquiryService.getInquiryById(other.getId()).getStatus()).isEqualTo(InquiryStatus.PENDING_VERIFICATION);
+    }
+
+    @Test
+    void idsAndFilterAreMutuallyExclusive() throws Exception {
+        mvc.perform(put("/api/inquiries/status").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"VERIFIED\"}"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(put("/api/inquiries/status").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[1],\"filter\":{\"status\":\"PENDING_VERIFICATION\"},\"status\":\"VERIFIED\"}"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(put("/api/inquiries/status").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"filter\":{},\"status\":\"VERIFIED\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private TradeInquiry create(String partner, String title) {
+        return inquiryService.createInquiry(InquiryListingTest.inquiry(partner, title));
+    }
+}
@@ -0,0 +1,189 @@
+package org.realresourcesafrica.rsa.tradeverification.controller;
+
+import org.realresourcesafrica.rsa.tradeverification.config.DataInitializer;
+import org.realresourcesafrica.rsa.tradeverification.dto.BulkStatusUpdateRequest;
+import org.realresourcesafrica.rsa.tradeverification.dto.InquiryEvent;
+import org.realresourcesafrica.rsa.tradeverification.entity.TradeInquiry;
+import org.realresourcesafrica.rsa.tradeverification.service.TradeInquiryService;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Replay and resync on GET /api/inquiries/events, and coalescing of batch writes.
+ * The test profile shrinks the ring buffer to 16 events and each subscriber queue to 8.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class InquiryEventsTest {
+
+    @MockitoBean
+    DataInitializer dataInitializer;
+
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    TradeInquiryService inquiryService;
+
+    @Test
+    void reconnectingWithLastEventIdReplaysWhatWasMissed() throws Exception {
+        long seen = createAndAwaitSequence("Replay seen");
+        long first = create("Replay missed 1");
+        long second = create("Replay missed 2");
+
+        List<Event> replayed = awaitEvents(subscribe(seen), events -> events.size() >= 2);
+
+        assertThat(replayed.get(0).sequence()).isEqualTo(seen + 1);
+        assertThat(replayed.get(0).data().get("inquiryId").asLong()).isEqualTo(first);
+        assertThat(replayed.get(1).sequence()).isEqualTo(seen + 2);
+        assertThat(replayed.get(1).data().get("inquiryId").asLong()).isEqualTo(second);
+    }
+
+    @Test
+    void gapOverwrittenInTheRingIsAResync() throws Exception {
+        long seen = createAndAwaitSequence("Overwritten seen");
+        for (int i = 0; i < 20; i++) {
+            create("Overwritten " + i);
+        }
+
+        List<Event> replayed = awaitEvents(subscribe(seen), events -> !events.isEmpty());
+
+        assertThat(replayed.get(0).type()).isEqualTo("resync");
+    }
+
+    @Test
+    void gapLargerThanTheSubscriberQueueIsAResync() throws Exception {
+        long seen = createAndAwaitSequence("Queue gap seen");
+        for (int i = 0; i < 10; i++) {
+            create("Queue gap " + i);
+        }
+
+        List<Event> replayed = awaitEvents(subscribe(seen), events -> !events.isEmpty());
+
+        assertThat(replayed.get(0).type()).isEqualTo("resync");
+    }
+
+    @Test
+    void lastEventIdFromTheFutureIsAResync() throws Exception {
+        List<Event> replayed = awaitEvents(subscribe(Long.MAX_VALUE / 2), events -> !events.isEmpty());
+
+        assertThat(replayed.get(0).type()).isEqualTo("resync");
+    }
+
+    @Test
+    void batchWritesArriveAsOneEventAndKeepSubscribersConnected() throws Exception {
+        MvcResult live = subscribe(null);
+        List<TradeInquiry> batch = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            batch.add(InquiryListingTest.inquiry("Event Batch Partner", "Event batch " + i));
+        }
+        List<Long> ids = inquiryService.createInquiries(batch).stream().map(TradeInquiry::getId).toList();
+
+        BulkStatusUpdateRequest bulk = new BulkStatusUpdateRequest();
+        bulk.setIds(ids);
+        bulk.setStatus("VERIFIED");
+        inquiryService.updateInquiryStatuses(bulk);
+        long after = create("After the batch");
+
+        List<Event> events = awaitEvents(live, received -> received.stream()
+                .anyMatch(event -> event.data().path("inquiryId").asLong() == after));
+
+        assertThat(events).extracting(Event::type).containsExactly(
+                InquiryEvent.CREATED_BATCH, InquiryEvent.STATUS_CHANGED_BATCH, InquiryEvent.CREATED);
+        JsonNode created = events.get(0).data();
+        assertThat(created.get("inquiryIds")).hasSize(50);
+        assertThat(created.at("/statisticsDelta/total").asLong()).isEqualTo(50);
+        assertThat(created.at("/statisticsDelta/pending").asLong()).isEqualTo(50);
+        JsonNode verified = events.get(1).data();
+        assertThat(verified.get("inquiryIds")).hasSize(50);
+        assertThat(verified.get("status").asText()).isEqualTo("VERIFIED");
+        assertThat(verified.at("/statisticsDelta/pending").asLong()).isEqualTo(-50);
+        assertThat(verified.at("/statisticsDelta/verified").asLong()).isEqualTo(50);
+    }
+
+    private long createAndAwaitSequence(String title) throws Exception {
+        MvcResult live = subscribe(null);
+        long id = create(title);
+        List<Event> events = awaitEvents(live, received -> received.stream()
+                .anyMatch(event -> event.data().path("inquiryId").asLong() == id));
+        return events.stream().filter(event -> event.data().path("inquiryId").asLong() == id)
+                .findFirst().orElseThrow().sequence();
+    }
+
+    private long create(String title) {
+        return inquiryService.createInquiry(InquiryListingTest.inquiry("Event Partner", title)).getId();
+    }
+
+    private MvcResult subscribe(Long lastEventId) throws Exception {
+        MockHttpServletRequestBuilder builder = get("/api/inquiries/events");
+        if (lastEventId != null) {
+            builder.header("Last-Event-ID", lastEventId);
+        }
+        return mvc.perform(builder).andExpect(request().asyncStarted()).andReturn();
+    }
+
+    /**
+     * Parse the stream written so far until it satisfies the condition, or fail after five seconds
+     */
+    private List<Event> awaitEvents(MvcResult result, Predicate<List<Event>> condition) throws Exception {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        List<Event> events = List.of();
+        while (System.nanoTime() < deadline) {
+            events = parse(result.getResponse().getContentAsString());
+            if (condition.test(events)) {
+                return events;
+            }
+            Thread.sleep(20);
+        }
+        return fail("Stream did not reach the expected events: " + events);
+    }
+
+    private List<Event> parse(String stream) throws Exception {
+        List<Event> events = new ArrayList<>();
+        // The last block may still be half written; only complete events end with a blank line
+        String complete = stream.substring(0, stream.lastIndexOf("\n\n") + 1);
+        for (String block : complete.split("\n\n")) {
+            long sequence = 0;
+            String type = null;
+            String data = null;
+            for (String line : block.split("\n")) {
+                if (line.startsWith("id:")) {
+                    sequence = Long.parseLong(line.substring(3));
+                } else if (line.startsWith("event:")) {
+                    type = line.substring(6);
+                } else if (line.startsWith("data:")) {
+                    data = line.substring(5);
+                }
+            }
+            if (type != null && data != null) {
+                events.add(new Event(sequence, type, objectMapper.readTree(data)));
+            }
+        }
+        return events;
+    }
+
+    private record Event(long sequence, String type, JsonNode data) {}
+}
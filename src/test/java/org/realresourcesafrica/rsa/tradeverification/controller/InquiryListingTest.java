@@ -0,0 +1,169 @@
+package org.realresourcesafrica.rsa.tradeverification.controller;
+
+import org.realresourcesafrica.rsa.tradeverification.config.DataInitializer;
+import org.realresourcesafrica.rsa.tradeverification.entity.TradeInquiry;
+import org.realresourcesafrica.rsa.tradeverification.service.TradeInquiryService;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Keyset pagination of GET /api/inquiries and the 400 answers for malformed parameters
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class InquiryListingTest {
+
+    @MockitoBean
+    DataInitializer dataInitializer;
+
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    TradeInquiryService inquiryService;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Test
+    void pagesVisitEveryInquiryOnceNewestFirstEvenWhenCreatedAtTies() throws Exception {
+        List<TradeInquiry> batch = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            batch.add(inquiry("Keyset Partner", "Keyset tie " + i));
+        }
+        for (TradeInquiry inquiry : batch) {
+            inquiryService.createInquiry(inquiry);
+        }
+        // Same timestamp for every row, so only the id tie-breaker keeps pages apart
+        jdbc.update("UPDATE trade_inquiries SET created_at = ? WHERE submitting_partner = ?",
+                Timestamp.valueOf(LocalDateTime.now().plusYears(1)), "Keyset Partner");
+
+        List<JsonNode> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            String uri = "/api/inquiries?limit=3" + (cursor != null ? "&cursor=" + cursor : "");
+            JsonNode body = objectMapper.readTree(mvc.perform(get(uri))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            JsonNode data = body.get("data");
+            assertThat(data.size()).isLessThanOrEqualTo(3);
+            data.forEach(seen::add);
+            cursor = body.path("nextCursor").isTextual() ? body.get("nextCursor").asText() : null;
+            pages++;
+        } while (cursor != null && pages < 1000);
+
+        Set<Long> ids = new HashSet<>();
+        for (JsonNode row : seen) {
+            assertThat(ids.add(row.get("id").asLong())).as("id %s listed twice", row.get("id")).isTrue();
+        }
+        for (int i = 1; i < seen.size(); i++) {
+            LocalDateTime previous = LocalDateTime.parse(seen.get(i - 1).get("createdAt").asText());
+            LocalDateTime current = LocalDateTime.parse(seen.get(i).get("createdAt").asText());
+            assertThat(previous).isAfterOrEqualTo(current);
+            if (previous.equals(current)) {
+                assertThat(seen.get(i - 1).get("id").asLong()).isGreaterThan(seen.get(i).get("id").asLong());
+            }
+        }
+        assertThat((long) seen.size()).isEqualTo(jdbc.queryForObject("SELECT COUNT(*) FROM trade_inquiries", Long.class));
+        for (TradeInquiry created : batch) {
+            assertThat(ids).contains(created.getId());
+        }
+    }
+
+    @Test
+    void malformedCursorIsABadRequest() throws Exception {
+        mvc.perform(get("/api/inquiries?cursor=not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    @Test
+    void unchangedPartnerPageIsNotModified() throws Exception {
+        inquiryService.createInquiry(inquiry("Conditional Partner", "Conditional 1"));
+
+        MvcResult first = mvc.perform(get("/api/partners/Conditional Partner/inquiries"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn();
+        String etag = first.getResponse().getHeader("ETag");
+
+        mvc.perform(get("/api/partners/Conditional Partner/inquiries").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        inquiryService.createInquiry(inquiry("Conditional Partner", "Conditional 2"));
+        mvc.perform(get("/api/partners/Conditional Partner/inquiries").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2));
+    }
+
+    @Test
+    void searchPagesBeyondTheMaximumDepthAreABadRequest() throws Exception {
+        inquiryService.createInquiry(inquiry("Deep Search Partner", "Deep search"));
+
+        mvc.perform(get("/api/inquiries/search?q=deep&page=199&limit=50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").isEmpty());
+        for (String page : new String[] {"200", "20000000", String.valueOf(Integer.MAX_VALUE)}) {
+            mvc.perform(get("/api/inquiries/search?q=deep&limit=500&page=" + page))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.success").value(false));
+        }
+    }
+
+    @Test
+    void nonNumericLimitIsABadRequest() throws Exception {
+        mvc.perform(get("/api/inquiries?limit=abc"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid value for limit: abc"));
+    }
+
+    @Test
+    void missingRequiredParameterIsABadRequest() throws Exception {
+        mvc.perform(get("/api/inquiries/search"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Missing required parameter: q"));
+    }
+
+    @Test
+    void nonNumericLastEventIdIsABadRequest() throws Exception {
+        mvc.perform(get("/api/inquiries/events").header("Last-Event-ID", "abc"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid value for Last-Event-ID: abc"));
+    }
+
+    static TradeInquiry inquiry(String partner, String title) {
+        return new TradeInquiry(title, "Description of " + title, partner, new BigDecimal("1000.00"));
+    }
+}
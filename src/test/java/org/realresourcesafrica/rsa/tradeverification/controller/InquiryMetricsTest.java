@@ -0,0 +1,115 @@
+package org.realresourcesafrica.rsa.tradeverification.controller;
+
+import org.realresourcesafrica.rsa.tradeverification.config.DataInitializer;
+import org.realresourcesafrica.rsa.tradeverification.dto.StatusUpdateRequest;
+import org.realresourcesafrica.rsa.tradeverification.entity.TradeInquiry;
+import org.realresourcesafrica.rsa.tradeverification.service.TradeInquiryService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Service timers, committed transition counters and response size summaries
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class InquiryMetricsTest {
+
+    @MockitoBean
+    DataInitializer dataInitializer;
+
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    MeterRegistry registry;
+
+    @Autowired
+    TradeInquiryService inquiryService;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    void serviceOperationsAreTimed() {
+        TradeInquiry inquiry = inquiryService.createInquiry(InquiryListingTest.inquiry("Metrics Partner", "Metrics timed"));
+        long before = timedCalls("get");
+
+        inquiryService.getInquiryById(inquiry.getId());
+        inquiryService.getInquiryById(inquiry.getId());
+
+        assertThat(timedCalls("get")).isEqualTo(before + 2);
+    }
+
+    @Test
+    void onlyCommittedTransitionsAreCounted() {
+        TradeInquiry verified = inquiryService.createInquiry(InquiryListingTest.inquiry("Metrics Partner", "Metrics verified"));
+        TradeInquiry rolledBack = inquiryService.createInquiry(InquiryListingTest.inquiry("Metrics Partner", "Metrics rolled back"));
+        double before = transitions("PENDING_VERIFICATION", "VERIFIED").count();
+
+        inquiryService.updateInquiryStatus(verified.getId(), new StatusUpdateRequest("VERIFIED"));
+        new TransactionTemplate(transactionManager).executeWithoutResult(tx -> {
+            inquiryService.updateInquiryStatus(rolledBack.getId(), new StatusUpdateRequest("VERIFIED"));
+            tx.setRollbackOnly();
+        });
+
+        assertThat(transitions("PENDING_VERIFICATION", "VERIFIED").count()).isEqualTo(before + 1);
+    }
+
+    @Test
+    void listResponsesRecordRowsAndBytesPerRoute() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            inquiryService.createInquiry(InquiryListingTest.inquiry("Metrics Sized Partner", "Metrics sized " + i));
+        }
+        String uri = "/api/partners/{partner}/inquiries";
+        long calls = recorded(uri);
+        double rows = rowsRecorded(uri);
+
+        int length = mvc.perform(get("/api/partners/Metrics Sized Partner/inquiries"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray().length;
+
+        assertThat(recorded(uri)).isEqualTo(calls + 1);
+        assertThat(rowsRecorded(uri)).isEqualTo(rows + 3);
+        assertThat(registry.get("inquiries.response.payload").tag("uri", uri).summary().max())
+                .isGreaterThanOrEqualTo(length);
+    }
+
+    /**
+     * Calls recorded by the service timers of one operation, over all their other tags
+     */
+    private long timedCalls(String operation) {
+        return registry.find("inquiries.service").tag("operation", operation).timers().stream()
+                .mapToLong(Timer::count).sum();
+    }
+
+    private Counter transitions(String from, String to) {
+        return registry.get("inquiries.status.transitions").tag("from", from).tag("to", to).counter();
+    }
+
+    private long recorded(String uri) {
+        return registry.find("inquiries.response.rows").tag("uri", uri).summaries().stream()
+                .mapToLong(DistributionSummary::count).sum();
+    }
+
+    private double rowsRecorded(String uri) {
+        return registry.find("inquiries.response.rows").tag("uri", uri).summaries().stream()
+                .mapToDouble(DistributionSummary::totalAmount).sum();
+    }
+}
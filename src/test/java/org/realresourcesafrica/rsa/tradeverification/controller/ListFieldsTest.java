@@ -0,0 +1,81 @@
+package org.realresourcesafrica.rsa.tradeverification.controller;
+
+import org.realresourcesafrica.rsa.tradeverification.config.DataInitializer;
+import org.realresourcesafrica.rsa.tradeverification.entity.TradeInquiry;
+import org.realresourcesafrica.rsa.tradeverification.service.TradeInquiryService;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * List endpoints return summary rows from a projection, without the description unless asked for
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ListFieldsTest {
+
+    @MockitoBean
+    DataInitializer dataInitializer;
+
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    TradeInquiryService inquiryService;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void rowsLeaveOutTheDescriptionWithoutLoadingEntities() throws Exception {
+        TradeInquiry original = inquiryService.createInquiry(InquiryListingTest.inquiry("Fields Partner", "Fields original"));
+        // Same text, so it is flagged as a near-duplicate of the first
+        TradeInquiry duplicate = inquiryService.createInquiry(InquiryListingTest.inquiry("Fields Partner", "Fields original"));
+        assertThat(duplicate.getDuplicateOf()).isEqualTo(original.getId());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long loaded = statistics.getEntityLoadCount();
+
+        mvc.perform(get("/api/partners/Fields Partner/inquiries"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(2)))
+                .andExpect(jsonPath("$.data[0].id").value(duplicate.getId()))
+                .andExpect(jsonPath("$.data[0].title").value("Fields original"))
+                .andExpect(jsonPath("$.data[0].description").doesNotExist())
+                .andExpect(jsonPath("$.data[0].duplicateOf").value(original.getId()))
+                .andExpect(jsonPath("$.data[1].duplicateOf").doesNotExist());
+
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(loaded);
+    }
+
+    @Test
+    void descriptionIsIncludedWhenAskedFor() throws Exception {
+        TradeInquiry inquiry = inquiryService.createInquiry(InquiryListingTest.inquiry("Described Partner", "Fields described"));
+
+        mvc.perform(get("/api/partners/Described Partner/inquiries?fields=id,title,description"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].id").value(inquiry.getId()))
+                .andExpect(jsonPath("$.data[0].description").value("Description of Fields described"));
+    }
+
+    @Test
+    void unknownFieldsAreABadRequest() throws Exception {
+        mvc.perform(get("/api/inquiries?fields=id,secret"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+}
@@ -0,0 +1,166 @@
+package org.realresourcesafrica.rsa.tradeverification.controller;
+
+import org.realresourcesafrica.rsa.tradeverification.config.DataInitializer;
+import org.realresourcesafrica.rsa.tradeverification.dto.StatusUpdateRequest;
+import org.realresourcesafrica.rsa.tradeverification.entity.InquiryStatus;
+import org.realresourcesafrica.rsa.tradeverification.entity.TradeInquiry;
+import org.realresourcesafrica.rsa.tradeverification.exception.InquiryConflictException;
+import org.realresourcesafrica.rsa.tradeverification.service.TradeInquiryService;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * PUT /api/inquiries/{id}/status applies transitions as conditional updates on (id, status, version)
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StatusUpdateTest {
+
+    @MockitoBean
+    DataInitializer dataInitializer;
+
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    TradeInquiryService inquiryService;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    void staleVersionIsAConflict() throws Exception {
+        long id = create("Stale version");
+        inquiryService.updateInquiryStatus(id, new StatusUpdateRequest("VERIFIED"));
+
+        mvc.perform(put("/api/inquiries/" + id + "/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"REJECTED\",\"version\":0}"))
+                .andExpect(status().isConflict());
+
+        assertThat(jdbc.queryForObject("SELECT status FROM trade_inquiries WHERE id = ?", String.class, id))
+                .isEqualTo("V");
+    }
+
+    @Test
+    void rowChangedBehindTheCacheIsAConflictForTheVersionTheClientSaw() throws Exception {
+        long id = create("Changed behind cache");
+        mvc.perform(get("/api/inquiries/" + id)).andExpect(status().isOk());
+        // Another writer that bypasses the service (so the cached snapshot is now stale)
+        jdbc.update("UPDATE trade_inquiries SET status = 'R', version = version + 1 WHERE id = ?", id);
+
+        mvc.perform(put("/api/inquiries/" + id + "/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"VERIFIED\",\"version\":0}"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void unversionedUpdateRetriesAgainstTheCurrentRow() throws Exception {
+        long id = create("Unversioned retry");
+        mvc.perform(get("/api/inquiries/" + id)).andExpect(status().isOk());
+        jdbc.update("UPDATE trade_inquiries SET status = 'R', version = version + 1 WHERE id = ?", id);
+
+        mvc.perform(put("/api/inquiries/" + id + "/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"VERIFIED\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.status").value("VERIFIED"))
+                .andExpect(jsonPath("$.data.version").value(2));
+    }
+
+    @Test
+    void disallowedTransitionIsABadRequest() throws Exception {
+        long id = create("Disallowed transition");
+        inquiryService.updateInquiryStatus(id, new StatusUpdateRequest("VERIFIED"));
+
+        mvc.perform(put("/api/inquiries/" + id + "/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"PENDING_VERIFICATION\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void concurrentVerifiersWithTheSameVersionProduceOneWinner() throws Exception {
+        long id = create("Racing verifiers");
+        int racers = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(racers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> outcomes = new ArrayList<>();
+            for (int i = 0; i < racers; i++) {
+                String target = i % 2 == 0 ? "VERIFIED" : "REJECTED";
+                Callable<Boolean> attempt = () -> {
+                    start.await();
+                    StatusUpdateRequest request = new StatusUpdateRequest(target);
+                    request.setVersion(0L);
+                    try {
+                        inquiryService.updateInquiryStatus(id, request);
+                        return true;
+                    } catch (InquiryConflictException ex) {
+                        return false;
+                    }
+                };
+                outcomes.add(pool.submit(attempt));
+            }
+            start.countDown();
+
+            int winners = 0;
+            for (Future<Boolean> outcome : outcomes) {
+                winners += outcome.get() ? 1 : 0;
+            }
+            assertThat(winners).isEqualTo(1);
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(jdbc.queryForObject("SELECT version FROM trade_inquiries WHERE id = ?", Long.class, id)).isEqualTo(1L);
+    }
+
+    @Test
+    void rolledBackUpdateDoesNotReachTheCache() throws Exception {
+        long id = create("Rolled back update");
+        mvc.perform(get("/api/inquiries/" + id)).andExpect(status().isOk());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(tx -> {
+            inquiryService.updateInquiryStatus(id, new StatusUpdateRequest("VERIFIED"));
+            tx.setRollbackOnly();
+        });
+
+        mvc.perform(get("/api/inquiries/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.status").value(InquiryStatus.PENDING_VERIFICATION.name()))
+                .andExpect(jsonPath("$.data.version").value(0));
+    }
+
+    private long create(String title) {
+        return inquiryService.createInquiry(new TradeInquiry(title, "Status update test", "Status Partner", null)).getId();
+    }
+}
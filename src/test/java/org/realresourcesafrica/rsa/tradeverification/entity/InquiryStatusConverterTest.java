@@ -0,0 +1,40 @@
+package org.realresourcesafrica.rsa.tradeverification.entity;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class InquiryStatusConverterTest {
+
+    private final InquiryStatusConverter converter = new InquiryStatusConverter();
+
+    @ParameterizedTest
+    @EnumSource(InquiryStatus.class)
+    void everyStatusRoundTripsThroughItsCode(InquiryStatus status) {
+        String code = converter.convertToDatabaseColumn(status);
+
+        assertThat(code).hasSize(1);
+        assertThat(converter.convertToEntityAttribute(code)).isSameAs(status);
+    }
+
+    @Test
+    void codesAreThePersistedLetters() {
+        assertThat(converter.convertToDatabaseColumn(InquiryStatus.PENDING_VERIFICATION)).isEqualTo("P");
+        assertThat(converter.convertToDatabaseColumn(InquiryStatus.VERIFIED)).isEqualTo("V");
+        assertThat(converter.convertToDatabaseColumn(InquiryStatus.REJECTED)).isEqualTo("R");
+    }
+
+    @Test
+    void nullStaysNull() {
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+    }
+
+    @Test
+    void unknownCodeIsRejected() {
+        assertThatIllegalArgumentException().isThrownBy(() -> converter.convertToEntityAttribute("X"));
+    }
+}
@@ -0,0 +1,142 @@
+package org.realresourcesafrica.rsa.tradeverification.repository;
+
+import org.realresourcesafrica.rsa.tradeverification.dto.InquirySummary;
+import org.realresourcesafrica.rsa.tradeverification.entity.InquiryStatus;
+import org.realresourcesafrica.rsa.tradeverification.entity.TradeInquiry;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Status-filtered queries use the (status, created_at, id) index and the status column holds
+ * the one-character code. Plans are taken for the SQL Hibernate actually prepares, recorded by
+ * {@link RecordedStatements}, so they follow any change to the queries or the mapping.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "org.realresourcesafrica.rsa.tradeverification.repository.TradeInquiryRepositoryTest$RecordedStatements")
+class TradeInquiryRepositoryTest {
+
+    @Autowired
+    TradeInquiryRepository repository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    private final LocalDateTime base = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    @BeforeEach
+    void insertInquiries() {
+        InquiryStatus[] statuses = InquiryStatus.values();
+        for (int i = 0; i < 300; i++) {
+            TradeInquiry inquiry = new TradeInquiry("Inquiry " + i, "Description " + i,
+                    "Partner " + (i % 7), new BigDecimal(i));
+            inquiry.setStatus(statuses[i % statuses.length]);
+            inquiry.setCreatedAt(base.plusMinutes(i / 2));
+            entityManager.persist(inquiry);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        jdbc.execute("ANALYZE");
+    }
+
+    @Test
+    void statusKeysetPageUsesStatusCreatedAtIndex() {
+        LocalDateTime after = base.plusHours(1);
+        String sql = recorded(() -> repository.findSummaryPageByStatusAfter(InquiryStatus.VERIFIED, after,
+                1_000_000L, PageRequest.of(0, 51)));
+
+        assertThat(sql).containsIgnoringCase("duplicate_of");
+        assertThat(explain(sql, "V", Timestamp.valueOf(after), Timestamp.valueOf(after), 1_000_000L, 51))
+                .containsIgnoringCase("IDX_TRADE_INQUIRIES_STATUS_CREATED_AT");
+    }
+
+    @Test
+    void firstStatusPageUsesStatusCreatedAtIndex() {
+        String sql = recorded(() -> repository.findFirstSummaryPageByStatus(InquiryStatus.REJECTED, PageRequest.of(0, 51)));
+
+        assertThat(explain(sql, "R", 51)).containsIgnoringCase("IDX_TRADE_INQUIRIES_STATUS_CREATED_AT");
+    }
+
+    @Test
+    void countByStatusUsesStatusCreatedAtIndex() {
+        String sql = recorded(() -> repository.countByStatus(InquiryStatus.PENDING_VERIFICATION));
+
+        assertThat(explain(sql, "P")).containsIgnoringCase("IDX_TRADE_INQUIRIES_STATUS_CREATED_AT");
+    }
+
+    @Test
+    void statusKeysetPagesAreContiguous() {
+        List<InquirySummary> first = repository.findFirstSummaryPageByStatus(InquiryStatus.VERIFIED, PageRequest.of(0, 10));
+        InquirySummary last = first.get(first.size() - 1);
+        List<InquirySummary> second = repository.findSummaryPageByStatusAfter(InquiryStatus.VERIFIED,
+                last.getCreatedAt(), last.getId(), PageRequest.of(0, 10));
+
+        assertThat(first).hasSize(10).allMatch(row -> row.getStatus() == InquiryStatus.VERIFIED);
+        assertThat(second).hasSize(10).allMatch(row -> row.getStatus() == InquiryStatus.VERIFIED);
+        List<InquirySummary> both = new ArrayList<>(first);
+        both.addAll(second);
+        List<InquirySummary> expected = repository.findFirstSummaryPageByStatus(InquiryStatus.VERIFIED, PageRequest.of(0, 20));
+        assertThat(both).extracting(InquirySummary::getId)
+                .containsExactlyElementsOf(expected.stream().map(InquirySummary::getId).toList());
+    }
+
+    @Test
+    void statusIsStoredAsItsCode() {
+        List<String> codes = jdbc.queryForList("SELECT DISTINCT status FROM trade_inquiries ORDER BY status", String.class);
+
+        assertThat(codes).containsExactly("P", "R", "V");
+        assertThat(repository.countByStatus(InquiryStatus.REJECTED))
+                .isEqualTo(jdbc.queryForObject("SELECT COUNT(*) FROM trade_inquiries WHERE status = 'R'", Long.class));
+    }
+
+    /**
+     * Run a query and return the one statement Hibernate prepared for it
+     */
+    private String recorded(Runnable query) {
+        RecordedStatements.STATEMENTS.clear();
+        query.run();
+        assertThat(RecordedStatements.STATEMENTS).hasSize(1);
+        return RecordedStatements.STATEMENTS.get(0);
+    }
+
+    /**
+     * @param args Values for the statement's parameters, in order
+     */
+    private String explain(String sql, Object... args) {
+        assertThat(sql.chars().filter(c -> c == '?').count()).as("parameters of %s", sql).isEqualTo(args.length);
+        return jdbc.queryForObject("EXPLAIN " + sql, String.class, args);
+    }
+
+    /**
+     * Hibernate statement inspector that keeps what it sees; instantiated by Hibernate, so the
+     * statements live in a static list cleared by {@link #recorded}
+     */
+    public static class RecordedStatements implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
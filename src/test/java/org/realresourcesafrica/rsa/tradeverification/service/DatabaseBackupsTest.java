@@ -0,0 +1,94 @@
+package org.realresourcesafrica.rsa.tradeverification.service;
+
+import org.realresourcesafrica.rsa.tradeverification.config.InquiryProperties;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Online backups of a file-backed H2 database and pruning of old ones
+ */
+class DatabaseBackupsTest {
+
+    @TempDir
+    Path directory;
+
+    private final InquiryProperties properties = new InquiryProperties();
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new SingleConnectionDataSource(
+                "jdbc:h2:file:" + directory.resolve("db/tradedb") + ";DB_CLOSE_ON_EXIT=FALSE", "sa", "", true);
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE t (id INT PRIMARY KEY)");
+        jdbc.execute("INSERT INTO t VALUES (1)");
+        properties.getBackup().setEnabled(true);
+        properties.getBackup().setDirectory(directory.resolve("backups").toString());
+        properties.getBackup().setRetained(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.execute("SHUTDOWN");
+        dataSource.destroy();
+    }
+
+    @Test
+    void backupIsAZipOfTheDatabaseFile() throws Exception {
+        new DatabaseBackups(jdbc, properties).backup();
+
+        List<Path> backups = backups();
+        assertThat(backups).singleElement().satisfies(backup -> {
+            assertThat(backup.getFileName().toString()).matches("tradedb-\\d{8}T\\d{6}Z\\.zip");
+            try (ZipFile zip = new ZipFile(backup.toFile())) {
+                assertThat(zip.stream().map(ZipEntry::getName)).contains("tradedb.mv.db");
+            }
+        });
+    }
+
+    @Test
+    void onlyTheNewestBackupsAreKept() throws Exception {
+        Path backupDirectory = Files.createDirectories(directory.resolve("backups"));
+        Files.createFile(backupDirectory.resolve("tradedb-20200101T000000Z.zip"));
+        Files.createFile(backupDirectory.resolve("tradedb-20210101T000000Z.zip"));
+        Files.createFile(backupDirectory.resolve("notes.txt"));
+
+        new DatabaseBackups(jdbc, properties).backup();
+
+        assertThat(backups()).extracting(file -> file.getFileName().toString())
+                .hasSize(2)
+                .contains("tradedb-20210101T000000Z.zip")
+                .doesNotContain("tradedb-20200101T000000Z.zip");
+        assertThat(backupDirectory.resolve("notes.txt")).exists();
+    }
+
+    @Test
+    void disabledBackupsWriteNothing() throws Exception {
+        properties.getBackup().setEnabled(false);
+
+        new DatabaseBackups(jdbc, properties).backup();
+
+        assertThat(directory.resolve("backups")).doesNotExist();
+    }
+
+    private List<Path> backups() throws Exception {
+        try (Stream<Path> files = Files.list(directory.resolve("backups"))) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".zip")).sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package org.realresourcesafrica.rsa.tradeverification.service;
+
+import org.realresourcesafrica.rsa.tradeverification.config.InquiryProperties;
+import org.realresourcesafrica.rsa.tradeverification.entity.TradeInquiry;
+import org.realresourcesafrica.rsa.tradeverification.repository.TradeInquiryRepository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Band lookup of {@link DuplicateDetector} with signatures chosen bit by bit, and the
+ * {@link SimHash} distances it relies on
+ */
+class DuplicateDetectorTest {
+
+    // With the default distance of 4 the signature is cut into five bands of 13, 13, 13, 13 and 12 bits
+    private static final long BASE = 0x5a5a_f0f0_3c3c_9696L;
+
+    private final DuplicateDetector detector = new DuplicateDetector(mock(TradeInquiryRepository.class), new InquiryProperties());
+
+    @Test
+    void findsSignaturesUpToTheMaximumDistanceWhicheverBandsDiffer() {
+        // Four flipped bits spread over four different bands still leave the fifth band equal
+        index("Partner", 1, BASE ^ bits(0, 13, 26, 39));
+
+        assertThat(detector.findDuplicate("partner", BASE)).isEqualTo(1L);
+    }
+
+    @Test
+    void ignoresSignaturesBeyondTheMaximumDistance() {
+        // One flipped bit per band: no band agrees and the distance is five
+        index("Partner", 1, BASE ^ bits(0, 13, 26, 39, 52));
+        // Five flipped bits inside one band: four bands agree but the distance is still five
+        index("Partner", 2, BASE ^ bits(0, 1, 2, 3, 4));
+
+        assertThat(detector.findDuplicate("partner", BASE)).isNull();
+    }
+
+    @Test
+    void prefersTheClosestAndThenTheNewestInquiry() {
+        index("Partner", 1, BASE ^ bits(3));
+        index("Partner", 2, BASE ^ bits(60, 61));
+        index("Partner", 3, BASE ^ bits(40));
+
+        assertThat(detector.findDuplicate("partner", BASE)).isEqualTo(3L);
+        assertThat(detector.findDuplicate("partner", BASE ^ bits(60))).isEqualTo(2L);
+    }
+
+    @Test
+    void lookupsStayWithinThePartnerAndSkipDeletedInquiries() {
+        index("Partner", 1, BASE);
+        index("Other Partner", 2, BASE);
+        TradeInquiry deleted = inquiry("Partner", 3);
+        detector.onCreated(List.of(deleted), new long[] {BASE});
+
+        detector.onDeleted(deleted);
+
+        assertThat(detector.findDuplicate("partner", BASE)).isEqualTo(1L);
+        assertThat(detector.findDuplicate("other partner", BASE)).isEqualTo(2L);
+        assertThat(detector.findDuplicate("nobody", BASE)).isNull();
+    }
+
+    @Test
+    void tablesKeepFindingEveryEntryAfterGrowing() {
+        for (long id = 1; id <= 1000; id++) {
+            index("Partner", id, BASE * id);
+        }
+
+        for (long id = 1; id <= 1000; id += 37) {
+            assertThat(detector.findDuplicate("partner", BASE * id ^ bits(63, 7))).isEqualTo(id);
+        }
+    }
+
+    @Test
+    void bulkDeletesCompactTheIndexAndKeepTheRestFindable() {
+        List<TradeInquiry> archived = new ArrayList<>();
+        for (long id = 1; id <= 10_000; id++) {
+            index("Partner", id, BASE * id);
+            if (id % 10 != 0) {
+                archived.add(inquiry("Partner", id));
+            }
+        }
+
+        detector.onDeleted(archived);
+
+        assertThat(detector.indexedEntries("partner")).isLessThan(2_000);
+        for (long id = 1; id <= 10_000; id += 7) {
+            Long expected = id % 10 == 0 ? id : null;
+            assertThat(detector.findDuplicate("partner", BASE * id ^ bits(63, 7))).isEqualTo(expected);
+        }
+        index("Partner", 10_001, BASE);
+        assertThat(detector.findDuplicate("partner", BASE)).isEqualTo(10_001L);
+    }
+
+    @Test
+    void indexingAnInquiryAgainReplacesItsSignature() {
+        index("Partner", 1, BASE);
+        index("Partner", 1, ~BASE);
+
+        assertThat(detector.findDuplicate("partner", BASE)).isNull();
+        assertThat(detector.findDuplicate("partner", ~BASE)).isEqualTo(1L);
+
+        detector.onDeleted(inquiry("Partner", 1));
+        assertThat(detector.findDuplicate("partner", ~BASE)).isNull();
+    }
+
+    @Test
+    void editedTextsStayCloseAndUnrelatedTextsDoNot() {
+        String description = "Two containers of washed arabica coffee beans, grade AA, from the Kivu region, "
+                + "shipped through Mombasa with phytosanitary certificates and a certificate of origin";
+        long original = SimHash.of("Arabica coffee export", description);
+        long edited = SimHash.of("Arabica coffee export", description.replace("Two", "Three"));
+        long unrelated = SimHash.of("Cobalt hydroxide", "Ten tonnes of cobalt hydroxide from Kolwezi by rail");
+
+        assertThat(SimHash.of("ARABICA  coffee, export!", description)).isEqualTo(original);
+        assertThat(SimHash.distance(original, edited)).isLessThanOrEqualTo(4);
+        assertThat(SimHash.distance(original, unrelated)).isGreaterThan(4);
+    }
+
+    private void index(String partner, long id, long signature) {
+        detector.onCreated(List.of(inquiry(partner, id)), new long[] {signature});
+    }
+
+    private static TradeInquiry inquiry(String partner, long id) {
+        TradeInquiry inquiry = new TradeInquiry("Title", "Description", partner, null);
+        inquiry.setId(id);
+        return inquiry;
+    }
+
+    private static long bits(int... positions) {
+        long mask = 0;
+        for (int position : positions) {
+            mask |= 1L << position;
+        }
+        return mask;
+    }
+}
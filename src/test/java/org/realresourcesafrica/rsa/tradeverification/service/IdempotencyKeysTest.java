@@ -0,0 +1,88 @@
+package org.realresourcesafrica.rsa.tradeverification.service;
+
+import org.realresourcesafrica.rsa.tradeverification.config.InquiryProperties;
+import org.realresourcesafrica.rsa.tradeverification.entity.TradeInquiry;
+import org.realresourcesafrica.rsa.tradeverification.exception.InquiryConflictException;
+import org.realresourcesafrica.rsa.tradeverification.exception.InvalidIdempotencyKeyException;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Reserving, replaying and refusing Idempotency-Keys
+ */
+class IdempotencyKeysTest {
+
+    private final IdempotencyKeys keys = new IdempotencyKeys(new InquiryProperties());
+
+    @Test
+    void retryAfterCommitReplaysTheFirstInquiry() {
+        IdempotencyKeys.Reservation first = keys.reserve("key-1", inquiry("Coffee", "Lot", "Partner", "10.50"));
+        assertThat(first.isReplay()).isFalse();
+        first.complete(42L);
+
+        // Same body up to the partner's spelling and the value's scale
+        IdempotencyKeys.Reservation retry = keys.reserve("key-1", inquiry("Coffee", "Lot", " PARTNER ", "10.5"));
+
+        assertThat(retry.isReplay()).isTrue();
+        assertThat(retry.getInquiryId()).isEqualTo(42L);
+    }
+
+    @Test
+    void retryWhileTheFirstIsRunningIsAConflict() {
+        keys.reserve("key-2", inquiry("Coffee", "Lot", "Partner", "10"));
+
+        assertThatThrownBy(() -> keys.reserve("key-2", inquiry("Coffee", "Lot", "Partner", "10")))
+                .isInstanceOf(InquiryConflictException.class);
+    }
+
+    @Test
+    void releasedKeysCanBeReserved() {
+        keys.reserve("key-3", inquiry("Coffee", "Lot", "Partner", "10")).release();
+
+        assertThat(keys.reserve("key-3", inquiry("Coffee", "Lot", "Partner", "10")).isReplay()).isFalse();
+    }
+
+    @Test
+    void reusingAKeyForADifferentInquiryIsRefused() {
+        keys.reserve("key-4", inquiry("Coffee", "Lot", "Partner", "10")).complete(1L);
+
+        assertThatThrownBy(() -> keys.reserve("key-4", inquiry("Coffee", "Lot", "Partner", "11")))
+                .isInstanceOf(InvalidIdempotencyKeyException.class);
+        assertThatThrownBy(() -> keys.reserve("key-4", inquiry("Coffee", "Lot 2", "Partner", "10")))
+                .isInstanceOf(InvalidIdempotencyKeyException.class);
+    }
+
+    @Test
+    void keysAreScopedToThePartner() {
+        keys.reserve("key-5", inquiry("Coffee", "Lot", "Partner", "10")).complete(1L);
+
+        assertThat(keys.reserve("key-5", inquiry("Coffee", "Lot", "Other Partner", "10")).isReplay()).isFalse();
+    }
+
+    @Test
+    void overlongKeysAreRefused() {
+        String key = "k".repeat(IdempotencyKeys.MAX_KEY_LENGTH + 1);
+
+        assertThatThrownBy(() -> keys.reserve(key, inquiry("Coffee", "Lot", "Partner", "10")))
+                .isInstanceOf(InvalidIdempotencyKeyException.class);
+    }
+
+    @Test
+    void fingerprintKeepsFieldBoundariesAndNulls() {
+        assertThat(IdempotencyKeys.fingerprint(inquiry("ab", "c", "Partner", null)))
+                .isNotEqualTo(IdempotencyKeys.fingerprint(inquiry("a", "bc", "Partner", null)));
+        assertThat(IdempotencyKeys.fingerprint(inquiry("Coffee", null, "Partner", null)))
+                .isNotEqualTo(IdempotencyKeys.fingerprint(inquiry("Coffee", "", "Partner", null)));
+        assertThat(IdempotencyKeys.fingerprint(inquiry("Coffee", "Lot", "Partner", "100")))
+                .isEqualTo(IdempotencyKeys.fingerprint(inquiry("Coffee", "Lot", "Partner", "1E+2")));
+    }
+
+    private static TradeInquiry inquiry(String title, String description, String partner, String value) {
+        return new TradeInquiry(title, description, partner, value != null ? new BigDecimal(value) : null);
+    }
+}
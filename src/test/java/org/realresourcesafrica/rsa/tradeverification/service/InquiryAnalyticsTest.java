@@ -0,0 +1,114 @@
+package org.realresourcesafrica.rsa.tradeverification.service;
+
+import org.realresourcesafrica.rsa.tradeverification.config.InquiryProperties;
+import org.realresourcesafrica.rsa.tradeverification.dto.AnalyticsBucket;
+import org.realresourcesafrica.rsa.tradeverification.entity.InquiryStatus;
+import org.realresourcesafrica.rsa.tradeverification.entity.TradeInquiry;
+import org.realresourcesafrica.rsa.tradeverification.repository.TradeInquiryRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Analytics across archiving: the table is a list of inquiries behind a mocked
+ * {@code streamAnalyticsRows}, and archiving moves some of them into a real segment.
+ */
+class InquiryAnalyticsTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+
+    @TempDir
+    Path directory;
+
+    private final TradeInquiryRepository repository = mock(TradeInquiryRepository.class);
+    private final List<TradeInquiry> table = new ArrayList<>();
+    private InquiryArchive archive;
+    private InquiryAnalytics analytics;
+
+    @BeforeEach
+    void setUp() {
+        InquiryProperties properties = new InquiryProperties();
+        properties.getArchive().setDirectory(directory.toString());
+        when(repository.countByIdIn(anyCollection())).thenReturn(0L);
+        when(repository.streamAnalyticsRows()).thenAnswer(invocation -> table.stream().map(InquiryAnalyticsTest::row));
+        archive = new InquiryArchive(repository, properties);
+        archive.load();
+        analytics = new InquiryAnalytics(repository, archive);
+    }
+
+    @Test
+    void archivedInquiriesStayInTheAggregatesAndInRebuilds() {
+        table.add(inquiry(1, InquiryStatus.PENDING_VERIFICATION, "100.00"));
+        table.add(inquiry(2, InquiryStatus.VERIFIED, "200.00"));
+        table.add(inquiry(3, InquiryStatus.REJECTED, "300.00"));
+        analytics.rebuild();
+        AnalyticsBucket before = bucket();
+
+        // What the archiver does: append the resolved rows to a segment and delete them from the table
+        List<TradeInquiry> resolved = List.copyOf(table.subList(1, 3));
+        archive.append(resolved);
+        table.removeAll(resolved);
+
+        AnalyticsBucket after = bucket();
+        analytics.rebuild();
+        AnalyticsBucket rebuilt = bucket();
+
+        assertThat(before.getCount()).isEqualTo(3);
+        assertThat(before.getTotalValue()).isEqualByComparingTo("600.00");
+        for (AnalyticsBucket bucket : List.of(after, rebuilt)) {
+            assertThat(bucket.getCount()).isEqualTo(before.getCount());
+            assertThat(bucket.getCountsByStatus()).isEqualTo(before.getCountsByStatus());
+            assertThat(bucket.getTotalValue()).isEqualByComparingTo(before.getTotalValue());
+            assertThat(bucket.getValuePercentiles()).isEqualTo(before.getValuePercentiles());
+        }
+    }
+
+    private AnalyticsBucket bucket() {
+        List<AnalyticsBucket> buckets = analytics.query(DAY, DAY, InquiryAnalytics.Granularity.DAY, null);
+        assertThat(buckets).hasSize(1);
+        return buckets.get(0);
+    }
+
+    private static TradeInquiry inquiry(long id, InquiryStatus status, String value) {
+        TradeInquiry inquiry = new TradeInquiry("Analytics " + id, "Description " + id, "Analytics Partner",
+                new BigDecimal(value));
+        inquiry.setId(id);
+        inquiry.setVersion(1L);
+        inquiry.setStatus(status);
+        inquiry.setCreatedAt(DAY.atTime(9, 0).plusMinutes(id));
+        inquiry.setUpdatedAt(inquiry.getCreatedAt());
+        return inquiry;
+    }
+
+    private static TradeInquiryRepository.AnalyticsRow row(TradeInquiry inquiry) {
+        return new TradeInquiryRepository.AnalyticsRow() {
+            @Override
+            public LocalDateTime getCreatedAt() {
+                return inquiry.getCreatedAt();
+            }
+
+            @Override
+            public InquiryStatus getStatus() {
+                return inquiry.getStatus();
+            }
+
+            @Override
+            public BigDecimal getEstimatedValue() {
+                return inquiry.getEstimatedValue();
+            }
+        };
+    }
+}
@@ -0,0 +1,135 @@
+package org.realresourcesafrica.rsa.tradeverification.service;
+
+import org.realresourcesafrica.rsa.tradeverification.config.InquiryProperties;
+import org.realresourcesafrica.rsa.tradeverification.entity.InquiryStatus;
+import org.realresourcesafrica.rsa.tradeverification.entity.TradeInquiry;
+import org.realresourcesafrica.rsa.tradeverification.repository.TradeInquiryRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Publishing archive segments and settling the ones a crash left behind. The table is a set
+ * of ids behind a mocked {@code countByIdIn}.
+ */
+class InquiryArchiveTest {
+
+    @TempDir
+    Path directory;
+
+    private final TradeInquiryRepository repository = mock(TradeInquiryRepository.class);
+    private final Set<Long> table = new HashSet<>();
+    private final InquiryProperties properties = new InquiryProperties();
+
+    @BeforeEach
+    void setUp() {
+        properties.getArchive().setDirectory(directory.toString());
+        when(repository.countByIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().filter(table::contains).count();
+        });
+    }
+
+    @Test
+    void appendedSegmentsAreReadableAndSurviveARestart() throws Exception {
+        InquiryArchive archive = loaded();
+        archive.append(inquiries(1, 3));
+
+        assertThat(archive.find(2)).hasValueSatisfying(inquiry -> {
+            assertThat(inquiry.getTitle()).isEqualTo("Archived 2");
+            assertThat(inquiry.getEstimatedValue()).isEqualByComparingTo("200.50");
+        });
+        assertThat(archive.count(InquiryStatus.VERIFIED)).isEqualTo(3);
+
+        assertThat(loaded().find(3)).isPresent();
+        assertThat(files()).containsExactly("inquiries-0000000001.seg");
+    }
+
+    @Test
+    void pendingSegmentWhoseDeleteCommittedIsPublished() throws Exception {
+        ArchiveSegment.write(directory.resolve("inquiries-0000000001.seg.pending"), inquiries(1, 3));
+
+        InquiryArchive archive = loaded();
+
+        assertThat(archive.total()).isEqualTo(3);
+        assertThat(archive.find(1)).isPresent();
+        assertThat(files()).containsExactly("inquiries-0000000001.seg");
+    }
+
+    @Test
+    void pendingSegmentWhoseDeleteRolledBackIsDiscarded() throws Exception {
+        ArchiveSegment.write(directory.resolve("inquiries-0000000001.seg.pending"), inquiries(1, 3));
+        table.addAll(List.of(1L, 2L, 3L));
+
+        InquiryArchive archive = loaded();
+
+        assertThat(archive.total()).isZero();
+        assertThat(archive.find(1)).isEmpty();
+        assertThat(files()).isEmpty();
+    }
+
+    @Test
+    void publishedSegmentsWhoseDeleteWasLostAreDiscarded() throws Exception {
+        InquiryArchive archive = loaded();
+        archive.append(inquiries(1, 2));
+        archive.append(inquiries(3, 4));
+        archive.append(inquiries(5, 6));
+        // The crash lost the last two deletes, so their rows are back in the table
+        table.addAll(List.of(3L, 4L, 5L, 6L));
+
+        InquiryArchive restarted = loaded();
+
+        assertThat(restarted.total()).isEqualTo(2);
+        assertThat(restarted.find(1)).isPresent();
+        assertThat(restarted.find(5)).isEmpty();
+        assertThat(files()).containsExactly("inquiries-0000000001.seg");
+
+        // New segments continue the sequence
+        restarted.append(inquiries(7, 7));
+        assertThat(files()).containsExactly("inquiries-0000000001.seg", "inquiries-0000000004.seg");
+    }
+
+    private InquiryArchive loaded() {
+        InquiryArchive archive = new InquiryArchive(repository, properties);
+        archive.load();
+        return archive;
+    }
+
+    private List<String> files() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).sorted().toList();
+        }
+    }
+
+    private static List<TradeInquiry> inquiries(long fromId, long toId) {
+        List<TradeInquiry> inquiries = new ArrayList<>();
+        for (long id = fromId; id <= toId; id++) {
+            TradeInquiry inquiry = new TradeInquiry("Archived " + id, "Description " + id, "Archive Partner",
+                    new BigDecimal(id * 100 + ".50"));
+            inquiry.setId(id);
+            inquiry.setVersion(1L);
+            inquiry.setStatus(InquiryStatus.VERIFIED);
+            inquiry.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0).plusDays(id));
+            inquiry.setUpdatedAt(inquiry.getCreatedAt().plusHours(1));
+            inquiries.add(inquiry);
+        }
+        return inquiries;
+    }
+}
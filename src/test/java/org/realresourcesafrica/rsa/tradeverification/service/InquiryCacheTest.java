@@ -0,0 +1,184 @@
+package org.realresourcesafrica.rsa.tradeverification.service;
+
+import org.realresourcesafrica.rsa.tradeverification.config.InquiryProperties;
+import org.realresourcesafrica.rsa.tradeverification.entity.InquiryStatus;
+import org.realresourcesafrica.rsa.tradeverification.entity.TradeInquiry;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Read-through behaviour of {@link InquiryCache} and its after-commit invalidation
+ */
+class InquiryCacheTest {
+
+    private final InquiryCache cache = new InquiryCache(new InquiryProperties());
+    private final Map<Long, TradeInquiry> table = new HashMap<>();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<Long, Optional<TradeInquiry>> loader = id -> {
+        loads.incrementAndGet();
+        return Optional.ofNullable(table.get(id)).map(TradeInquiry::new);
+    };
+
+    @Test
+    void secondReadIsServedFromTheCache() {
+        table.put(1L, inquiry(1L, InquiryStatus.PENDING_VERIFICATION, 0));
+
+        cache.get(1L, loader);
+        cache.get(1L, loader);
+
+        assertThat(loads).hasValue(1);
+        assertThat(cache.getStatistics().getHits()).isEqualTo(1);
+    }
+
+    @Test
+    void callersGetPrivateCopies() {
+        table.put(1L, inquiry(1L, InquiryStatus.PENDING_VERIFICATION, 0));
+
+        cache.get(1L, loader).orElseThrow().setTitle("changed by caller");
+
+        assertThat(cache.get(1L, loader).orElseThrow().getTitle()).isEqualTo("Inquiry 1");
+    }
+
+    @Test
+    void unknownIdIsRememberedUntilCreated() {
+        assertThat(cache.get(2L, loader)).isEmpty();
+        assertThat(cache.get(2L, loader)).isEmpty();
+        assertThat(loads).hasValue(1);
+
+        TradeInquiry created = inquiry(2L, InquiryStatus.PENDING_VERIFICATION, 0);
+        table.put(2L, created);
+        inTransaction(true, () -> cache.onCreated(List.of(created)));
+
+        assertThat(cache.get(2L, loader)).isPresent();
+    }
+
+    @Test
+    void deleteCommittedDuringALoadIsNotUndone() {
+        table.put(1L, inquiry(1L, InquiryStatus.PENDING_VERIFICATION, 0));
+
+        Optional<TradeInquiry> loaded = cache.get(1L, id -> {
+            // The load read the row; the delete commits before the load stores it
+            Optional<TradeInquiry> row = loader.apply(id);
+            table.remove(1L);
+            inTransaction(true, () -> cache.onDeleted(List.of(1L)));
+            return row;
+        });
+
+        assertThat(loaded).isPresent();
+        assertThat(cached(cache, 1L)).isEmpty();
+        assertThat(cache.get(1L, loader)).isEmpty();
+    }
+
+    @Test
+    void createCommittedDuringAMissIsNotHidden() {
+        Optional<TradeInquiry> loaded = cache.get(2L, id -> {
+            Optional<TradeInquiry> row = loader.apply(id);
+            TradeInquiry created = inquiry(2L, InquiryStatus.PENDING_VERIFICATION, 0);
+            table.put(2L, created);
+            inTransaction(true, () -> cache.onCreated(List.of(created)));
+            return row;
+        });
+
+        assertThat(loaded).isEmpty();
+        assertThat(cache.get(2L, loader)).isPresent();
+    }
+
+    @Test
+    void updateIsVisibleOnlyAfterCommit() {
+        table.put(1L, inquiry(1L, InquiryStatus.PENDING_VERIFICATION, 0));
+        cache.get(1L, loader);
+
+        inTransaction(true, () -> {
+            cache.onUpdated(inquiry(1L, InquiryStatus.VERIFIED, 1));
+            assertThat(cached(cache, 1L).orElseThrow().getStatus()).isEqualTo(InquiryStatus.PENDING_VERIFICATION);
+        });
+
+        assertThat(cached(cache, 1L).orElseThrow().getStatus()).isEqualTo(InquiryStatus.VERIFIED);
+        assertThat(cached(cache, 1L).orElseThrow().getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void rolledBackUpdateLeavesTheSnapshot() {
+        table.put(1L, inquiry(1L, InquiryStatus.PENDING_VERIFICATION, 0));
+        cache.get(1L, loader);
+
+        inTransaction(false, () -> cache.onUpdated(inquiry(1L, InquiryStatus.REJECTED, 1)));
+
+        assertThat(cache.get(1L, loader).orElseThrow().getStatus()).isEqualTo(InquiryStatus.PENDING_VERIFICATION);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void deleteEvictsOnCommitOnly() {
+        table.put(1L, inquiry(1L, InquiryStatus.PENDING_VERIFICATION, 0));
+        cache.get(1L, loader);
+
+        inTransaction(false, () -> cache.onDeleted(1L));
+        assertThat(cached(cache, 1L)).isPresent();
+
+        inTransaction(true, () -> cache.onDeleted(List.of(1L)));
+        assertThat(cached(cache, 1L)).isEmpty();
+    }
+
+    @Test
+    void disabledCacheAlwaysLoads() {
+        InquiryProperties properties = new InquiryProperties();
+        properties.getCache().setEnabled(false);
+        InquiryCache disabled = new InquiryCache(properties);
+        table.put(1L, inquiry(1L, InquiryStatus.PENDING_VERIFICATION, 0));
+
+        disabled.get(1L, loader);
+        disabled.get(1L, loader);
+
+        assertThat(loads).hasValue(2);
+        assertThat(cached(disabled, 1L)).isEmpty();
+    }
+
+    /**
+     * What the cache holds for an id, without loading it from the table
+     */
+    private static Optional<TradeInquiry> cached(InquiryCache cache, long id) {
+        return cache.get(id, unused -> Optional.empty());
+    }
+
+    /**
+     * Run work with transaction synchronization active, then complete it as a commit or rollback
+     */
+    static void inTransaction(boolean commit, Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            if (commit) {
+                TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+            }
+            TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, commit
+                    ? TransactionSynchronization.STATUS_COMMITTED
+                    : TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    static TradeInquiry inquiry(long id, InquiryStatus status, long version) {
+        TradeInquiry inquiry = new TradeInquiry("Inquiry " + id, "Description " + id, "Cache Partner",
+                new BigDecimal("10.00"));
+        inquiry.setId(id);
+        inquiry.setStatus(status);
+        inquiry.setVersion(version);
+        return inquiry;
+    }
+}
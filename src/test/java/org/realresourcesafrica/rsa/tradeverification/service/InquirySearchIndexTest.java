@@ -0,0 +1,133 @@
+package org.realresourcesafrica.rsa.tradeverification.service;
+
+import org.realresourcesafrica.rsa.tradeverification.entity.TradeInquiry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * BM25 ranking, paging and deletion handling of {@link InquirySearchIndex}
+ */
+class InquirySearchIndexTest {
+
+    private final InquirySearchIndex index = new InquirySearchIndex();
+
+    @Test
+    void titleMatchesOutrankPartnerMatchesWhichOutrankDescriptionMatches() {
+        index.add(inquiry(1, "Gold shipment", "Cobalt mentioned here", "Mining Partner"));
+        index.add(inquiry(2, "Cobalt shipment", "Nothing else", "Mining Partner"));
+        index.add(inquiry(3, "Copper shipment", "Nothing else", "Cobalt Traders"));
+
+        InquirySearchIndex.SearchHits hits = index.search("cobalt", 0, 10);
+
+        assertThat(hits.getIds()).containsExactly(2L, 3L, 1L);
+        assertThat(hits.getTotal()).isEqualTo(3);
+    }
+
+    @Test
+    void everyQueryWordContributesAndUnmatchedWordsAreIgnored() {
+        index.add(inquiry(1, "Copper cathodes", "Export lot", "Partner"));
+        index.add(inquiry(2, "Copper and cobalt", "Export lot", "Partner"));
+        index.add(inquiry(3, "Gold bars", "Export lot", "Partner"));
+
+        InquirySearchIndex.SearchHits hits = index.search("cobalt copper uranium", 0, 10);
+
+        assertThat(hits.getIds()).containsExactly(2L, 1L);
+        assertThat(hits.getTotal()).isEqualTo(2);
+    }
+
+    @Test
+    void pagesFollowTheRankingAndEqualScoresPreferNewerInquiries() {
+        for (long id = 1; id <= 25; id++) {
+            index.add(inquiry(id, "Tantalum lot", "Same words", "Partner"));
+        }
+
+        List<Long> seen = new ArrayList<>();
+        for (int offset = 0; offset < 25; offset += 10) {
+            InquirySearchIndex.SearchHits page = index.search("tantalum", offset, 10);
+            assertThat(page.getTotal()).isEqualTo(25);
+            seen.addAll(page.getIds());
+        }
+
+        List<Long> newestFirst = new ArrayList<>();
+        for (long id = 25; id >= 1; id--) {
+            newestFirst.add(id);
+        }
+        assertThat(seen).isEqualTo(newestFirst);
+        assertThat(index.search("tantalum", 30, 10).getIds()).isEmpty();
+        assertThat(index.search("tantalum", 0, 0).getTotal()).isEqualTo(25);
+    }
+
+    @Test
+    void deepPagesOnlyHoldAsManyHitsAsMatch() {
+        index.add(inquiry(1, "Bauxite lot", "", "Partner"));
+        index.add(inquiry(2, "Bauxite lot", "", "Partner"));
+
+        assertThat(index.search("bauxite", Integer.MAX_VALUE - 1, 500).getIds()).isEmpty();
+        assertThat(index.search("bauxite", Integer.MAX_VALUE - 1, 500).getTotal()).isEqualTo(2);
+        assertThat(index.search("bauxite", 1, Integer.MAX_VALUE).getIds()).containsExactly(1L);
+    }
+
+    @Test
+    void deletedInquiriesAreNotReturnedOrCounted() {
+        index.add(inquiry(1, "Lithium lot", "", "Partner"));
+        index.add(inquiry(2, "Lithium lot", "", "Partner"));
+
+        index.onDeleted(1L);
+
+        assertThat(index.search("lithium", 0, 10).getIds()).containsExactly(2L);
+        assertThat(index.search("lithium", 0, 10).getTotal()).isEqualTo(1);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void stalePostingsOfDeletedInquiriesDoNotTurnATermIntoAPenalty() {
+        // Postings of the deleted inquiries stay until compaction, so "cobalt" has more postings than live documents
+        for (long id = 100; id < 120; id++) {
+            index.add(inquiry(id, "Cobalt", "", "Partner"));
+        }
+        for (long id = 100; id < 119; id++) {
+            index.onDeleted(id);
+        }
+        index.add(inquiry(1, "Cobalt copper", "", "Partner"));
+        index.add(inquiry(2, "Copper", "", "Partner"));
+        index.add(inquiry(3, "Tin", "", "Partner"));
+
+        InquirySearchIndex.SearchHits hits = index.search("cobalt copper", 0, 10);
+        assertThat(hits.getIds()).startsWith(1L).containsExactlyInAnyOrder(1L, 2L, 119L);
+    }
+
+    @Test
+    void compactionKeepsTheSurvivorsSearchable() {
+        int indexed = 12_000;
+        for (long id = 1; id <= indexed; id++) {
+            index.add(inquiry(id, id % 2 == 0 ? "Even manganese" : "Odd manganese", "", "Partner"));
+        }
+        // Enough deletes to trigger a compaction part way through
+        for (long id = 1; id <= indexed; id += 2) {
+            index.onDeleted(id);
+        }
+        for (long id = 2; id <= 10_002; id += 2) {
+            index.onDeleted(id);
+        }
+
+        InquirySearchIndex.SearchHits hits = index.search("manganese", 0, 3);
+        assertThat(hits.getTotal()).isEqualTo(999);
+        assertThat(hits.getIds()).containsExactly(12_000L, 11_998L, 11_996L);
+        assertThat(index.search("odd", 0, 10).getTotal()).isZero();
+        assertThat(index.size()).isEqualTo(999);
+
+        index.add(inquiry(20_000, "Manganese ore", "", "Partner"));
+        assertThat(index.search("ore", 0, 10).getIds()).containsExactly(20_000L);
+    }
+
+    private static TradeInquiry inquiry(long id, String title, String description, String partner) {
+        TradeInquiry inquiry = new TradeInquiry(title, description, partner, null);
+        inquiry.setId(id);
+        return inquiry;
+    }
+}
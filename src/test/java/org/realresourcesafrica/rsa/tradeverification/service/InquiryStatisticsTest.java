@@ -0,0 +1,94 @@
+package org.realresourcesafrica.rsa.tradeverification.service;
+
+import org.realresourcesafrica.rsa.tradeverification.config.DataInitializer;
+import org.realresourcesafrica.rsa.tradeverification.dto.StatusUpdateRequest;
+import org.realresourcesafrica.rsa.tradeverification.entity.TradeInquiry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The in-memory status counter behind GET /api/inquiries/statistics tracks the table
+ * through creates, status changes and deletes, and ignores rolled-back writes
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class InquiryStatisticsTest {
+
+    @MockitoBean
+    DataInitializer dataInitializer;
+
+    @Autowired
+    TradeInquiryService inquiryService;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    InquiryStatusCounter statusCounter;
+
+    @BeforeEach
+    void reconcile() {
+        // Other tests in the shared context write behind the service on purpose
+        statusCounter.reconcile();
+    }
+
+    @Test
+    void countsFollowCommittedWrites() {
+        TradeInquiry created = inquiryService.createInquiry(inquiry("Counted create"));
+        assertMatchesTable();
+
+        inquiryService.updateInquiryStatus(created.getId(), new StatusUpdateRequest("VERIFIED"));
+        assertMatchesTable();
+
+        inquiryService.deleteInquiry(created.getId());
+        assertMatchesTable();
+    }
+
+    @Test
+    void rolledBackCreateLeavesCountsAlone() {
+        TradeInquiryService.InquiryStatistics before = inquiryService.getStatistics();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(tx -> {
+            inquiryService.createInquiry(inquiry("Rolled back create"));
+            tx.setRollbackOnly();
+        });
+
+        TradeInquiryService.InquiryStatistics after = inquiryService.getStatistics();
+        assertThat(after.getTotal()).isEqualTo(before.getTotal());
+        assertThat(after.getPending()).isEqualTo(before.getPending());
+        assertMatchesTable();
+    }
+
+    private void assertMatchesTable() {
+        TradeInquiryService.InquiryStatistics statistics = inquiryService.getStatistics();
+        assertThat(statistics.getTotal()).isEqualTo(count(null));
+        assertThat(statistics.getPending()).isEqualTo(count("P"));
+        assertThat(statistics.getVerified()).isEqualTo(count("V"));
+        assertThat(statistics.getRejected()).isEqualTo(count("R"));
+    }
+
+    private long count(String code) {
+        return code == null
+                ? jdbc.queryForObject("SELECT COUNT(*) FROM trade_inquiries", Long.class)
+                : jdbc.queryForObject("SELECT COUNT(*) FROM trade_inquiries WHERE status = ?", Long.class, code);
+    }
+
+    private static TradeInquiry inquiry(String title) {
+        return new TradeInquiry(title, "Statistics test inquiry", "Statistics Partner", new BigDecimal("250.00"));
+    }
+}
@@ -0,0 +1,109 @@
+package org.realresourcesafrica.rsa.tradeverification.service;
+
+import org.realresourcesafrica.rsa.tradeverification.config.DataInitializer;
+import org.realresourcesafrica.rsa.tradeverification.dto.BulkStatusUpdateRequest;
+import org.realresourcesafrica.rsa.tradeverification.dto.StatusUpdateRequest;
+import org.realresourcesafrica.rsa.tradeverification.entity.PartnerStatusRollup;
+import org.realresourcesafrica.rsa.tradeverification.entity.TradeInquiry;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * partner_status_rollups behind GET /api/partners/summary match a GROUP BY over the table
+ * through creates, status changes and deletes, and ignore rolled-back writes
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class PartnerRollupsTest {
+
+    private static final String PARTNER = "Rollup Partner";
+
+    @MockitoBean
+    DataInitializer dataInitializer;
+
+    @Autowired
+    TradeInquiryService inquiryService;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    void rollupsFollowCommittedWrites() {
+        List<TradeInquiry> batch = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            batch.add(inquiry("Rollup batch " + i, i == 0 ? null : new BigDecimal(i + "00.25")));
+        }
+        List<Long> ids = inquiryService.createInquiries(batch).stream().map(TradeInquiry::getId).toList();
+        // Spelled differently, counted under the same partner
+        TradeInquiry single = inquiryService.createInquiry(
+                new TradeInquiry("Rollup single", "Rollup test inquiry", " rollup PARTNER", new BigDecimal("50.00")));
+        assertMatchesTable();
+
+        inquiryService.updateInquiryStatus(single.getId(), new StatusUpdateRequest("REJECTED"));
+        assertMatchesTable();
+
+        BulkStatusUpdateRequest bulk = new BulkStatusUpdateRequest();
+        bulk.setIds(ids.subList(0, 3));
+        bulk.setStatus("VERIFIED");
+        inquiryService.updateInquiryStatuses(bulk);
+        assertMatchesTable();
+
+        inquiryService.deleteInquiry(ids.get(1));
+        inquiryService.deleteInquiry(single.getId());
+        assertMatchesTable();
+    }
+
+    @Test
+    void rolledBackWritesLeaveRollupsAlone() {
+        TradeInquiry kept = inquiryService.createInquiry(inquiry("Rollup kept", new BigDecimal("10.00")));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(tx -> {
+            inquiryService.createInquiry(inquiry("Rollup rolled back", new BigDecimal("99.00")));
+            inquiryService.updateInquiryStatus(kept.getId(), new StatusUpdateRequest("VERIFIED"));
+            tx.setRollbackOnly();
+        });
+
+        assertMatchesTable();
+    }
+
+    private void assertMatchesTable() {
+        Map<String, String> expected = new TreeMap<>();
+        jdbc.query("SELECT status, COUNT(*) AS n, COALESCE(SUM(estimated_value), 0) AS v FROM trade_inquiries "
+                        + "WHERE partner_key = ? GROUP BY status",
+                row -> {
+                    expected.put(row.getString("status"),
+                            row.getLong("n") + " " + row.getBigDecimal("v").stripTrailingZeros().toPlainString());
+                }, "rollup partner");
+
+        Map<String, String> actual = new TreeMap<>();
+        for (PartnerStatusRollup rollup : inquiryService.getPartnerSummary()) {
+            if ("rollup partner".equals(rollup.getPartnerKey()) && rollup.getInquiryCount() > 0) {
+                actual.put(rollup.getStatus().getCode(),
+                        rollup.getInquiryCount() + " " + rollup.getTotalValue().stripTrailingZeros().toPlainString());
+            }
+        }
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    private static TradeInquiry inquiry(String title, BigDecimal value) {
+        return new TradeInquiry(title, "Rollup test inquiry", PARTNER, value);
+    }
+}
@@ -0,0 +1,132 @@
+package org.realresourcesafrica.rsa.tradeverification.service;
+
+import org.realresourcesafrica.rsa.tradeverification.config.DataInitializer;
+import org.realresourcesafrica.rsa.tradeverification.dto.BulkStatusUpdateRequest;
+import org.realresourcesafrica.rsa.tradeverification.dto.StatusUpdateRequest;
+import org.realresourcesafrica.rsa.tradeverification.entity.InquiryStatus;
+import org.realresourcesafrica.rsa.tradeverification.entity.StatusHistoryEntry;
+import org.realresourcesafrica.rsa.tradeverification.entity.StatusHistoryOutbox;
+import org.realresourcesafrica.rsa.tradeverification.entity.TradeInquiry;
+import org.realresourcesafrica.rsa.tradeverification.repository.StatusHistoryOutboxRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Status history written behind through the outbox: visible at once, moved into
+ * inquiry_status_history by the writer thread, and recovered by the sweep when not queued
+ */
+@SpringBootTest(properties = "inquiries.history.sweep-interval=PT0.2S")
+@ActiveProfiles("test")
+class StatusHistoryWriterTest {
+
+    @MockitoBean
+    DataInitializer dataInitializer;
+
+    @Autowired
+    TradeInquiryService inquiryService;
+
+    @Autowired
+    StatusHistoryOutboxRepository outboxRepository;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    void changesAreVisibleAtOnceAndEndUpInTheHistoryTable() throws Exception {
+        TradeInquiry inquiry = inquiryService.createInquiry(inquiry("History single"));
+
+        inquiryService.updateInquiryStatus(inquiry.getId(), new StatusUpdateRequest("VERIFIED"));
+
+        List<StatusHistoryEntry> history = inquiryService.getStatusHistory(inquiry.getId());
+        assertThat(history).extracting(StatusHistoryEntry::getPreviousStatus, StatusHistoryEntry::getStatus)
+                .containsExactly(tuple(InquiryStatus.PENDING_VERIFICATION, InquiryStatus.VERIFIED));
+        awaitMoved(List.of(inquiry.getId()));
+        assertThat(inquiryService.getStatusHistory(inquiry.getId())).hasSize(1);
+    }
+
+    @Test
+    void bulkChangesAreRecordedPerInquiry() throws Exception {
+        List<TradeInquiry> batch = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            batch.add(inquiry("History bulk " + i));
+        }
+        List<Long> ids = inquiryService.createInquiries(batch).stream().map(TradeInquiry::getId).toList();
+
+        BulkStatusUpdateRequest bulk = new BulkStatusUpdateRequest();
+        bulk.setIds(ids);
+        bulk.setStatus("REJECTED");
+        inquiryService.updateInquiryStatuses(bulk);
+
+        awaitMoved(ids);
+        for (Long id : ids) {
+            assertThat(inquiryService.getStatusHistory(id)).singleElement()
+                    .extracting(StatusHistoryEntry::getStatus).isEqualTo(InquiryStatus.REJECTED);
+        }
+    }
+
+    @Test
+    void rolledBackChangesLeaveNoHistory() {
+        TradeInquiry inquiry = inquiryService.createInquiry(inquiry("History rolled back"));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(tx -> {
+            inquiryService.updateInquiryStatus(inquiry.getId(), new StatusUpdateRequest("VERIFIED"));
+            tx.setRollbackOnly();
+        });
+
+        assertThat(inquiryService.getStatusHistory(inquiry.getId())).isEmpty();
+    }
+
+    @Test
+    void unqueuedOutboxRowsAreMovedByTheSweep() throws Exception {
+        TradeInquiry inquiry = inquiryService.createInquiry(inquiry("History swept"));
+        // As if the queue had been full, or the process had stopped before the writer ran
+        outboxRepository.save(new StatusHistoryOutbox(inquiry.getId(), InquiryStatus.PENDING_VERIFICATION,
+                InquiryStatus.VERIFIED, "sweep test", LocalDateTime.now()));
+
+        awaitMoved(List.of(inquiry.getId()));
+        assertThat(inquiryService.getStatusHistory(inquiry.getId())).singleElement()
+                .extracting(StatusHistoryEntry::getChangedBy).isEqualTo("sweep test");
+    }
+
+    /**
+     * Wait until the outbox is empty for the inquiries and each has its history row, or fail after five seconds
+     */
+    private void awaitMoved(List<Long> ids) throws InterruptedException {
+        String in = String.join(",", ids.stream().map(String::valueOf).toList());
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (System.nanoTime() < deadline) {
+            Long pending = jdbc.queryForObject(
+                    "SELECT COUNT(*) FROM inquiry_status_history_outbox WHERE inquiry_id IN (" + in + ")", Long.class);
+            Long moved = jdbc.queryForObject(
+                    "SELECT COUNT(DISTINCT inquiry_id) FROM inquiry_status_history WHERE inquiry_id IN (" + in + ")", Long.class);
+            if (pending == 0 && moved == ids.size()) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+        fail("Status history was not moved out of the outbox for " + ids);
+    }
+
+    private static TradeInquiry inquiry(String title) {
+        return new TradeInquiry(title, "History test inquiry", "History Partner", new BigDecimal("75.00"));
+    }
+}
@@ -0,0 +1,69 @@
+package org.realresourcesafrica.rsa.tradeverification.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * GCRA arithmetic of {@link TokenBucket}, driven by an explicit clock
+ */
+class TokenBucketTest {
+
+    private static final long INTERVAL = 1_000;
+    private static final long START = 1_000_000;
+
+    @Test
+    void fullBucketAdmitsTheBurstThenOnePermitPerInterval() {
+        TokenBucket bucket = new TokenBucket(INTERVAL, 3, START);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(bucket.tryAcquire(1, START)).isZero();
+        }
+        assertThat(bucket.tryAcquire(1, START)).isEqualTo(INTERVAL);
+        assertThat(bucket.tryAcquire(1, START + INTERVAL - 1)).isEqualTo(1);
+        assertThat(bucket.tryAcquire(1, START + INTERVAL)).isZero();
+        assertThat(bucket.tryAcquire(1, START + INTERVAL)).isEqualTo(INTERVAL);
+    }
+
+    @Test
+    void rejectionLeavesTheBucketUntouched() {
+        TokenBucket bucket = new TokenBucket(INTERVAL, 2, START);
+
+        assertThat(bucket.tryAcquire(3, START)).isZero();
+        assertThat(bucket.tryAcquire(2, START)).isEqualTo(3 * INTERVAL);
+        assertThat(bucket.tryAcquire(1, START + 2 * INTERVAL)).isEqualTo(0);
+    }
+
+    @Test
+    void requestLargerThanTheBurstIsAdmittedWhenFullAndLeavesADebt() {
+        TokenBucket bucket = new TokenBucket(INTERVAL, 2, START);
+
+        assertThat(bucket.tryAcquire(10, START)).isZero();
+        assertThat(bucket.isFull(START + 9 * INTERVAL)).isFalse();
+        assertThat(bucket.tryAcquire(1, START + 8 * INTERVAL)).isEqualTo(INTERVAL);
+        assertThat(bucket.tryAcquire(1, START + 9 * INTERVAL)).isZero();
+        assertThat(bucket.tryAcquire(10, START + 10 * INTERVAL)).isGreaterThan(0);
+        assertThat(bucket.isFull(START + 11 * INTERVAL)).isTrue();
+        assertThat(bucket.tryAcquire(10, START + 11 * INTERVAL)).isZero();
+    }
+
+    @Test
+    void releasedPermitsCanBeTakenAgain() {
+        TokenBucket bucket = new TokenBucket(INTERVAL, 2, START);
+        bucket.tryAcquire(2, START);
+
+        bucket.release(1);
+
+        assertThat(bucket.tryAcquire(1, START)).isZero();
+        assertThat(bucket.tryAcquire(1, START)).isGreaterThan(0);
+    }
+
+    @Test
+    void idleBucketIsFullAgain() {
+        TokenBucket bucket = new TokenBucket(INTERVAL, 5, START);
+        bucket.tryAcquire(5, START);
+
+        assertThat(bucket.isFull(START + 4 * INTERVAL)).isFalse();
+        assertThat(bucket.isFull(START + 5 * INTERVAL)).isTrue();
+    }
+}
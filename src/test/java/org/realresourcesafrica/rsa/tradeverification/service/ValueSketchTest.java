@@ -0,0 +1,76 @@
+package org.realresourcesafrica.rsa.tradeverification.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Quantile accuracy, merging and exact removal in {@link ValueSketch}
+ */
+class ValueSketchTest {
+
+    @Test
+    void quantilesStayWithinTheRelativeAccuracy() {
+        Random random = new Random(7);
+        double[] values = new double[10_000];
+        ValueSketch sketch = new ValueSketch();
+        for (int i = 0; i < values.length; i++) {
+            // Spread over seven orders of magnitude, like estimated values are
+            values[i] = Math.round(Math.pow(10, random.nextDouble() * 7) * 100) / 100.0;
+            sketch.add(values[i], 1);
+        }
+        Arrays.sort(values);
+
+        for (double q : new double[] {0, 0.01, 0.25, 0.5, 0.75, 0.99, 1}) {
+            double exact = values[(int) Math.floor(q * (values.length - 1))];
+            assertThat(sketch.quantile(q)).isCloseTo(exact, within(exact * ValueSketch.RELATIVE_ACCURACY));
+        }
+        assertThat(sketch.count()).isEqualTo(values.length);
+    }
+
+    @Test
+    void mergedSketchesAnswerLikeOneSketch() {
+        ValueSketch low = new ValueSketch();
+        ValueSketch high = new ValueSketch();
+        ValueSketch all = new ValueSketch();
+        for (int value = 1; value <= 1000; value++) {
+            (value <= 10 ? low : high).add(value, 1);
+            all.add(value, 1);
+        }
+
+        low.merge(high);
+
+        for (double q = 0; q <= 1; q += 0.1) {
+            assertThat(low.quantile(q)).isEqualTo(all.quantile(q));
+        }
+        assertThat(low.count()).isEqualTo(1000);
+    }
+
+    @Test
+    void removedValuesNoLongerCount() {
+        ValueSketch sketch = new ValueSketch();
+        sketch.add(100, 3);
+        sketch.add(1_000_000, 1);
+
+        sketch.add(1_000_000, -1);
+
+        assertThat(sketch.count()).isEqualTo(3);
+        assertThat(sketch.quantile(1)).isCloseTo(100, within(100 * ValueSketch.RELATIVE_ACCURACY));
+    }
+
+    @Test
+    void zeroValuesAreCountedSeparatelyAndEmptySketchesHaveNoQuantiles() {
+        ValueSketch sketch = new ValueSketch();
+        assertThat(sketch.quantile(0.5)).isNaN();
+
+        sketch.add(0, 2);
+        sketch.add(50, 1);
+
+        assertThat(sketch.quantile(0.5)).isZero();
+        assertThat(sketch.quantile(1)).isCloseTo(50, within(50 * ValueSketch.RELATIVE_ACCURACY));
+    }
+}
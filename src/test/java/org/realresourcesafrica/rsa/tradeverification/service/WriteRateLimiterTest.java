@@ -0,0 +1,99 @@
+package org.realresourcesafrica.rsa.tradeverification.service;
+
+import org.realresourcesafrica.rsa.tradeverification.config.InquiryProperties;
+import org.realresourcesafrica.rsa.tradeverification.exception.RateLimitExceededException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Per-client and per-partner admission in {@link WriteRateLimiter}. Rates are slow enough
+ * that nothing refills while a test runs.
+ */
+class WriteRateLimiterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void clientOverItsBurstIsRejectedWithRetryAfter() {
+        WriteRateLimiter limiter = limiter(2, 2);
+
+        limiter.acquireClient("10.0.0.1");
+        limiter.acquireClient("10.0.0.1");
+
+        assertThatThrownBy(() -> limiter.acquireClient("10.0.0.1"))
+                .isInstanceOfSatisfying(RateLimitExceededException.class,
+                        ex -> assertThat(ex.getRetryAfterSeconds()).isGreaterThanOrEqualTo(1));
+        assertThat(registry.get("inquiries.rate.limited").tag("scope", "client").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void clientsHaveSeparateBuckets() {
+        WriteRateLimiter limiter = limiter(1, 1);
+
+        limiter.acquireClient("10.0.0.1");
+        limiter.acquireClient("10.0.0.2");
+
+        assertThatThrownBy(() -> limiter.acquireClient("10.0.0.1")).isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    void partnersAreChargedAllOrNothing() {
+        WriteRateLimiter limiter = limiter(100, 3);
+        limiter.acquirePartner("busy partner");
+        limiter.acquirePartner("busy partner");
+        limiter.acquirePartner("busy partner");
+
+        Map<String, Integer> batch = new LinkedHashMap<>();
+        batch.put("quiet partner", 3);
+        batch.put("busy partner", 1);
+        assertThatThrownBy(() -> limiter.acquirePartners(batch))
+                .isInstanceOf(RateLimitExceededException.class)
+                .hasMessageContaining("busy partner");
+
+        // The quiet partner's share of the rejected batch was given back
+        limiter.acquirePartners(Map.of("quiet partner", 3));
+        assertThat(registry.get("inquiries.rate.limited").tag("scope", "partner").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void batchLargerThanTheBurstIsAdmittedOnceThenHeldBack() {
+        WriteRateLimiter limiter = limiter(100, 5);
+
+        limiter.acquirePartners(Map.of("bulk partner", 50));
+
+        assertThatThrownBy(() -> limiter.acquirePartner("bulk partner")).isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    void disabledLimiterAdmitsEverything() {
+        InquiryProperties properties = properties(1, 1);
+        properties.getRateLimit().setEnabled(false);
+        WriteRateLimiter limiter = new WriteRateLimiter(properties, new InquiryMetrics(registry));
+
+        for (int i = 0; i < 10; i++) {
+            limiter.acquireClient("10.0.0.1");
+            limiter.acquirePartner("partner");
+        }
+    }
+
+    private WriteRateLimiter limiter(int clientBurst, int partnerBurst) {
+        return new WriteRateLimiter(properties(clientBurst, partnerBurst), new InquiryMetrics(registry));
+    }
+
+    private static InquiryProperties properties(int clientBurst, int partnerBurst) {
+        InquiryProperties properties = new InquiryProperties();
+        InquiryProperties.RateLimit rateLimit = properties.getRateLimit();
+        rateLimit.setClientPerSecond(0.001);
+        rateLimit.setClientBurst(clientBurst);
+        rateLimit.setPartnerPerSecond(0.001);
+        rateLimit.setPartnerBurst(partnerBurst);
+        return properties;
+    }
+}